@@ -0,0 +1,227 @@
+package com.example.HMS.benchmark;
+
+import com.example.HMS.dto.InventoryDTO;
+import com.example.HMS.dto.InventoryReceiptDTO;
+import com.example.HMS.dto.SupplierDTO;
+import com.example.HMS.model.*;
+import org.mockito.Mockito;
+import org.modelmapper.ModelMapper;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * In-memory entities and repository stubs shared by the benchmarks. Fixtures are built from a fixed seed so
+ * two runs measure the same data; repositories are stub-only mocks, which answer without recording invocations.
+ */
+final class BenchmarkFixtures {
+    static final long SEED = 42;
+    static final LocalDate START_DATE = LocalDate.of(2025, 6, 2);
+    // Khóa HMAC-SHA256 riêng cho benchmark, không dùng secret của môi trường thật
+    static final String JWT_SECRET = "aG1zLWptaC1iZW5jaG1hcmstc2lnbmluZy1rZXktMzI=";
+    static final String VNPAY_SECRET = "BENCHMARKHASHSECRET0123456789ABC";
+
+    private static final String[] POSITIONS = {"receptionist", "housekeeping", "maintenance", "waiter", "chef", "security", "pos_service"};
+    // Tổng nhu cầu tối thiểu mỗi ngày của từng vị trí trong ScheduleServiceImpl (sáng + chiều + tối)
+    private static final int[] DAILY_DEMAND = {25, 50, 15, 40, 30, 15, 18};
+
+    private BenchmarkFixtures() {
+    }
+
+    static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    static PrintStream discardingStream() {
+        return new PrintStream(OutputStream.nullOutputStream());
+    }
+
+    // Bean ModelMapper cũ của AppConfig, giữ lại làm mốc so sánh cho DtoMappingBenchmark
+    static ModelMapper legacyModelMapper() {
+        ModelMapper modelMapper = new ModelMapper();
+        modelMapper.typeMap(Inventory.class, SupplierDTO.InventoryItemDTO.class)
+                .addMappings(mapper -> {
+                    mapper.map(Inventory::getId, SupplierDTO.InventoryItemDTO::setId);
+                    mapper.map(Inventory::getInventoryName, SupplierDTO.InventoryItemDTO::setName);
+                });
+        modelMapper.typeMap(Inventory.class, InventoryDTO.class)
+                .addMappings(mapper -> {
+                    mapper.map(src -> src.getSupplier().getId(), InventoryDTO::setSupplierId);
+                    mapper.map(src -> src.getSupplier().getSupplierName(), InventoryDTO::setSupplierName);
+                });
+        modelMapper.typeMap(InventoryReceiptDetail.class, InventoryReceiptDTO.InventoryReceiptDetailDTO.class)
+                .addMappings(mapper -> {
+                    mapper.map(src -> src.getInventory().getId(), InventoryReceiptDTO.InventoryReceiptDetailDTO::setInventoryId);
+                    mapper.map(src -> src.getInventory().getInventoryName(), InventoryReceiptDTO.InventoryReceiptDetailDTO::setInventoryName);
+                });
+        return modelMapper;
+    }
+
+    static Customer customer(long id) {
+        return Customer.builder()
+                .id(id)
+                .fullName("Khách hàng " + id)
+                .username("customer" + id)
+                .email("customer" + id + "@example.com")
+                .phoneNumber("0900" + String.format("%06d", id))
+                .role(Role.CUSTOMER)
+                .isActive(true)
+                .build();
+    }
+
+    static Employee employee(long id, String position) {
+        return Employee.builder()
+                .id(id)
+                .fullName("Nhân viên " + id)
+                .username("employee" + id)
+                .role(Role.valueOf(position.toUpperCase()))
+                .position(position)
+                .salary(BigDecimal.valueOf(8_000_000))
+                .hireDate(START_DATE.minusYears(1))
+                .isActive(true)
+                .build();
+    }
+
+    /**
+     * A roster that covers every position in proportion to its daily demand, scaled so that the weekly
+     * schedule is feasible (each position has at least as many employees as its daily minimum).
+     */
+    static List<Employee> roster(int size) {
+        int totalDemand = 0;
+        for (int demand : DAILY_DEMAND) {
+            totalDemand += demand;
+        }
+        List<Employee> employees = new ArrayList<>(size);
+        long id = 1;
+        for (int p = 0; p < POSITIONS.length; p++) {
+            int count = Math.max(DAILY_DEMAND[p], (int) Math.round((double) size * DAILY_DEMAND[p] / totalDemand));
+            for (int i = 0; i < count; i++) {
+                employees.add(employee(id++, POSITIONS[p]));
+            }
+        }
+        return employees;
+    }
+
+    static List<Room> rooms(int count, RoomType type) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Room> rooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rooms.add(Room.builder()
+                    .id((long) i + 1)
+                    .roomName(String.format("%d%02d", i / 50 + 1, i % 50 + 1))
+                    .roomType(type)
+                    .price(String.valueOf(500_000 + 50_000 * random.nextInt(20)))
+                    .capacity(1 + random.nextInt(4))
+                    .roomStatus(RoomStatus.AVAILABLE)
+                    .build());
+        }
+        return rooms;
+    }
+
+    static List<Bookings> bookings(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Bookings> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = START_DATE.plusDays(random.nextInt(60)).atTime(14, 0);
+            int nights = 1 + random.nextInt(5);
+            boolean online = random.nextBoolean();
+            Customer customer = customer(i + 1);
+            bookings.add(Bookings.builder()
+                    .id((long) i + 1)
+                    .customer(customer)
+                    .createdBy(online ? customer : employee(100_000 + i % 25, "receptionist"))
+                    .source(online ? BookingSource.ONLINE : BookingSource.DIRECT)
+                    .status(BookingStatus.values()[random.nextInt(BookingStatus.values().length)])
+                    .totalPrice(nights * 900_000)
+                    .startDate(Timestamp.valueOf(start))
+                    .endDate(Timestamp.valueOf(start.plusDays(nights).withHour(12)))
+                    .roomType(RoomType.values()[random.nextInt(RoomType.values().length)])
+                    .roomNumber(1)
+                    .adultNumber(1 + random.nextInt(2))
+                    .childNumber(random.nextInt(2))
+                    .roomBookings(new ArrayList<>())
+                    .serviceUsages(new ArrayList<>())
+                    .build());
+        }
+        return bookings;
+    }
+
+    static Folio folio(long id, int charges) {
+        Bookings booking = bookings(1).get(0);
+        Folio folio = Folio.builder()
+                .id(id)
+                .bookings(booking)
+                .user(booking.getCustomer())
+                .status(FolioStatus.OPEN)
+                .createdAt(START_DATE.atTime(14, 0))
+                .updatedAt(START_DATE.atTime(14, 0))
+                .folioDetails(new ArrayList<>())
+                .build();
+        double total = 0;
+        for (int i = 0; i < charges; i++) {
+            boolean room = i % 3 == 0;
+            double price = room ? 900_000 : 120_000;
+            folio.getFolioDetails().add(FolioCharges.builder()
+                    .id(id * 1000 + i)
+                    .folio(folio)
+                    .chargeType(room ? FolioCharges.ROOM_CHARGE : FolioCharges.SERVICE_CHARGE)
+                    .description(room ? "Room charge" : "Service: Laundry")
+                    .itemName(room ? "101" : "Laundry")
+                    .quantity(1)
+                    .unitPrice(price)
+                    .totalPrice(price)
+                    .chargeTime(START_DATE.plusDays(i / 3).atTime(2, 0))
+                    .roomId(room ? 1L : null)
+                    .businessDate(room ? START_DATE.plusDays(i / 3) : null)
+                    .build());
+            total += price;
+        }
+        folio.setTotalAmount(total);
+        return folio;
+    }
+
+    static List<Inventory> inventories(int count) {
+        Supplier supplier = Supplier.builder().id(1L).supplierName("Công ty Cung ứng").build();
+        List<Inventory> inventories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            inventories.add(Inventory.builder()
+                    .id((long) i + 1)
+                    .inventoryName("Vật tư " + (i + 1))
+                    .inventoryPrice(10_000 + i)
+                    .inventoryQuantity(i % 200)
+                    .supplier(supplier)
+                    .build());
+        }
+        return inventories;
+    }
+
+    static InventoryReceipt receipt(int lines) {
+        List<Inventory> inventories = inventories(lines);
+        InventoryReceipt receipt = InventoryReceipt.builder()
+                .id(1L)
+                .receiptCode("PN-0001")
+                .receiptDate(START_DATE.atStartOfDay())
+                .supplier(inventories.get(0).getSupplier())
+                .status("COMPLETED")
+                .details(new ArrayList<>())
+                .build();
+        for (int i = 0; i < lines; i++) {
+            receipt.getDetails().add(InventoryReceiptDetail.builder()
+                    .id((long) i + 1)
+                    .receipt(receipt)
+                    .inventory(inventories.get(i))
+                    .quantity(10)
+                    .unitPrice(inventories.get(i).getInventoryPrice())
+                    .build());
+        }
+        receipt.setTotalAmount(receipt.getDetails().stream().mapToDouble(d -> d.getQuantity() * d.getUnitPrice()).sum());
+        return receipt;
+    }
+}
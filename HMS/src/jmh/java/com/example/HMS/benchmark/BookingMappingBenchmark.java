@@ -0,0 +1,65 @@
+package com.example.HMS.benchmark;
+
+import com.example.HMS.dto.BookingDTO;
+import com.example.HMS.dto.PageResponse;
+import com.example.HMS.mapper.BookingMapperImpl;
+import com.example.HMS.mapper.ServiceMapperImpl;
+import com.example.HMS.model.Bookings;
+import com.example.HMS.repository.*;
+import com.example.HMS.service.BookingServiceImpl;
+import com.example.HMS.service.FolioPostingService;
+import com.example.HMS.service.GuestAccessService;
+import com.example.HMS.service.OccupancyService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// createPageResponse là private nên đo qua getAllBookings với một trang booking dựng sẵn
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingMappingBenchmark {
+    @Param({"20", "100", "500"})
+    public int pageSize;
+
+    private BookingServiceImpl bookingService;
+
+    @Setup
+    public void setUp() {
+        BookingsRepository bookingsRepository = BenchmarkFixtures.stub(BookingsRepository.class);
+        List<Bookings> bookings = BenchmarkFixtures.bookings(pageSize);
+        when(bookingsRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(bookings, PageRequest.of(0, pageSize), 100_000));
+
+        bookingService = new BookingServiceImpl(bookingsRepository,
+                BenchmarkFixtures.stub(RoomBookingsRepository.class),
+                BenchmarkFixtures.stub(UserRepository.class),
+                BenchmarkFixtures.stub(RoomRepository.class),
+                BenchmarkFixtures.stub(ServiceUsageRepository.class),
+                BenchmarkFixtures.stub(AccessTokenRepository.class),
+                BenchmarkFixtures.stub(GuestAccessService.class),
+                BenchmarkFixtures.stub(OccupancyCubeRepository.class),
+                BenchmarkFixtures.stub(OccupancyService.class),
+                BenchmarkFixtures.stub(FolioPostingService.class),
+                BenchmarkFixtures.stub(JavaMailSender.class),
+                new BookingMapperImpl(),
+                new ServiceMapperImpl(),
+                event -> { });
+    }
+
+    @Benchmark
+    public PageResponse<BookingDTO> getAllBookings() {
+        return bookingService.getAllBookings(0, pageSize);
+    }
+}
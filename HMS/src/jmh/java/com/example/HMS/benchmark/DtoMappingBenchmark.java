@@ -0,0 +1,121 @@
+package com.example.HMS.benchmark;
+
+import com.example.HMS.dto.FolioChargesDTO;
+import com.example.HMS.dto.FolioDTO;
+import com.example.HMS.dto.InventoryDTO;
+import com.example.HMS.dto.InventoryReceiptDTO;
+import com.example.HMS.dto.RoomDTO;
+import com.example.HMS.mapper.AmenityMapperImpl;
+import com.example.HMS.mapper.FolioMapper;
+import com.example.HMS.mapper.FolioMapperImpl;
+import com.example.HMS.mapper.InventoryMapper;
+import com.example.HMS.mapper.InventoryMapperImpl;
+import com.example.HMS.mapper.RoomMapper;
+import com.example.HMS.mapper.RoomMapperImpl;
+import com.example.HMS.model.Folio;
+import com.example.HMS.model.Inventory;
+import com.example.HMS.model.InventoryReceipt;
+import com.example.HMS.model.Room;
+import com.example.HMS.model.RoomType;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The mappings FolioServiceImpl, InventoryServiceImpl, InventoryReceiptServiceImpl and RoomServiceImpl run for
+ * every row, each measured twice: {@code modelMapper*} through the former {@code AppConfig.modelMapper()} bean,
+ * {@code generated*} through the MapStruct mappers that replaced it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+    private ModelMapper modelMapper;
+    private FolioMapper folioMapper;
+    private InventoryMapper inventoryMapper;
+    private RoomMapper roomMapper;
+    private Folio folio;
+    private List<Inventory> inventories;
+    private InventoryReceipt receipt;
+    private List<Room> rooms;
+
+    @Setup
+    public void setUp() {
+        modelMapper = BenchmarkFixtures.legacyModelMapper();
+        folioMapper = new FolioMapperImpl();
+        inventoryMapper = new InventoryMapperImpl();
+        roomMapper = new RoomMapperImpl(new AmenityMapperImpl());
+        folio = BenchmarkFixtures.folio(1, 30);
+        inventories = BenchmarkFixtures.inventories(20);
+        receipt = BenchmarkFixtures.receipt(20);
+        rooms = BenchmarkFixtures.rooms(20, RoomType.DOUBLE);
+    }
+
+    @Benchmark
+    public FolioDTO modelMapperFolio() {
+        return modelMapper.map(folio, FolioDTO.class);
+    }
+
+    @Benchmark
+    public FolioDTO generatedFolio() {
+        return folioMapper.toDto(folio);
+    }
+
+    @Benchmark
+    public List<FolioChargesDTO> modelMapperFolioCharges() {
+        return folio.getFolioDetails().stream()
+                .map(detail -> modelMapper.map(detail, FolioChargesDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<FolioChargesDTO> generatedFolioCharges() {
+        return folio.getFolioDetails().stream()
+                .map(folioMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<InventoryDTO> modelMapperInventoryPage() {
+        return inventories.stream()
+                .map(inventory -> modelMapper.map(inventory, InventoryDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<InventoryDTO> generatedInventoryPage() {
+        return inventories.stream()
+                .map(inventoryMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public InventoryReceiptDTO modelMapperInventoryReceipt() {
+        return modelMapper.map(receipt, InventoryReceiptDTO.class);
+    }
+
+    @Benchmark
+    public InventoryReceiptDTO generatedInventoryReceipt() {
+        return inventoryMapper.toDto(receipt);
+    }
+
+    @Benchmark
+    public List<RoomDTO> modelMapperRoomPage() {
+        return rooms.stream()
+                .map(room -> modelMapper.map(room, RoomDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<RoomDTO> generatedRoomPage() {
+        return rooms.stream()
+                .map(roomMapper::toDto)
+                .collect(Collectors.toList());
+    }
+}
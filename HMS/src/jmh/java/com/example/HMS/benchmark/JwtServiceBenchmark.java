@@ -0,0 +1,67 @@
+package com.example.HMS.benchmark;
+
+import com.example.HMS.repository.TokenBlacklistRepository;
+import com.example.HMS.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Mỗi request có JWT đều đi qua isValidToken và extractUsernameFromToken trong JwtAuthenticationFilter
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private JwtService jwtService;
+    private Authentication authentication;
+    private UserDetails userDetails;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(BenchmarkFixtures.stub(TokenBlacklistRepository.class));
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", BenchmarkFixtures.JWT_SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", TimeUnit.DAYS.toMillis(1));
+        ReflectionTestUtils.setField(jwtService, "refreshExpirationMs", TimeUnit.DAYS.toMillis(7));
+
+        userDetails = new User("receptionist01", "", List.of(new SimpleGrantedAuthority("RECEPTIONIST")));
+        authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        accessToken = jwtService.generateAccessToken(authentication);
+        refreshToken = jwtService.generateRefreshToken(authentication);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(authentication);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsernameFromToken(accessToken);
+    }
+
+    @Benchmark
+    public boolean isValidToken() {
+        return jwtService.isValidToken(accessToken);
+    }
+
+    @Benchmark
+    public boolean validateTokenForUser() {
+        return jwtService.validateTokenForUser(accessToken, userDetails);
+    }
+
+    @Benchmark
+    public boolean isRefreshToken() {
+        return jwtService.isRefreshToken(refreshToken);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.HMS.benchmark;
+
+import com.example.HMS.dto.AllocationResponseDTO;
+import com.example.HMS.dto.AutoAllocateRequestDTO;
+import com.example.HMS.model.Bookings;
+import com.example.HMS.model.Room;
+import com.example.HMS.model.RoomType;
+import com.example.HMS.repository.BookingsRepository;
+import com.example.HMS.repository.RoomBookingsRepository;
+import com.example.HMS.repository.RoomRepository;
+import com.example.HMS.service.OccupancyService;
+import com.example.HMS.service.RoomAllocationServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+// Sắp xếp phòng trống theo giá/sức chứa rồi phân bổ; repository trả về danh sách phòng có sẵn trong bộ nhớ
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomAllocationBenchmark {
+    @Param({"50", "500", "2000"})
+    public int availableRooms;
+
+    @Param({"1", "10"})
+    public int requestedRooms;
+
+    private RoomAllocationServiceImpl roomAllocationService;
+    private AutoAllocateRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        BookingsRepository bookingsRepository = BenchmarkFixtures.stub(BookingsRepository.class);
+        RoomRepository roomRepository = BenchmarkFixtures.stub(RoomRepository.class);
+        RoomBookingsRepository roomBookingsRepository = BenchmarkFixtures.stub(RoomBookingsRepository.class);
+
+        Bookings booking = BenchmarkFixtures.bookings(1).get(0);
+        List<Room> rooms = BenchmarkFixtures.rooms(availableRooms, RoomType.DOUBLE);
+        when(bookingsRepository.findById(anyInt())).thenReturn(Optional.of(booking));
+        when(roomBookingsRepository.findByBookingsId(anyLong())).thenReturn(List.of());
+        when(roomRepository.findAvailableRoomsByCapacityAndTypeOrderByPrice(anyInt(), any(), any(), any()))
+                .thenReturn(rooms);
+
+        roomAllocationService = new RoomAllocationServiceImpl(bookingsRepository, roomRepository,
+                roomBookingsRepository, BenchmarkFixtures.stub(OccupancyService.class));
+        request = new AutoAllocateRequestDTO(booking.getId(), requestedRooms, RoomType.DOUBLE, requestedRooms);
+    }
+
+    @Benchmark
+    public AllocationResponseDTO autoAllocateRooms() {
+        return roomAllocationService.autoAllocateRooms(request);
+    }
+}
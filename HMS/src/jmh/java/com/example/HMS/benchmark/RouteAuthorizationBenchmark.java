@@ -0,0 +1,104 @@
+package com.example.HMS.benchmark;
+
+import com.example.HMS.config.SecurityConfig;
+import com.example.HMS.utils.RouteAuthorizationTable;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Chi phí phân quyền URL cho một request: chuỗi requestMatchers duyệt tuần tự so với bảng trie trong SecurityConfig.
+// extraRoutes thêm rule POST giả lập trước anyRequest để xem chi phí tăng thế nào khi số rule tăng.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteAuthorizationBenchmark {
+    @Param({"0", "100", "400"})
+    public int extraRoutes;
+
+    private AuthorizationManager<MockHttpServletRequest> matcherChain;
+    private RouteAuthorizationTable table;
+    private List<MockHttpServletRequest> requests;
+    private List<RequestAuthorizationContext> contexts;
+    private final Supplier<Authentication> receptionist = () -> new UsernamePasswordAuthenticationToken("receptionist01",
+            null, AuthorityUtils.createAuthorityList("RECEPTIONIST"));
+
+    @Setup
+    public void setUp() {
+        List<RouteAuthorizationTable.Route> routes = new ArrayList<>(
+                new SecurityConfig(null, null, null, null, null, null).routeAuthorizationTable().routes());
+        RouteAuthorizationTable.Builder builder = RouteAuthorizationTable.builder();
+        routes.forEach(route -> add(builder, route));
+        for (int i = 0; i < extraRoutes; i++) {
+            builder.route(HttpMethod.POST, "/api/module" + i + "/items/**").hasAuthority("ADMIN");
+        }
+        table = builder.anyRequest().authenticated().build();
+
+        // Như authorizeHttpRequests dựng ra: mỗi rule một RequestMatcher, duyệt theo thứ tự khai báo
+        RequestMatcherDelegatingAuthorizationManager.Builder chain = RequestMatcherDelegatingAuthorizationManager.builder();
+        for (RouteAuthorizationTable.Route route : table.routes()) {
+            chain.add(new AntPathRequestMatcher(route.pattern(), route.method() != null ? route.method().name() : null),
+                    route.access());
+        }
+        chain.add(AnyRequestMatcher.INSTANCE, AuthenticatedAuthorizationManager.authenticated());
+        RequestMatcherDelegatingAuthorizationManager delegating = chain.build();
+        matcherChain = (authentication, request) -> delegating.check(authentication, request);
+
+        // Từ rule đầu bảng tới rule cuối và anyRequest
+        requests = new ArrayList<>(List.of(
+                new MockHttpServletRequest("GET", "/api/rooms/12"),
+                new MockHttpServletRequest("PUT", "/api/rooms/12/status"),
+                new MockHttpServletRequest("POST", "/api/folios/7/charges"),
+                new MockHttpServletRequest("PUT", "/api/bookings/42/check-in"),
+                new MockHttpServletRequest("DELETE", "/api/feedback/3"),
+                new MockHttpServletRequest("POST", "/api/payments/7/create"),
+                new MockHttpServletRequest("POST", "/api/schedule/generate")));
+        if (extraRoutes > 0) {
+            requests.add(new MockHttpServletRequest("POST", "/api/module" + (extraRoutes - 1) + "/items/1"));
+        }
+        contexts = requests.stream().map(RequestAuthorizationContext::new).toList();
+    }
+
+    @Benchmark
+    public int requestMatcherChain() {
+        int granted = 0;
+        for (MockHttpServletRequest request : requests) {
+            if (matcherChain.check(receptionist, request).isGranted()) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    @Benchmark
+    public int routeTable() {
+        int granted = 0;
+        for (RequestAuthorizationContext context : contexts) {
+            if (table.check(receptionist, context).isGranted()) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    private static void add(RouteAuthorizationTable.Builder builder, RouteAuthorizationTable.Route route) {
+        (route.method() != null ? builder.route(route.method(), route.pattern()) : builder.route(route.pattern()))
+                .access(route.access());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.HMS.benchmark;
+
+import com.example.HMS.dto.ScheduleRequest;
+import com.example.HMS.dto.ScheduleResponse;
+import com.example.HMS.model.Employee;
+import com.example.HMS.repository.EmployeeRepository;
+import com.example.HMS.repository.WorkScheduleRepository;
+import com.example.HMS.service.ScheduleServiceImpl;
+import com.example.HMS.service.WorkScheduleWriter;
+import com.google.ortools.Loader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+// Dựng model CP-SAT và giải lịch một tuần; mỗi lần gọi mất từ vài trăm ms nên đo từng lần một
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ScheduleBenchmark {
+    @Param({"200", "400", "800"})
+    public int rosterSize;
+
+    private ScheduleServiceImpl scheduleService;
+    private ScheduleRequest request;
+    private PrintStream stdout;
+
+    @Setup
+    public void setUp() {
+        Loader.loadNativeLibraries();
+        List<Employee> roster = BenchmarkFixtures.roster(rosterSize);
+        EmployeeRepository employeeRepository = BenchmarkFixtures.stub(EmployeeRepository.class);
+        when(employeeRepository.findByPositionInAndIsActiveTrue(anyList())).thenReturn(roster);
+
+        scheduleService = new ScheduleServiceImpl(employeeRepository,
+                BenchmarkFixtures.stub(WorkScheduleRepository.class),
+                BenchmarkFixtures.stub(WorkScheduleWriter.class),
+                new SimpleMeterRegistry());
+        request = new ScheduleRequest();
+        request.setStartDate(BenchmarkFixtures.START_DATE);
+
+        // createSchedule in log từng ràng buộc ra stdout, bỏ đi để không làm nhiễu kết quả
+        stdout = System.out;
+        System.setOut(BenchmarkFixtures.discardingStream());
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public List<ScheduleResponse> createSchedule() {
+        return scheduleService.createSchedule(request);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.HMS.benchmark;
+
+import com.example.HMS.config.VNPayConfig;
+import com.example.HMS.model.Folio;
+import com.example.HMS.repository.FolioRepository;
+import com.example.HMS.service.VNPayService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Tạo URL thanh toán (sắp xếp tham số, URL-encode, HMAC-SHA512) và kiểm tra chữ ký khi VNPay redirect về
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VNPayBenchmark {
+    private VNPayService vnPayService;
+    private Folio folio;
+    private Map<String, String> returnParams;
+    private PrintStream stdout;
+
+    @Setup
+    public void setUp() {
+        VNPayConfig config = new VNPayConfig();
+        ReflectionTestUtils.setField(config, "vnpVersion", "2.1.0");
+        ReflectionTestUtils.setField(config, "vnpCommand", "pay");
+        ReflectionTestUtils.setField(config, "vnpTmnCode", "BENCH001");
+        ReflectionTestUtils.setField(config, "vnpHashSecret", BenchmarkFixtures.VNPAY_SECRET);
+        ReflectionTestUtils.setField(config, "vnpCurrCode", "VND");
+        ReflectionTestUtils.setField(config, "vnpPayUrl", "https://sandbox.vnpayment.vn/paymentv2/vpcpay.html");
+        ReflectionTestUtils.setField(config, "vnpReturnUrl", "http://localhost:8080/api/payment/vnpay-return");
+
+        vnPayService = new VNPayService();
+        ReflectionTestUtils.setField(vnPayService, "vnPayConfig", config);
+        ReflectionTestUtils.setField(vnPayService, "folioRepository", BenchmarkFixtures.stub(FolioRepository.class));
+        folio = BenchmarkFixtures.folio(1, 10);
+
+        // createPaymentUrl in URL ra stdout, bỏ đi để không làm nhiễu kết quả
+        stdout = System.out;
+        System.setOut(BenchmarkFixtures.discardingStream());
+
+        // Tham số redirect về lấy từ URL vừa tạo; chữ ký không khớp nên processPaymentReturn dừng sau bước
+        // tính lại HMAC và không chạm repository
+        returnParams = new HashMap<>();
+        UriComponentsBuilder.fromUriString(vnPayService.createPaymentUrl(folio, "127.0.0.1")).build()
+                .getQueryParams().forEach((name, values) -> returnParams.put(name, values.get(0)));
+        returnParams.put("vnp_ResponseCode", "00");
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public String createPaymentUrl() {
+        return vnPayService.createPaymentUrl(folio, "127.0.0.1");
+    }
+
+    @Benchmark
+    public boolean verifyPaymentReturn() {
+        // processPaymentReturn xoá vnp_SecureHash khỏi map nên mỗi lần gọi cần một bản sao
+        return vnPayService.processPaymentReturn(new HashMap<>(returnParams));
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.HMS.config;
+
+import com.example.HMS.utils.CacheInvalidationBroadcaster;
+import com.example.HMS.utils.ReferenceDataCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String SERVICES = "services";
+    public static final String AMENITIES = "amenities";
+    public static final String LOYALTY_LEVELS = "loyaltyLevels";
+    public static final String SUPPLIERS = "suppliers";
+    public static final String ROOM_TYPES = "roomTypes";
+
+    @Bean
+    public ReferenceDataCacheManager cacheManager(ObjectProvider<CacheInvalidationBroadcaster> broadcaster,
+                                                  @Value("${app.cache.max-entries:500}") int maxEntries,
+                                                  @Value("${app.cache.ttl-ms:600000}") long ttlMs) {
+        ReferenceDataCacheManager cacheManager = new ReferenceDataCacheManager(
+                List.of(SERVICES, AMENITIES, LOYALTY_LEVELS, SUPPLIERS, ROOM_TYPES), maxEntries, ttlMs,
+                broadcaster.getIfAvailable(() -> CacheInvalidationBroadcaster.NONE));
+        // Chỉ xoá cache sau khi transaction commit, tránh request khác nạp lại dữ liệu cũ
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+}
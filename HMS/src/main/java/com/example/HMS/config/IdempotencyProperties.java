@@ -0,0 +1,24 @@
+package com.example.HMS.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = true;
+    // Các POST nhận header Idempotency-Key, dạng AntPathMatcher
+    private List<String> patterns = new ArrayList<>();
+    // Giữ response đầu tiên bao lâu để trả lại cho các lần gửi lại
+    private long ttlMs = 86_400_000;
+    private int maxEntries = 100_000;
+    // Response lớn hơn thì không lưu, lần gửi lại sẽ chạy lại như bình thường
+    private int maxResponseBytes = 64 * 1024;
+    // Request trùng key chờ request đầu tối đa bao lâu trước khi nhận 409
+    private long waitTimeoutMs = 30_000;
+}
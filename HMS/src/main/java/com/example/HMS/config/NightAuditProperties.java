@@ -0,0 +1,16 @@
+package com.example.HMS.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.night-audit")
+public class NightAuditProperties {
+    // Số booking mỗi chunk; mỗi chunk ghi trong một transaction riêng
+    private int chunkSize = 200;
+    private int workers = 4;
+    // Thuế phòng theo tỉ lệ giá phòng, 0 thì không ghi dòng thuế; dùng chung cho night audit và checkout
+    private double taxRate = 0;
+}
@@ -0,0 +1,33 @@
+package com.example.HMS.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private boolean trustForwardedFor = false;
+    private long idleEvictMs = 600_000;
+    private int maxBuckets = 100_000;
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+        private String method = "POST";
+        private List<String> patterns = new ArrayList<>();
+        // Giới hạn theo IP của client
+        private int capacity = 10;
+        private double refillPerMinute = 10;
+        // Giới hạn theo khách (access token hoặc guestEmail trong body), 0 = tắt
+        private int guestCapacity = 0;
+        private double guestRefillPerMinute = 1;
+    }
+}
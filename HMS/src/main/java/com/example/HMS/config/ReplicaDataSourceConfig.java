@@ -0,0 +1,83 @@
+package com.example.HMS.config;
+
+import com.example.HMS.utils.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica-urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             ReplicaProperties replicaProperties,
+                                                             MeterRegistry meterRegistry) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaProperties.getReplicaUrls()) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url.trim())
+                    .username(replicaProperties.getReplicaUsername() != null
+                            ? replicaProperties.getReplicaUsername() : properties.determineUsername())
+                    .password(replicaProperties.getReplicaPassword() != null
+                            ? replicaProperties.getReplicaPassword() : properties.determinePassword())
+                    .build();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setMaximumPoolSize(replicaProperties.getReplicaPoolSize());
+            // Replica chết thì trả lỗi nhanh để chuyển sang replica khác hoặc primary
+            replica.setConnectionTimeout(replicaProperties.getReplicaConnectionTimeoutMs());
+            // Pool replica không phải bean nên Spring Boot không tự gắn metric hikaricp.* cho nó
+            replica.setMetricRegistry(meterRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return registry -> {
+            Gauge.builder("hms.datasource.replicas.healthy", replicaRoutingDataSource, ReplicaRoutingDataSource::getHealthyReplicas)
+                    .register(registry);
+            FunctionCounter.builder("hms.datasource.connections", replicaRoutingDataSource, ReplicaRoutingDataSource::getPrimaryConnections)
+                    .tag("target", "primary")
+                    .register(registry);
+            FunctionCounter.builder("hms.datasource.connections", replicaRoutingDataSource, ReplicaRoutingDataSource::getReplicaConnections)
+                    .tag("target", "replica")
+                    .register(registry);
+            FunctionCounter.builder("hms.datasource.replica.fallbacks", replicaRoutingDataSource, ReplicaRoutingDataSource::getFallbacks)
+                    .register(registry);
+        };
+    }
+
+    // Lấy connection thật ở câu lệnh đầu tiên, lúc đó cờ read-only của transaction đã được đặt
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
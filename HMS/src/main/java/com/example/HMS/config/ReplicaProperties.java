@@ -0,0 +1,24 @@
+package com.example.HMS.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource")
+public class ReplicaProperties {
+    // Để trống thì mọi truy vấn đi thẳng vào spring.datasource.url như cũ
+    private List<String> replicaUrls = new ArrayList<>();
+    // Mặc định dùng chung tài khoản với primary
+    private String replicaUsername;
+    private String replicaPassword;
+    private int replicaPoolSize = 10;
+    private long replicaConnectionTimeoutMs = 2000;
+    // Sau khi một user ghi, các request tiếp theo của user đó đọc primary trong khoảng này
+    private long readYourWritesMs = 3000;
+    private int maxTrackedWriters = 100_000;
+}
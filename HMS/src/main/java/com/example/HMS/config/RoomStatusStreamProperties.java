@@ -0,0 +1,27 @@
+package com.example.HMS.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.room-status-stream")
+public class RoomStatusStreamProperties {
+    // Số thread ghi sự kiện cho mọi kết nối; kết nối đang rảnh không giữ thread nào
+    private int senderThreads = 2;
+    // Chu kỳ gửi heartbeat để proxy không cắt kết nối rảnh và để phát hiện client đã mất
+    private long heartbeatMs = 15_000;
+    // Chu kỳ kiểm tra các lần ghi bị treo
+    private long watchdogMs = 1_000;
+    // Một lần ghi tới client lâu hơn khoảng này thì client bị loại, nối lại sẽ bắt kịp
+    private long sendTimeoutMs = 5_000;
+    // Số thread ghi bị treo ở client đã loại được bù thêm vào pool; vượt quá thì các client còn lại phải chờ
+    private int maxPinnedSenders = 16;
+    // Thời gian sống của một kết nối; hết hạn thì client nối lại bằng Last-Event-ID
+    private long timeoutMs = 30 * 60_000;
+    // Số thay đổi gần nhất giữ lại cho client nối lại bằng Last-Event-ID
+    private int replayEvents = 1024;
+    // Các kết nối mở cùng lúc trong khoảng này dùng chung một truy vấn snapshot
+    private long snapshotTtlMs = 1_000;
+}
@@ -1,7 +1,17 @@
 package com.example.HMS.config;
 
+import com.example.HMS.filter.IdempotencyFilter;
+import com.example.HMS.filter.IdempotencyStore;
 import com.example.HMS.filter.JwtAuthenticationFilter;
+import com.example.HMS.filter.QueryCountFilter;
+import com.example.HMS.filter.RateLimitFilter;
+import com.example.HMS.filter.RateLimiter;
+import com.example.HMS.filter.ReadYourWritesFilter;
+import com.example.HMS.utils.ReplicaRoutingDataSource;
+import com.example.HMS.utils.RouteAuthorizationTable;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -18,6 +28,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -30,6 +41,13 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class SecurityConfig {
     private final UserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimiter rateLimiter;
+    private final IdempotencyStore idempotencyStore;
+    private final ReplicaProperties replicaProperties;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource;
+
+    @Value("${app.metrics.query-count-header:false}")
+    private boolean queryCountHeader;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -54,55 +72,64 @@ public class SecurityConfig {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests(
-                        req -> req
-                                .requestMatchers("/api/auth/**").permitAll()
-                                .requestMatchers("/api/data/**").permitAll()
-                                .requestMatchers(HttpMethod.GET).permitAll()
-                                .requestMatchers("/api/admin/housekeeping-requests/**").hasAnyAuthority("ADMIN", "HOUSEKEEPING")
-                                .requestMatchers(HttpMethod.GET, "/api/feedback/**").permitAll()
-                                .requestMatchers(HttpMethod.GET, "/api/rooms/**").permitAll()
-                                .requestMatchers(HttpMethod.PUT,"/api/rooms/**").hasAnyAuthority("ADMIN", "RECEPTIONIST", "HOUSEKEEPING")
-                                .requestMatchers(HttpMethod.POST,"/api/rooms/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
-                                .requestMatchers(HttpMethod.DELETE,"/api/rooms/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
-                                .requestMatchers(HttpMethod.GET, "/api/services").permitAll()
-                                .requestMatchers("/api/admin/service-requests/**").hasAnyAuthority("ADMIN", "POS_SERVICE")
-                                .requestMatchers("/api/folios/**", "/api/guests/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
-                                .requestMatchers("api/customers/forgot-password", "api/customers/reset-password").permitAll()
-                                .requestMatchers("/api/amenities/**", "/api/amenity-history/**", "/api/assets/**", "/api/inventories/**",
-                                        "/api/inventory-receipts/**", "/api/expenses/**",
-                                        "/api/audit-reports/**", "/api/suppliers/**", "/api/housekeeping/**",
-                                        "/api/services/**", "/api/maintenance-schedules/**").hasAuthority("ADMIN")
-                                .requestMatchers("/api/housekeeping-requests/**", "/api/service-requests/**").permitAll()
-                                .requestMatchers(HttpMethod.DELETE, "/api/housekeeping/schedules/**").hasAuthority("ADMIN")
-                                .requestMatchers(HttpMethod.POST, "/api/bookings").permitAll()
-                                .requestMatchers(HttpMethod.GET, "/api/bookings/customer/**").permitAll()
-                                .requestMatchers(HttpMethod.GET, "/api/follios/**").permitAll()
-                                .requestMatchers(HttpMethod.GET, "/api/bookings/admin/**").hasAnyAuthority("RECEPTIONIST", "ADMIN")
-                                .requestMatchers(HttpMethod.GET, "/api/bookings/**").hasAnyAuthority("CUSTOMER", "RECEPTIONIST", "ADMIN")
-                                .requestMatchers(HttpMethod.PUT, "/api/bookings/**").permitAll()
-                                .requestMatchers(HttpMethod.POST, "/api/bookings/**").permitAll()
-                                .requestMatchers(HttpMethod.DELETE, "/api/bookings/**").hasAnyAuthority("RECEPTIONIST", "ADMIN")
-                                .requestMatchers("/api/customers/profile").hasAuthority("CUSTOMER")
-                                .requestMatchers("/api/customers/change-password").hasAuthority("CUSTOMER")
-                                .requestMatchers(HttpMethod.GET, "/api/customers/**").hasAuthority("ADMIN")
-                                .requestMatchers(HttpMethod.PATCH, "/api/customers/**").hasAuthority("ADMIN")
-                                .requestMatchers(HttpMethod.DELETE, "/api/customers/**").hasAuthority("ADMIN")
-                                .requestMatchers(HttpMethod.POST, "/api/feedback/**").permitAll()
-                                .requestMatchers(HttpMethod.GET, "/api/feedback/my-feedback").hasAuthority("CUSTOMER")
-                                .requestMatchers(HttpMethod.PUT, "/api/feedback/**").permitAll()
-                                .requestMatchers(HttpMethod.DELETE, "/api/feedback/**").permitAll()
-                                .requestMatchers("/api/payments/**").permitAll()
-                                .anyRequest().authenticated()
-                )
+                // Mọi rule URL nằm trong routeAuthorizationTable, tra một lần theo method + path
+                .authorizeHttpRequests(req -> req.anyRequest().access(routeAuthorizationTable()))
                 .sessionManagement(
                         session -> session
                                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 ).addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new RateLimitFilter(rateLimiter), JwtAuthenticationFilter.class)
+                // Đứng ngoài cùng để đếm cả câu SQL của các filter phía sau (blacklist token, load user)
+                .addFilterBefore(new QueryCountFilter(queryCountHeader), RateLimitFilter.class)
+                // Sau bước phân quyền để response lưu lại chỉ trả cho request đã được phép gọi
+                .addFilterAfter(new IdempotencyFilter(idempotencyStore), AuthorizationFilter.class)
                 .authenticationProvider(authenticationProvider());
+        // Chỉ cần khi có replica; đặt sau JWT filter để biết user nào vừa ghi
+        if (replicaRoutingDataSource.getIfAvailable() != null) {
+            http.addFilterAfter(new ReadYourWritesFilter(replicaProperties.getReadYourWritesMs(),
+                    replicaProperties.getMaxTrackedWriters()), JwtAuthenticationFilter.class);
+        }
         return http.build();
     }
 
+    /**
+     * Thứ tự vẫn là rule đầu tiên khớp sẽ thắng. GET được mở hết ở tầng URL, quyền của từng endpoint GET
+     * nằm ở @PreAuthorize; rule nào bị rule phía trên che hoàn toàn thì build() báo lỗi ngay lúc khởi động.
+     */
+    @Bean
+    public RouteAuthorizationTable routeAuthorizationTable() {
+        return RouteAuthorizationTable.builder()
+                .route("/api/auth/**").permitAll()
+                .route("/actuator/prometheus").hasAuthority("ADMIN")
+                .route(HttpMethod.GET).permitAll()
+                .route("/api/admin/housekeeping-requests/**").hasAnyAuthority("ADMIN", "HOUSEKEEPING")
+                .route(HttpMethod.PUT, "/api/rooms/**").hasAnyAuthority("ADMIN", "RECEPTIONIST", "HOUSEKEEPING")
+                .route(HttpMethod.POST, "/api/rooms/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
+                .route(HttpMethod.DELETE, "/api/rooms/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
+                .route("/api/admin/service-requests/**").hasAnyAuthority("ADMIN", "POS_SERVICE")
+                .route("/api/folios/**", "/api/guests/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
+                .route("/api/customers/forgot-password", "/api/customers/reset-password").permitAll()
+                .route("/api/amenities/**", "/api/amenity-history/**", "/api/assets/**", "/api/inventories/**",
+                        "/api/inventory-receipts/**", "/api/expenses/**",
+                        "/api/audit-reports/**", "/api/suppliers/**", "/api/housekeeping/**",
+                        "/api/services/**", "/api/maintenance-schedules/**").hasAuthority("ADMIN")
+                .route("/api/housekeeping-requests/**", "/api/service-requests/**").permitAll()
+                .route(HttpMethod.POST, "/api/bookings").permitAll()
+                .route(HttpMethod.PUT, "/api/bookings/**").permitAll()
+                .route(HttpMethod.POST, "/api/bookings/**").permitAll()
+                .route(HttpMethod.DELETE, "/api/bookings/**").hasAnyAuthority("RECEPTIONIST", "ADMIN")
+                .route("/api/customers/profile").hasAuthority("CUSTOMER")
+                .route("/api/customers/change-password").hasAuthority("CUSTOMER")
+                .route(HttpMethod.PATCH, "/api/customers/**").hasAuthority("ADMIN")
+                .route(HttpMethod.DELETE, "/api/customers/**").hasAuthority("ADMIN")
+                .route(HttpMethod.POST, "/api/feedback/**").permitAll()
+                .route(HttpMethod.PUT, "/api/feedback/**").permitAll()
+                .route(HttpMethod.DELETE, "/api/feedback/**").permitAll()
+                .route("/api/payments/**").permitAll()
+                .anyRequest().authenticated()
+                .build();
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -1,5 +1,6 @@
 package com.example.HMS.config;
 
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -19,8 +20,9 @@ public class ZalopayConfig {
         }
     };
 
+    // Dựng qua RestTemplateBuilder để các lời gọi ra cổng thanh toán được đo trong http.client.requests
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder) {
+        return restTemplateBuilder.build();
     }
 }
@@ -3,6 +3,7 @@ package com.example.HMS.controller;
 import com.example.HMS.dto.AmenityHistoryCreateRequest;
 import com.example.HMS.dto.AmenityHistoryDTO;
 import com.example.HMS.dto.AmenityHistoryUpdateRequest;
+import com.example.HMS.mapper.AmenityMapper;
 import com.example.HMS.model.Amenity;
 import com.example.HMS.model.AmenityAction;
 import com.example.HMS.model.AmenityHistory;
@@ -28,6 +29,7 @@ public class AmenityHistoryController {
     private final AmenityHistoryService amenityHistoryService;
     private final RoomRepository roomRepository;
     private final AmenityRepository amenityRepository;
+    private final AmenityMapper amenityMapper;
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllAmenityHistories(
@@ -88,14 +90,14 @@ public class AmenityHistoryController {
     @GetMapping("/{id}")
     public ResponseEntity<AmenityHistoryDTO> getAmenityHistoryById(@PathVariable Long id) {
         AmenityHistory amenityHistory = amenityHistoryService.getAmenityHistoryById(id);
-        return ResponseEntity.ok(convertToDTO(amenityHistory));
+        return ResponseEntity.ok(amenityMapper.toDto(amenityHistory));
     }
 
     @PostMapping
     public ResponseEntity<AmenityHistoryDTO> createAmenityHistory(@RequestBody AmenityHistoryCreateRequest request) {
         AmenityHistory amenityHistory = convertToEntity(request);
         AmenityHistory savedHistory = amenityHistoryService.createAmenityHistory(amenityHistory);
-        return ResponseEntity.status(HttpStatus.CREATED).body(convertToDTO(savedHistory));
+        return ResponseEntity.status(HttpStatus.CREATED).body(amenityMapper.toDto(savedHistory));
     }
 
     @PutMapping("/{id}")
@@ -104,7 +106,7 @@ public class AmenityHistoryController {
             @RequestBody AmenityHistoryUpdateRequest request) {
         AmenityHistory historyDetails = convertToEntity(request);
         AmenityHistory updatedHistory = amenityHistoryService.updateAmenityHistory(id, historyDetails);
-        return ResponseEntity.ok(convertToDTO(updatedHistory));
+        return ResponseEntity.ok(amenityMapper.toDto(updatedHistory));
     }
 
     @DeleteMapping("/{id}")
@@ -117,7 +119,7 @@ public class AmenityHistoryController {
 
     private ResponseEntity<Map<String, Object>> buildPaginatedResponse(Page<AmenityHistory> page) {
         List<AmenityHistoryDTO> historyDTOs = page.getContent().stream()
-                .map(this::convertToDTO)
+                .map(amenityMapper::toDto)
                 .collect(Collectors.toList());
         Map<String, Object> response = new HashMap<>();
         response.put("histories", historyDTOs);
@@ -127,24 +129,6 @@ public class AmenityHistoryController {
         return ResponseEntity.ok(response);
     }
 
-    private AmenityHistoryDTO convertToDTO(AmenityHistory history) {
-        AmenityHistoryDTO dto = new AmenityHistoryDTO();
-        dto.setId(history.getId());
-        if (history.getSourceRoom() != null) {
-            dto.setSourceRoomId(history.getSourceRoom().getId());
-            dto.setSourceRoomName(history.getSourceRoom().getRoomName());
-        }
-        if (history.getDestinationRoom() != null) {
-            dto.setDestinationRoomId(history.getDestinationRoom().getId());
-            dto.setDestinationRoomName(history.getDestinationRoom().getRoomName());
-        }
-        dto.setAmenityId(history.getAmenity().getId());
-        dto.setAmenityName(history.getAmenity().getName());
-        dto.setAction(history.getAction());
-        dto.setQuantity(history.getQuantity());
-        dto.setTimestamp(history.getTimestamp());
-        return dto;
-    }
 
     private AmenityHistory convertToEntity(AmenityHistoryCreateRequest request) {
         AmenityHistory history = new AmenityHistory();
@@ -2,17 +2,24 @@ package com.example.HMS.controller;
 
 import com.example.HMS.dto.AuditReportDTO;
 import com.example.HMS.dto.AuditReportRequestDTO;
+import com.example.HMS.dto.OccupancyCubeDTO;
 import com.example.HMS.dto.RealTimeAuditReportDTO;
 import com.example.HMS.service.AuditReportService;
+import com.example.HMS.service.ExportService;
+import com.example.HMS.service.OccupancyService;
+import com.example.HMS.utils.CsvExportUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -20,6 +27,8 @@ import java.util.UUID;
 @RequestMapping("/api/audit-reports")
 public class AuditReportController {
     private final AuditReportService auditReportService;
+    private final ExportService exportService;
+    private final OccupancyService occupancyService;
 
     @PostMapping
     public ResponseEntity<AuditReportDTO> createAuditReport(@RequestBody AuditReportRequestDTO requestDTO) {
@@ -39,6 +48,31 @@ public class AuditReportController {
         return ResponseEntity.ok(reports);
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAuditReports(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return CsvExportUtil.stream("audit-reports", gzip,
+                out -> exportService.exportAuditReports(startDate, endDate, search, out));
+    }
+
+    @GetMapping("/occupancy")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<OccupancyCubeDTO>> getOccupancy(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(occupancyService.getOccupancy(startDate, endDate));
+    }
+
+    @PostMapping("/occupancy/rebuild")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Integer> rebuildOccupancy() {
+        return ResponseEntity.ok(occupancyService.rebuild());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AuditReportDTO> getAuditReportDetails(@PathVariable UUID id) {
         AuditReportDTO report = auditReportService.getAuditReportDetails(id);
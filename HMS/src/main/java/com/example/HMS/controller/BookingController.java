@@ -2,19 +2,22 @@ package com.example.HMS.controller;
 
 import com.example.HMS.dto.*;
 import com.example.HMS.model.*;
-import com.example.HMS.repository.AccessTokenRepository;
 import com.example.HMS.repository.BookingsRepository;
 import com.example.HMS.repository.UserRepository;
 import com.example.HMS.service.BookingService;
+import com.example.HMS.service.ExportService;
+import com.example.HMS.service.GuestAccessService;
+import com.example.HMS.utils.CsvExportUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -25,8 +28,9 @@ import java.util.Optional;
 public class BookingController {
     private final BookingService bookingService;
     private final BookingsRepository bookingRepository;
-    private final AccessTokenRepository accessTokenRepository;
+    private final GuestAccessService guestAccessService;
     private final UserRepository userRepository;
+    private final ExportService exportService;
 
     @PostMapping
     public ResponseEntity<BookingDTO> createBooking(@RequestBody BookingDTO bookingDTO,
@@ -83,10 +87,7 @@ public class BookingController {
             if (token == null) {
                 throw new IllegalArgumentException("Token is required for guest users");
             }
-            accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, bookingId, "BOOKING")
-                    .filter(t -> !t.getExpiresAt().isBefore(LocalDateTime.now()))
-                    .filter(t -> t.getGuestEmail().equals(booking.getGuestEmail()))
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
+            guestAccessService.requireGuestAccess(token, bookingId, "BOOKING", booking.getGuestEmail());
         }
 
         BookingDetailsDTO bookingDetails = bookingService.getBookingDetails(bookingId);
@@ -121,10 +122,7 @@ public class BookingController {
                 throw new RuntimeException("Token is required for guest users");
             }
 
-            accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, bookingId, "BOOKING")
-                    .filter(t -> !t.getExpiresAt().isBefore(LocalDateTime.now()))
-                    .filter(t -> t.getGuestEmail().equals(booking.getGuestEmail()))
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
+            guestAccessService.requireGuestAccess(token, bookingId, "BOOKING", booking.getGuestEmail());
         }
 
         BookingDTO updatedBooking = bookingService.updateBooking(bookingId, bookingDTO, token);
@@ -160,10 +158,7 @@ public class BookingController {
                 throw new RuntimeException("Token is required for guest users");
             }
 
-            accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, bookingId, "BOOKING")
-                    .filter(t -> !t.getExpiresAt().isBefore(LocalDateTime.now()))
-                    .filter(t -> t.getGuestEmail().equals(booking.getGuestEmail()))
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
+            guestAccessService.requireGuestAccess(token, bookingId, "BOOKING", booking.getGuestEmail());
         }
 
         BookingDTO updatedBooking = bookingService.changeBookingStatus(bookingId, status, token);
@@ -223,6 +218,24 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    @GetMapping("/admin/export")
+    @PreAuthorize("hasAnyAuthority('RECEPTIONIST', 'ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(required = false) String customerFullName,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date startDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date endDate,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        BookingSearchCriteria criteria = new BookingSearchCriteria();
+        criteria.setUserFullName(customerFullName);
+        criteria.setStartDate(startDate);
+        criteria.setEndDate(endDate);
+        criteria.setStatus(status);
+
+        return CsvExportUtil.stream("bookings", gzip, out -> exportService.exportBookings(criteria, out));
+    }
+
     @DeleteMapping("/{bookingId}")
     public ResponseEntity<Void> deleteBooking(@PathVariable Long bookingId) {
         bookingService.deleteBooking(bookingId);
@@ -0,0 +1,31 @@
+package com.example.HMS.controller;
+
+import com.example.HMS.dto.CacheStatsDTO;
+import com.example.HMS.utils.ReferenceDataCacheManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+public class CacheController {
+    private final ReferenceDataCacheManager cacheManager;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<CacheStatsDTO>> getStats() {
+        return ResponseEntity.ok(cacheManager.getStats());
+    }
+
+    // Chỉ xoá cache trên node nhận request, dùng khi node khác báo đã thay đổi dữ liệu
+    @PostMapping("/{name}/invalidate")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<Void> invalidate(@PathVariable String name) {
+        cacheManager.invalidateLocal(name);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.HMS.controller;
+
+import com.example.HMS.dto.DashboardSummaryDTO;
+import com.example.HMS.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+    private final DashboardService dashboardService;
+
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'RECEPTIONIST')")
+    public ResponseEntity<DashboardSummaryDTO> getSummary(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reportDate,
+            @RequestParam(defaultValue = "10") int recentLimit) {
+        LocalDate date = reportDate != null ? reportDate : LocalDate.now();
+        int statsYear = year != null ? year : date.getYear();
+        return ResponseEntity.ok(dashboardService.getSummary(statsYear, date, recentLimit));
+    }
+}
@@ -1,19 +1,26 @@
 package com.example.HMS.controller;
 
+import com.example.HMS.dto.LoadDataRequest;
+import com.example.HMS.dto.LoadDataStatusDTO;
+import com.example.HMS.exception.ResourceAlreadyExistsException;
 import com.example.HMS.service.DataGeneratorService;
+import com.example.HMS.service.LoadDataGeneratorService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/data")
 @RequiredArgsConstructor
 public class DataGeneratorController {
     private final DataGeneratorService dataGeneratorService;
+    private final LoadDataGeneratorService loadDataGeneratorService;
 
+    // Xoá và sinh lại toàn bộ dữ liệu
     @PostMapping("/generate")
+    @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<String> generateData() {
         try {
             dataGeneratorService.generateData();
@@ -22,4 +29,23 @@ public class DataGeneratorController {
             return ResponseEntity.status(500).body("Error generating data: " + e.getMessage());
         }
     }
+
+    // Sinh dữ liệu load test chạy nền, theo dõi tiến độ qua /load/status
+    @PostMapping("/load")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> startLoadData(@RequestBody(required = false) LoadDataRequest request) {
+        try {
+            return ResponseEntity.accepted().body(loadDataGeneratorService.start(request != null ? request : new LoadDataRequest()));
+        } catch (ResourceAlreadyExistsException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/load/status")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<LoadDataStatusDTO> getLoadDataStatus() {
+        return ResponseEntity.ok(loadDataGeneratorService.getStatus());
+    }
 }
@@ -7,11 +7,15 @@ import com.example.HMS.model.Role;
 import com.example.HMS.model.User;
 import com.example.HMS.repository.CustomerRepository;
 import com.example.HMS.repository.UserRepository;
+import com.example.HMS.service.ChangeVersionService;
 import com.example.HMS.service.FeedbackService;
+import com.example.HMS.utils.ConditionalGet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,8 +28,11 @@ import java.util.Objects;
 @RequestMapping("/api/feedback")
 @RequiredArgsConstructor
 public class FeedbackController {
+    // Feedback có email khách nên không cho proxy dùng chung lưu lại
+    private static final CacheControl FEEDBACK_CACHE = CacheControl.noCache().cachePrivate();
 
     private final FeedbackService feedbackService;
+    private final ChangeVersionService changeVersionService;
     private final CustomerRepository customerRepository;
     private final UserRepository userRepository;
 
@@ -57,10 +64,13 @@ public class FeedbackController {
             @RequestParam(required = false) Long bookingId,
             @RequestParam(required = false) Integer rating,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<FeedbackDTO> feedback = feedbackService.getAllFeedback(customerName, bookingId, rating, pageable);
-        return ResponseEntity.ok(feedback);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = changeVersionService.etag(ChangeVersionService.FEEDBACK);
+        return ConditionalGet.respond(ifNoneMatch, etag, FEEDBACK_CACHE, () -> {
+            Pageable pageable = PageRequest.of(page, size);
+            return feedbackService.getAllFeedback(customerName, bookingId, rating, pageable);
+        });
     }
 
     @GetMapping("/{id}")
@@ -124,9 +134,10 @@ public class FeedbackController {
 
     @GetMapping("/latest")
     public ResponseEntity<List<FeedbackDTO>> getLatestFeedbacks(
-            @RequestParam(defaultValue = "10") int limit) {
-        List<FeedbackDTO> latestFeedbacks = feedbackService.getLatestFeedbacks(limit);
-        return ResponseEntity.ok(latestFeedbacks);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = changeVersionService.etag(ChangeVersionService.FEEDBACK);
+        return ConditionalGet.respond(ifNoneMatch, etag, FEEDBACK_CACHE, () -> feedbackService.getLatestFeedbacks(limit));
     }
 
     private Long getCustomerIdFromUserDetails(UserDetails userDetails) {
@@ -7,13 +7,17 @@ import com.example.HMS.model.Role;
 import com.example.HMS.model.User;
 import com.example.HMS.repository.CustomerRepository;
 import com.example.HMS.repository.UserRepository;
+import com.example.HMS.service.ExportService;
 import com.example.HMS.service.FolioService;
+import com.example.HMS.utils.CsvExportUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Optional;
 
@@ -24,6 +28,7 @@ public class FolioController {
     private final FolioService folioService;
     private final CustomerRepository customerRepository;
     private final UserRepository userRepository;
+    private final ExportService exportService;
 
     @GetMapping
     public Page<FolioDTO> getAllFolios(
@@ -33,6 +38,14 @@ public class FolioController {
         return folioService.getAllFolios(page, size, search);
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'RECEPTIONIST')")
+    public ResponseEntity<StreamingResponseBody> exportFolios(
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return CsvExportUtil.stream("folios", gzip, out -> exportService.exportFolios(search, out));
+    }
+
     @GetMapping("/booking/{bookingId}")
     public ResponseEntity<FolioDTO> getFolioByBookingId(@PathVariable Long bookingId) {
         FolioDTO dto = folioService.getFolioByBookingId(bookingId);
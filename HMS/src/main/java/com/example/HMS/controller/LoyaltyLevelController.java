@@ -1,5 +1,6 @@
 package com.example.HMS.controller;
 
+import com.example.HMS.dto.LoyaltyLevelDTO;
 import com.example.HMS.model.LoyaltyLevel;
 import com.example.HMS.service.LoyaltyLevelService;
 import lombok.RequiredArgsConstructor;
@@ -17,22 +18,22 @@ public class LoyaltyLevelController {
     private final LoyaltyLevelService loyaltyLevelService;
 
     @GetMapping
-    public List<LoyaltyLevel> getAllLoyaltyLevels(@AuthenticationPrincipal UserDetails userDetails) {
+    public List<LoyaltyLevelDTO> getAllLoyaltyLevels(@AuthenticationPrincipal UserDetails userDetails) {
         return loyaltyLevelService.getAllLoyaltyLevels();
     }
 
     @GetMapping("/{id}")
-    public LoyaltyLevel getLoyaltyLevelById(@PathVariable Long id) {
+    public LoyaltyLevelDTO getLoyaltyLevelById(@PathVariable Long id) {
         return loyaltyLevelService.getLoyaltyLevelById(id);
     }
 
     @PostMapping
-    public LoyaltyLevel createLoyaltyLevel(@RequestBody LoyaltyLevel loyaltyLevel) {
+    public LoyaltyLevelDTO createLoyaltyLevel(@RequestBody LoyaltyLevel loyaltyLevel) {
         return loyaltyLevelService.createLoyaltyLevel(loyaltyLevel);
     }
 
     @PutMapping("/{id}")
-    public LoyaltyLevel updateLoyaltyLevel(@PathVariable Long id, @RequestBody LoyaltyLevel loyaltyLevel) {
+    public LoyaltyLevelDTO updateLoyaltyLevel(@PathVariable Long id, @RequestBody LoyaltyLevel loyaltyLevel) {
         return loyaltyLevelService.updateLoyaltyLevel(id, loyaltyLevel);
     }
 
@@ -0,0 +1,32 @@
+package com.example.HMS.controller;
+
+import com.example.HMS.dto.PurgeResultDTO;
+import com.example.HMS.service.PurgeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/purge")
+@RequiredArgsConstructor
+public class PurgeController {
+    private final PurgeService purgeService;
+
+    @GetMapping("/last")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<PurgeResultDTO>> getLastResults() {
+        return ResponseEntity.ok(purgeService.getLastResults());
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<List<PurgeResultDTO>> purgeNow() {
+        return ResponseEntity.ok(purgeService.purgeExpired());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.HMS.controller;
+
+import com.example.HMS.dto.RateLimitStatsDTO;
+import com.example.HMS.filter.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/rate-limit")
+@RequiredArgsConstructor
+public class RateLimitController {
+    private final RateLimiter rateLimiter;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<RateLimitStatsDTO> getStats() {
+        return ResponseEntity.ok(rateLimiter.getStats());
+    }
+}
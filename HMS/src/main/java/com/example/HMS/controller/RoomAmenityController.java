@@ -4,12 +4,12 @@ import com.example.HMS.dto.QuantityUpdateRequest;
 import com.example.HMS.dto.RoomAmenityRequest;
 import com.example.HMS.dto.RoomAmenityUpdateRequest;
 import com.example.HMS.dto.StatusUpdateRequest;
+import com.example.HMS.mapper.AmenityMapper;
 import com.example.HMS.model.RoomAmenity;
 import com.example.HMS.dto.RoomAmenityDTO;
 import com.example.HMS.exception.ResourceNotFoundException;
 import com.example.HMS.service.RoomAmenityService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -25,14 +25,14 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/rooms/{roomId}/amenities")
 public class RoomAmenityController {
     private final RoomAmenityService roomAmenityService;
-    private final ModelMapper modelMapper;
+    private final AmenityMapper amenityMapper;
 
     @GetMapping
     public ResponseEntity<List<RoomAmenityDTO>> getAllRoomAmenities(@PathVariable Long roomId) {
         List<RoomAmenity> roomAmenities = roomAmenityService.getAllRoomAmenities(roomId);
 
         List<RoomAmenityDTO> roomAmenityDTOs = roomAmenities.stream()
-                .map(this::convertToDTO)
+                .map(amenityMapper::toDto)
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(roomAmenityDTOs);
@@ -46,7 +46,7 @@ public class RoomAmenityController {
             throw new ResourceNotFoundException("Room amenity not found for this room");
         }
 
-        return ResponseEntity.ok(convertToDTO(roomAmenity));
+        return ResponseEntity.ok(amenityMapper.toDto(roomAmenity));
     }
 
     @PostMapping
@@ -60,7 +60,7 @@ public class RoomAmenityController {
                 request.getQuantity(),
                 request.getStatus());
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(convertToDTO(roomAmenity));
+        return ResponseEntity.status(HttpStatus.CREATED).body(amenityMapper.toDto(roomAmenity));
     }
 
     @PutMapping("/{id}")
@@ -77,7 +77,7 @@ public class RoomAmenityController {
 
         roomAmenity = roomAmenityService.updateRoomAmenity(id, request.getQuantity(), request.getStatus());
 
-        return ResponseEntity.ok(convertToDTO(roomAmenity));
+        return ResponseEntity.ok(amenityMapper.toDto(roomAmenity));
     }
 
     @DeleteMapping("/{id}")
@@ -115,7 +115,7 @@ public class RoomAmenityController {
         // Fetch updated entity
         roomAmenity = roomAmenityService.getRoomAmenityById(id);
 
-        return ResponseEntity.ok(convertToDTO(roomAmenity));
+        return ResponseEntity.ok(amenityMapper.toDto(roomAmenity));
     }
 
     @PatchMapping("/{id}/quantity")
@@ -134,16 +134,6 @@ public class RoomAmenityController {
 
         roomAmenity = roomAmenityService.getRoomAmenityById(id);
 
-        return ResponseEntity.ok(convertToDTO(roomAmenity));
-    }
-
-    private RoomAmenityDTO convertToDTO(RoomAmenity roomAmenity) {
-        RoomAmenityDTO dto = new RoomAmenityDTO();
-        dto.setId(roomAmenity.getId());
-        dto.setAmenityId(roomAmenity.getAmenity().getId());
-        dto.setAmenityName(roomAmenity.getAmenity().getName());
-        dto.setStatus(roomAmenity.getStatus());
-        dto.setQuantity(roomAmenity.getQuantity());
-        return dto;
+        return ResponseEntity.ok(amenityMapper.toDto(roomAmenity));
     }
 }
@@ -4,19 +4,28 @@ import com.example.HMS.dto.BookingDTO;
 import com.example.HMS.dto.RoomAmenityDTO;
 import com.example.HMS.dto.RoomDTO;
 import com.example.HMS.dto.RoomRequest;
+import com.example.HMS.mapper.AmenityMapper;
+import com.example.HMS.mapper.BookingMapper;
+import com.example.HMS.mapper.RoomMapper;
 import com.example.HMS.model.*;
+import com.example.HMS.service.ChangeVersionService;
 import com.example.HMS.service.RoomService;
+import com.example.HMS.utils.ConditionalGet;
+import com.example.HMS.utils.RoomStatusBroadcaster;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Date;
 import java.util.HashMap;
@@ -28,43 +37,65 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @RequestMapping("/api/rooms")
 public class RoomController {
+    // Trạng thái phòng đổi liên tục nên client luôn phải hỏi lại, chỉ tiết kiệm phần body
+    private static final CacheControl ROOM_LIST_CACHE = CacheControl.noCache().cachePublic();
+
     private final RoomService roomService;
-    private final ModelMapper modelMapper;
+    private final ChangeVersionService changeVersionService;
+    private final RoomMapper roomMapper;
+    private final AmenityMapper amenityMapper;
+    private final BookingMapper bookingMapper;
+    private final RoomStatusBroadcaster roomStatusBroadcaster;
 
     @GetMapping
     public ResponseEntity<Map<String, Object>> getAllRooms(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "15") int size) {
-
-        Page<Room> pageRooms = roomService.getAllRooms(page, size);
-
-        List<RoomDTO> roomDTOs = pageRooms.getContent().stream()
-                .map(this::convertToRoomDTO)
-                .collect(Collectors.toList());
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("rooms", roomDTOs);
-        response.put("currentPage", pageRooms.getNumber());
-        response.put("totalItems", pageRooms.getTotalElements());
-        response.put("totalPages", pageRooms.getTotalPages());
+            @RequestParam(defaultValue = "15") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = changeVersionService.etag(ChangeVersionService.ROOMS, ChangeVersionService.ROOM_AMENITIES);
+        return ConditionalGet.respond(ifNoneMatch, etag, ROOM_LIST_CACHE, () -> {
+            Page<Room> pageRooms = roomService.getAllRooms(page, size);
+
+            List<RoomDTO> roomDTOs = pageRooms.getContent().stream()
+                    .map(roomMapper::toDtoWithAmenities)
+                    .collect(Collectors.toList());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("rooms", roomDTOs);
+            response.put("currentPage", pageRooms.getNumber());
+            response.put("totalItems", pageRooms.getTotalElements());
+            response.put("totalPages", pageRooms.getTotalPages());
+            return response;
+        });
+    }
 
-        return ResponseEntity.ok(response);
+    // Bảng trạng thái phòng: snapshot khi kết nối rồi từng thay đổi, thay cho việc poll lại cả danh sách
+    @GetMapping(value = "/status-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'RECEPTIONIST', 'HOUSEKEEPING', 'MAINTENANCE')")
+    public SseEmitter streamRoomStatuses(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return roomStatusBroadcaster.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<RoomDTO> getRoomById(@PathVariable Long id) {
         Room room = roomService.getRoomById(id);
-        RoomDTO roomDTO = convertToRoomDTO(room);
+        RoomDTO roomDTO = roomMapper.toDto(room);
+        // Trang chi tiết hiển thị ảnh lớn nhất
+        if (room.getImage() != null && !room.getImage().isEmpty()) {
+            roomDTO.setImageUrl(room.photoVariantPath(Integer.MAX_VALUE));
+        }
 
         List<RoomAmenity> roomAmenities = roomService.getRoomAmenities(id);
         List<RoomAmenityDTO> roomAmenityDTOs = roomAmenities.stream()
-                .map(this::convertToRoomAmenityDTO)
+                .map(amenityMapper::toDto)
                 .collect(Collectors.toList());
         roomDTO.setAmenities(roomAmenityDTOs);
 
         List<RoomBookings> roomBookings = roomService.getRoomBookings(id);
         List<BookingDTO> bookingDTOs = roomBookings.stream()
-                .map(rb -> convertToBookingDTO(rb.getBookings()))
+                .map(rb -> bookingMapper.toDto(rb.getBookings()))
                 .collect(Collectors.toList());
         roomDTO.setBookings(bookingDTOs);
 
@@ -87,7 +118,7 @@ public class RoomController {
         Room createdRoom = roomService.createRoom(room, image,
                 roomRequest.getAmenityIds(), roomRequest.getQuantities());
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(convertToRoomDTO(createdRoom));
+        return ResponseEntity.status(HttpStatus.CREATED).body(roomMapper.toDtoWithAmenities(createdRoom));
     }
 
     @PutMapping("/{id}")
@@ -107,7 +138,7 @@ public class RoomController {
         Room updatedRoom = roomService.updateRoom(id, roomDetails, image,
                 roomRequest.getAmenityIds(), roomRequest.getQuantities());
 
-        return ResponseEntity.ok(convertToRoomDTO(updatedRoom));
+        return ResponseEntity.ok(roomMapper.toDtoWithAmenities(updatedRoom));
     }
 
     @DeleteMapping("/{id}")
@@ -125,7 +156,7 @@ public class RoomController {
             @RequestParam("status") RoomStatus status) {
 
         Room updatedRoom = roomService.updateRoomStatus(roomId, status);
-        RoomDTO roomDTO = convertToRoomDTO(updatedRoom);
+        RoomDTO roomDTO = roomMapper.toDtoWithAmenities(updatedRoom);
 
         return ResponseEntity.ok(roomDTO);
     }
@@ -133,23 +164,21 @@ public class RoomController {
     @GetMapping("/by-room-types")
     public ResponseEntity<Map<String, Object>> getRoomsByRoomTypePaginated(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "4") int size) {
-
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Room> roomPage = roomService.getOneRoomPerRoomType(pageable); // Bạn sẽ sửa ở bước 2
-
-        List<RoomDTO> roomDTOs = roomPage.getContent()
-                .stream()
-                .map(this::convertToRoomDTO)
-                .collect(Collectors.toList());
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("rooms", roomDTOs);
-        response.put("currentPage", roomPage.getNumber());
-        response.put("totalItems", roomPage.getTotalElements());
-        response.put("totalPages", roomPage.getTotalPages());
-
-        return ResponseEntity.ok(response);
+            @RequestParam(defaultValue = "4") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        String etag = changeVersionService.etag(ChangeVersionService.ROOMS, ChangeVersionService.ROOM_AMENITIES);
+        return ConditionalGet.respond(ifNoneMatch, etag, ROOM_LIST_CACHE, () -> {
+            Pageable pageable = PageRequest.of(page, size);
+            Page<RoomDTO> roomPage = roomService.getRoomTypeShowcase(pageable);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("rooms", roomPage.getContent());
+            response.put("currentPage", roomPage.getNumber());
+            response.put("totalItems", roomPage.getTotalElements());
+            response.put("totalPages", roomPage.getTotalPages());
+            return response;
+        });
     }
 
     @GetMapping("/availability")
@@ -161,39 +190,4 @@ public class RoomController {
         boolean available = roomService.areEnoughRoomsAvailable(startDate, endDate, roomType, numberOfRooms);
         return ResponseEntity.ok(available);
     }
-
-
-    private RoomDTO convertToRoomDTO(Room room) {
-        RoomDTO roomDTO = modelMapper.map(room, RoomDTO.class);
-
-        if (room.getImage() != null && !room.getImage().isEmpty()) {
-            roomDTO.setImageUrl(room.getPhotosImagePath());
-        }
-
-        return roomDTO;
-    }
-
-    private RoomAmenityDTO convertToRoomAmenityDTO(RoomAmenity roomAmenity) {
-        RoomAmenityDTO dto = new RoomAmenityDTO();
-        dto.setId(roomAmenity.getId());
-        dto.setAmenityId(roomAmenity.getAmenity().getId());
-        dto.setAmenityName(roomAmenity.getAmenity().getName());
-        dto.setStatus(roomAmenity.getStatus());
-        dto.setQuantity(roomAmenity.getQuantity());
-        return dto;
-    }
-
-    private BookingDTO convertToBookingDTO(Bookings booking) {
-        BookingDTO dto = new BookingDTO();
-        dto.setCustomerId(booking.getCustomer().getId());
-        dto.setCustomerFullName(booking.getCustomer().getFullName());
-        dto.setCreatedById(booking.getCreatedBy().getId());
-        dto.setCreatedByFullName(booking.getCreatedBy().getFullName());
-        dto.setStatus(booking.getStatus());
-        dto.setSource(booking.getSource());
-        dto.setId(booking.getId());
-        dto.setStartDate(booking.getStartDate());
-        dto.setEndDate(booking.getEndDate());
-        return dto;
-    }
 }
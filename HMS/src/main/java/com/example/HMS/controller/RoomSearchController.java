@@ -1,24 +1,33 @@
 package com.example.HMS.controller;
 
-import com.example.HMS.model.Room;
 import com.example.HMS.dto.RoomDTO;
 import com.example.HMS.model.RoomType;
 import com.example.HMS.service.RoomService;
+import com.example.HMS.utils.ConditionalGet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.util.*;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/rooms/search")
 public class RoomSearchController {
+    // Loại phòng là enum, chỉ đổi khi deploy nên ETag lấy từ chính danh sách enum
+    private static final String ROOM_TYPES_ETAG =
+            "W/\"" + Integer.toHexString(Arrays.toString(RoomType.values()).hashCode()) + "\"";
+    private static final CacheControl ROOM_TYPES_CACHE = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+
     private final RoomService roomService;
 
     @GetMapping("")
@@ -39,11 +48,7 @@ public class RoomSearchController {
                 }
             }
 
-            List<Room> availableRooms = (type != null)
-                    ? roomService.findAvailableRoomsByType(startDate, endDate, type)
-                    : roomService.findAvailableRooms(startDate, endDate);
-
-            List<RoomDTO> roomDTOs = RoomDTO.fromRoomList(availableRooms);
+            List<RoomDTO> roomDTOs = roomService.searchAvailableRooms(startDate, endDate, type);
 
             int total = roomDTOs.size();
             int fromIndex = Math.min(page * size, total);
@@ -72,17 +77,19 @@ public class RoomSearchController {
 
 
     @GetMapping("/room-types")
-    public ResponseEntity<?> getRoomTypes() {
-        List<Map<String, Object>> roomTypes = new ArrayList<>();
-
-        for (RoomType type : RoomType.values()) {
-            Map<String, Object> typeInfo = new HashMap<>();
-            typeInfo.put("code", type.name());
-            typeInfo.put("name", formatRoomTypeName(type.name()));
-            roomTypes.add(typeInfo);
-        }
-
-        return ResponseEntity.ok(roomTypes);
+    public ResponseEntity<?> getRoomTypes(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ConditionalGet.respond(ifNoneMatch, ROOM_TYPES_ETAG, ROOM_TYPES_CACHE, () -> {
+            List<Map<String, Object>> roomTypes = new ArrayList<>();
+
+            for (RoomType type : RoomType.values()) {
+                Map<String, Object> typeInfo = new HashMap<>();
+                typeInfo.put("code", type.name());
+                typeInfo.put("name", formatRoomTypeName(type.name()));
+                roomTypes.add(typeInfo);
+            }
+            return roomTypes;
+        });
     }
 
     private String formatRoomTypeName(String name) {
@@ -1,19 +1,28 @@
 package com.example.HMS.controller;
 
 import com.example.HMS.dto.ServiceDTO;
+import com.example.HMS.service.ChangeVersionService;
 import com.example.HMS.service.ServiceService;
+import com.example.HMS.utils.ConditionalGet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/api/services")
 @RequiredArgsConstructor
 public class ServiceController {
+    // Danh sách dịch vụ hiếm khi đổi, cho client dùng lại một phút rồi mới hỏi lại
+    private static final CacheControl SERVICE_CACHE = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
 
     private final ServiceService serviceService;
+    private final ChangeVersionService changeVersionService;
 
     @PostMapping
     public ResponseEntity<ServiceDTO> createService(@RequestBody ServiceDTO serviceDTO) {
@@ -34,17 +43,21 @@ public class ServiceController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ServiceDTO> getServiceById(@PathVariable Long id) {
-        ServiceDTO service = serviceService.getServiceById(id);
-        return ResponseEntity.ok(service);
+    public ResponseEntity<ServiceDTO> getServiceById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = changeVersionService.etag(ChangeVersionService.SERVICES);
+        return ConditionalGet.respond(ifNoneMatch, etag, SERVICE_CACHE, () -> serviceService.getServiceById(id));
     }
 
     @GetMapping
     public ResponseEntity<Page<ServiceDTO>> getServices(
             @RequestParam(required = false) String serviceName,
             @RequestParam(required = false) String serviceType,
-            @RequestParam(defaultValue = "0") int page) {
-        Page<ServiceDTO> services = serviceService.getServices(serviceName, serviceType, page);
-        return ResponseEntity.ok(services);
+            @RequestParam(defaultValue = "0") int page,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = changeVersionService.etag(ChangeVersionService.SERVICES);
+        return ConditionalGet.respond(ifNoneMatch, etag, SERVICE_CACHE,
+                () -> serviceService.getServices(serviceName, serviceType, page));
     }
 }
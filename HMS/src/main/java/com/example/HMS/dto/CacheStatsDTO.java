@@ -0,0 +1,25 @@
+package com.example.HMS.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDTO {
+    private String name;
+    private int size;
+    private int maxEntries;
+    private long ttlMs;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private long loads;
+    private long loadFailures;
+    private double averageLoadMs;
+    private long evictions;
+    private long invalidations;
+}
@@ -0,0 +1,28 @@
+package com.example.HMS.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardSummaryDTO {
+    private int year;
+    private LocalDate reportDate;
+    private List<MonthlyBookingStatsDTO> monthlyBookingStats;
+    private List<BookingDTO> recentBookings;
+    private RealTimeAuditReportDTO realTimeAuditReport;
+    private long currentGuestCount;
+    // Thời gian tính của từng widget (ms) và của cả summary
+    private Map<String, Long> widgetTimingsMs;
+    private long totalTimeMs;
+    private LocalDateTime generatedAt;
+}
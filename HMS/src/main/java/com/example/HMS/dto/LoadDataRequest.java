@@ -0,0 +1,28 @@
+package com.example.HMS.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoadDataRequest {
+    // 1.0 = 2.000 phòng, 50.000 khách, 200 nhân viên; số booking và folio charge tăng theo số phòng
+    @Builder.Default
+    private double scaleFactor = 1.0;
+    // Cùng seed, cùng tham số thì sinh ra đúng cùng một bộ dữ liệu
+    @Builder.Default
+    private long seed = 42;
+    @Builder.Default
+    private int years = 5;
+    // Ngày "hôm nay" của bộ dữ liệu, mặc định là ngày chạy
+    private LocalDate endDate;
+    // Có giá trị thì ghi file CSV và load.sql cho LOAD DATA vào thư mục này (tương đối với app.load-data.output-base-dir)
+    // thay vì insert vào DB
+    private String outputDir;
+}
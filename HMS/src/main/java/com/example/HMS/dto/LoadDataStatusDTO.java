@@ -0,0 +1,24 @@
+package com.example.HMS.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LoadDataStatusDTO {
+    private String state;
+    private LoadDataRequest request;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Map<String, Long> rowsByTable;
+    private long totalRows;
+    private long rowsPerSecond;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package com.example.HMS.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoyaltyLevelDTO {
+    private Long id;
+    private String levelName;
+    private double pointsRequired;
+    private String benefits;
+}
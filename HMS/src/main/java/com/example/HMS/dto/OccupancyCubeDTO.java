@@ -0,0 +1,23 @@
+package com.example.HMS.dto;
+
+import com.example.HMS.model.BookingSource;
+import com.example.HMS.model.RoomType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OccupancyCubeDTO {
+    private LocalDate stayDate;
+    private RoomType roomType;
+    private BookingSource source;
+    private long nightsSold;
+    private double roomRevenue;
+    private long bookings;
+}
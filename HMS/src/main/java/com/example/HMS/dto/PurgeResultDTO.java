@@ -0,0 +1,22 @@
+package com.example.HMS.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PurgeResultDTO {
+    private String table;
+    private long rowsDeleted;
+    private int chunks;
+    private long elapsedMs;
+    // false khi dừng vì chạm giới hạn số chunk, phần còn lại để lần chạy sau
+    private boolean completed;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,20 @@
+package com.example.HMS.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateLimitStatsDTO {
+    private long checkedRequests;
+    private long allowedRequests;
+    private long rejectedRequests;
+    private int activeBuckets;
+    private long evictedBuckets;
+    private double averageCheckMicros;
+    private double maxCheckMicros;
+}
@@ -0,0 +1,17 @@
+package com.example.HMS.dto;
+
+import com.example.HMS.model.RoomStatus;
+import com.example.HMS.model.RoomType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomStatusDTO {
+    private Long id;
+    private String roomName;
+    private RoomType roomType;
+    private RoomStatus roomStatus;
+}
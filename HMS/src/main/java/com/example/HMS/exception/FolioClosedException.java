@@ -0,0 +1,7 @@
+package com.example.HMS.exception;
+
+public class FolioClosedException extends RuntimeException {
+    public FolioClosedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.HMS.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes retried POSTs that carry an {@code Idempotency-Key} header safe: the first request with a key runs,
+ * retries with the same key, caller and body get its response back with {@code Idempotent-Replayed: true}
+ * and never reach the controller. A retry that arrives while the first request is still running waits for it.
+ * Only 2xx responses are kept, so a failed attempt can be retried with the same key. Reusing a key with a
+ * different body is a client bug and gets 422.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+
+    public IdempotencyFilter(IdempotencyStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(HEADER) == null || !store.isEnabled() || !store.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid Idempotency-Key header");
+            return;
+        }
+        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request);
+        // Key chỉ có nghĩa với cùng người gọi và cùng endpoint, người khác đoán được key cũng không đọc được response
+        String key = currentUser() + '|' + UrlPathHelper.defaultInstance.getPathWithinApplication(request) + '|'
+                + idempotencyKey;
+        String fingerprint = fingerprint(request.getQueryString(), cachedRequest.getBody());
+
+        IdempotencyStore.StoredResponse stored;
+        try {
+            stored = store.claim(key);
+        } catch (TimeoutException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            writeError(response, HttpServletResponse.SC_CONFLICT, "A request with this Idempotency-Key is still in progress");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request");
+            return;
+        }
+        if (stored != null) {
+            replay(stored, fingerprint, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper recording = new ContentCachingResponseWrapper(response);
+        IdempotencyStore.StoredResponse result = null;
+        try {
+            filterChain.doFilter(cachedRequest, recording);
+            result = toStored(fingerprint, recording);
+        } finally {
+            store.complete(key, result);
+            recording.copyBodyToResponse();
+        }
+    }
+
+    private IdempotencyStore.StoredResponse toStored(String fingerprint, ContentCachingResponseWrapper recording) {
+        int status = recording.getStatus();
+        if (status < 200 || status >= 300 || recording.getContentSize() > store.maxResponseBytes()) {
+            return null;
+        }
+        return new IdempotencyStore.StoredResponse(fingerprint, status, recording.getContentType(),
+                recording.getHeader(HttpHeaders.LOCATION), recording.getContentAsByteArray());
+    }
+
+    private void replay(IdempotencyStore.StoredResponse stored, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            writeError(response, 422, "Idempotency-Key was already used with a different request body");
+            return;
+        }
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static String fingerprint(String queryString, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (queryString != null) {
+                digest.update(queryString.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update((byte) 0);
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return "-";
+        }
+        return authentication.getName();
+    }
+
+    private static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
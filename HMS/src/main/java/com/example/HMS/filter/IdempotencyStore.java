@@ -0,0 +1,101 @@
+package com.example.HMS.filter;
+
+import com.example.HMS.config.IdempotencyProperties;
+import com.example.HMS.utils.ExpiringStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Remembers the first successful response per idempotency key and lets exactly one request per key run at a
+ * time. A duplicate that arrives while the first is running blocks on the first request's future instead of
+ * repeating the write; if the first one fails nothing is stored and the next waiter runs the request itself.
+ */
+@Component
+public class IdempotencyStore {
+    private final IdempotencyProperties properties;
+    private final ExpiringStore<String, StoredResponse> responses;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public IdempotencyStore(IdempotencyProperties properties) {
+        this.properties = properties;
+        this.responses = new ExpiringStore<>(properties.getMaxEntries());
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled() && !properties.getPatterns().isEmpty();
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return false;
+        }
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        return properties.getPatterns().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    public int maxResponseBytes() {
+        return properties.getMaxResponseBytes();
+    }
+
+    /**
+     * @return the stored response for {@code key}, or {@code null} when the caller now owns the key and must run
+     * the request, then call {@link #complete}
+     * @throws TimeoutException when another request with the same key is still running after the wait timeout
+     */
+    public StoredResponse claim(String key) throws TimeoutException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getWaitTimeoutMs());
+        while (true) {
+            StoredResponse stored = responses.get(key);
+            if (stored != null) {
+                return stored;
+            }
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+            if (running == null) {
+                // Request trước có thể vừa lưu xong và rời inFlight giữa hai lần kiểm tra
+                stored = responses.get(key);
+                if (stored != null) {
+                    inFlight.remove(key, mine);
+                    mine.complete(stored);
+                    return stored;
+                }
+                return null;
+            }
+            try {
+                stored = running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                stored = null;
+            }
+            if (stored != null) {
+                return stored;
+            }
+            // Request đầu lỗi nên không có gì để trả lại: thử giành key và tự chạy
+        }
+    }
+
+    /**
+     * Releases a key claimed with {@link #claim}; {@code response} is {@code null} when the request failed and
+     * must not be replayed.
+     */
+    public void complete(String key, StoredResponse response) {
+        if (response != null) {
+            responses.put(key, response, System.currentTimeMillis() + properties.getTtlMs());
+        }
+        CompletableFuture<StoredResponse> running = inFlight.remove(key);
+        if (running != null) {
+            running.complete(response);
+        }
+    }
+
+    public record StoredResponse(String fingerprint, int status, String contentType, String location, byte[] body) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.HMS.filter;
+
+import com.example.HMS.utils.QueryCountContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens the per-request SQL counters read by the controller metrics interceptor. When headers are enabled
+ * (non-production), the counts are also returned as {@code X-Query-Count}, {@code X-Entity-Load-Count} and
+ * {@code X-Collection-Load-Count} so N+1 endpoints show up in the browser's network tab.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String ENTITY_LOAD_COUNT_HEADER = "X-Entity-Load-Count";
+    public static final String COLLECTION_LOAD_COUNT_HEADER = "X-Collection-Load-Count";
+
+    private final boolean headersEnabled;
+
+    public QueryCountFilter(boolean headersEnabled) {
+        this.headersEnabled = headersEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCountContext.begin();
+        QueryCountContext.Counts counts = QueryCountContext.current();
+        try {
+            if (!headersEnabled) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            // Header phải được đặt trước khi response commit, tức là trước khi body JSON được flush ra
+            filterChain.doFilter(request, new OnCommittedResponseWrapper(response) {
+                @Override
+                protected void onResponseCommitted() {
+                    writeHeaders(response, counts);
+                }
+            });
+            if (!response.isCommitted()) {
+                writeHeaders(response, counts);
+            }
+        } finally {
+            QueryCountContext.clear();
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, QueryCountContext.Counts counts) {
+        response.setHeader(QUERY_COUNT_HEADER, String.valueOf(counts.getStatements()));
+        response.setHeader(ENTITY_LOAD_COUNT_HEADER, String.valueOf(counts.getEntities()));
+        response.setHeader(COLLECTION_LOAD_COUNT_HEADER, String.valueOf(counts.getCollections()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.HMS.filter;
+
+import com.example.HMS.config.RateLimitProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits the public write endpoints (OTP, booking and guest request creation) per client IP and
+ * per guest before any authentication, database or mail work is done. The guest is identified by the
+ * access token on OTP routes, or by {@code guestEmail} in small JSON bodies on create routes.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final int MAX_INSPECTED_BODY = 16 * 1024;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        Map.Entry<String, RateLimitProperties.Route> match = rateLimiter.match(request);
+        if (match == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String routeName = match.getKey();
+        RateLimitProperties.Route route = match.getValue();
+        HttpServletRequest effectiveRequest = request;
+        long waitNanos = rateLimiter.tryConsume(routeName, "ip", clientIp(request), route.getCapacity(), route.getRefillPerMinute());
+
+        if (waitNanos == 0 && route.getGuestCapacity() > 0) {
+            String guestKey = request.getParameter("token");
+            if (guestKey == null && isSmallJson(request)) {
+                CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request);
+                effectiveRequest = cachedRequest;
+                guestKey = guestEmail(cachedRequest.getBody());
+            }
+            if (guestKey != null) {
+                waitNanos = rateLimiter.tryConsume(routeName, "guest", guestKey.toLowerCase(Locale.ROOT),
+                        route.getGuestCapacity(), route.getGuestRefillPerMinute());
+            }
+        }
+        rateLimiter.record(System.nanoTime() - start, waitNanos == 0);
+
+        if (waitNanos > 0) {
+            response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"Too many requests\"}");
+            return;
+        }
+        filterChain.doFilter(effectiveRequest, response);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (rateLimiter.trustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma >= 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private boolean isSmallJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        long contentLength = request.getContentLengthLong();
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON_VALUE)
+                && contentLength > 0 && contentLength <= MAX_INSPECTED_BODY;
+    }
+
+    private String guestEmail(byte[] body) {
+        try {
+            JsonNode guestEmail = OBJECT_MAPPER.readTree(body).get("guestEmail");
+            return guestEmail != null && guestEmail.isTextual() && !guestEmail.asText().isBlank() ? guestEmail.asText() : null;
+        } catch (IOException e) {
+            // Body sai định dạng để controller xử lý, ở đây chỉ giới hạn theo IP
+            return null;
+        }
+    }
+}
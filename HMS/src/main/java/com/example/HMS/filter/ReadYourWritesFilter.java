@@ -0,0 +1,57 @@
+package com.example.HMS.filter;
+
+import com.example.HMS.utils.ExpiringStore;
+import com.example.HMS.utils.ReplicaRoutingContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Keeps reads on the primary when they could otherwise miss the caller's own write on a lagging replica:
+ * for the rest of a request that wrote, for the same user's requests shortly after a write, and for any
+ * request that sends {@code X-Read-Your-Writes: true} (e.g. a guest page reloading right after a booking).
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    private final ExpiringStore<String, Boolean> recentWriters;
+    private final long windowMs;
+
+    public ReadYourWritesFilter(long windowMs, int maxTrackedWriters) {
+        this.windowMs = windowMs;
+        this.recentWriters = new ExpiringStore<>(maxTrackedWriters);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String user = currentUser();
+        boolean primaryRequired = "true".equalsIgnoreCase(request.getHeader(HEADER))
+                || (user != null && recentWriters.get(user) != null);
+        ReplicaRoutingContext.begin(primaryRequired);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (user != null && ReplicaRoutingContext.hasWritten()) {
+                recentWriters.put(user, Boolean.TRUE, System.currentTimeMillis() + windowMs);
+            }
+            ReplicaRoutingContext.clear();
+        }
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
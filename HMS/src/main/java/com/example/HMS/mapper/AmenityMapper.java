@@ -0,0 +1,29 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.AmenityDTO;
+import com.example.HMS.dto.AmenityHistoryDTO;
+import com.example.HMS.dto.RoomAmenityDTO;
+import com.example.HMS.model.Amenity;
+import com.example.HMS.model.AmenityHistory;
+import com.example.HMS.model.RoomAmenity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface AmenityMapper {
+    AmenityDTO toDto(Amenity amenity);
+
+    @Mapping(target = "amenityId", source = "amenity.id")
+    @Mapping(target = "amenityName", source = "amenity.name")
+    RoomAmenityDTO toDto(RoomAmenity roomAmenity);
+
+    // Lịch sử chuyển tiện nghi có thể thiếu phòng nguồn (nhập mới) hoặc phòng đích (thanh lý)
+    @Mapping(target = "roomName", ignore = true)
+    @Mapping(target = "amenityId", source = "amenity.id")
+    @Mapping(target = "amenityName", source = "amenity.name")
+    @Mapping(target = "sourceRoomId", source = "sourceRoom.id")
+    @Mapping(target = "sourceRoomName", source = "sourceRoom.roomName")
+    @Mapping(target = "destinationRoomId", source = "destinationRoom.id")
+    @Mapping(target = "destinationRoomName", source = "destinationRoom.roomName")
+    AmenityHistoryDTO toDto(AmenityHistory history);
+}
@@ -0,0 +1,21 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.AssetDTO;
+import com.example.HMS.dto.MaintenanceScheduleDTO;
+import com.example.HMS.model.Asset;
+import com.example.HMS.model.MaintenanceSchedule;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class, uses = UserMapper.class)
+public interface AssetMapper {
+    AssetDTO toDto(Asset asset);
+
+    // Lịch bảo trì gắn với tài sản hoặc với phòng, phía còn lại để trống
+    @Mapping(target = "assetId", source = "asset.id")
+    @Mapping(target = "assetName", source = "asset.name")
+    @Mapping(target = "roomId", source = "room.id")
+    @Mapping(target = "roomName", source = "room.roomName")
+    @Mapping(target = "scheduleDate", source = "scheduledDate")
+    MaintenanceScheduleDTO toDto(MaintenanceSchedule schedule);
+}
@@ -0,0 +1,53 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.BookingDTO;
+import com.example.HMS.dto.GuestDTO;
+import com.example.HMS.dto.RoomBookingDTO;
+import com.example.HMS.model.Bookings;
+import com.example.HMS.model.Guests;
+import com.example.HMS.model.RoomBookings;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@Mapper(config = MappingConfig.class)
+public interface BookingMapper {
+    // Booking của khách vãng lai không có customer, booking online không có createdBy
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "customerFullName", source = "customer.fullName")
+    @Mapping(target = "createdById", source = "createdBy.id")
+    @Mapping(target = "createdByFullName", source = "createdBy.fullName")
+    @Mapping(target = "numberOfDays", expression = "java(numberOfDays(booking))")
+    @Mapping(target = "roomIds", ignore = true)
+    @Mapping(target = "serviceUsageIds", ignore = true)
+    BookingDTO toDto(Bookings booking);
+
+    @Mapping(target = "roomId", source = "room.id")
+    @Mapping(target = "roomNumber", source = "room.roomName")
+    @Mapping(target = "roomType", source = "room.roomType")
+    @Mapping(target = "pricePerNight", source = "room.price")
+    @Mapping(target = "bookingId", source = "bookings.id")
+    RoomBookingDTO toDto(RoomBookings roomBooking);
+
+    @Mapping(target = "bookingId", source = "bookings.id")
+    @Mapping(target = "roomId", source = "room.id")
+    @Mapping(target = "roomName", source = "room.roomName")
+    @Mapping(target = "startDate", source = "bookings.startDate")
+    @Mapping(target = "endDate", source = "bookings.endDate")
+    GuestDTO toDto(Guests guest);
+
+    // Số đêm tính theo chênh lệch ngày, ở trong ngày vẫn tính 1 đêm
+    default int numberOfDays(Bookings booking) {
+        long diffInMillies = Math.abs(booking.getEndDate().getTime() - booking.getStartDate().getTime());
+        int numberOfDays = (int) TimeUnit.DAYS.convert(diffInMillies, TimeUnit.MILLISECONDS);
+        return Math.max(numberOfDays, 1);
+    }
+
+    default LocalDate toLocalDate(Date date) {
+        return date != null ? date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate() : null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.FeedbackDTO;
+import com.example.HMS.model.Feedback;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface FeedbackMapper {
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "customerName", source = "customer.fullName", defaultExpression = "java(feedback.getGuestName())")
+    @Mapping(target = "bookingId", source = "booking.id")
+    FeedbackDTO toDto(Feedback feedback);
+}
@@ -0,0 +1,21 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.AuditReportDTO;
+import com.example.HMS.dto.OperatingExpenseDTO;
+import com.example.HMS.dto.SalaryDTO;
+import com.example.HMS.model.AuditReport;
+import com.example.HMS.model.OperatingExpenses;
+import com.example.HMS.model.Salary;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface FinanceMapper {
+    AuditReportDTO toDto(AuditReport report);
+
+    OperatingExpenseDTO toDto(OperatingExpenses expense);
+
+    @Mapping(target = "employeeId", source = "employee.id")
+    @Mapping(target = "employeeName", source = "employee.fullName")
+    SalaryDTO toDto(Salary salary);
+}
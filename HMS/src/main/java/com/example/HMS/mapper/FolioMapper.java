@@ -0,0 +1,19 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.FolioChargesDTO;
+import com.example.HMS.dto.FolioDTO;
+import com.example.HMS.model.Folio;
+import com.example.HMS.model.FolioCharges;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface FolioMapper {
+    @Mapping(target = "bookingId", source = "bookings.id")
+    @Mapping(target = "userId", source = "user.id")
+    @Mapping(target = "customerName", source = "user.fullName")
+    FolioDTO toDto(Folio folio);
+
+    @Mapping(target = "folioId", source = "folio.id")
+    FolioChargesDTO toDto(FolioCharges charge);
+}
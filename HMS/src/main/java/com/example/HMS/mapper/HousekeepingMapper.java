@@ -0,0 +1,25 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.HousekeepingRequestDTO;
+import com.example.HMS.dto.HousekeepingScheduleDTO;
+import com.example.HMS.model.HousekeepingRequest;
+import com.example.HMS.model.HousekeepingSchedule;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface HousekeepingMapper {
+    @Mapping(target = "roomId", source = "room.id")
+    @Mapping(target = "roomName", source = "room.roomName")
+    @Mapping(target = "employeeId", source = "employee.id")
+    @Mapping(target = "employeeName", source = "employee.fullName")
+    @Mapping(target = "scheduleTime", source = "scheduledTime")
+    HousekeepingScheduleDTO toDto(HousekeepingSchedule schedule);
+
+    // Khách vãng lai gửi yêu cầu bằng tên và email, không có customer
+    @Mapping(target = "roomId", source = "room.id")
+    @Mapping(target = "roomName", source = "room.roomName")
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "customerName", source = "customer.fullName", defaultExpression = "java(request.getGuestName())")
+    HousekeepingRequestDTO toDto(HousekeepingRequest request);
+}
@@ -0,0 +1,31 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.InventoryDTO;
+import com.example.HMS.dto.InventoryReceiptDTO;
+import com.example.HMS.dto.SupplierDTO;
+import com.example.HMS.model.Inventory;
+import com.example.HMS.model.InventoryReceipt;
+import com.example.HMS.model.InventoryReceiptDetail;
+import com.example.HMS.model.Supplier;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface InventoryMapper {
+    @Mapping(target = "supplierId", source = "supplier.id")
+    @Mapping(target = "supplierName", source = "supplier.supplierName")
+    InventoryDTO toDto(Inventory inventory);
+
+    @Mapping(target = "supplierId", source = "supplier.id")
+    @Mapping(target = "supplierName", source = "supplier.supplierName")
+    InventoryReceiptDTO toDto(InventoryReceipt receipt);
+
+    @Mapping(target = "inventoryId", source = "inventory.id")
+    @Mapping(target = "inventoryName", source = "inventory.inventoryName")
+    InventoryReceiptDTO.InventoryReceiptDetailDTO toDto(InventoryReceiptDetail detail);
+
+    SupplierDTO toDto(Supplier supplier);
+
+    @Mapping(target = "name", source = "inventoryName")
+    SupplierDTO.InventoryItemDTO toItemDto(Inventory inventory);
+}
@@ -0,0 +1,14 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.LoyaltyLevelDTO;
+import com.example.HMS.model.LoyaltyLevel;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+@Mapper(config = MappingConfig.class)
+public interface LoyaltyLevelMapper {
+    LoyaltyLevelDTO toDto(LoyaltyLevel loyaltyLevel);
+
+    List<LoyaltyLevelDTO> toDtos(List<LoyaltyLevel> loyaltyLevels);
+}
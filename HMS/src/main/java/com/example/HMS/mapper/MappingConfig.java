@@ -0,0 +1,19 @@
+package com.example.HMS.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Shared settings for the entity-to-DTO mappers generated at compile time. Every DTO property must be mapped
+ * or explicitly ignored, so a field added to a DTO or renamed on an entity breaks the build instead of
+ * silently serializing {@code null}. Nested sources are spelled out ({@code customer.fullName}), which keeps
+ * each mapper to the associations its DTO actually shows.
+ */
+@MapperConfig(componentModel = MappingConstants.ComponentModel.SPRING,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.ERROR,
+        unmappedSourcePolicy = ReportingPolicy.IGNORE)
+public interface MappingConfig {
+}
@@ -0,0 +1,34 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.RoomDTO;
+import com.example.HMS.model.Room;
+import org.mapstruct.InheritConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class, uses = AmenityMapper.class)
+public interface RoomMapper {
+    // Không nạp tiện nghi hay booking của phòng: trang chủ chỉ cần loại phòng, trang chi tiết tự lấy riêng
+    @Mapping(target = "imageUrl", expression = "java(listingImageUrl(room))")
+    @Mapping(target = "imageSrcSet", expression = "java(listingImageSrcSet(room))")
+    @Mapping(target = "amenities", ignore = true)
+    @Mapping(target = "bookings", ignore = true)
+    RoomDTO toDto(Room room);
+
+    // Bảng phòng và kết quả tìm phòng trống hiển thị số tiện nghi của từng phòng
+    @InheritConfiguration(name = "toDto")
+    @Mapping(target = "amenities", source = "roomAmenities")
+    RoomDTO toDtoWithAmenities(Room room);
+
+    default String listingImageUrl(Room room) {
+        return hasImage(room) ? room.photoVariantPath(RoomDTO.LISTING_IMAGE_WIDTH) : null;
+    }
+
+    default String listingImageSrcSet(Room room) {
+        return hasImage(room) ? room.photoSrcSet() : null;
+    }
+
+    private static boolean hasImage(Room room) {
+        return room.getImage() != null && !room.getImage().isEmpty();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.ServiceDTO;
+import com.example.HMS.dto.ServiceRequestDTO;
+import com.example.HMS.dto.ServiceUsageDTO;
+import com.example.HMS.model.ServiceRequest;
+import com.example.HMS.model.ServiceUsage;
+import com.example.HMS.model.Services;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface ServiceMapper {
+    ServiceDTO toDto(Services service);
+
+    @Mapping(target = "bookingId", source = "bookings.id")
+    @Mapping(target = "serviceId", source = "services.id")
+    @Mapping(target = "serviceName", source = "services.serviceName")
+    ServiceUsageDTO toDto(ServiceUsage serviceUsage);
+
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "customerName", source = "customer.fullName", defaultExpression = "java(request.getGuestName())")
+    @Mapping(target = "bookingId", source = "booking.id")
+    @Mapping(target = "serviceId", source = "service.id")
+    @Mapping(target = "serviceName", source = "service.serviceName")
+    ServiceRequestDTO toDto(ServiceRequest request);
+}
@@ -0,0 +1,55 @@
+package com.example.HMS.mapper;
+
+import com.example.HMS.dto.CustomerDTO;
+import com.example.HMS.dto.EmployeeDTO;
+import com.example.HMS.model.Customer;
+import com.example.HMS.model.Employee;
+import com.example.HMS.model.User;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface UserMapper {
+    @Mapping(target = "isActive", source = "active")
+    @Mapping(target = "loyaltyLevelId", source = "loyaltyLevel.id")
+    @Mapping(target = "loyaltyLevelName", source = "loyaltyLevel.levelName")
+    @Mapping(target = "loyaltyBenefits", source = "loyaltyLevel.benefits")
+    @Mapping(target = "loyaltyDescription", ignore = true)
+    CustomerDTO toCustomerDto(Customer customer);
+
+    @Mapping(target = "isActive", source = "active")
+    EmployeeDTO toEmployeeDto(Employee employee);
+
+    // Trang tìm kiếm lọc application_user theo role, dòng nào không phải Customer thì không có thông tin thành viên
+    default CustomerDTO toCustomerDto(User user) {
+        if (user instanceof Customer customer) {
+            return toCustomerDto(customer);
+        }
+        return user == null ? null : CustomerDTO.builder()
+                .id(user.getId())
+                .fullName(user.getFullName())
+                .username(user.getUsername())
+                .password(user.getPassword())
+                .email(user.getEmail())
+                .phoneNumber(user.getPhoneNumber())
+                .isActive(user.isActive())
+                .role(user.getRole())
+                .build();
+    }
+
+    default EmployeeDTO toEmployeeDto(User user) {
+        if (user instanceof Employee employee) {
+            return toEmployeeDto(employee);
+        }
+        return user == null ? null : EmployeeDTO.builder()
+                .id(user.getId())
+                .fullName(user.getFullName())
+                .username(user.getUsername())
+                .password(user.getPassword())
+                .email(user.getEmail())
+                .phoneNumber(user.getPhoneNumber())
+                .isActive(user.isActive())
+                .role(user.getRole())
+                .build();
+    }
+}
@@ -9,7 +9,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "access_tokens")
+@Table(name = "access_tokens", indexes = @Index(name = "idx_access_tokens_expires_at", columnList = "expires_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -16,6 +17,10 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
+@NamedEntityGraph(name = "Bookings.users", attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("createdBy")
+})
 public class Bookings {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -52,8 +57,10 @@ public class Bookings {
     private LocalDateTime checkOutTime;
 
     @OneToMany(mappedBy = "bookings", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<RoomBookings> roomBookings = new ArrayList<>();
 
     @OneToMany(mappedBy = "bookings", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     private List<ServiceUsage> serviceUsages = new ArrayList<>();
 }
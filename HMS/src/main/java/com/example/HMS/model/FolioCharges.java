@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
@@ -13,7 +14,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"folio_id", "room_id", "business_date", "charge_type"}))
 public class FolioCharges {
+    public static final String ROOM_CHARGE = "ROOM";
+    public static final String ROOM_TAX_CHARGE = "ROOM_TAX";
+    public static final String SERVICE_CHARGE = "SERVICE";
+    public static final String SERVICE_REVERSAL = "SERVICE_REVERSAL";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -29,4 +36,10 @@ public class FolioCharges {
     private double unitPrice;
     private double totalPrice;
     private LocalDateTime chargeTime;
+
+    // Chỉ có giá trị với phí phòng do night audit ghi nhận, mỗi phòng một dòng cho mỗi đêm
+    @Column(name = "room_id")
+    private Long roomId;
+    @Column(name = "business_date")
+    private LocalDate businessDate;
 }
@@ -1,5 +1,5 @@
 package com.example.HMS.model;
 
 public enum FolioStatus {
-    UNPAID, PAID, PENDING
+    UNPAID, PAID, PENDING, OPEN
 }
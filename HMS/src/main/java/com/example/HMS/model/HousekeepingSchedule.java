@@ -13,6 +13,10 @@ import java.time.LocalDateTime;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@NamedEntityGraph(name = "HousekeepingSchedule.roomAndEmployee", attributeNodes = {
+        @NamedAttributeNode("room"),
+        @NamedAttributeNode("employee")
+})
 public class HousekeepingSchedule {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -17,6 +17,8 @@ public class Inventory {
     private Long id;
     private String inventoryName;
     private double inventoryPrice;
+    // Chỉ đổi qua StockLedgerService cùng một dòng sổ kho; JPA không ghi đè khi cập nhật entity
+    @Column(updatable = false)
     private int inventoryQuantity;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "supplier_id", nullable = false)
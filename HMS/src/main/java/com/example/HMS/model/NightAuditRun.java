@@ -0,0 +1,44 @@
+package com.example.HMS.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "night_audit_run")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NightAuditRun {
+    public static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "business_date", nullable = false, unique = true)
+    private LocalDate businessDate;
+
+    // Mọi booking có id <= giá trị này đã được ghi phí cho businessDate
+    @Column(name = "last_booking_id", nullable = false)
+    private Long lastBookingId;
+
+    @Column(name = "posted_charges", nullable = false)
+    private int postedCharges;
+
+    @Enumerated(EnumType.STRING)
+    private NightAuditStatus status;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    // Lỗi của lần chạy gần nhất khi status là FAILED
+    @Column(name = "error_message", length = NightAuditRun.MAX_ERROR_LENGTH)
+    private String errorMessage;
+}
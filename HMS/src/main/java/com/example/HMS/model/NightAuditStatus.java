@@ -0,0 +1,5 @@
+package com.example.HMS.model;
+
+public enum NightAuditStatus {
+    RUNNING, COMPLETED, FAILED
+}
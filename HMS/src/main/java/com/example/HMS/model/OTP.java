@@ -9,7 +9,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "otps")
+@Table(name = "otps", indexes = @Index(name = "idx_otps_expires_at", columnList = "expires_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
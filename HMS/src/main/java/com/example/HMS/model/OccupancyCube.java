@@ -0,0 +1,75 @@
+package com.example.HMS.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Nights sold, room revenue and arrivals aggregated by (date, room type, source). Kept in step with
+ * {@link StayNight} by applying deltas whenever a booking's stay changes. A missing room type or source is
+ * stored as {@value #UNKNOWN} so the key columns are NOT NULL and the unique key can drive an upsert.
+ */
+@Entity
+@Table(name = "occupancy_cube", uniqueConstraints = @UniqueConstraint(columnNames = {"stay_date", "room_type", "source"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OccupancyCube {
+    public static final String UNKNOWN = "UNKNOWN";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stay_date", nullable = false)
+    private LocalDate stayDate;
+
+    @Convert(converter = RoomTypeKey.class)
+    @Column(name = "room_type", nullable = false)
+    private RoomType roomType;
+
+    @Convert(converter = SourceKey.class)
+    @Column(name = "source", nullable = false)
+    private BookingSource source;
+
+    private long nightsSold;
+
+    private double roomRevenue;
+
+    private long bookings;
+
+    public static String keyColumn(Enum<?> value) {
+        return value != null ? value.name() : UNKNOWN;
+    }
+
+    @Converter
+    public static class RoomTypeKey implements AttributeConverter<RoomType, String> {
+        @Override
+        public String convertToDatabaseColumn(RoomType roomType) {
+            return keyColumn(roomType);
+        }
+
+        @Override
+        public RoomType convertToEntityAttribute(String column) {
+            return column == null || UNKNOWN.equals(column) ? null : RoomType.valueOf(column);
+        }
+    }
+
+    @Converter
+    public static class SourceKey implements AttributeConverter<BookingSource, String> {
+        @Override
+        public String convertToDatabaseColumn(BookingSource source) {
+            return keyColumn(source);
+        }
+
+        @Override
+        public BookingSource convertToEntityAttribute(String column) {
+            return column == null || UNKNOWN.equals(column) ? null : BookingSource.valueOf(column);
+        }
+    }
+}
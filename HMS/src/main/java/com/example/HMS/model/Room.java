@@ -6,7 +6,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Data
 @NoArgsConstructor
@@ -44,10 +46,42 @@ public class Room {
     @OneToMany(mappedBy = "destinationRoom", cascade = CascadeType.ALL)
     private List<AmenityHistory> receivedAmenityHistories;
 
+    // Mã băm nội dung ảnh gốc và các chiều rộng đã tạo biến thể, ví dụ "320,640,1280"
+    private String imageHash;
+
+    private String imageWidths;
+
     @Transient
     public String getPhotosImagePath() {
         if (id == null || image == null) return null;
 
         return "/room-photos/" + id + "/" + image;
     }
+
+    // Chọn biến thể nhỏ nhất đủ rộng, ảnh cũ chưa có biến thể thì trả về ảnh gốc
+    public String photoVariantPath(int width) {
+        List<Integer> widths = photoWidths();
+        if (widths.isEmpty()) {
+            return getPhotosImagePath();
+        }
+        int chosen = widths.stream().filter(w -> w >= width).findFirst().orElse(widths.get(widths.size() - 1));
+        return "/room-photos/" + id + "/variants/" + imageHash + "-" + chosen + ".jpg";
+    }
+
+    public String photoSrcSet() {
+        List<Integer> widths = photoWidths();
+        if (widths.isEmpty()) {
+            return null;
+        }
+        return widths.stream()
+                .map(w -> "/room-photos/" + id + "/variants/" + imageHash + "-" + w + ".jpg " + w + "w")
+                .collect(Collectors.joining(", "));
+    }
+
+    private List<Integer> photoWidths() {
+        if (id == null || imageHash == null || imageWidths == null || imageWidths.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(imageWidths.split(",")).map(String::trim).map(Integer::valueOf).sorted().toList();
+    }
 }
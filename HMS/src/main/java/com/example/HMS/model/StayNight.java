@@ -0,0 +1,48 @@
+package com.example.HMS.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One row per (room, night) sold for a booking. A booking that has no room allocated yet is kept as a
+ * single arrival row without a room, so it is still counted as a booking.
+ */
+@Entity
+@Table(name = "stay_night", indexes = {
+        @Index(name = "idx_stay_night_booking", columnList = "booking_id"),
+        @Index(name = "idx_stay_night_date", columnList = "stay_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StayNight {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Column(name = "stay_date", nullable = false)
+    private LocalDate stayDate;
+
+    @Enumerated(EnumType.STRING)
+    private RoomType roomType;
+
+    @Enumerated(EnumType.STRING)
+    private BookingSource source;
+
+    private double roomRevenue;
+
+    // Đêm đầu tiên của booking, dùng để đếm số booking theo ngày đến
+    private boolean arrival;
+}
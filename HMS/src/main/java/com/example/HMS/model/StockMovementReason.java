@@ -0,0 +1,5 @@
+package com.example.HMS.model;
+
+public enum StockMovementReason {
+    OPENING, RECEIPT, RECEIPT_REVERSAL, ADJUSTMENT
+}
@@ -0,0 +1,28 @@
+package com.example.HMS.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counter for a table that backs cacheable GET endpoints, used as a cheap ETag for any listing built
+ * from the table. It is bumped once per writing transaction, in its own short transaction after that one
+ * commits (see {@code ChangeVersionServiceImpl}). A reader can therefore briefly see committed rows under the
+ * previous ETag; a rolled-back change never moves it.
+ */
+@Entity
+@Table(name = "table_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TableVersion {
+    @Id
+    @Column(name = "table_name", length = 64)
+    private String tableName;
+
+    @Column(nullable = false)
+    private long version;
+}
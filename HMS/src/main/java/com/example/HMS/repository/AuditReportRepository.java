@@ -1,13 +1,22 @@
 package com.example.HMS.repository;
 
+import com.example.HMS.dto.AuditReportDTO;
 import com.example.HMS.model.AuditReport;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface AuditReportRepository extends JpaRepository<AuditReport, UUID> {
@@ -15,4 +24,16 @@ public interface AuditReportRepository extends JpaRepository<AuditReport, UUID>
     Page<AuditReport> findByReportDateBetween(LocalDate startDate, LocalDate endDate, Pageable pageable);
 
     Page<AuditReport> findByReportDateContaining(String search, Pageable pageable);
+
+    @Query("SELECT new com.example.HMS.dto.AuditReportDTO(a.id, a.reportDate, a.numberOfBookings, a.checkIns, a.checkOuts, " +
+            "a.revenue, a.expenses, a.occupancyRate, a.roomCapacity, a.adr, a.revPar, a.createdAt) " +
+            "FROM AuditReport a WHERE " +
+            "(:startDate IS NULL OR a.reportDate >= :startDate) AND " +
+            "(:endDate IS NULL OR a.reportDate <= :endDate) AND " +
+            "(:search IS NULL OR str(a.reportDate) LIKE CONCAT('%', :search, '%')) " +
+            "ORDER BY a.reportDate")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<AuditReportDTO> streamForExport(@Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate,
+                                           @Param("search") String search);
 }
@@ -1,11 +1,15 @@
 package com.example.HMS.repository;
 
+import com.example.HMS.dto.BookingExportRow;
 import com.example.HMS.model.BookingStatus;
 import com.example.HMS.model.Bookings;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,11 +17,21 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface BookingsRepository extends JpaRepository<Bookings, Integer> {
+    // Danh sách booking luôn đọc customer và createdBy, lấy luôn bằng join để tránh N+1
+    @EntityGraph("Bookings.users")
+    Page<Bookings> findAllBy(Pageable pageable);
+
+    @EntityGraph("Bookings.users")
     Page<Bookings> findByCustomerId(Long userId, Pageable pageable);
 
+    @EntityGraph("Bookings.users")
     @Query("SELECT b FROM Bookings b WHERE " +
             "(:userFullName IS NULL OR LOWER(b.customer.fullName) LIKE LOWER(CONCAT('%', :userFullName, '%'))) AND " +
             "(:startDate IS NULL OR b.startDate >= :startDate) AND " +
@@ -31,25 +45,26 @@ public interface BookingsRepository extends JpaRepository<Bookings, Integer> {
             Pageable pageable
     );
 
+    @Query("SELECT new com.example.HMS.dto.BookingExportRow(b.id, c.fullName, cb.fullName, b.guestName, b.guestEmail, " +
+            "b.guestPhone, b.source, b.status, b.totalPrice, b.startDate, b.endDate, b.roomType, b.roomNumber, " +
+            "b.adultNumber, b.childNumber, b.checkInTime, b.checkOutTime) " +
+            "FROM Bookings b LEFT JOIN b.customer c LEFT JOIN b.createdBy cb WHERE " +
+            "(:userFullName IS NULL OR LOWER(c.fullName) LIKE LOWER(CONCAT('%', :userFullName, '%'))) AND " +
+            "(:startDate IS NULL OR b.startDate >= :startDate) AND " +
+            "(:endDate IS NULL OR b.endDate <= :endDate) AND " +
+            "(:status IS NULL OR b.status = :status) " +
+            "ORDER BY b.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<BookingExportRow> streamBySearchCriteria(
+            @Param("userFullName") String userFullName,
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate,
+            @Param("status") BookingStatus status
+    );
+
     long countByStartDate(Date startDate);
 
     long countByCheckInTimeBetween(LocalDateTime start, LocalDateTime end);
 
     long countByCheckOutTimeBetween(LocalDateTime start, LocalDateTime end);
-
-    @Query("SELECT COUNT(DISTINCT b.roomNumber) FROM Bookings b")
-    long countDistinctRoomNumber();
-
-    @Query("SELECT COUNT(DISTINCT b.roomNumber) FROM Bookings b WHERE :date BETWEEN b.startDate AND b.endDate")
-    long countOccupiedRooms(@Param("date") Date date);
-
-    @Query("SELECT COUNT(b) FROM Bookings b WHERE :date BETWEEN b.startDate AND b.endDate")
-    long countOccupiedRoomNights(@Param("date") Date date);
-
-    @Query("SELECT MONTH(b.startDate) AS month, COUNT(b) AS bookingCount " +
-            "FROM Bookings b " +
-            "WHERE YEAR(b.startDate) = :year " +
-            "GROUP BY MONTH(b.startDate) " +
-            "ORDER BY MONTH(b.startDate)")
-    List<Object[]> countBookingsByMonth(@Param("year") int year);
 }
@@ -0,0 +1,160 @@
+package com.example.HMS.repository;
+
+import com.example.HMS.model.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.*;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Bulk INSERT path for the high-volume tables. Entities use IDENTITY ids, which turns Hibernate JDBC batching
+ * off, so {@code saveAll} costs one round trip per row. Here rows go through {@code PreparedStatement.addBatch}
+ * in chunks; with {@code rewriteBatchedStatements=true} the MySQL driver sends every chunk as multi-row INSERTs.
+ * Generated ids are written back to the entities, which stay detached from the persistence context.
+ */
+@Slf4j
+@Repository
+public class BulkInsertRepository {
+    private static final String INSERT_WORK_SCHEDULE =
+            "INSERT INTO work_schedule (employee_id, date, shift) VALUES (?, ?, ?)";
+    private static final String INSERT_HOUSEKEEPING_SCHEDULE =
+            "INSERT INTO housekeeping_schedule (employee_id, room_id, scheduled_time, status) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_ROOM_BOOKINGS =
+            "INSERT INTO room_bookings (room_id, booking_id) VALUES (?, ?)";
+    private static final String INSERT_FOLIO_CHARGES =
+            "INSERT INTO folio_charges (folio_id, charge_type, description, item_name, quantity, unit_price, " +
+            "total_price, charge_time, room_id, business_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SALARY =
+            "INSERT INTO salary (employee_id, pay_time, amount, status, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_STOCK_MOVEMENT =
+            "INSERT INTO stock_movement (inventory_id, quantity_delta, reason, receipt_id, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BulkInsertRepository(JdbcTemplate jdbcTemplate,
+                                @Value("${app.bulk-insert.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<WorkSchedule> insertWorkSchedules(List<WorkSchedule> schedules) {
+        return insert("work_schedule", INSERT_WORK_SCHEDULE, schedules, (ps, schedule) -> {
+            setLong(ps, 1, schedule.getEmployee() != null ? schedule.getEmployee().getId() : null);
+            ps.setObject(2, schedule.getDate());
+            ps.setString(3, schedule.getShift());
+        }, WorkSchedule::setId);
+    }
+
+    public List<HousekeepingSchedule> insertHousekeepingSchedules(List<HousekeepingSchedule> schedules) {
+        return insert("housekeeping_schedule", INSERT_HOUSEKEEPING_SCHEDULE, schedules, (ps, schedule) -> {
+            setLong(ps, 1, schedule.getEmployee() != null ? schedule.getEmployee().getId() : null);
+            ps.setLong(2, schedule.getRoom().getId());
+            ps.setObject(3, schedule.getScheduledTime());
+            ps.setString(4, schedule.getStatus() != null ? schedule.getStatus().name() : null);
+        }, HousekeepingSchedule::setId);
+    }
+
+    public List<RoomBookings> insertRoomBookings(List<RoomBookings> roomBookings) {
+        return insert("room_bookings", INSERT_ROOM_BOOKINGS, roomBookings, (ps, roomBooking) -> {
+            ps.setLong(1, roomBooking.getRoom().getId());
+            ps.setLong(2, roomBooking.getBookings().getId());
+        }, RoomBookings::setId);
+    }
+
+    public List<FolioCharges> insertFolioCharges(List<FolioCharges> charges) {
+        return insert("folio_charges", INSERT_FOLIO_CHARGES, charges, (ps, charge) -> {
+            ps.setLong(1, charge.getFolio().getId());
+            ps.setString(2, charge.getChargeType());
+            ps.setString(3, charge.getDescription());
+            ps.setString(4, charge.getItemName());
+            ps.setInt(5, charge.getQuantity());
+            ps.setDouble(6, charge.getUnitPrice());
+            ps.setDouble(7, charge.getTotalPrice());
+            ps.setObject(8, charge.getChargeTime());
+            setLong(ps, 9, charge.getRoomId());
+            ps.setObject(10, charge.getBusinessDate());
+        }, FolioCharges::setId);
+    }
+
+    public List<Salary> insertSalaries(List<Salary> salaries) {
+        return insert("salary", INSERT_SALARY, salaries, (ps, salary) -> {
+            ps.setLong(1, salary.getEmployee().getId());
+            ps.setObject(2, salary.getPayTime());
+            ps.setDouble(3, salary.getAmount());
+            ps.setString(4, salary.getStatus() != null ? salary.getStatus().name() : null);
+            ps.setObject(5, salary.getCreatedAt());
+        }, Salary::setId);
+    }
+
+    public List<StockMovement> insertStockMovements(List<StockMovement> movements) {
+        return insert("stock_movement", INSERT_STOCK_MOVEMENT, movements, (ps, movement) -> {
+            ps.setLong(1, movement.getInventory().getId());
+            ps.setInt(2, movement.getQuantityDelta());
+            ps.setString(3, movement.getReason().name());
+            setLong(ps, 4, movement.getReceiptId());
+            ps.setObject(5, movement.getCreatedAt());
+        }, StockMovement::setId);
+    }
+
+    private <T> List<T> insert(String table, String sql, List<T> rows, RowBinder<T> binder, BiConsumer<T, Long> idSetter) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        // Các thay đổi JPA đang chờ (ví dụ lệnh xoá trước đó) phải xuống DB trước các dòng chèn bằng JDBC
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+
+        long start = System.nanoTime();
+        int batches = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            int executed = 0;
+            try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < rows.size(); from += chunkSize) {
+                    List<T> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+                    for (T row : chunk) {
+                        binder.bind(ps, row);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    executed++;
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (int i = 0; i < chunk.size() && keys.next(); i++) {
+                            idSetter.accept(chunk.get(i), keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return executed;
+        });
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        log.info("Bulk inserted {} rows into {} in {} batches, {} ms ({} rows/s)", rows.size(), table, batches,
+                elapsedNanos / 1_000_000, rows.size() * 1_000_000_000L / elapsedNanos);
+        return rows;
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+}
@@ -2,6 +2,16 @@ package com.example.HMS.repository;
 
 import com.example.HMS.model.FolioCharges;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface FolioChargesRepository extends JpaRepository<FolioCharges, Long> {
+    @Query("SELECT fc.businessDate FROM FolioCharges fc " +
+            "WHERE fc.folio.id = :folioId AND fc.roomId = :roomId AND fc.chargeType = :chargeType")
+    List<LocalDate> findPostedNights(@Param("folioId") Long folioId,
+                                     @Param("roomId") Long roomId,
+                                     @Param("chargeType") String chargeType);
 }
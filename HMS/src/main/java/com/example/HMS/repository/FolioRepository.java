@@ -1,21 +1,55 @@
 package com.example.HMS.repository;
 
+import com.example.HMS.dto.FolioDTO;
 import com.example.HMS.model.Folio;
 import com.example.HMS.model.FolioStatus;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface FolioRepository extends JpaRepository<Folio, Long>, JpaSpecificationExecutor<Folio> {
+    @Override
+    @EntityGraph("Folio.user")
+    Page<Folio> findAll(Specification<Folio> spec, Pageable pageable);
+
+    @EntityGraph("Folio.user")
     Page<Folio> findByUserId(Long userId, Pageable pageable);
     List<Folio> findByCreatedAtBetweenAndStatus(LocalDateTime start, LocalDateTime end, FolioStatus status);
+
+    @EntityGraph("Folio.user")
     Optional<Folio> findByBookingsId(Long bookingId);
+
+    @Query("SELECT new com.example.HMS.dto.FolioDTO(f.id, f.bookings.id, u.fullName, u.id, f.guestName, f.guestEmail, " +
+            "f.totalAmount, f.status, f.createdAt, f.updatedAt) " +
+            "FROM Folio f LEFT JOIN f.user u " +
+            "WHERE (:search IS NULL OR LOWER(u.fullName) LIKE LOWER(CONCAT('%', :search, '%'))) " +
+            "ORDER BY f.createdAt DESC")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<FolioDTO> streamByCustomerName(@Param("search") String search);
+
+    @Modifying
+    @Query("UPDATE Folio f SET f.totalAmount = f.totalAmount + :amount, f.updatedAt = :now WHERE f.id = :folioId")
+    int addToTotalAmount(@Param("folioId") Long folioId, @Param("amount") double amount, @Param("now") LocalDateTime now);
+
+    @Query("SELECT f.totalAmount FROM Folio f WHERE f.id = :folioId")
+    double findTotalAmountById(@Param("folioId") Long folioId);
 }
 
@@ -3,6 +3,7 @@ package com.example.HMS.repository;
 import com.example.HMS.model.HousekeepingSchedule;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface HousekeepingScheduleRepository extends JpaRepository<HousekeepingSchedule, Long> {
+    @EntityGraph("HousekeepingSchedule.roomAndEmployee")
     @Query("SELECT hs FROM HousekeepingSchedule hs " +
             "WHERE (:roomName IS NULL OR hs.room.roomName LIKE CONCAT('%', :roomName, '%')) " +
             "AND (:employeeName IS NULL OR hs.employee.fullName LIKE CONCAT('%', :employeeName, '%'))")
@@ -18,5 +20,6 @@ public interface HousekeepingScheduleRepository extends JpaRepository<Housekeepi
             @Param("employeeName") String employeeName,
             Pageable pageable);
 
+    @EntityGraph("HousekeepingSchedule.roomAndEmployee")
     Page<HousekeepingSchedule> findByEmployeeId(Long employeeId, Pageable pageable);
 }
@@ -3,6 +3,7 @@ package com.example.HMS.repository;
 import com.example.HMS.model.InventoryReceipt;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +14,7 @@ import java.util.List;
 
 @Repository
 public interface InventoryReceiptRepository extends JpaRepository<InventoryReceipt, Long> {
+    @EntityGraph(attributePaths = "supplier")
     @Query("SELECT r FROM InventoryReceipt r " +
             "WHERE (:receiptCode IS NULL OR r.receiptCode LIKE LOWER(CONCAT('%', :receiptCode, '%'))) " +
             "AND (:supplierName IS NULL OR r.supplier.supplierName LIKE LOWER(CONCAT('%', :supplierName, '%')))")
@@ -1,17 +1,22 @@
 package com.example.HMS.repository;
 
 import com.example.HMS.model.Inventory;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+    @EntityGraph(attributePaths = "supplier")
     @Query("SELECT i FROM Inventory i " +
             "WHERE (:inventoryName IS NULL OR i.inventoryName LIKE LOWER(CONCAT('%', :inventoryName, '%'))) " +
             "AND (:supplierName IS NULL OR i.supplier.supplierName LIKE LOWER(CONCAT('%', :supplierName, '%')))")
@@ -20,4 +25,9 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
             @Param("supplierName") String supplierName,
             Pageable pageable);
     List<Inventory> findBySupplierId(Long supplierId);
+
+    // Khoá dòng khi đặt lại số lượng tuyệt đối, để chênh lệch ghi vào sổ kho tính trên giá trị hiện hành
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.id = :id")
+    Optional<Inventory> findByIdForUpdate(@Param("id") Long id);
 }
@@ -0,0 +1,33 @@
+package com.example.HMS.repository;
+
+import com.example.HMS.model.NightAuditRun;
+import com.example.HMS.model.NightAuditStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NightAuditRunRepository extends JpaRepository<NightAuditRun, Long> {
+    Optional<NightAuditRun> findByBusinessDate(LocalDate businessDate);
+
+    List<NightAuditRun> findByStatusNotOrderByBusinessDateAsc(NightAuditStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE NightAuditRun r SET r.lastBookingId = :lastBookingId, r.postedCharges = :postedCharges WHERE r.id = :id")
+    int updateCheckpoint(@Param("id") Long id, @Param("lastBookingId") Long lastBookingId, @Param("postedCharges") int postedCharges);
+
+    // Không ghi đè checkpoint mà các chunk đã lưu
+    @Modifying
+    @Transactional
+    @Query("UPDATE NightAuditRun r SET r.status = com.example.HMS.model.NightAuditStatus.FAILED, " +
+            "r.errorMessage = :errorMessage WHERE r.id = :id")
+    int markFailed(@Param("id") Long id, @Param("errorMessage") String errorMessage);
+}
@@ -0,0 +1,27 @@
+package com.example.HMS.repository;
+
+import com.example.HMS.model.OccupancyCube;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OccupancyCubeRepository extends JpaRepository<OccupancyCube, Long> {
+    @Query("SELECT MONTH(c.stayDate), SUM(c.bookings) FROM OccupancyCube c " +
+            "WHERE c.stayDate BETWEEN :from AND :to " +
+            "GROUP BY MONTH(c.stayDate) " +
+            "ORDER BY MONTH(c.stayDate)")
+    List<Object[]> sumBookingsByMonth(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(c.nightsSold), 0) FROM OccupancyCube c WHERE c.stayDate = :date")
+    long sumNightsSold(@Param("date") LocalDate date);
+
+    @Query("SELECT COALESCE(SUM(c.roomRevenue), 0) FROM OccupancyCube c WHERE c.stayDate = :date")
+    double sumRoomRevenue(@Param("date") LocalDate date);
+
+    List<OccupancyCube> findByStayDateBetweenOrderByStayDateAsc(LocalDate startDate, LocalDate endDate);
+}
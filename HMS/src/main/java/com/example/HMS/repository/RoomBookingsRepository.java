@@ -12,6 +12,7 @@ import java.util.List;
 public interface RoomBookingsRepository extends JpaRepository<RoomBookings, Long> {
     List<RoomBookings> findByBookingsId(Long bookingId);
     List<RoomBookings> findByRoomId(Long roomId);
+    List<RoomBookings> findByBookingsIdIn(List<Long> bookingIds);
 
     @Query("DELETE FROM RoomBookings rb WHERE rb.bookings.id = :bookingId")
     void deleteByBookingId(@Param("bookingId") Long bookingId);
@@ -1,5 +1,6 @@
 package com.example.HMS.repository;
 
+import com.example.HMS.dto.RoomStatusDTO;
 import com.example.HMS.model.Room;
 import com.example.HMS.model.RoomType;
 import org.springframework.data.domain.Page;
@@ -48,6 +49,10 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
 
     Optional<Room> findByRoomName(String roomName);
 
+    @Query("SELECT new com.example.HMS.dto.RoomStatusDTO(r.id, r.roomName, r.roomType, r.roomStatus) " +
+            "FROM Room r ORDER BY r.id")
+    List<RoomStatusDTO> findAllStatuses();
+
     @Query(value = """
     SELECT r FROM Room r
     WHERE r.id IN (
@@ -0,0 +1,19 @@
+package com.example.HMS.repository;
+
+import com.example.HMS.model.StayNight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StayNightRepository extends JpaRepository<StayNight, Long> {
+    List<StayNight> findByBookingId(Long bookingId);
+
+    @Modifying
+    @Query("DELETE FROM StayNight s WHERE s.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+}
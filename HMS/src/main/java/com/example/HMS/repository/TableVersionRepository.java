@@ -0,0 +1,21 @@
+package com.example.HMS.repository;
+
+import com.example.HMS.model.TableVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Repository
+public interface TableVersionRepository extends JpaRepository<TableVersion, String> {
+    // Transaction riêng và ngắn: được gọi sau khi transaction ghi dữ liệu đã commit
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE TableVersion v SET v.version = v.version + 1 WHERE v.tableName IN :tables")
+    int bump(@Param("tables") Collection<String> tables);
+}
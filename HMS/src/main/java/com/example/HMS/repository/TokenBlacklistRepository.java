@@ -4,10 +4,7 @@ import com.example.HMS.model.TokenBlacklist;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Date;
-
 @Repository
 public interface TokenBlacklistRepository extends JpaRepository<TokenBlacklist, Long> {
     boolean existsByToken(String token);
-    void deleteByExpirationBefore(Date date);
 }
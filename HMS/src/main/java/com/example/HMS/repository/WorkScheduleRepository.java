@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -21,7 +22,9 @@ public interface WorkScheduleRepository extends JpaRepository<WorkSchedule, Long
     List<WorkSchedule> findByEmployeeInAndDateBetween(List<Employee> employees, LocalDate start, LocalDate end);
     List<WorkSchedule> findByEmployeeInAndDate(List<Employee> employees, LocalDate date);
     List<WorkSchedule> findByDateAndShift(LocalDate date, String shift);
-    void deleteByDateBetween(LocalDate startDate, LocalDate endDate);
+    @Modifying
+    @Query("DELETE FROM WorkSchedule ws WHERE ws.date BETWEEN :startDate AND :endDate")
+    int deleteByDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     List<WorkSchedule> findByDateBetween(LocalDate startDate, LocalDate endDate);
     List<WorkSchedule> findByEmployeeAndDate(Employee employee, LocalDate date);
     @Query("SELECT ws FROM WorkSchedule ws JOIN ws.employee e WHERE ws.date = :date AND ws.shift = :shift AND e.position = :position")
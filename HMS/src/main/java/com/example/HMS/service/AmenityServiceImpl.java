@@ -1,10 +1,14 @@
 package com.example.HMS.service;
 
+import com.example.HMS.config.CacheConfig;
 import com.example.HMS.dto.AmenityDTO;
+import com.example.HMS.mapper.AmenityMapper;
 import com.example.HMS.model.Amenity;
 import com.example.HMS.exception.ResourceNotFoundException;
 import com.example.HMS.repository.AmenityRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,14 +24,16 @@ import java.util.stream.Collectors;
 public class AmenityServiceImpl implements AmenityService {
 
     private final AmenityRepository amenityRepository;
+    private final AmenityMapper amenityMapper;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.AMENITIES, sync = true)
     public Map<String, Object> getAllAmenities(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Amenity> amenityPage = amenityRepository.findAll(pageable);
 
         List<AmenityDTO> amenityDTOs = amenityPage.getContent().stream()
-                .map(this::convertToDTO)
+                .map(amenityMapper::toDto)
                 .collect(Collectors.toList());
 
         Map<String, Object> response = new HashMap<>();
@@ -40,20 +46,23 @@ public class AmenityServiceImpl implements AmenityService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.AMENITIES, sync = true)
     public AmenityDTO getAmenityById(Long id) {
         Amenity amenity = amenityRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Amenity not found with id: " + id));
-        return convertToDTO(amenity);
+        return amenityMapper.toDto(amenity);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.AMENITIES, allEntries = true)
     public AmenityDTO createAmenity(AmenityDTO amenityDTO) {
         Amenity amenity = convertToEntity(amenityDTO);
         Amenity savedAmenity = amenityRepository.save(amenity);
-        return convertToDTO(savedAmenity);
+        return amenityMapper.toDto(savedAmenity);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.AMENITIES, allEntries = true)
     public AmenityDTO updateAmenity(Long id, AmenityDTO amenityDTO) {
         Amenity existingAmenity = amenityRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Amenity not found with id: " + id));
@@ -62,20 +71,17 @@ public class AmenityServiceImpl implements AmenityService {
         existingAmenity.setDescription(amenityDTO.getDescription());
 
         Amenity updatedAmenity = amenityRepository.save(existingAmenity);
-        return convertToDTO(updatedAmenity);
+        return amenityMapper.toDto(updatedAmenity);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.AMENITIES, allEntries = true)
     public void deleteAmenity(Long id) {
         Amenity amenity = amenityRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Amenity not found with id: " + id));
         amenityRepository.delete(amenity);
     }
 
-    // Helper method: entity -> DTO
-    private AmenityDTO convertToDTO(Amenity amenity) {
-        return new AmenityDTO(amenity.getId(), amenity.getName(), amenity.getDescription());
-    }
 
     // Helper method: DTO -> entity
     private Amenity convertToEntity(AmenityDTO amenityDTO) {
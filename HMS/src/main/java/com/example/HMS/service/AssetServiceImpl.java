@@ -1,6 +1,7 @@
 package com.example.HMS.service;
 
 import com.example.HMS.dto.AssetDTO;
+import com.example.HMS.mapper.AssetMapper;
 import com.example.HMS.model.Asset;
 import com.example.HMS.model.AssetCondition;
 import com.example.HMS.repository.AssetRepository;
@@ -16,6 +17,7 @@ import java.util.Optional;
 public class AssetServiceImpl implements AssetService {
 
     private final AssetRepository assetRepository;
+    private final AssetMapper assetMapper;
 
     @Override
     public AssetDTO createAsset(AssetDTO assetDTO) {
@@ -27,7 +29,7 @@ public class AssetServiceImpl implements AssetService {
                 .build();
 
         Asset savedAsset = assetRepository.save(asset);
-        return mapToDTO(savedAsset);
+        return assetMapper.toDto(savedAsset);
     }
 
     @Override
@@ -44,12 +46,12 @@ public class AssetServiceImpl implements AssetService {
         } else {
             assets = assetRepository.findAll(pageable);
         }
-        return assets.map(this::mapToDTO);
+        return assets.map(assetMapper::toDto);
     }
 
     @Override
     public Optional<AssetDTO> getAssetById(Integer id) {
-        return assetRepository.findById(id).map(this::mapToDTO);
+        return assetRepository.findById(id).map(assetMapper::toDto);
     }
 
     @Override
@@ -63,7 +65,7 @@ public class AssetServiceImpl implements AssetService {
         asset.setCondition(AssetCondition.valueOf(assetDTO.getCondition()));
 
         Asset updatedAsset = assetRepository.save(asset);
-        return mapToDTO(updatedAsset);
+        return assetMapper.toDto(updatedAsset);
     }
 
     @Override
@@ -81,16 +83,6 @@ public class AssetServiceImpl implements AssetService {
 
         asset.setCondition(AssetCondition.valueOf(condition));
         Asset updatedAsset = assetRepository.save(asset);
-        return mapToDTO(updatedAsset);
-    }
-
-    private AssetDTO mapToDTO(Asset asset) {
-        return AssetDTO.builder()
-                .id(asset.getId())
-                .name(asset.getName())
-                .location(asset.getLocation())
-                .maintainDate(asset.getMaintainDate())
-                .condition(asset.getCondition().name())
-                .build();
+        return assetMapper.toDto(updatedAsset);
     }
 }
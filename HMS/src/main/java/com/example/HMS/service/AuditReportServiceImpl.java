@@ -2,6 +2,7 @@ package com.example.HMS.service;
 
 import com.example.HMS.dto.AuditReportDTO;
 import com.example.HMS.dto.RealTimeAuditReportDTO;
+import com.example.HMS.mapper.FinanceMapper;
 import com.example.HMS.model.*;
 import com.example.HMS.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,9 @@ public class AuditReportServiceImpl implements AuditReportService {
     private final InventoryReceiptRepository inventoryReceiptRepository;
     private final OperatingExpenseRepository operatingExpensesRepository;
     private final SalaryRepository salaryRepository;
+    private final RoomRepository roomRepository;
+    private final OccupancyCubeRepository occupancyCubeRepository;
+    private final FinanceMapper financeMapper;
 
     @Override
     @Transactional
@@ -66,22 +70,23 @@ public class AuditReportServiceImpl implements AuditReportService {
         double totalExpenses = inventoryExpenses + operatingExpenses + salaryExpenses;
         report.setExpenses(totalExpenses);
 
-        long totalRooms = bookingsRepository.countDistinctRoomNumber();
-        long occupiedRooms = bookingsRepository.countOccupiedRooms(reportDateAsDate); // Use Date
+        // Công suất phòng, ADR và RevPAR đọc từ occupancy cube
+        long totalRooms = roomRepository.count();
+        long occupiedRooms = occupancyCubeRepository.sumNightsSold(reportDate);
+        double roomRevenue = occupancyCubeRepository.sumRoomRevenue(reportDate);
         double occupancyRate = totalRooms > 0 ? (double) occupiedRooms / totalRooms * 100 : 0;
         report.setOccupancyRate(occupancyRate);
 
         report.setRoomCapacity(totalRooms);
 
-        long occupiedRoomNights = bookingsRepository.countOccupiedRoomNights(reportDateAsDate); // Use Date
-        double adr = occupiedRoomNights > 0 ? revenue / occupiedRoomNights : 0;
+        double adr = occupiedRooms > 0 ? roomRevenue / occupiedRooms : 0;
         report.setAdr(adr);
 
-        double revPar = totalRooms > 0 ? revenue / totalRooms : 0;
+        double revPar = totalRooms > 0 ? roomRevenue / totalRooms : 0;
         report.setRevPar(revPar);
 
         auditReportRepository.save(report);
-        return mapToDTO(report);
+        return financeMapper.toDto(report);
     }
 
     @Override
@@ -94,14 +99,14 @@ public class AuditReportServiceImpl implements AuditReportService {
         } else {
             reports = auditReportRepository.findAll(pageable);
         }
-        return reports.map(this::mapToDTO);
+        return reports.map(financeMapper::toDto);
     }
 
     @Override
     public AuditReportDTO getAuditReportDetails(UUID id) {
         AuditReport report = auditReportRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Audit Report not found"));
-        return mapToDTO(report);
+        return financeMapper.toDto(report);
     }
 
     @Override
@@ -139,38 +144,21 @@ public class AuditReportServiceImpl implements AuditReportService {
         double totalExpenses = inventoryExpenses + operatingExpenses + salaryExpenses;
         dto.setExpenses(totalExpenses);
 
-        long totalRooms = bookingsRepository.countDistinctRoomNumber();
-        long occupiedRooms = bookingsRepository.countOccupiedRooms(reportDateAsDate);
+        long totalRooms = roomRepository.count();
+        long occupiedRooms = occupancyCubeRepository.sumNightsSold(reportDate);
+        double roomRevenue = occupancyCubeRepository.sumRoomRevenue(reportDate);
         double occupancyRate = totalRooms > 0 ? (double) occupiedRooms / totalRooms * 100 : 0;
         dto.setOccupancyRate(occupancyRate);
 
         dto.setRoomCapacity(totalRooms);
 
-        long occupiedRoomNights = bookingsRepository.countOccupiedRoomNights(reportDateAsDate);
-        double adr = occupiedRoomNights > 0 ? revenue / occupiedRoomNights : 0;
+        double adr = occupiedRooms > 0 ? roomRevenue / occupiedRooms : 0;
         dto.setAdr(adr);
 
-        double revPar = totalRooms > 0 ? revenue / totalRooms : 0;
+        double revPar = totalRooms > 0 ? roomRevenue / totalRooms : 0;
         dto.setRevPar(revPar);
 
         dto.setUpdatedAt(now);
         return dto;
     }
-
-    private AuditReportDTO mapToDTO(AuditReport report) {
-        AuditReportDTO dto = new AuditReportDTO();
-        dto.setId(report.getId());
-        dto.setReportDate(report.getReportDate());
-        dto.setNumberOfBookings(report.getNumberOfBookings());
-        dto.setCheckIns(report.getCheckIns());
-        dto.setCheckOuts(report.getCheckOuts());
-        dto.setRevenue(report.getRevenue());
-        dto.setExpenses(report.getExpenses());
-        dto.setOccupancyRate(report.getOccupancyRate());
-        dto.setRoomCapacity(report.getRoomCapacity());
-        dto.setAdr(report.getAdr());
-        dto.setRevPar(report.getRevPar());
-        dto.setCreatedAt(report.getCreatedAt());
-        return dto;
-    }
 }
@@ -1,10 +1,14 @@
 package com.example.HMS.service;
 
 import com.example.HMS.dto.*;
+import com.example.HMS.mapper.BookingMapper;
+import com.example.HMS.mapper.ServiceMapper;
 import com.example.HMS.model.*;
 import com.example.HMS.repository.*;
+import com.example.HMS.utils.RoomStatusChangedEvent;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +17,7 @@ import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.format.TextStyle;
@@ -29,8 +34,14 @@ public class BookingServiceImpl implements BookingService {
     private final RoomRepository roomRepository;
     private final ServiceUsageRepository serviceUsageRepository;
     private final AccessTokenRepository accessTokenRepository;
-    private final OTPRepository otpRepository;
+    private final GuestAccessService guestAccessService;
+    private final OccupancyCubeRepository occupancyCubeRepository;
+    private final OccupancyService occupancyService;
+    private final FolioPostingService folioPostingService;
     private final JavaMailSender mailSender;
+    private final BookingMapper bookingMapper;
+    private final ServiceMapper serviceMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -82,6 +93,7 @@ public class BookingServiceImpl implements BookingService {
         }
 
         Bookings savedBooking = bookingRepository.save(booking);
+        occupancyService.refreshBooking(savedBooking.getId());
 
         if (booking.getCustomer() != null) {
             sendBookingConfirmationEmail(customer, savedBooking, numberOfDays);
@@ -98,7 +110,7 @@ public class BookingServiceImpl implements BookingService {
             sendGuestBookingEmail(bookingDTO.getGuestEmail(), savedBooking, numberOfDays, token, bookingDTO.getGuestName());
         }
 
-        BookingDTO result = mapToDTO(savedBooking);
+        BookingDTO result = bookingMapper.toDto(savedBooking);
         result.setCustomerFullName(customer != null ? customer.getFullName() : null);
         result.setCreatedByFullName(createdBy != null ? createdBy.getFullName() : null);
         result.setNumberOfDays(numberOfDays);
@@ -145,65 +157,17 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public void requestOTP(Long bookingId, String token) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, bookingId, "BOOKING")
-                .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-
-        String otp = generateRandomOTP(6);
-        OTP otpEntity = OTP.builder()
-                .otp(otp)
-                .guestEmail(accessToken.getGuestEmail())
-                .requestId(bookingId)
-                .requestType("BOOKING")
-                .expiresAt(LocalDateTime.now().plusHours(1))
-                .isUsed(false)
-                .build();
-        otpRepository.save(otpEntity);
-
-        sendOTPToEmail(accessToken.getGuestEmail(), otp);
-    }
-
-    private String generateRandomOTP(int length) {
-        return String.valueOf((int) ((Math.random() * 9 + 1) * Math.pow(10, length - 1)));
-    }
-
-    private void sendOTPToEmail(String email, String otp) {
-        SimpleMailMessage mail = new SimpleMailMessage();
-        mail.setTo(email);
-        mail.setSubject("Your OTP Code");
-        mail.setText("Your OTP code is: " + otp + "\nIt is valid for 60 minutes.");
-        mailSender.send(mail);
+        guestAccessService.requestOTP(bookingId, token, "BOOKING");
     }
 
     @Override
     public void verifyOTP(Long bookingId, String token, String otp) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, bookingId, "BOOKING")
-                .orElseThrow(() -> new RuntimeException("Invalid token"));
-        if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("Token has expired");
-        }
-
-        OTP otpEntity = otpRepository.findByOtpAndRequestIdAndRequestType(otp, bookingId, "BOOKING")
-                .orElseThrow(() -> new RuntimeException("Invalid OTP"));
-        if (otpEntity.getExpiresAt().isBefore(LocalDateTime.now()) || otpEntity.isUsed()) {
-            throw new RuntimeException("OTP has expired or already used");
-        }
-
-        otpEntity.setUsed(true);
-        otpRepository.save(otpEntity);
+        guestAccessService.verifyOTP(bookingId, token, "BOOKING", otp);
     }
 
     @Override
     public boolean checkOTPStatus(Long bookingId, String token) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, bookingId, "BOOKING")
-                .orElseThrow(() -> new RuntimeException("Invalid token"));
-        if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("Token has expired");
-        }
-
-        return otpRepository.findByRequestIdAndRequestTypeAndIsUsed(bookingId, "BOOKING", true)
-                .stream()
-                .anyMatch(otp -> otp.getGuestEmail().equals(accessToken.getGuestEmail()) &&
-                        !otp.getExpiresAt().isBefore(LocalDateTime.now()));
+        return guestAccessService.checkOTPStatus(bookingId, token, "BOOKING");
     }
 
     @Override
@@ -216,7 +180,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public PageResponse<BookingDTO> getAllBookings(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Bookings> bookingsPage = bookingRepository.findAll(pageable);
+        Page<Bookings> bookingsPage = bookingRepository.findAllBy(pageable);
         return createPageResponse(bookingsPage);
     }
 
@@ -240,16 +204,16 @@ public class BookingServiceImpl implements BookingService {
 
         List<RoomBookings> roomBookings = roomBookingRepository.findByBookingsId(bookingId);
         List<RoomBookingDTO> roomBookingDTOs = roomBookings.stream()
-                .map(this::mapToRoomBookingDTO)
+                .map(bookingMapper::toDto)
                 .collect(Collectors.toList());
 
         List<ServiceUsage> serviceUsages = serviceUsageRepository.findByBookingsId(bookingId);
         List<ServiceUsageDTO> serviceUsageDTOs = serviceUsages.stream()
-                .map(this::mapToServiceUsageDTO)
+                .map(serviceMapper::toDto)
                 .collect(Collectors.toList());
 
         BookingDetailsDTO detailsDTO = new BookingDetailsDTO();
-        detailsDTO.setBooking(mapToDTO(booking));
+        detailsDTO.setBooking(bookingMapper.toDto(booking));
         detailsDTO.setRooms(roomBookingDTOs);
         detailsDTO.setServiceUsages(serviceUsageDTOs);
 
@@ -267,18 +231,7 @@ public class BookingServiceImpl implements BookingService {
         }
 
         if (booking.getCustomer() == null && token != null) {
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, bookingId, "BOOKING")
-                    .orElseThrow(() -> new RuntimeException("Invalid token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-
-            boolean hasValidOTP = otpRepository.findByRequestIdAndRequestTypeAndIsUsed(bookingId, "BOOKING", true)
-                    .stream().anyMatch(otp -> otp.getGuestEmail().equals(booking.getGuestEmail()) &&
-                            !otp.getExpiresAt().isBefore(LocalDateTime.now()));
-            if (!hasValidOTP) {
-                throw new RuntimeException("No valid OTP found");
-            }
+            guestAccessService.requireVerifiedGuest(token, bookingId, "BOOKING", booking.getGuestEmail());
         }
 
         booking.setStartDate(bookingDTO.getStartDate());
@@ -292,12 +245,13 @@ public class BookingServiceImpl implements BookingService {
         }
 
         Bookings updatedBooking = bookingRepository.save(booking);
+        occupancyService.refreshBooking(bookingId);
 
         long diffInMillies = Math.abs(bookingDTO.getEndDate().getTime() - bookingDTO.getStartDate().getTime());
         int numberOfDays = (int) TimeUnit.DAYS.convert(diffInMillies, TimeUnit.MILLISECONDS);
         if (numberOfDays < 1) numberOfDays = 1;
 
-        BookingDTO result = mapToDTO(updatedBooking);
+        BookingDTO result = bookingMapper.toDto(updatedBooking);
         result.setCustomerFullName(updatedBooking.getCustomer() != null ? updatedBooking.getCustomer().getFullName() : null);
         result.setCreatedByFullName(updatedBooking.getCreatedBy() != null ? updatedBooking.getCreatedBy().getFullName() : null);
         result.setNumberOfDays(numberOfDays);
@@ -311,6 +265,7 @@ public class BookingServiceImpl implements BookingService {
         roomBookingRepository.deleteAll(roomBookings);
 
         bookingRepository.deleteById(Math.toIntExact(bookingId));
+        occupancyService.refreshBooking(bookingId);
     }
 
     @Override
@@ -319,24 +274,14 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
         if (booking.getCustomer() == null && token != null) {
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, bookingId, "BOOKING")
-                    .orElseThrow(() -> new RuntimeException("Invalid token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-
-            boolean hasValidOTP = otpRepository.findByRequestIdAndRequestTypeAndIsUsed(bookingId, "BOOKING", true)
-                    .stream().anyMatch(otp -> otp.getGuestEmail().equals(booking.getGuestEmail()) &&
-                            !otp.getExpiresAt().isBefore(LocalDateTime.now()));
-            if (!hasValidOTP) {
-                throw new RuntimeException("No valid OTP found");
-            }
+            guestAccessService.requireVerifiedGuest(token, bookingId, "BOOKING", booking.getGuestEmail());
         }
 
         booking.setStatus(status);
         Bookings updatedBooking = bookingRepository.save(booking);
+        occupancyService.refreshBooking(bookingId);
 
-        return mapToDTO(updatedBooking);
+        return bookingMapper.toDto(updatedBooking);
     }
 
     @Override
@@ -352,6 +297,7 @@ public class BookingServiceImpl implements BookingService {
 
         booking.setCheckInTime(LocalDateTime.now());
         bookingRepository.save(booking);
+        folioPostingService.openFolio(booking);
 
         List<RoomBookings> roomBookings = roomBookingRepository.findByBookingsId(bookingId);
 
@@ -359,6 +305,7 @@ public class BookingServiceImpl implements BookingService {
             Room room = roomBooking.getRoom();
             room.setRoomStatus(RoomStatus.OCCUPIED);
             roomRepository.save(room);
+            eventPublisher.publishEvent(RoomStatusChangedEvent.of(room));
         }
     }
 
@@ -369,10 +316,11 @@ public class BookingServiceImpl implements BookingService {
             monthStatsMap.put(i, 0L);
         }
 
-        List<Object[]> results = bookingRepository.countBookingsByMonth(year);
+        List<Object[]> results = occupancyCubeRepository.sumBookingsByMonth(
+                LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
         for (Object[] result : results) {
-            int monthNumber = (Integer) result[0];
-            long count = (Long) result[1];
+            int monthNumber = ((Number) result[0]).intValue();
+            long count = ((Number) result[1]).longValue();
             monthStatsMap.put(monthNumber, count);
         }
 
@@ -388,66 +336,15 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDTO> getRecentBookings(int limit) {
         Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "id"));
-        Page<Bookings> bookingsPage = bookingRepository.findAll(pageable);
-        return bookingsPage.stream().map(this::mapToDTO).collect(Collectors.toList());
-    }
-
-
-    private BookingDTO mapToDTO(Bookings booking) {
-        BookingDTO dto = new BookingDTO();
-        dto.setId(booking.getId());
-        dto.setCustomerId(booking.getCustomer() != null ? booking.getCustomer().getId() : null);
-        dto.setCreatedById(booking.getCreatedBy() != null ? booking.getCreatedBy().getId() : null);
-        dto.setCustomerFullName(booking.getCustomer() != null ? booking.getCustomer().getFullName() : null);
-        dto.setCreatedByFullName(booking.getCreatedBy() != null ? booking.getCreatedBy().getFullName() : null);
-        dto.setGuestEmail(booking.getGuestEmail());
-        dto.setGuestName(booking.getGuestName());
-        dto.setGuestPhone(booking.getGuestPhone());
-        dto.setSource(booking.getSource());
-        dto.setStatus(booking.getStatus());
-        dto.setTotalPrice(booking.getTotalPrice());
-        dto.setStartDate(booking.getStartDate());
-        dto.setEndDate(booking.getEndDate());
-        dto.setRoomType(booking.getRoomType());
-        dto.setRoomNumber(booking.getRoomNumber());
-        dto.setAdultNumber(booking.getAdultNumber());
-        dto.setChildNumber(booking.getChildNumber());
-        dto.setCheckInTime(booking.getCheckInTime());
-        dto.setCheckOutTime(booking.getCheckOutTime());
-
-        long diffInMillies = Math.abs(booking.getEndDate().getTime() - booking.getStartDate().getTime());
-        int numberOfDays = (int) TimeUnit.DAYS.convert(diffInMillies, TimeUnit.MILLISECONDS);
-        if (numberOfDays < 1) numberOfDays = 1;
-        dto.setNumberOfDays(numberOfDays);
-
-        return dto;
+        Page<Bookings> bookingsPage = bookingRepository.findAllBy(pageable);
+        return bookingsPage.stream().map(bookingMapper::toDto).collect(Collectors.toList());
     }
 
-    private ServiceUsageDTO mapToServiceUsageDTO(ServiceUsage serviceUsage) {
-        ServiceUsageDTO dto = new ServiceUsageDTO();
-        dto.setId(serviceUsage.getId());
-        dto.setBookingId(serviceUsage.getBookings().getId());
-        dto.setServiceId(serviceUsage.getServices().getId());
-        dto.setServiceName(serviceUsage.getServices().getServiceName());
-        dto.setQuantity(serviceUsage.getQuantity());
-        dto.setTotalPrice(serviceUsage.getTotalPrice());
-        return dto;
-    }
 
-    private RoomBookingDTO mapToRoomBookingDTO(RoomBookings rb) {
-        RoomBookingDTO dto = new RoomBookingDTO();
-        dto.setId(rb.getId());
-        dto.setRoomId(rb.getRoom().getId());
-        dto.setRoomNumber(rb.getRoom().getRoomName());
-        dto.setRoomType(rb.getRoom().getRoomType());
-        dto.setPricePerNight(Integer.parseInt(rb.getRoom().getPrice()));
-        dto.setBookingId(rb.getBookings().getId());
-        return dto;
-    }
 
     private PageResponse<BookingDTO> createPageResponse(Page<Bookings> bookingsPage) {
         List<BookingDTO> bookingDTOs = bookingsPage.getContent().stream()
-                .map(this::mapToDTO)
+                .map(bookingMapper::toDto)
                 .collect(Collectors.toList());
 
         PageResponse<BookingDTO> response = new PageResponse<>();
@@ -0,0 +1,14 @@
+package com.example.HMS.service;
+
+public interface ChangeVersionService {
+    String ROOMS = "rooms";
+    String ROOM_AMENITIES = "room_amenities";
+    String SERVICES = "services";
+    String FEEDBACK = "feedback";
+
+    String etag(String... tables);
+
+    // Ghi nhận bảng đã đổi; version tăng sau khi transaction hiện tại commit. Ghi bằng JPQL bulk hoặc JDBC
+    // không qua entity listener nên phải tự gọi hàm này
+    void changed(String... tables);
+}
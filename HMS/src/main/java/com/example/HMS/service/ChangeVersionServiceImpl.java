@@ -0,0 +1,93 @@
+package com.example.HMS.service;
+
+import com.example.HMS.model.TableVersion;
+import com.example.HMS.repository.TableVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Version counters behind the catalog ETags. A change is recorded during the transaction and the counters are
+ * bumped once, in their own short transaction, after it commits: the hot {@code table_version} rows are never
+ * locked for the length of a business transaction, and a reader can see new rows under the old ETag for a moment
+ * but never old rows under a new one. A rolled back change bumps nothing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeVersionServiceImpl implements ChangeVersionService {
+    private final TableVersionRepository tableVersionRepository;
+
+    @Override
+    public String etag(String... tables) {
+        Map<String, Long> versions = tableVersionRepository.findAllById(Arrays.asList(tables)).stream()
+                .collect(Collectors.toMap(TableVersion::getTableName, TableVersion::getVersion));
+
+        // Mỗi counter chỉ tăng nên tổng các counter cũng chỉ tăng, không thể trùng với ETag cũ
+        long sum = 0;
+        for (String table : tables) {
+            Long version = versions.get(table);
+            sum += version != null ? version : seed(table);
+        }
+        return "W/\"" + Long.toHexString(sum) + "\"";
+    }
+
+    @Override
+    public void changed(String... tables) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(new TreeSet<>(Arrays.asList(tables)));
+            return;
+        }
+        // Một lần bump cho mỗi transaction, dù nó đổi bao nhiêu dòng
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBump pending) {
+                pending.tables.addAll(Arrays.asList(tables));
+                return;
+            }
+        }
+        PendingBump pending = new PendingBump();
+        pending.tables.addAll(Arrays.asList(tables));
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    // Bảng chưa có dòng version thì chưa client nào giữ ETag của nó, không cần tạo ở đây
+    private void bump(Set<String> tables) {
+        try {
+            tableVersionRepository.bump(tables);
+        } catch (DataAccessException ex) {
+            // Dữ liệu đã commit; ETag cũ còn hiệu lực đến lần thay đổi sau
+            log.warn("Could not bump table versions {}", tables, ex);
+        }
+    }
+
+    // Bắt đầu từ thời điểm hiện tại để ETag không lặp lại nếu bảng version bị xoá và tạo lại
+    private long seed(String table) {
+        try {
+            return tableVersionRepository.save(new TableVersion(table, System.currentTimeMillis())).getVersion();
+        } catch (DataAccessException ex) {
+            // Node khác vừa tạo trước
+            return tableVersionRepository.findById(table)
+                    .map(TableVersion::getVersion)
+                    .orElseThrow(() -> ex);
+        }
+    }
+
+    private final class PendingBump implements TransactionSynchronization {
+        // Sắp xếp để các transaction khoá dòng version theo cùng một thứ tự
+        private final Set<String> tables = new TreeSet<>();
+
+        @Override
+        public void afterCommit() {
+            bump(tables);
+        }
+    }
+}
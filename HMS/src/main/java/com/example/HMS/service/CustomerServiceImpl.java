@@ -5,6 +5,7 @@ import com.example.HMS.dto.ResetPasswordDTO;
 import com.example.HMS.dto.UpdateProfileDTO;
 import com.example.HMS.dto.CustomerDTO;
 import com.example.HMS.exception.ResourceNotFoundException;
+import com.example.HMS.mapper.UserMapper;
 import com.example.HMS.model.Customer;
 import com.example.HMS.model.PasswordResetToken;
 import com.example.HMS.model.Role;
@@ -14,7 +15,6 @@ import com.example.HMS.repository.TokenBlacklistRepository;
 import com.example.HMS.repository.UserRepository;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -34,7 +34,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final JavaMailSender mailSender;
@@ -47,7 +47,7 @@ public class CustomerServiceImpl implements CustomerService {
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
         customer.setActive(isActive);
         Customer updatedCustomer = userRepository.save(customer);
-        return modelMapper.map(updatedCustomer, CustomerDTO.class);
+        return userMapper.toCustomerDto(updatedCustomer);
     }
 
     @Override
@@ -65,7 +65,7 @@ public class CustomerServiceImpl implements CustomerService {
                 .filter(user -> user instanceof Customer)
                 .map(user -> (Customer) user)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
-        return modelMapper.map(customer, CustomerDTO.class);
+        return userMapper.toCustomerDto(customer);
     }
 
     @Override
@@ -99,7 +99,7 @@ public class CustomerServiceImpl implements CustomerService {
 
         Pageable pageable = PageRequest.of(page, size);
         Page<User> customersPage = userRepository.findAll(spec, pageable);
-        return customersPage.map(user -> modelMapper.map(user, CustomerDTO.class));
+        return customersPage.map(userMapper::toCustomerDto);
     }
 
     @Override
@@ -108,7 +108,7 @@ public class CustomerServiceImpl implements CustomerService {
                 .filter(user -> user instanceof Customer)
                 .map(user -> (Customer) user)
                 .orElseThrow(() -> new UsernameNotFoundException("Customer not found with username: " + username));
-        return modelMapper.map(customer, CustomerDTO.class);
+        return userMapper.toCustomerDto(customer);
     }
 
     @Override
@@ -124,7 +124,7 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setAddress(dto.getAddress());
 
         Customer updatedCustomer = userRepository.save(customer);
-        return modelMapper.map(updatedCustomer, CustomerDTO.class);
+        return userMapper.toCustomerDto(updatedCustomer);
     }
 
     @Override
@@ -0,0 +1,9 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.DashboardSummaryDTO;
+
+import java.time.LocalDate;
+
+public interface DashboardService {
+    DashboardSummaryDTO getSummary(int year, LocalDate reportDate, int recentLimit);
+}
@@ -0,0 +1,154 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.DashboardSummaryDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the admin dashboard in one call. The widgets are independent, so each runs in its own
+ * read-only transaction on a small bounded pool. The assembled summary is shared through a short-TTL
+ * cache; concurrent callers for the same key wait on the same in-flight computation. A widget that runs past
+ * the timeout is interrupted, and its transaction carries the same timeout so the JDBC statement is cancelled
+ * even when the driver ignores interrupts; a stuck query never keeps a pool thread for long.
+ */
+@Slf4j
+@Service
+public class DashboardServiceImpl implements DashboardService {
+    static final int MAX_RECENT_LIMIT = 100;
+
+    private final BookingService bookingService;
+    private final AuditReportService auditReportService;
+    private final GuestService guestService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService executor;
+    private final long cacheTtlMs;
+    private final long timeoutMs;
+    private final ConcurrentHashMap<String, CachedSummary> cache = new ConcurrentHashMap<>();
+
+    public DashboardServiceImpl(BookingService bookingService,
+                                AuditReportService auditReportService,
+                                GuestService guestService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.dashboard.pool-size:4}") int poolSize,
+                                @Value("${app.dashboard.cache-ttl-ms:5000}") long cacheTtlMs,
+                                @Value("${app.dashboard.timeout-ms:10000}") long timeoutMs) {
+        this.bookingService = bookingService;
+        this.auditReportService = auditReportService;
+        this.guestService = guestService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs + 999)));
+        this.cacheTtlMs = cacheTtlMs;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(100),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // Khi pool đầy thì chạy trên thread của request thay vì từ chối
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public DashboardSummaryDTO getSummary(int year, LocalDate reportDate, int recentLimit) {
+        // Giới hạn số booking gần đây, cũng giữ số key của cache ở mức nhỏ
+        recentLimit = Math.max(1, Math.min(recentLimit, MAX_RECENT_LIMIT));
+        String key = year + ":" + reportDate + ":" + recentLimit;
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(entry -> entry.expiresAt <= now && entry.summary.isDone());
+
+        CompletableFuture<DashboardSummaryDTO> created = new CompletableFuture<>();
+        CachedSummary cached = cache.compute(key, (k, existing) ->
+                existing != null && existing.expiresAt > now ? existing : new CachedSummary(created, now + cacheTtlMs));
+
+        // Request tạo entry sẽ tự tính trên thread của nó, các request khác chỉ chờ kết quả
+        if (cached.summary == created) {
+            try {
+                created.complete(compute(year, reportDate, recentLimit));
+            } catch (RuntimeException ex) {
+                created.completeExceptionally(ex);
+            }
+        }
+
+        try {
+            return cached.summary.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            cache.remove(key, cached);
+            throw new RuntimeException("Failed to build dashboard summary", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new RuntimeException("Dashboard summary timed out after " + timeoutMs + " ms", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Dashboard summary interrupted", ex);
+        }
+    }
+
+    private DashboardSummaryDTO compute(int year, LocalDate reportDate, int recentLimit) {
+        long start = System.nanoTime();
+        Map<String, Long> timings = new ConcurrentHashMap<>();
+
+        var monthlyStats = widget("monthlyBookingStats", timings, () -> bookingService.getMonthlyBookingStats(year));
+        var recentBookings = widget("recentBookings", timings, () -> bookingService.getRecentBookings(recentLimit));
+        var auditReport = widget("realTimeAuditReport", timings, () -> auditReportService.getRealTimeAuditReport(reportDate));
+        var guestCount = widget("currentGuestCount", timings, guestService::getCurrentGuestCount);
+
+        DashboardSummaryDTO summary = DashboardSummaryDTO.builder()
+                .year(year)
+                .reportDate(reportDate)
+                .monthlyBookingStats(monthlyStats.join())
+                .recentBookings(recentBookings.join())
+                .realTimeAuditReport(auditReport.join())
+                .currentGuestCount(guestCount.join())
+                .generatedAt(LocalDateTime.now())
+                .build();
+        summary.setWidgetTimingsMs(new TreeMap<>(timings));
+        summary.setTotalTimeMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.debug("Dashboard summary built in {} ms: {}", summary.getTotalTimeMs(), timings);
+        return summary;
+    }
+
+    private <T> CompletableFuture<T> widget(String name, Map<String, Long> timings, Supplier<T> query) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                result.complete(readOnlyTransaction.execute(status -> query.get()));
+            } catch (RuntimeException | Error ex) {
+                result.completeExceptionally(ex);
+            } finally {
+                timings.put(name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        });
+        // CompletableFuture.cancel không ngắt thread, nên hết giờ thì huỷ chính task trên pool
+        result.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((value, ex) -> {
+            if (ex instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record CachedSummary(CompletableFuture<DashboardSummaryDTO> summary, long expiresAt) {
+    }
+}
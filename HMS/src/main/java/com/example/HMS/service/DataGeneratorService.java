@@ -37,20 +37,18 @@ public class DataGeneratorService {
     private final InventoryReceiptRepository inventoryReceiptRepository;
     private final InventoryReceiptDetailRepository inventoryReceiptDetailRepository;
     private final OperatingExpenseRepository operatingExpensesRepository;
-    private final SalaryRepository salaryRepository;
     private final BookingsRepository bookingsRepository;
-    private final RoomBookingsRepository roomBookingsRepository;
+    private final OccupancyService occupancyService;
     private final FeedbackRepository feedbackRepository;
     private final ServiceRequestRepository serviceRequestRepository;
     private final ServiceUsageRepository serviceUsageRepository;
     private final GuestRepository guestsRepository;
     private final HousekeepingRequestRepository housekeepingRequestRepository;
     private final FolioRepository folioRepository;
-    private final FolioChargesRepository folioChargesRepository;
-    private final WorkScheduleRepository workScheduleRepository;
-    private final HousekeepingScheduleRepository housekeepingScheduleRepository;
     private final AuditReportRepository auditReportRepository;
     private final MaintenanceScheduleRepository maintenanceScheduleRepository;
+    private final BulkInsertRepository bulkInsertRepository;
+    private final StockLedgerService stockLedgerService;
 
     private Map<String, LoyaltyLevel> loyaltyLevelMap = new HashMap<>();
 
@@ -474,7 +472,9 @@ public class DataGeneratorService {
             inventory.setSupplier(suppliers.get(faker.random().nextInt(suppliers.size())));
             inventories.add(inventory);
         }
-        return inventoryRepository.saveAll(inventories);
+        List<Inventory> saved = inventoryRepository.saveAll(inventories);
+        stockLedgerService.recordOpening(saved);
+        return saved;
     }
 
     /**
@@ -541,7 +541,7 @@ public class DataGeneratorService {
             salary.setCreatedAt(LocalDateTime.now().minusDays(faker.number().numberBetween(1, 30)));
             salaries.add(salary);
         }
-        salaryRepository.saveAll(salaries);
+        bulkInsertRepository.insertSalaries(salaries);
     }
 
     /**
@@ -567,6 +567,7 @@ public class DataGeneratorService {
         generateGuests(guestCount, bookingsList, rooms);
         generateHousekeepingRequests(housekeepingRequestCount, rooms, customers);
         generateFolios(folioCount, bookingsList, customers, services);
+        occupancyService.rebuild();
     }
 
     private List<Bookings> generateBookings(int count, List<Customer> customers, List<Employee> receptionists, List<Room> rooms) {
@@ -604,7 +605,7 @@ public class DataGeneratorService {
             roomBookings.add(roomBooking);
             booking.getRoomBookings().add(roomBooking);
         }
-        roomBookingsRepository.saveAll(roomBookings);
+        bulkInsertRepository.insertRoomBookings(roomBookings);
     }
 
     private void generateFeedbacks(int count, List<Customer> customers, List<Bookings> bookings) {
@@ -709,6 +710,7 @@ public class DataGeneratorService {
             throw e;
         }
 
+        List<FolioCharges> allCharges = new ArrayList<>();
         for (Folio folio : folios) {
             List<FolioCharges> charges = new ArrayList<>();
             Bookings booking = folio.getBookings();
@@ -742,7 +744,7 @@ public class DataGeneratorService {
                 }
             }
 
-            folioChargesRepository.saveAll(charges);
+            allCharges.addAll(charges);
 
             double totalAmount = charges.stream().mapToDouble(FolioCharges::getTotalPrice).sum();
             folio.setTotalAmount(totalAmount);
@@ -750,6 +752,7 @@ public class DataGeneratorService {
             folioRepository.save(folio);
             bookingsRepository.save(booking);
         }
+        bulkInsertRepository.insertFolioCharges(allCharges);
     }
 
     /**
@@ -768,7 +771,7 @@ public class DataGeneratorService {
             schedule.setShift(faker.options().option("Morning", "Afternoon", "Night"));
             workSchedules.add(schedule);
         }
-        workScheduleRepository.saveAll(workSchedules);
+        bulkInsertRepository.insertWorkSchedules(workSchedules);
     }
 
     /**
@@ -789,7 +792,7 @@ public class DataGeneratorService {
             schedule.setStatus(ScheduleStatus.values()[faker.random().nextInt(ScheduleStatus.values().length)]);
             schedules.add(schedule);
         }
-        housekeepingScheduleRepository.saveAll(schedules);
+        bulkInsertRepository.insertHousekeepingSchedules(schedules);
     }
 
     /**
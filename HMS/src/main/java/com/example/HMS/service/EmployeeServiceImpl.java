@@ -4,13 +4,13 @@ import com.example.HMS.dto.ChangePasswordDTO;
 import com.example.HMS.dto.EmployeeDTO;
 import com.example.HMS.dto.UpdateUProfileDTO;
 import com.example.HMS.exception.ResourceNotFoundException;
+import com.example.HMS.mapper.UserMapper;
 import com.example.HMS.model.Employee;
 import com.example.HMS.model.Role;
 import com.example.HMS.model.User;
 import com.example.HMS.repository.UserRepository;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -28,7 +28,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
     private final UserRepository userRepository;
-    private final ModelMapper modelMapper;
+    private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final JavaMailSender mailSender;
     private static final String DEFAULT_PASSWORD = "12345678";
@@ -39,7 +39,7 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .filter(user -> user instanceof Employee)
                 .map(user -> (Employee) user)
                 .orElseThrow(() -> new UsernameNotFoundException("Employee not found with username: " + username));
-        return modelMapper.map(employee, EmployeeDTO.class);
+        return userMapper.toEmployeeDto(employee);
     }
 
     @Override
@@ -54,7 +54,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setEmail(dto.getEmail());
 
         Employee updatedEmployee = userRepository.save(employee);
-        return modelMapper.map(updatedEmployee, EmployeeDTO.class);
+        return userMapper.toEmployeeDto(updatedEmployee);
     }
 
     @Override
@@ -96,7 +96,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         Pageable pageable = PageRequest.of(page, size);
         Page<User> employeesPage = userRepository.findAll(spec, pageable);
-        return employeesPage.map(user -> modelMapper.map(user, EmployeeDTO.class));
+        return employeesPage.map(userMapper::toEmployeeDto);
     }
 
     @Override
@@ -105,7 +105,7 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .filter(user -> user instanceof Employee)
                 .map(user -> (Employee) user)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
-        return modelMapper.map(employee, EmployeeDTO.class);
+        return userMapper.toEmployeeDto(employee);
     }
 
     @Override
@@ -139,7 +139,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
 
         Employee updatedEmployee = userRepository.save(employee);
-        return modelMapper.map(updatedEmployee, EmployeeDTO.class);
+        return userMapper.toEmployeeDto(updatedEmployee);
     }
 
     @Override
@@ -180,6 +180,6 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .build();
 
         Employee savedEmployee = userRepository.save(employee);
-        return modelMapper.map(savedEmployee, EmployeeDTO.class);
+        return userMapper.toEmployeeDto(savedEmployee);
     }
 }
@@ -0,0 +1,13 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.BookingSearchCriteria;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface ExportService {
+    void exportBookings(BookingSearchCriteria criteria, OutputStream outputStream) throws IOException;
+    void exportFolios(String search, OutputStream outputStream) throws IOException;
+    void exportAuditReports(LocalDate startDate, LocalDate endDate, String search, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,101 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.AuditReportDTO;
+import com.example.HMS.dto.BookingExportRow;
+import com.example.HMS.dto.BookingSearchCriteria;
+import com.example.HMS.dto.FolioDTO;
+import com.example.HMS.repository.AuditReportRepository;
+import com.example.HMS.repository.BookingsRepository;
+import com.example.HMS.repository.FolioRepository;
+import com.example.HMS.utils.CsvWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams export rows straight from a read-only cursor into the response. Rows are constructor
+ * projections, so nothing is kept in the persistence context and memory stays flat whatever the row count.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+    private static final int FLUSH_EVERY = 1000;
+
+    private final BookingsRepository bookingsRepository;
+    private final FolioRepository folioRepository;
+    private final AuditReportRepository auditReportRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBookings(BookingSearchCriteria criteria, OutputStream outputStream) throws IOException {
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.writeRow("ID", "Customer", "Created By", "Guest Name", "Guest Email", "Guest Phone", "Source", "Status",
+                "Total Price", "Start Date", "End Date", "Room Type", "Room Number", "Adults", "Children",
+                "Check-in Time", "Check-out Time");
+        try (Stream<BookingExportRow> rows = bookingsRepository.streamBySearchCriteria(
+                StringUtils.hasText(criteria.getUserFullName()) ? criteria.getUserFullName() : null,
+                criteria.getStartDate(), criteria.getEndDate(), criteria.getStatus())) {
+            int count = 0;
+            for (Iterator<BookingExportRow> it = rows.iterator(); it.hasNext(); ) {
+                BookingExportRow row = it.next();
+                csv.writeRow(row.getId(), row.getCustomerFullName(), row.getCreatedByFullName(), row.getGuestName(),
+                        row.getGuestEmail(), row.getGuestPhone(), row.getSource(), row.getStatus(), row.getTotalPrice(),
+                        row.getStartDate(), row.getEndDate(), row.getRoomType(), row.getRoomNumber(),
+                        row.getAdultNumber(), row.getChildNumber(), row.getCheckInTime(), row.getCheckOutTime());
+                if (++count % FLUSH_EVERY == 0) {
+                    csv.flush();
+                }
+            }
+        }
+        csv.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportFolios(String search, OutputStream outputStream) throws IOException {
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.writeRow("ID", "Booking ID", "Customer", "User ID", "Guest Name", "Guest Email", "Total Amount", "Status",
+                "Created At", "Updated At");
+        try (Stream<FolioDTO> rows = folioRepository.streamByCustomerName(StringUtils.hasText(search) ? search : null)) {
+            int count = 0;
+            for (Iterator<FolioDTO> it = rows.iterator(); it.hasNext(); ) {
+                FolioDTO row = it.next();
+                csv.writeRow(row.getId(), row.getBookingId(), row.getCustomerName(), row.getUserId(), row.getGuestName(),
+                        row.getGuestEmail(), row.getTotalAmount(), row.getStatus(), row.getCreatedAt(), row.getUpdatedAt());
+                if (++count % FLUSH_EVERY == 0) {
+                    csv.flush();
+                }
+            }
+        }
+        csv.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAuditReports(LocalDate startDate, LocalDate endDate, String search, OutputStream outputStream) throws IOException {
+        CsvWriter csv = new CsvWriter(outputStream);
+        csv.writeRow("ID", "Report Date", "Bookings", "Check-ins", "Check-outs", "Revenue", "Expenses",
+                "Occupancy Rate", "Room Capacity", "ADR", "RevPAR", "Created At");
+        try (Stream<AuditReportDTO> rows = auditReportRepository.streamForExport(
+                startDate, endDate, StringUtils.hasText(search) ? search : null)) {
+            int count = 0;
+            for (Iterator<AuditReportDTO> it = rows.iterator(); it.hasNext(); ) {
+                AuditReportDTO row = it.next();
+                csv.writeRow(row.getId(), row.getReportDate(), row.getNumberOfBookings(), row.getCheckIns(),
+                        row.getCheckOuts(), row.getRevenue(), row.getExpenses(), row.getOccupancyRate(),
+                        row.getRoomCapacity(), row.getAdr(), row.getRevPar(), row.getCreatedAt());
+                if (++count % FLUSH_EVERY == 0) {
+                    csv.flush();
+                }
+            }
+        }
+        csv.flush();
+    }
+}
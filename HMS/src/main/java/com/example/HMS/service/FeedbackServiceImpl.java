@@ -1,6 +1,7 @@
 package com.example.HMS.service;
 
 import com.example.HMS.dto.FeedbackDTO;
+import com.example.HMS.mapper.FeedbackMapper;
 import com.example.HMS.model.*;
 import com.example.HMS.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -27,8 +28,9 @@ public class FeedbackServiceImpl implements FeedbackService {
     private final CustomerRepository customerRepository;
     private final BookingsRepository bookingRepository;
     private final AccessTokenRepository accessTokenRepository;
-    private final OTPRepository otpRepository;
+    private final GuestAccessService guestAccessService;
     private final JavaMailSender mailSender;
+    private final FeedbackMapper feedbackMapper;
 
     @Override
     public FeedbackDTO createFeedback(FeedbackDTO feedbackDTO, Long customerId) {
@@ -75,7 +77,7 @@ public class FeedbackServiceImpl implements FeedbackService {
             sendFeedbackEmail(guestEmail, savedFeedback, newToken, guestName);
         }
 
-        return mapToDTO(savedFeedback);
+        return feedbackMapper.toDto(savedFeedback);
     }
 
     private void sendFeedbackEmail(String email, Feedback feedback, String name) {
@@ -117,13 +119,13 @@ public class FeedbackServiceImpl implements FeedbackService {
         } else {
             feedback = feedbackRepository.findByCustomerId(customerId, pageable);
         }
-        return feedback.map(this::mapToDTO);
+        return feedback.map(feedbackMapper::toDto);
     }
 
     @Override
     public Page<FeedbackDTO> getAllFeedback(String customerName, Long bookingId, Integer rating, Pageable pageable) {
         Page<Feedback> feedback = feedbackRepository.searchFeedback(customerName, bookingId, rating, pageable);
-        return feedback.map(this::mapToDTO);
+        return feedback.map(feedbackMapper::toDto);
     }
 
 
@@ -140,20 +142,10 @@ public class FeedbackServiceImpl implements FeedbackService {
                 }
             }
         } else {
-            if (token == null) {
-                throw new RuntimeException("Token is required for guest users");
-            }
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, id, "FEEDBACK")
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-            if (!accessToken.getGuestEmail().equals(feedback.getGuestEmail())) {
-                throw new RuntimeException("Unauthorized access");
-            }
+            guestAccessService.requireGuestAccess(token, id, "FEEDBACK", feedback.getGuestEmail());
         }
 
-        return Optional.of(mapToDTO(feedback));
+        return Optional.of(feedbackMapper.toDto(feedback));
     }
 
 
@@ -167,20 +159,7 @@ public class FeedbackServiceImpl implements FeedbackService {
                 throw new RuntimeException("You are not authorized to delete this feedback");
             }
         } else {
-            if (token == null) {
-                throw new RuntimeException("Token is required for guest users");
-            }
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, id, "FEEDBACK")
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-            boolean hasValidOTP = otpRepository.findByRequestIdAndRequestTypeAndIsUsed(id, "FEEDBACK", true)
-                    .stream().anyMatch(otp -> otp.getGuestEmail().equals(feedback.getGuestEmail()) &&
-                            !otp.getExpiresAt().isBefore(LocalDateTime.now()));
-            if (!hasValidOTP) {
-                throw new RuntimeException("No valid OTP found");
-            }
+            guestAccessService.requireVerifiedGuest(token, id, "FEEDBACK", feedback.getGuestEmail());
         }
 
         feedbackRepository.deleteById(id);
@@ -196,20 +175,7 @@ public class FeedbackServiceImpl implements FeedbackService {
                 throw new RuntimeException("You are not authorized to update this feedback");
             }
         } else {
-            if (token == null) {
-                throw new RuntimeException("Token is required for guest users");
-            }
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, id, "FEEDBACK")
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-            boolean hasValidOTP = otpRepository.findByRequestIdAndRequestTypeAndIsUsed(id, "FEEDBACK", true)
-                    .stream().anyMatch(otp -> otp.getGuestEmail().equals(feedback.getGuestEmail()) &&
-                            !otp.getExpiresAt().isBefore(LocalDateTime.now()));
-            if (!hasValidOTP) {
-                throw new RuntimeException("No valid OTP found");
-            }
+            guestAccessService.requireVerifiedGuest(token, id, "FEEDBACK", feedback.getGuestEmail());
         }
 
         if (feedbackDTO.getRating() != null) {
@@ -220,7 +186,7 @@ public class FeedbackServiceImpl implements FeedbackService {
         }
         feedback.setDateTime(LocalDateTime.now());
         Feedback updatedFeedback = feedbackRepository.save(feedback);
-        return mapToDTO(updatedFeedback);
+        return feedbackMapper.toDto(updatedFeedback);
     }
 
     @Override
@@ -228,84 +194,22 @@ public class FeedbackServiceImpl implements FeedbackService {
         return feedbackRepository.findTop15ByOrderByDateTimeDesc()
                 .stream()
                 .limit(limit)
-                .map(this::mapToDTO)
+                .map(feedbackMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Override
     public void requestOTP(Long feedbackId, String token) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, feedbackId, "FEEDBACK")
-                .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-
-        String otp = generateRandomOTP(6);
-        OTP otpEntity = OTP.builder()
-                .otp(otp)
-                .guestEmail(accessToken.getGuestEmail())
-                .requestId(feedbackId)
-                .requestType("FEEDBACK")
-                .expiresAt(LocalDateTime.now().plusHours(1))
-                .isUsed(false)
-                .build();
-        otpRepository.save(otpEntity);
-
-        sendOTPToEmail(accessToken.getGuestEmail(), otp);
-    }
-
-    private String generateRandomOTP(int length) {
-        return String.valueOf((int) ((Math.random() * 9 + 1) * Math.pow(10, length - 1)));
-    }
-
-    private void sendOTPToEmail(String email, String otp) {
-        SimpleMailMessage mail = new SimpleMailMessage();
-        mail.setTo(email);
-        mail.setSubject("Your OTP Code");
-        mail.setText("Your OTP code is: " + otp + "\nIt is valid for 60 minutes.");
-        mailSender.send(mail);
+        guestAccessService.requestOTP(feedbackId, token, "FEEDBACK");
     }
 
     @Override
     public void verifyOTP(Long feedbackId, String token, String otp) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, feedbackId, "FEEDBACK")
-                .orElseThrow(() -> new RuntimeException("Invalid token"));
-        if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("Token has expired");
-        }
-
-        OTP otpEntity = otpRepository.findByOtpAndRequestIdAndRequestType(otp, feedbackId, "FEEDBACK")
-                .orElseThrow(() -> new RuntimeException("Invalid OTP"));
-        if (otpEntity.getExpiresAt().isBefore(LocalDateTime.now()) || otpEntity.isUsed()) {
-            throw new RuntimeException("OTP has expired or already used");
-        }
-
-        otpEntity.setUsed(true);
-        otpRepository.save(otpEntity);
+        guestAccessService.verifyOTP(feedbackId, token, "FEEDBACK", otp);
     }
 
     @Override
     public boolean checkOTPStatus(Long feedbackId, String token) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, feedbackId, "FEEDBACK")
-                .orElseThrow(() -> new RuntimeException("Invalid token"));
-        if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("Token has expired");
-        }
-
-        return otpRepository.findByRequestIdAndRequestTypeAndIsUsed(feedbackId, "FEEDBACK", true)
-                .stream()
-                .anyMatch(otp -> otp.getGuestEmail().equals(accessToken.getGuestEmail()) &&
-                        !otp.getExpiresAt().isBefore(LocalDateTime.now()));
-    }
-
-    private FeedbackDTO mapToDTO(Feedback feedback) {
-        FeedbackDTO dto = new FeedbackDTO();
-        dto.setId(feedback.getId());
-        dto.setCustomerId(feedback.getCustomer() != null ? feedback.getCustomer().getId() : null);
-        dto.setCustomerName(feedback.getCustomer() != null ? feedback.getCustomer().getFullName() : feedback.getGuestName());
-        dto.setGuestName(feedback.getGuestName());
-        dto.setGuestEmail(feedback.getGuestEmail());
-        dto.setBookingId(feedback.getBooking().getId());
-        dto.setRating(feedback.getRating());
-        dto.setComment(feedback.getComment());
-        dto.setDateTime(feedback.getDateTime());
-        return dto;
+        return guestAccessService.checkOTPStatus(feedbackId, token, "FEEDBACK");
     }
 }
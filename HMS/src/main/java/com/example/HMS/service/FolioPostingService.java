@@ -0,0 +1,14 @@
+package com.example.HMS.service;
+
+import com.example.HMS.model.Bookings;
+import com.example.HMS.model.Folio;
+import com.example.HMS.model.ServiceUsage;
+
+import java.time.LocalDate;
+
+public interface FolioPostingService {
+    Folio openFolio(Bookings booking);
+    void postServiceCharge(ServiceUsage serviceUsage);
+    void reverseServiceCharge(ServiceUsage serviceUsage);
+    int postRoomNights(Bookings booking, LocalDate lastNight);
+}
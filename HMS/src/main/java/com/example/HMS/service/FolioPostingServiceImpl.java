@@ -0,0 +1,179 @@
+package com.example.HMS.service;
+
+import com.example.HMS.config.NightAuditProperties;
+import com.example.HMS.exception.FolioClosedException;
+import com.example.HMS.model.*;
+import com.example.HMS.repository.BulkInsertRepository;
+import com.example.HMS.repository.FolioChargesRepository;
+import com.example.HMS.repository.FolioRepository;
+import com.example.HMS.repository.ServiceUsageRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class FolioPostingServiceImpl implements FolioPostingService {
+    private final FolioRepository folioRepository;
+    private final FolioChargesRepository folioChargesRepository;
+    private final ServiceUsageRepository serviceUsageRepository;
+    private final BulkInsertRepository bulkInsertRepository;
+    private final NightAuditProperties nightAuditProperties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Folio openFolio(Bookings booking) {
+        return folioRepository.findByBookingsId(booking.getId())
+                .orElseGet(() -> createRunningFolio(booking));
+    }
+
+    /**
+     * Opens a running folio and seeds it with the service usages already recorded for the booking,
+     * so usages created before the folio existed are still billed.
+     */
+    private Folio createRunningFolio(Bookings booking) {
+        LocalDateTime now = LocalDateTime.now();
+        Folio folio = new Folio();
+        folio.setUser(booking.getCustomer());
+        folio.setBookings(booking);
+        folio.setGuestName(booking.getGuestName());
+        folio.setGuestEmail(booking.getGuestEmail());
+        folio.setStatus(FolioStatus.OPEN);
+        folio.setCreatedAt(now);
+        folio.setUpdatedAt(now);
+
+        double totalAmount = 0.0;
+        for (ServiceUsage serviceUsage : serviceUsageRepository.findByBookingsId(booking.getId())) {
+            FolioCharges charge = serviceCharge(folio, serviceUsage, FolioCharges.SERVICE_CHARGE, 1);
+            folio.getFolioDetails().add(charge);
+            totalAmount += charge.getTotalPrice();
+        }
+        folio.setTotalAmount(totalAmount);
+        return folioRepository.save(folio);
+    }
+
+    @Override
+    @Transactional
+    public void postServiceCharge(ServiceUsage serviceUsage) {
+        // Chưa check-in thì chưa có folio; folio mở lúc check-in sẽ ghi mọi usage đã có của booking
+        Folio folio = folioRepository.findByBookingsId(serviceUsage.getBookings().getId()).orElse(null);
+        if (folio == null) {
+            return;
+        }
+        post(requireNotPaid(folio), List.of(serviceCharge(folio, serviceUsage, FolioCharges.SERVICE_CHARGE, 1)));
+    }
+
+    @Override
+    @Transactional
+    public void reverseServiceCharge(ServiceUsage serviceUsage) {
+        Folio folio = folioRepository.findByBookingsId(serviceUsage.getBookings().getId()).orElse(null);
+        if (folio == null) {
+            return;
+        }
+        post(requireNotPaid(folio), List.of(serviceCharge(folio, serviceUsage, FolioCharges.SERVICE_REVERSAL, -1)));
+    }
+
+    @Override
+    @Transactional
+    public int postRoomNights(Bookings booking, LocalDate lastNight) {
+        LocalDate firstNight = booking.getCheckInTime() != null
+                ? booking.getCheckInTime().toLocalDate()
+                : Instant.ofEpochMilli(booking.getStartDate().getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+        if (lastNight.isBefore(firstNight) || booking.getRoomBookings().isEmpty()) {
+            return 0;
+        }
+
+        Folio folio = openFolio(booking);
+        if (folio.getStatus() != FolioStatus.OPEN) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<FolioCharges> charges = new ArrayList<>();
+        for (RoomBookings roomBooking : booking.getRoomBookings()) {
+            Room room = roomBooking.getRoom();
+            Set<LocalDate> postedNights = new HashSet<>(
+                    folioChargesRepository.findPostedNights(folio.getId(), room.getId(), FolioCharges.ROOM_CHARGE));
+            double price = Double.parseDouble(room.getPrice());
+
+            for (LocalDate night = firstNight; !night.isAfter(lastNight); night = night.plusDays(1)) {
+                if (postedNights.contains(night)) {
+                    continue;
+                }
+                charges.add(roomNightCharge(folio, room, FolioCharges.ROOM_CHARGE, price, night, now));
+                if (nightAuditProperties.getTaxRate() > 0) {
+                    charges.add(roomNightCharge(folio, room, FolioCharges.ROOM_TAX_CHARGE,
+                            price * nightAuditProperties.getTaxRate(), night, now));
+                }
+            }
+        }
+        post(folio, charges);
+        return charges.size();
+    }
+
+    private void post(Folio folio, List<FolioCharges> charges) {
+        if (charges.isEmpty()) {
+            return;
+        }
+        bulkInsertRepository.insertFolioCharges(charges);
+        double amount = charges.stream().mapToDouble(FolioCharges::getTotalPrice).sum();
+        folioRepository.addToTotalAmount(folio.getId(), amount, LocalDateTime.now());
+        // Charge chèn bằng JDBC và tổng cộng bằng UPDATE không đi qua entity: nạp lại folio đang được quản lý
+        // để folioDetails và totalAmount của nó không còn là bản cũ trong phần còn lại của transaction
+        if (entityManager.contains(folio)) {
+            entityManager.refresh(folio);
+        }
+    }
+
+    // Folio PENDING sau checkout vẫn nhận usage phát sinh muộn; chỉ folio đã thanh toán là đóng hẳn
+    private Folio requireNotPaid(Folio folio) {
+        if (folio.getStatus() == FolioStatus.PAID) {
+            throw new FolioClosedException("Folio is already paid for booking ID: " + folio.getBookings().getId());
+        }
+        return folio;
+    }
+
+    private FolioCharges roomNightCharge(Folio folio, Room room, String chargeType, double amount, LocalDate night, LocalDateTime now) {
+        FolioCharges charge = new FolioCharges();
+        charge.setFolio(folio);
+        charge.setChargeType(chargeType);
+        charge.setDescription((FolioCharges.ROOM_CHARGE.equals(chargeType) ? "Room charge for " : "Room tax for ")
+                + room.getRoomName() + " on " + night);
+        charge.setItemName(room.getRoomName());
+        charge.setQuantity(1);
+        charge.setUnitPrice(amount);
+        charge.setTotalPrice(amount);
+        charge.setChargeTime(now);
+        charge.setRoomId(room.getId());
+        charge.setBusinessDate(night);
+        return charge;
+    }
+
+    private FolioCharges serviceCharge(Folio folio, ServiceUsage serviceUsage, String chargeType, int sign) {
+        Services service = serviceUsage.getServices();
+        FolioCharges charge = new FolioCharges();
+        charge.setFolio(folio);
+        charge.setChargeType(chargeType);
+        charge.setDescription((sign < 0 ? "Reversal of service: " : "Service: ") + service.getServiceName());
+        charge.setItemName(service.getServiceName());
+        charge.setQuantity(sign * serviceUsage.getQuantity());
+        charge.setUnitPrice(service.getServicePrice());
+        charge.setTotalPrice(sign * serviceUsage.getTotalPrice());
+        charge.setChargeTime(sign < 0 ? LocalDateTime.now() : serviceUsage.getTimestamp());
+        return charge;
+    }
+}
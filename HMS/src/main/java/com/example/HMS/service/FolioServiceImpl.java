@@ -4,11 +4,11 @@ import com.example.HMS.dto.FolioChargesDTO;
 import com.example.HMS.dto.FolioDTO;
 import com.example.HMS.dto.FolioResponseDTO;
 import com.example.HMS.exception.ResourceNotFoundException;
+import com.example.HMS.mapper.FolioMapper;
 import com.example.HMS.model.*;
 import com.example.HMS.repository.*;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,6 +20,7 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,14 +32,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FolioServiceImpl implements FolioService{
     private final FolioRepository folioRepository;
-    private final ModelMapper modelMapper;
+    private final FolioMapper folioMapper;
     private final LoyaltyLevelRepository loyaltyLevelRepository;
     private final CustomerRepository customerRepository;
     private final UserRepository userRepository;
     private final BookingsRepository bookingsRepository;
     private final AccessTokenRepository accessTokenRepository;
-    private final OTPRepository otpRepository;
+    private final GuestAccessService guestAccessService;
     private final JavaMailSender mailSender;
+    private final FolioPostingService folioPostingService;
 
     @Override
     public Page<FolioDTO> getAllFolios(int page, int size, String search) {
@@ -52,19 +54,14 @@ public class FolioServiceImpl implements FolioService{
         };
 
         return folioRepository.findAll(spec, pageable)
-                .map(folio -> {
-                    FolioDTO dto = modelMapper.map(folio, FolioDTO.class);
-                    dto.setCustomerName(folio.getUser().getFullName());
-                    dto.setBookingId(folio.getBookings().getId());
-                    return dto;
-                });
+                .map(folioMapper::toDto);
     }
 
     @Override
     public FolioDTO getFolioByBookingId(Long bookingId) {
         Folio folio = folioRepository.findByBookingsId(bookingId)
                 .orElseThrow(() -> new RuntimeException("Folio not found for booking ID: " + bookingId));
-        return modelMapper.map(folio, FolioDTO.class);
+        return folioMapper.toDto(folio);
     }
 
     @Override
@@ -83,22 +80,12 @@ public class FolioServiceImpl implements FolioService{
             }
         } else {
             // Trường hợp khách chưa đăng nhập -> yêu cầu token
-            if (token == null) {
-                throw new RuntimeException("Token is required for guest users");
-            }
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, folioId, "FOLIO")
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-            if (!accessToken.getGuestEmail().equals(folio.getGuestEmail())) {
-                throw new RuntimeException("Unauthorized access");
-            }
+            guestAccessService.requireGuestAccess(token, folioId, "FOLIO", folio.getGuestEmail());
         }
 
-        FolioDTO folioDTO = convertToFolioDTO(folio);
+        FolioDTO folioDTO = folioMapper.toDto(folio);
         List<FolioChargesDTO> details = folio.getFolioDetails().stream()
-                .map(detail -> modelMapper.map(detail, FolioChargesDTO.class))
+                .map(folioMapper::toDto)
                 .collect(Collectors.toList());
 
         FolioResponseDTO response = new FolioResponseDTO();
@@ -124,9 +111,7 @@ public class FolioServiceImpl implements FolioService{
         folio.setUpdatedAt(LocalDateTime.now());
         folio = folioRepository.save(folio);
 
-        FolioDTO dto = modelMapper.map(folio, FolioDTO.class);
-        dto.setCustomerName(folio.getUser().getFullName());
-        return dto;
+        return folioMapper.toDto(folio);
     }
 
     private void updateCustomerLoyaltyPoints(Customer customer, double amount) {
@@ -156,12 +141,7 @@ public class FolioServiceImpl implements FolioService{
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
 
         return folioRepository.findByUserId(userId, pageable)
-                .map(folio -> {
-                    FolioDTO dto = modelMapper.map(folio, FolioDTO.class);
-                    dto.setCustomerName(folio.getUser().getFullName());
-                    dto.setBookingId(folio.getBookings().getId());
-                    return dto;
-                });
+                .map(folioMapper::toDto);
     }
 
     @Override
@@ -169,7 +149,8 @@ public class FolioServiceImpl implements FolioService{
     public FolioDTO createFolio(Long bookingId) {
         Bookings booking = bookingsRepository.findById(Math.toIntExact(bookingId))
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
-        if (folioRepository.findByBookingsId(bookingId).isPresent()) {
+        Folio runningFolio = folioRepository.findByBookingsId(bookingId).orElse(null);
+        if (runningFolio != null && runningFolio.getStatus() != FolioStatus.OPEN) {
             throw new RuntimeException("Folio already exists for booking ID: " + bookingId);
         }
 
@@ -208,6 +189,10 @@ public class FolioServiceImpl implements FolioService{
             }
         }
 
+        if (runningFolio != null) {
+            return closeRunningFolio(runningFolio, booking, user, customerName, discountPercentage);
+        }
+
         Folio folio = new Folio();
         folio.setUser(user);
         folio.setBookings(booking);
@@ -264,25 +249,52 @@ public class FolioServiceImpl implements FolioService{
         folio.setFolioDetails(folioCharges);
 
         Folio savedFolio = folioRepository.save(folio);
+        notifyFolioCreated(savedFolio, user, email, guestName);
 
+        FolioDTO dto = folioMapper.toDto(folio);
+        dto.setCustomerName(customerName);
+        return dto;
+    }
+
+    /**
+     * Charges of a running folio are already posted, so checkout only catches up room nights the
+     * night audit has not reached yet, applies the loyalty discount and closes the folio.
+     */
+    private FolioDTO closeRunningFolio(Folio folio, Bookings booking, User user, String customerName, double discountPercentage) {
+        LocalDate checkInDate = booking.getCheckInTime() != null ? booking.getCheckInTime().toLocalDate() : LocalDate.now();
+        LocalDate checkOutDate = booking.getCheckOutTime() != null ? booking.getCheckOutTime().toLocalDate() : LocalDate.now();
+        LocalDate lastNight = checkOutDate.isAfter(checkInDate) ? checkOutDate.minusDays(1) : checkInDate;
+        folioPostingService.postRoomNights(booking, lastNight);
+
+        double totalAmount = folioRepository.findTotalAmountById(folio.getId());
+        folio.setUser(user);
+        folio.setTotalAmount(totalAmount * (1.0 - discountPercentage));
+        folio.setStatus(FolioStatus.PENDING);
+        folio.setUpdatedAt(LocalDateTime.now());
+
+        Folio savedFolio = folioRepository.save(folio);
+        notifyFolioCreated(savedFolio, user, booking.getGuestEmail(), booking.getGuestName());
+
+        FolioDTO dto = folioMapper.toDto(savedFolio);
+        dto.setCustomerName(customerName);
+        return dto;
+    }
+
+    private void notifyFolioCreated(Folio folio, User user, String email, String guestName) {
         if (user != null) {
-            sendConfirmationEmail(user.getEmail(), savedFolio, user.getFullName());
+            sendConfirmationEmail(user.getEmail(), folio, user.getFullName());
         } else {
             String token = UUID.randomUUID().toString();
             AccessToken accessToken = AccessToken.builder()
                     .token(token)
-                    .requestId(savedFolio.getId())
+                    .requestId(folio.getId())
                     .requestType("FOLIO")
                     .guestEmail(email)
                     .expiresAt(LocalDateTime.now().plusHours(24))
                     .build();
             accessTokenRepository.save(accessToken);
-            sendGuestConfirmationEmail(email, savedFolio, token, guestName);
+            sendGuestConfirmationEmail(email, folio, token, guestName);
         }
-
-        FolioDTO dto = modelMapper.map(folio, FolioDTO.class);
-        dto.setCustomerName(customerName);
-        return dto;
     }
 
     private void sendConfirmationEmail(String email, Folio folio, String name) {
@@ -314,20 +326,4 @@ public class FolioServiceImpl implements FolioService{
         mailSender.send(mail);
     }
 
-    private FolioDTO convertToFolioDTO(Folio folio){
-        FolioDTO folioDTO = new FolioDTO();
-        folioDTO.setId(folio.getId());
-        folioDTO.setBookingId(folio.getBookings().getId());
-        folioDTO.setUserId(folio.getUser() != null ? folio.getUser().getId() : null);
-        folioDTO.setGuestName(folio.getGuestName());
-        folioDTO.setGuestEmail(folio.getGuestEmail());
-        folioDTO.setCustomerName(folio.getUser() != null ? folio.getUser().getFullName() : null);
-        folioDTO.setTotalAmount(folio.getTotalAmount());
-        folioDTO.setStatus(folio.getStatus());
-        folioDTO.setCreatedAt(folio.getCreatedAt());
-        folioDTO.setUpdatedAt(folio.getUpdatedAt());
-
-        return folioDTO;
-    }
-
 }
@@ -0,0 +1,17 @@
+package com.example.HMS.service;
+
+import com.example.HMS.model.AccessToken;
+
+public interface GuestAccessService {
+    AccessToken validateToken(String token, Long requestId, String requestType);
+
+    void requireGuestAccess(String token, Long requestId, String requestType, String guestEmail);
+
+    void requireVerifiedGuest(String token, Long requestId, String requestType, String guestEmail);
+
+    void requestOTP(Long requestId, String token, String requestType);
+
+    void verifyOTP(Long requestId, String token, String requestType, String otp);
+
+    boolean checkOTPStatus(Long requestId, String token, String requestType);
+}
@@ -0,0 +1,160 @@
+package com.example.HMS.service;
+
+import com.example.HMS.model.AccessToken;
+import com.example.HMS.model.OTP;
+import com.example.HMS.repository.AccessTokenRepository;
+import com.example.HMS.repository.OTPRepository;
+import com.example.HMS.utils.ExpiringStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Guest access by emailed token, optionally stepped up with an OTP. The database stays the system of
+ * record; a token or OTP verification that succeeded there is remembered in memory until it expires,
+ * so repeated guest requests on the same token do not query again.
+ */
+@Service
+public class GuestAccessServiceImpl implements GuestAccessService {
+    private final AccessTokenRepository accessTokenRepository;
+    private final OTPRepository otpRepository;
+    private final JavaMailSender mailSender;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final ExpiringStore<String, AccessToken> tokens;
+    private final ExpiringStore<String, String> verifiedGuests;
+
+    public GuestAccessServiceImpl(AccessTokenRepository accessTokenRepository,
+                                  OTPRepository otpRepository,
+                                  JavaMailSender mailSender,
+                                  @Value("${app.guest-access.cache-size:10000}") int cacheSize) {
+        this.accessTokenRepository = accessTokenRepository;
+        this.otpRepository = otpRepository;
+        this.mailSender = mailSender;
+        this.tokens = new ExpiringStore<>(cacheSize);
+        this.verifiedGuests = new ExpiringStore<>(cacheSize);
+    }
+
+    @Override
+    public AccessToken validateToken(String token, Long requestId, String requestType) {
+        if (token == null) {
+            throw new RuntimeException("Token is required for guest users");
+        }
+        String key = key(token, requestId, requestType);
+        AccessToken accessToken = tokens.get(key);
+        if (accessToken != null) {
+            return accessToken;
+        }
+
+        accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, requestId, requestType)
+                .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
+        if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Token has expired");
+        }
+        tokens.put(key, accessToken, toMillis(accessToken.getExpiresAt()));
+        return accessToken;
+    }
+
+    @Override
+    public void requireGuestAccess(String token, Long requestId, String requestType, String guestEmail) {
+        AccessToken accessToken = validateToken(token, requestId, requestType);
+        if (!accessToken.getGuestEmail().equals(guestEmail)) {
+            throw new RuntimeException("Unauthorized access");
+        }
+    }
+
+    @Override
+    public void requireVerifiedGuest(String token, Long requestId, String requestType, String guestEmail) {
+        AccessToken accessToken = validateToken(token, requestId, requestType);
+        if (!isVerified(accessToken, guestEmail)) {
+            throw new RuntimeException("No valid OTP found");
+        }
+    }
+
+    @Override
+    public void requestOTP(Long requestId, String token, String requestType) {
+        AccessToken accessToken = validateToken(token, requestId, requestType);
+
+        String otp = generateOTP();
+        OTP otpEntity = OTP.builder()
+                .otp(otp)
+                .guestEmail(accessToken.getGuestEmail())
+                .requestId(requestId)
+                .requestType(requestType)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .isUsed(false)
+                .build();
+        otpRepository.save(otpEntity);
+
+        sendOTPToEmail(accessToken.getGuestEmail(), otp);
+    }
+
+    @Override
+    public void verifyOTP(Long requestId, String token, String requestType, String otp) {
+        AccessToken accessToken = validateToken(token, requestId, requestType);
+
+        OTP otpEntity = otpRepository.findByOtpAndRequestIdAndRequestType(otp, requestId, requestType)
+                .orElseThrow(() -> new RuntimeException("Invalid OTP"));
+        if (otpEntity.getExpiresAt().isBefore(LocalDateTime.now()) || otpEntity.isUsed()) {
+            throw new RuntimeException("OTP has expired or already used");
+        }
+
+        otpEntity.setUsed(true);
+        otpRepository.save(otpEntity);
+        rememberVerification(accessToken, otpEntity);
+    }
+
+    @Override
+    public boolean checkOTPStatus(Long requestId, String token, String requestType) {
+        AccessToken accessToken = validateToken(token, requestId, requestType);
+        return isVerified(accessToken, accessToken.getGuestEmail());
+    }
+
+    private boolean isVerified(AccessToken accessToken, String guestEmail) {
+        String key = key(accessToken.getToken(), accessToken.getRequestId(), accessToken.getRequestType());
+        String verifiedEmail = verifiedGuests.get(key);
+        if (verifiedEmail != null) {
+            return verifiedEmail.equals(guestEmail);
+        }
+
+        return otpRepository.findFirstByRequestIdAndRequestTypeAndGuestEmailAndIsUsedTrueAndExpiresAtAfterOrderByExpiresAtDesc(
+                        accessToken.getRequestId(), accessToken.getRequestType(), guestEmail, LocalDateTime.now())
+                .map(otp -> {
+                    rememberVerification(accessToken, otp);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    // Xác thực OTP chỉ có hiệu lực đến khi OTP hoặc token hết hạn, lấy mốc sớm hơn
+    private void rememberVerification(AccessToken accessToken, OTP otp) {
+        LocalDateTime verifiedUntil = otp.getExpiresAt().isBefore(accessToken.getExpiresAt())
+                ? otp.getExpiresAt() : accessToken.getExpiresAt();
+        verifiedGuests.put(key(accessToken.getToken(), accessToken.getRequestId(), accessToken.getRequestType()),
+                otp.getGuestEmail(), toMillis(verifiedUntil));
+    }
+
+    private String generateOTP() {
+        return String.valueOf(100000 + secureRandom.nextInt(900000));
+    }
+
+    private void sendOTPToEmail(String email, String otp) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setTo(email);
+        mail.setSubject("Your OTP Code");
+        mail.setText("Your OTP code is: " + otp + "\nIt is valid for 60 minutes.");
+        mailSender.send(mail);
+    }
+
+    private String key(String token, Long requestId, String requestType) {
+        return requestType + ":" + requestId + ":" + token;
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.HMS.service;
 
 import com.example.HMS.dto.GuestDTO;
+import com.example.HMS.mapper.BookingMapper;
 import com.example.HMS.model.Bookings;
 import com.example.HMS.model.Guests;
 import com.example.HMS.model.Room;
@@ -13,7 +14,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import java.time.ZoneId;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +21,7 @@ public class GuestServiceImpl implements GuestService {
     private final GuestRepository guestRepository;
     private final RoomRepository roomRepository;
     private final BookingsRepository bookingsRepository;
+    private final BookingMapper bookingMapper;
 
     @Override
     @Transactional
@@ -38,7 +39,7 @@ public class GuestServiceImpl implements GuestService {
         guest.setIdentification(guestDTO.getIdentification());
 
         guest = guestRepository.save(guest);
-        return convertToDTO(guest);
+        return bookingMapper.toDto(guest);
     }
 
     @Override
@@ -59,7 +60,7 @@ public class GuestServiceImpl implements GuestService {
         guest.setIdentification(guestDTO.getIdentification());
 
         guest = guestRepository.save(guest);
-        return convertToDTO(guest);
+        return bookingMapper.toDto(guest);
     }
 
     @Override
@@ -82,7 +83,7 @@ public class GuestServiceImpl implements GuestService {
             guests = guestRepository.findAll(pageRequest);
         }
 
-        return guests.map(this::convertToDTO);
+        return guests.map(bookingMapper::toDto);
     }
 
     @Override
@@ -94,22 +95,6 @@ public class GuestServiceImpl implements GuestService {
     public GuestDTO getGuestById(Long id) {
         Guests guest = guestRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Guest not found"));
-        return convertToDTO(guest);
-    }
-
-    private GuestDTO convertToDTO(Guests guest) {
-        GuestDTO dto = new GuestDTO();
-        dto.setId(guest.getId());
-        dto.setBookingId(guest.getBookings().getId());
-        dto.setRoomId(guest.getRoom().getId());
-        dto.setRoomName(guest.getRoom().getRoomName()); // Assuming Room has a name field
-        dto.setGuestName(guest.getGuestName());
-        dto.setGuestPhone(guest.getGuestPhone());
-        dto.setIdentification(guest.getIdentification());
-        dto.setStartDate(guest.getBookings().getStartDate().toInstant()
-                .atZone(ZoneId.systemDefault()).toLocalDate());
-        dto.setEndDate(guest.getBookings().getEndDate().toInstant()
-                .atZone(ZoneId.systemDefault()).toLocalDate());
-        return dto;
+        return bookingMapper.toDto(guest);
     }
 }
@@ -3,6 +3,7 @@ package com.example.HMS.service;
 import com.example.HMS.dto.HousekeepingRequestDTO;
 import com.example.HMS.exception.AccessDeniedException;
 import com.example.HMS.exception.ResourceNotFoundException;
+import com.example.HMS.mapper.HousekeepingMapper;
 import com.example.HMS.model.*;
 import com.example.HMS.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -24,7 +25,8 @@ public class HousekeepingRequestServiceImpl implements HousekeepingRequestServic
     private final CustomerRepository customerRepository;
     private final JavaMailSender mailSender;
     private final AccessTokenRepository accessTokenRepository;
-    private final OTPRepository otpRepository;
+    private final GuestAccessService guestAccessService;
+    private final HousekeepingMapper housekeepingMapper;
 
     @Override
     public HousekeepingRequestDTO createRequest(HousekeepingRequestDTO requestDTO, Long customerId) {
@@ -72,7 +74,7 @@ public class HousekeepingRequestServiceImpl implements HousekeepingRequestServic
             sendGuestConfirmationEmail(guestEmail, savedRequest, newToken, guestName);
         }
 
-        return convertToDTO(savedRequest);
+        return housekeepingMapper.toDto(savedRequest);
     }
 
     private void sendConfirmationEmail(String email, HousekeepingRequest request, String fullName) {
@@ -109,7 +111,7 @@ public class HousekeepingRequestServiceImpl implements HousekeepingRequestServic
         Page<HousekeepingRequest> requests = status != null
                 ? requestRepository.findByCustomerIdAndStatus(customerId, status, pageable)
                 : requestRepository.findByCustomerId(customerId, pageable);
-        return requests.map(this::convertToDTO);
+        return requests.map(housekeepingMapper::toDto);
     }
 
     @Override
@@ -122,20 +124,10 @@ public class HousekeepingRequestServiceImpl implements HousekeepingRequestServic
                 throw new RuntimeException("You are not authorized to view this request");
             }
         } else {
-            if (token == null) {
-                throw new RuntimeException("Token is required for guest users");
-            }
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, id, "HOUSEKEEPING_REQUEST")
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-            if (!accessToken.getGuestEmail().equals(request.getGuestEmail())) {
-                throw new RuntimeException("Unauthorized access");
-            }
+            guestAccessService.requireGuestAccess(token, id, "HOUSEKEEPING_REQUEST", request.getGuestEmail());
         }
 
-        return convertToDTO(request);
+        return housekeepingMapper.toDto(request);
     }
 
     @Override
@@ -148,20 +140,7 @@ public class HousekeepingRequestServiceImpl implements HousekeepingRequestServic
                 throw new RuntimeException("You are not authorized to cancel this request");
             }
         } else {
-            if (token == null) {
-                throw new RuntimeException("Token is required for guest users");
-            }
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, id, "HOUSEKEEPING_REQUEST")
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-            boolean hasValidOTP = otpRepository.findByRequestIdAndRequestTypeAndIsUsed(id, "HOUSEKEEPING_REQUEST", true)
-                    .stream().anyMatch(otp -> otp.getGuestEmail().equals(request.getGuestEmail()) &&
-                            !otp.getExpiresAt().isBefore(LocalDateTime.now()));
-            if (!hasValidOTP) {
-                throw new RuntimeException("No valid OTP found");
-            }
+            guestAccessService.requireVerifiedGuest(token, id, "HOUSEKEEPING_REQUEST", request.getGuestEmail());
         }
 
         if (request.getStatus() != HousekeepingStatus.PENDING) {
@@ -182,20 +161,7 @@ public class HousekeepingRequestServiceImpl implements HousekeepingRequestServic
                 throw new RuntimeException("You are not authorized to update this request");
             }
         } else {
-            if (token == null) {
-                throw new RuntimeException("Token is required for guest users");
-            }
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, id, "HOUSEKEEPING_REQUEST")
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-            boolean hasValidOTP = otpRepository.findByRequestIdAndRequestTypeAndIsUsed(id, "HOUSEKEEPING_REQUEST", true)
-                    .stream().anyMatch(otp -> otp.getGuestEmail().equals(request.getGuestEmail()) &&
-                            !otp.getExpiresAt().isBefore(LocalDateTime.now()));
-            if (!hasValidOTP) {
-                throw new RuntimeException("No valid OTP found");
-            }
+            guestAccessService.requireVerifiedGuest(token, id, "HOUSEKEEPING_REQUEST", request.getGuestEmail());
         }
 
         Room room = roomRepository.findByRoomName(requestDTO.getRoomName())
@@ -209,83 +175,35 @@ public class HousekeepingRequestServiceImpl implements HousekeepingRequestServic
         }
 
         HousekeepingRequest updatedRequest = requestRepository.save(request);
-        return convertToDTO(updatedRequest);
+        return housekeepingMapper.toDto(updatedRequest);
     }
 
     @Override
     public void requestOTP(Long requestId, String token) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, requestId, "HOUSEKEEPING_REQUEST")
-                .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-
-        String otp = generateRandomOTP(6);
-        OTP otpEntity = OTP.builder()
-                .otp(otp)
-                .guestEmail(accessToken.getGuestEmail())
-                .requestId(requestId)
-                .requestType("HOUSEKEEPING_REQUEST")
-                .expiresAt(LocalDateTime.now().plusHours(1))
-                .isUsed(false)
-                .build();
-        otpRepository.save(otpEntity);
-
-        sendOTPToEmail(accessToken.getGuestEmail(), otp);
-    }
-
-    private String generateRandomOTP(int length) {
-        return String.valueOf((int) ((Math.random() * 9 + 1) * Math.pow(10, length - 1)));
-    }
-
-    private void sendOTPToEmail(String email, String otp) {
-        SimpleMailMessage mail = new SimpleMailMessage();
-        mail.setTo(email);
-        mail.setSubject("Your OTP Code");
-        mail.setText("Your OTP code is: " + otp + "\nIt is valid for 60 minutes.");
-        mailSender.send(mail);
+        guestAccessService.requestOTP(requestId, token, "HOUSEKEEPING_REQUEST");
     }
 
     @Override
     public void verifyOTP(Long requestId, String token, String otp) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, requestId, "HOUSEKEEPING_REQUEST")
-                .orElseThrow(() -> new RuntimeException("Invalid token"));
-        if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("Token has expired");
-        }
-
-        OTP otpEntity = otpRepository.findByOtpAndRequestIdAndRequestType(otp, requestId, "HOUSEKEEPING_REQUEST")
-                .orElseThrow(() -> new RuntimeException("Invalid OTP"));
-        if (otpEntity.getExpiresAt().isBefore(LocalDateTime.now()) || otpEntity.isUsed()) {
-            throw new RuntimeException("OTP has expired or already used");
-        }
-
-        otpEntity.setUsed(true);
-        otpRepository.save(otpEntity);
+        guestAccessService.verifyOTP(requestId, token, "HOUSEKEEPING_REQUEST", otp);
     }
 
     @Override
     public boolean checkOTPStatus(Long requestId, String token) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, requestId, "HOUSEKEEPING_REQUEST")
-                .orElseThrow(() -> new RuntimeException("Invalid token"));
-        if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("Token has expired");
-        }
-
-        return otpRepository.findByRequestIdAndRequestTypeAndIsUsed(requestId, "HOUSEKEEPING_REQUEST", true)
-                .stream()
-                .anyMatch(otp -> otp.getGuestEmail().equals(accessToken.getGuestEmail()) &&
-                        !otp.getExpiresAt().isBefore(LocalDateTime.now()));
+        return guestAccessService.checkOTPStatus(requestId, token, "HOUSEKEEPING_REQUEST");
     }
 
     @Override
     public Page<HousekeepingRequestDTO> getAllRequests(String customerName, String roomName, Pageable pageable) {
         Page<HousekeepingRequest> requests = requestRepository.findWithFilters(customerName, roomName, pageable);
-        return requests.map(this::convertToDTO);
+        return requests.map(housekeepingMapper::toDto);
     }
 
     @Override
     public HousekeepingRequestDTO getRequestByIdAdmin(Long id) {
         HousekeepingRequest request = requestRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Request not found"));
-        return convertToDTO(request);
+        return housekeepingMapper.toDto(request);
     }
 
     @Override
@@ -295,22 +213,6 @@ public class HousekeepingRequestServiceImpl implements HousekeepingRequestServic
 
         request.setStatus(status);
         request = requestRepository.save(request);
-        return convertToDTO(request);
-    }
-
-    private HousekeepingRequestDTO convertToDTO(HousekeepingRequest request) {
-        HousekeepingRequestDTO dto = new HousekeepingRequestDTO();
-        dto.setId(request.getId());
-        dto.setRoomId(request.getRoom().getId());
-        dto.setRoomName(request.getRoom().getRoomName());
-        dto.setCustomerId(request.getCustomer() != null ? request.getCustomer().getId() : null);
-        dto.setCustomerName(request.getCustomer() != null ? request.getCustomer().getFullName() : request.getGuestName());
-        dto.setGuestName(request.getGuestName());
-        dto.setGuestEmail(request.getGuestEmail());
-        dto.setStatus(request.getStatus());
-        dto.setNotes(request.getNotes());
-        dto.setPreferredTime(request.getPreferredTime());
-        dto.setCreatedAt(request.getCreatedAt());
-        return dto;
+        return housekeepingMapper.toDto(request);
     }
 }
@@ -3,9 +3,12 @@ package com.example.HMS.service;
 import com.example.HMS.config.HousekeepingQueueManager;
 import com.example.HMS.dto.CheckoutRequest;
 import com.example.HMS.dto.HousekeepingScheduleDTO;
+import com.example.HMS.mapper.HousekeepingMapper;
 import com.example.HMS.model.*;
 import com.example.HMS.repository.*;
+import com.example.HMS.utils.RoomStatusChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -26,6 +29,9 @@ public class HousekeepingServiceImpl implements HousekeepingService {
     private final HousekeepingScheduleRepository housekeepingScheduleRepository;
     private final EmployeeRepository employeeRepository;
     private final HousekeepingQueueManager queueManager;
+    private final OccupancyService occupancyService;
+    private final HousekeepingMapper housekeepingMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -40,6 +46,7 @@ public class HousekeepingServiceImpl implements HousekeepingService {
         booking.setStatus(BookingStatus.CHECKOUT);
         booking.setCheckOutTime(LocalDateTime.now());
         bookingsRepository.save(booking);
+        occupancyService.refreshBooking(booking.getId());
 
         LocalDateTime currentTime = LocalDateTime.now();
         queueManager.updateQueue(currentTime);
@@ -49,6 +56,7 @@ public class HousekeepingServiceImpl implements HousekeepingService {
             Room room = roomBooking.getRoom();
             room.setRoomStatus(RoomStatus.CLEANING);
             roomRepository.save(room);
+            eventPublisher.publishEvent(RoomStatusChangedEvent.of(room));
 
             Long employeeId = queueManager.assignEmployee();
             if (employeeId == null) {
@@ -67,7 +75,7 @@ public class HousekeepingServiceImpl implements HousekeepingService {
             housekeepingScheduleRepository.save(schedule);
         }
 
-        return mapToDTO(schedule);
+        return housekeepingMapper.toDto(schedule);
     }
 
     @Override
@@ -102,7 +110,7 @@ public class HousekeepingServiceImpl implements HousekeepingService {
                 .build();
         housekeepingScheduleRepository.save(schedule);
 
-        return mapToDTO(schedule);
+        return housekeepingMapper.toDto(schedule);
     }
 
 
@@ -110,12 +118,12 @@ public class HousekeepingServiceImpl implements HousekeepingService {
     public Page<HousekeepingScheduleDTO> getHousekeepingSchedules(String roomName, String employeeName, Pageable pageable) {
         return housekeepingScheduleRepository
                 .findByRoomNameAndEmployeeFullName(roomName, employeeName, pageable)
-                .map(this::mapToDTO);
+                .map(housekeepingMapper::toDto);
     }
 
     @Override
     public Optional<HousekeepingScheduleDTO> getHousekeepingScheduleById(Long id) {
-        return housekeepingScheduleRepository.findById(id).map(this::mapToDTO);
+        return housekeepingScheduleRepository.findById(id).map(housekeepingMapper::toDto);
     }
 
     @Override
@@ -123,7 +131,7 @@ public class HousekeepingServiceImpl implements HousekeepingService {
         HousekeepingSchedule schedule = housekeepingScheduleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Housekeeping schedule not found: " + id));
         schedule.setStatus(status);
-        return mapToDTO(housekeepingScheduleRepository.save(schedule));
+        return housekeepingMapper.toDto(housekeepingScheduleRepository.save(schedule));
     }
 
     @Override
@@ -139,19 +147,6 @@ public class HousekeepingServiceImpl implements HousekeepingService {
         Employee employee = employeeRepository.findByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("Employee not found for username: " + userDetails.getUsername()));
         return housekeepingScheduleRepository.findByEmployeeId(employee.getId(), pageable)
-                .map(this::mapToDTO);
-    }
-
-
-    private HousekeepingScheduleDTO mapToDTO(HousekeepingSchedule schedule) {
-        return HousekeepingScheduleDTO.builder()
-                .id(schedule.getId())
-                .roomId(schedule.getRoom().getId())
-                .roomName(schedule.getRoom().getRoomName())
-                .employeeId(schedule.getEmployee().getId())
-                .employeeName(schedule.getEmployee().getFullName())
-                .scheduleTime(schedule.getScheduledTime())
-                .status(schedule.getStatus())
-                .build();
+                .map(housekeepingMapper::toDto);
     }
 }
@@ -1,21 +1,27 @@
 package com.example.HMS.service;
 
 import com.example.HMS.dto.InventoryReceiptDTO;
+import com.example.HMS.mapper.InventoryMapper;
 import com.example.HMS.model.Inventory;
 import com.example.HMS.model.InventoryReceipt;
 import com.example.HMS.model.InventoryReceiptDetail;
+import com.example.HMS.model.StockMovement;
+import com.example.HMS.model.StockMovementReason;
 import com.example.HMS.repository.InventoryReceiptRepository;
 import com.example.HMS.repository.InventoryRepository;
 import com.example.HMS.repository.SupplierRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,13 +30,14 @@ public class InventoryReceiptServiceImpl implements InventoryReceiptService {
     private final InventoryReceiptRepository inventoryReceiptRepository;
     private final SupplierRepository supplierRepository;
     private final InventoryRepository inventoryRepository;
-    private final ModelMapper modelMapper;
+    private final InventoryMapper inventoryMapper;
+    private final StockLedgerService stockLedgerService;
 
     @Override
     public Page<InventoryReceiptDTO> getInventoryReceipts(String receiptCode, String supplierName, Pageable pageable) {
         Page<InventoryReceipt> receipts = inventoryReceiptRepository
                 .searchInventoryReceipts(receiptCode, supplierName, pageable);
-        return receipts.map(receipt -> modelMapper.map(receipt, InventoryReceiptDTO.class));
+        return receipts.map(inventoryMapper::toDto);
     }
 
 
@@ -38,7 +45,7 @@ public class InventoryReceiptServiceImpl implements InventoryReceiptService {
     public InventoryReceiptDTO getInventoryReceiptById(Long id) {
         InventoryReceipt receipt = inventoryReceiptRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Inventory receipt not found"));
-        return modelMapper.map(receipt, InventoryReceiptDTO.class);
+        return inventoryMapper.toDto(receipt);
     }
 
     @Override
@@ -51,16 +58,7 @@ public class InventoryReceiptServiceImpl implements InventoryReceiptService {
         receipt.setReceiptCode(receiptDTO.getReceiptCode());
         receipt.setReceiptDate(receiptDTO.getReceiptDate() != null ? receiptDTO.getReceiptDate() : LocalDateTime.now());
 
-        List<InventoryReceiptDetail> details = receiptDTO.getDetails().stream().map(detailDTO -> {
-            InventoryReceiptDetail detail = new InventoryReceiptDetail();
-            detail.setReceipt(receipt);
-            Inventory inventory = inventoryRepository.findById(detailDTO.getInventoryId())
-                    .orElseThrow(() -> new RuntimeException("Inventory not found"));
-            detail.setInventory(inventory);
-            detail.setQuantity(detailDTO.getQuantity());
-            detail.setUnitPrice(inventory.getInventoryPrice());
-            return detail;
-        }).collect(Collectors.toList());
+        List<InventoryReceiptDetail> details = toDetails(receipt, receiptDTO.getDetails());
 
         receipt.setDetails(details);
         double totalAmount = details.stream()
@@ -71,9 +69,9 @@ public class InventoryReceiptServiceImpl implements InventoryReceiptService {
 
         InventoryReceipt savedReceipt = inventoryReceiptRepository.save(receipt);
 
-        updateInventoryQuantities(details, true);
+        stockLedgerService.post(movements(details, StockMovementReason.RECEIPT, savedReceipt.getId()));
 
-        return modelMapper.map(savedReceipt, InventoryReceiptDTO.class);
+        return inventoryMapper.toDto(savedReceipt);
     }
 
     @Override
@@ -82,7 +80,8 @@ public class InventoryReceiptServiceImpl implements InventoryReceiptService {
         InventoryReceipt existingReceipt = inventoryReceiptRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Inventory receipt not found"));
 
-        List<InventoryReceiptDetail> oldDetails = existingReceipt.getDetails();
+        // Chép ra trước khi clear: danh sách của entity sẽ chứa dòng mới
+        List<InventoryReceiptDetail> oldDetails = new ArrayList<>(existingReceipt.getDetails());
 
         existingReceipt.setSupplier(supplierRepository.findById(receiptDTO.getSupplierId())
                 .orElseThrow(() -> new RuntimeException("Supplier not found")));
@@ -92,16 +91,7 @@ public class InventoryReceiptServiceImpl implements InventoryReceiptService {
 
         existingReceipt.getDetails().clear();
 
-        List<InventoryReceiptDetail> newDetails = receiptDTO.getDetails().stream().map(detailDTO -> {
-            InventoryReceiptDetail detail = new InventoryReceiptDetail();
-            detail.setReceipt(existingReceipt);
-            Inventory inventory = inventoryRepository.findById(detailDTO.getInventoryId())
-                    .orElseThrow(() -> new RuntimeException("Inventory not found"));
-            detail.setInventory(inventory);
-            detail.setQuantity(detailDTO.getQuantity());
-            detail.setUnitPrice(inventory.getInventoryPrice());
-            return detail;
-        }).collect(Collectors.toList());
+        List<InventoryReceiptDetail> newDetails = toDetails(existingReceipt, receiptDTO.getDetails());
 
         existingReceipt.getDetails().addAll(newDetails);
         double totalAmount = newDetails.stream()
@@ -112,10 +102,11 @@ public class InventoryReceiptServiceImpl implements InventoryReceiptService {
 
         InventoryReceipt updatedReceipt = inventoryReceiptRepository.save(existingReceipt);
 
-        updateInventoryQuantities(oldDetails, false);
-        updateInventoryQuantities(newDetails, true);
+        List<StockMovement> movements = movements(oldDetails, StockMovementReason.RECEIPT_REVERSAL, id);
+        movements.addAll(movements(newDetails, StockMovementReason.RECEIPT, id));
+        stockLedgerService.post(movements);
 
-        return modelMapper.map(updatedReceipt, InventoryReceiptDTO.class);
+        return inventoryMapper.toDto(updatedReceipt);
     }
 
     @Override
@@ -124,7 +115,7 @@ public class InventoryReceiptServiceImpl implements InventoryReceiptService {
         InventoryReceipt receipt = inventoryReceiptRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Inventory receipt not found"));
 
-        updateInventoryQuantities(receipt.getDetails(), false);
+        stockLedgerService.post(movements(receipt.getDetails(), StockMovementReason.RECEIPT_REVERSAL, id));
 
         inventoryReceiptRepository.delete(receipt);
     }
@@ -136,19 +127,41 @@ public class InventoryReceiptServiceImpl implements InventoryReceiptService {
                 .orElseThrow(() -> new RuntimeException("Inventory receipt not found"));
         receipt.setStatus(status);
         InventoryReceipt updatedReceipt = inventoryReceiptRepository.save(receipt);
-        return modelMapper.map(updatedReceipt, InventoryReceiptDTO.class);
+        return inventoryMapper.toDto(updatedReceipt);
     }
 
-    private void updateInventoryQuantities(List<InventoryReceiptDetail> details, boolean isAdd) {
-        for (InventoryReceiptDetail detail : details) {
-            Inventory inventory = detail.getInventory();
-            int currentQuantity = inventory.getInventoryQuantity();
-            int adjustment = isAdd ? detail.getQuantity() : -detail.getQuantity();
-            if (currentQuantity + adjustment < 0) {
-                throw new RuntimeException("Insufficient inventory quantity for " + inventory.getInventoryName());
+    // Nạp mọi mặt hàng của phiếu bằng một truy vấn
+    private List<InventoryReceiptDetail> toDetails(InventoryReceipt receipt,
+                                                   List<InventoryReceiptDTO.InventoryReceiptDetailDTO> detailDTOs) {
+        Set<Long> inventoryIds = detailDTOs.stream()
+                .map(InventoryReceiptDTO.InventoryReceiptDetailDTO::getInventoryId)
+                .collect(Collectors.toSet());
+        Map<Long, Inventory> inventories = inventoryRepository.findAllById(inventoryIds).stream()
+                .collect(Collectors.toMap(Inventory::getId, Function.identity()));
+
+        return detailDTOs.stream().map(detailDTO -> {
+            Inventory inventory = inventories.get(detailDTO.getInventoryId());
+            if (inventory == null) {
+                throw new RuntimeException("Inventory not found");
             }
-            inventory.setInventoryQuantity(currentQuantity + adjustment);
-            inventoryRepository.save(inventory);
-        }
+            InventoryReceiptDetail detail = new InventoryReceiptDetail();
+            detail.setReceipt(receipt);
+            detail.setInventory(inventory);
+            detail.setQuantity(detailDTO.getQuantity());
+            detail.setUnitPrice(inventory.getInventoryPrice());
+            return detail;
+        }).collect(Collectors.toList());
+    }
+
+    private List<StockMovement> movements(List<InventoryReceiptDetail> details, StockMovementReason reason, Long receiptId) {
+        int sign = reason == StockMovementReason.RECEIPT_REVERSAL ? -1 : 1;
+        return details.stream()
+                .map(detail -> StockMovement.builder()
+                        .inventory(detail.getInventory())
+                        .quantityDelta(sign * detail.getQuantity())
+                        .reason(reason)
+                        .receiptId(receiptId)
+                        .build())
+                .collect(Collectors.toList());
     }
 }
@@ -1,13 +1,15 @@
 package com.example.HMS.service;
 
+import com.example.HMS.config.CacheConfig;
 import com.example.HMS.dto.InventoryDTO;
+import com.example.HMS.mapper.InventoryMapper;
 import com.example.HMS.model.Inventory;
 import com.example.HMS.model.Supplier;
 import com.example.HMS.repository.InventoryRepository;
 import com.example.HMS.repository.SupplierRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -20,22 +22,24 @@ import java.util.stream.Collectors;
 public class InventoryServiceImpl implements InventoryService {
     private final InventoryRepository inventoryRepository;
     private final SupplierRepository supplierRepository;
-    private final ModelMapper modelMapper;
+    private final InventoryMapper inventoryMapper;
+    private final StockLedgerService stockLedgerService;
 
     @Override
     public Page<InventoryDTO> getInventories(String inventoryName, String supplierName, Pageable pageable) {
         Page<Inventory> inventories = inventoryRepository.searchInventories(inventoryName, supplierName, pageable);
-        return inventories.map(inventory -> modelMapper.map(inventory, InventoryDTO.class));
+        return inventories.map(inventoryMapper::toDto);
     }
 
     @Override
     public InventoryDTO getInventoryById(Long id) {
         Inventory inventory = inventoryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Inventory not found"));
-        return modelMapper.map(inventory, InventoryDTO.class);
+        return inventoryMapper.toDto(inventory);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
     @Transactional
     public InventoryDTO createInventory(InventoryDTO inventoryDTO) {
         Inventory inventory = new Inventory();
@@ -48,27 +52,30 @@ public class InventoryServiceImpl implements InventoryService {
         inventory.setInventoryPrice(inventoryDTO.getInventoryPrice());
         inventory.setInventoryQuantity(inventoryDTO.getInventoryQuantity());
         Inventory savedInventory = inventoryRepository.save(inventory);
-        return modelMapper.map(savedInventory, InventoryDTO.class);
+        stockLedgerService.recordOpening(List.of(savedInventory));
+        return inventoryMapper.toDto(savedInventory);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
     @Transactional
     public InventoryDTO updateInventory(Long id, InventoryDTO inventoryDTO) {
-        Inventory existingInventory = inventoryRepository.findById(id)
+        Inventory existingInventory = inventoryRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Inventory not found"));
 
         existingInventory.setInventoryName(inventoryDTO.getInventoryName());
         existingInventory.setInventoryPrice(inventoryDTO.getInventoryPrice());
-        existingInventory.setInventoryQuantity(inventoryDTO.getInventoryQuantity());
         Supplier supplier = supplierRepository.findBySupplierName(inventoryDTO.getSupplierName())
                 .orElseThrow(() -> new RuntimeException("Supplier not found with name: " + inventoryDTO.getSupplierName()));
         existingInventory.setSupplier(supplier);
 
         Inventory updatedInventory = inventoryRepository.save(existingInventory);
-        return modelMapper.map(updatedInventory, InventoryDTO.class);
+        stockLedgerService.adjustTo(updatedInventory, inventoryDTO.getInventoryQuantity());
+        return inventoryMapper.toDto(updatedInventory);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
     @Transactional
     public void deleteInventory(Long id) {
         Inventory inventory = inventoryRepository.findById(id)
@@ -79,20 +86,16 @@ public class InventoryServiceImpl implements InventoryService {
     @Override
     @Transactional
     public InventoryDTO updateInventoryQuantity(Long id, int quantity) {
-        Inventory inventory = inventoryRepository.findById(id)
+        Inventory inventory = inventoryRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Inventory not found"));
-        if (quantity < 0) {
-            throw new RuntimeException("Quantity cannot be negative");
-        }
-        inventory.setInventoryQuantity(quantity);
-        Inventory updatedInventory = inventoryRepository.save(inventory);
-        return modelMapper.map(updatedInventory, InventoryDTO.class);
+        stockLedgerService.adjustTo(inventory, quantity);
+        return inventoryMapper.toDto(inventory);
     }
     @Override
     public List<InventoryDTO> getInventoriesBySupplierId(Long supplierId) {
         List<Inventory> inventories = inventoryRepository.findBySupplierId(supplierId);
         return inventories.stream()
-                .map(inventory -> modelMapper.map(inventory, InventoryDTO.class))
+                .map(inventoryMapper::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,12 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.LoadDataRequest;
+import com.example.HMS.dto.LoadDataStatusDTO;
+
+public interface LoadDataGeneratorService {
+    LoadDataStatusDTO start(LoadDataRequest request);
+
+    LoadDataStatusDTO generate(LoadDataRequest request);
+
+    LoadDataStatusDTO getStatus();
+}
@@ -0,0 +1,725 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.LoadDataRequest;
+import com.example.HMS.dto.LoadDataStatusDTO;
+import com.example.HMS.exception.ResourceAlreadyExistsException;
+import com.example.HMS.model.*;
+import com.example.HMS.utils.LoadDataFileWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Generates production-sized data for load tests. Everything is a pure function of the seed and a row key:
+ * a booking is derived from (room, 4-day slot), and its folio, charges, usages and housekeeping rows recompute
+ * the same booking instead of reading it back. That makes the output identical for the same request, lets each
+ * table be generated by its own workers, and gives every row a fixed id, so tables only have to be written in
+ * foreign-key order (users and rooms, then bookings, then their children).
+ * <p>
+ * Rows are either inserted in JDBC batches or written as CSV files plus a {@code load.sql} for {@code LOAD DATA}.
+ * Both bypass the entity listeners, so a database run rebuilds the occupancy cube and bumps the table versions
+ * itself once every row is in; {@code load.sql} leaves those steps to the operator.
+ */
+@Slf4j
+@Service
+public class LoadDataGeneratorServiceImpl implements LoadDataGeneratorService {
+    private static final int BASE_ROOMS = 2000;
+    private static final int BASE_CUSTOMERS = 50_000;
+    private static final int BASE_EMPLOYEES = 200;
+    private static final int SERVICE_COUNT = 20;
+    // Mỗi phòng chia thành các khung 4 ngày, mỗi khung có nhiều nhất một booking 1-3 đêm
+    private static final int SLOT_DAYS = 4;
+    private static final int FUTURE_DAYS = 60;
+    private static final double OCCUPANCY = 0.7;
+    private static final int CANCEL_PERCENT = 5;
+    private static final int MAX_USAGES = 3;
+    private static final int CHARGES_PER_STAY = SLOT_DAYS - 1 + MAX_USAGES;
+    private static final long PROGRESS_EVERY = 250_000;
+
+    private static final long SALT_ROOM = 1;
+    private static final long SALT_STAY = 2;
+    private static final long SALT_USAGE = 3;
+    private static final long SALT_USER = 4;
+    private static final long SALT_SHIFT = 5;
+    private static final long SALT_SERVICE = 6;
+
+    private static final Role[] STAFF_ROLES = {Role.RECEPTIONIST, Role.HOUSEKEEPING, Role.MAINTENANCE, Role.WAITER,
+            Role.CHEF, Role.SECURITY, Role.POS_SERVICE};
+    private static final int RECEPTIONIST = 0;
+    private static final int HOUSEKEEPING = 1;
+    private static final String[] SHIFTS = {"morning", "afternoon", "night", "rest"};
+    private static final String[] SERVICE_TYPES = {"FOOD", "SPA", "LAUNDRY", "TRANSPORT"};
+    private static final String[] FAMILY_NAMES = {"Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ",
+            "Võ", "Đặng", "Bùi", "Đỗ"};
+    private static final String[] MIDDLE_NAMES = {"Văn", "Thị", "Minh", "Ngọc", "Hữu", "Thanh", "Đức", "Thu"};
+    private static final String[] GIVEN_NAMES = {"An", "Bình", "Châu", "Dũng", "Giang", "Hà", "Hải", "Hùng", "Lan",
+            "Linh", "Long", "Mai", "Nam", "Phong", "Quân", "Sơn", "Tâm", "Trang", "Tuấn", "Vy"};
+
+    private static final TableSpec USERS = new TableSpec("application_user", List.of("id", "user_type", "full_name",
+            "username", "password", "email", "phone_number", "is_active", "role", "loyalty_points", "hire_date",
+            "position", "salary"), Set.of("is_active"));
+    private static final TableSpec ROOMS = new TableSpec("rooms", List.of("id", "room_name", "room_type", "price",
+            "capacity", "room_status", "description"), Set.of());
+    private static final TableSpec SERVICES = new TableSpec("services", List.of("id", "service_name", "service_type",
+            "service_price", "service_description"), Set.of());
+    private static final TableSpec BOOKINGS = new TableSpec("bookings", List.of("id", "customer_id", "created_by_id",
+            "source", "status", "start_date", "end_date", "check_in_time", "check_out_time", "room_type", "room_number",
+            "adult_number", "child_number", "total_price"), Set.of());
+    private static final TableSpec ROOM_BOOKINGS = new TableSpec("room_bookings", List.of("id", "room_id", "booking_id"), Set.of());
+    private static final TableSpec FOLIO = new TableSpec("folio", List.of("id", "booking_id", "user_id", "total_amount",
+            "status", "created_at", "updated_at"), Set.of());
+    private static final TableSpec FOLIO_CHARGES = new TableSpec("folio_charges", List.of("id", "folio_id", "charge_type",
+            "description", "item_name", "quantity", "unit_price", "total_price", "charge_time", "room_id",
+            "business_date"), Set.of());
+    private static final TableSpec SERVICE_USAGE = new TableSpec("service_usage", List.of("id", "booking_id",
+            "service_id", "quantity", "total_price", "timestamp"), Set.of());
+    private static final TableSpec WORK_SCHEDULE = new TableSpec("work_schedule", List.of("id", "employee_id", "date",
+            "shift"), Set.of());
+    private static final TableSpec HOUSEKEEPING_SCHEDULE = new TableSpec("housekeeping_schedule", List.of("id",
+            "employee_id", "room_id", "scheduled_time", "status"), Set.of());
+    private static final List<TableSpec> TABLES = List.of(USERS, ROOMS, SERVICES, BOOKINGS, ROOM_BOOKINGS, FOLIO,
+            FOLIO_CHARGES, SERVICE_USAGE, WORK_SCHEDULE, HOUSEKEEPING_SCHEDULE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final OccupancyService occupancyService;
+    private final ChangeVersionService changeVersionService;
+    private final int workers;
+    private final int batchSize;
+    private final Path outputBaseDir;
+    private Job current;
+
+    public LoadDataGeneratorServiceImpl(JdbcTemplate jdbcTemplate,
+                                        PasswordEncoder passwordEncoder,
+                                        OccupancyService occupancyService,
+                                        ChangeVersionService changeVersionService,
+                                        @Value("${app.load-data.workers:4}") int workers,
+                                        @Value("${app.load-data.batch-size:5000}") int batchSize,
+                                        @Value("${app.load-data.output-base-dir:load-data}") String outputBaseDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.occupancyService = occupancyService;
+        this.changeVersionService = changeVersionService;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.outputBaseDir = Paths.get(outputBaseDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public LoadDataStatusDTO start(LoadDataRequest request) {
+        Job job = claim(request);
+        Thread thread = new Thread(() -> run(job), "load-data-generator");
+        thread.setDaemon(true);
+        thread.start();
+        return job.toStatus();
+    }
+
+    @Override
+    public LoadDataStatusDTO generate(LoadDataRequest request) {
+        Job job = claim(request);
+        run(job);
+        return job.toStatus();
+    }
+
+    @Override
+    public synchronized LoadDataStatusDTO getStatus() {
+        return current != null ? current.toStatus() : LoadDataStatusDTO.builder().state("IDLE").build();
+    }
+
+    private synchronized Job claim(LoadDataRequest request) {
+        if (request.getScaleFactor() <= 0 || request.getYears() < 1 || request.getYears() > 20) {
+            throw new RuntimeException("Scale factor must be positive and years between 1 and 20");
+        }
+        outputDir(request);
+        if (current != null && "RUNNING".equals(current.state)) {
+            throw new ResourceAlreadyExistsException("Load data generation is already running");
+        }
+        current = new Job(request);
+        return current;
+    }
+
+    private void run(Job job) {
+        LoadDataRequest request = job.request;
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            Path outputDir = outputDir(request);
+            if (outputDir != null) {
+                Files.createDirectories(outputDir);
+            }
+            Plan plan = plan(request, outputDir == null);
+            log.info("Generating load data: scale factor {}, seed {}, {} rooms, {} customers, {} days, into {}",
+                    request.getScaleFactor(), request.getSeed(), plan.rooms, plan.customers, plan.days(),
+                    outputDir != null ? outputDir : "database");
+
+            // Mã hóa một lần cho cả lượt chạy; salt của hash là giá trị duy nhất khác nhau giữa hai lần sinh
+            String password = passwordEncoder.encode("password");
+            List<List<Task>> waves = List.of(
+                    concat(partitioned(USERS, plan.customers + plan.employees, (sink, from, to) -> users(plan, password, sink, from, to)),
+                            partitioned(ROOMS, plan.rooms, (sink, from, to) -> rooms(plan, sink, from, to)),
+                            partitioned(SERVICES, SERVICE_COUNT, (sink, from, to) -> services(plan, sink, from, to))),
+                    concat(partitioned(BOOKINGS, plan.rooms, (sink, from, to) -> stays(plan, from, to, stay -> sink.write(booking(plan, stay)))),
+                            partitioned(WORK_SCHEDULE, plan.employees, (sink, from, to) -> workSchedules(plan, sink, from, to))),
+                    concat(partitioned(ROOM_BOOKINGS, plan.rooms, (sink, from, to) -> stays(plan, from, to, stay -> sink.write(roomBooking(plan, stay)))),
+                            partitioned(FOLIO, plan.rooms, (sink, from, to) -> stays(plan, from, to, stay -> folio(plan, stay, sink))),
+                            partitioned(SERVICE_USAGE, plan.rooms, (sink, from, to) -> stays(plan, from, to, stay -> serviceUsages(plan, stay, sink))),
+                            partitioned(HOUSEKEEPING_SCHEDULE, plan.rooms, (sink, from, to) -> stays(plan, from, to, stay -> housekeeping(plan, stay, sink)))),
+                    partitioned(FOLIO_CHARGES, plan.rooms, (sink, from, to) -> stays(plan, from, to, stay -> folioCharges(plan, stay, sink))));
+
+            List<String> loadStatements = new ArrayList<>();
+            for (List<Task> wave : waves) {
+                runWave(job, wave, outputDir, executor, loadStatements);
+            }
+            if (outputDir != null) {
+                writeLoadScript(outputDir, request, loadStatements);
+            } else {
+                occupancyService.rebuild();
+                changeVersionService.changed(ChangeVersionService.ROOMS, ChangeVersionService.SERVICES);
+            }
+            job.finish(null);
+            LoadDataStatusDTO status = job.toStatus();
+            log.info("Load data generated: {} rows in {} s ({} rows/s)", status.getTotalRows(),
+                    ChronoUnit.SECONDS.between(status.getStartedAt(), status.getFinishedAt()), status.getRowsPerSecond());
+        } catch (Exception e) {
+            log.error("Load data generation failed", e);
+            job.finish(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Thư mục do người gọi truyền vào được hiểu tương đối với thư mục gốc cấu hình và không được thoát ra ngoài nó
+    private Path outputDir(LoadDataRequest request) {
+        if (request.getOutputDir() == null) {
+            return null;
+        }
+        Path outputDir;
+        try {
+            outputDir = outputBaseDir.resolve(request.getOutputDir()).normalize();
+        } catch (InvalidPathException e) {
+            throw new RuntimeException("Invalid output directory: " + request.getOutputDir());
+        }
+        if (!outputDir.startsWith(outputBaseDir)) {
+            throw new RuntimeException("Output directory must be inside " + outputBaseDir);
+        }
+        return outputDir;
+    }
+
+    private void runWave(Job job, List<Task> wave, Path outputDir, ExecutorService executor, List<String> loadStatements)
+            throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (Task task : wave) {
+            Path file = null;
+            if (outputDir != null) {
+                file = outputDir.resolve(task.table.name + (task.part > 0 ? "-" + task.part : "") + ".csv");
+                loadStatements.add(loadStatement(task.table, file.getFileName().toString()));
+            }
+            Path target = file;
+            futures.add(executor.submit(() -> {
+                try (RowSink sink = target != null ? new FileSink(job, task.table, target) : new JdbcSink(job, task.table)) {
+                    task.writer.write(sink, task.from, task.to);
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private Plan plan(LoadDataRequest request, boolean database) {
+        LocalDate today = request.getEndDate() != null ? request.getEndDate() : LocalDate.now();
+        int historyDays = request.getYears() * 365;
+        Map<String, Long> offsets = new HashMap<>();
+        for (TableSpec table : TABLES) {
+            // Ghi thẳng vào DB thì nối tiếp id đang có; file CSV dành cho DB trống nên bắt đầu từ 1
+            Long maxId = database ? jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table.name, Long.class) : null;
+            offsets.put(table.name, maxId != null ? maxId : 0L);
+        }
+        return new Plan(request.getSeed(),
+                Math.max(1, (int) Math.round(BASE_ROOMS * request.getScaleFactor())),
+                Math.max(1, (int) Math.round(BASE_CUSTOMERS * request.getScaleFactor())),
+                Math.max(STAFF_ROLES.length, (int) Math.round(BASE_EMPLOYEES * request.getScaleFactor())),
+                today.minusDays(historyDays), today, (historyDays + FUTURE_DAYS) / SLOT_DAYS, offsets);
+    }
+
+    private List<Task> partitioned(TableSpec table, int count, PartWriter writer) {
+        int parts = Math.max(1, Math.min(workers, count / 100));
+        List<Task> tasks = new ArrayList<>();
+        for (int part = 0; part < parts; part++) {
+            tasks.add(new Task(table, parts > 1 ? part + 1 : 0,
+                    (int) ((long) count * part / parts), (int) ((long) count * (part + 1) / parts), writer));
+        }
+        return tasks;
+    }
+
+    @SafeVarargs
+    private static List<Task> concat(List<Task>... groups) {
+        return Arrays.stream(groups).flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    // ---- Dữ liệu gốc ----
+
+    private void users(Plan plan, String password, RowSink sink, int from, int to) throws IOException {
+        for (int key = from; key < to; key++) {
+            SplittableRandom rng = random(plan, SALT_USER, key);
+            long id = plan.id(USERS, key);
+            String fullName = FAMILY_NAMES[rng.nextInt(FAMILY_NAMES.length)] + " "
+                    + MIDDLE_NAMES[rng.nextInt(MIDDLE_NAMES.length)] + " " + GIVEN_NAMES[rng.nextInt(GIVEN_NAMES.length)];
+            String phone = "09" + String.format("%08d", rng.nextInt(100_000_000));
+            if (key < plan.customers) {
+                sink.write(new Object[]{id, "CUSTOMER", fullName, "lt_cust_" + id, password, "lt" + id + "@loadtest.local",
+                        phone, true, Role.CUSTOMER.name(), (double) rng.nextInt(10_000), null, null, null});
+            } else {
+                Role role = STAFF_ROLES[(key - plan.customers) % STAFF_ROLES.length];
+                sink.write(new Object[]{id, "EMPLOYEE", fullName, "lt_emp_" + id, password, "lt" + id + "@loadtest.local",
+                        phone, true, role.name(), null, plan.firstDay.minusDays(rng.nextInt(1000)),
+                        role.name().toLowerCase(), BigDecimal.valueOf(5_000_000L + 100_000L * rng.nextInt(150))});
+            }
+        }
+    }
+
+    private void rooms(Plan plan, RowSink sink, int from, int to) throws IOException {
+        for (int room = from; room < to; room++) {
+            RoomType type = roomType(plan, room);
+            sink.write(new Object[]{plan.id(ROOMS, room), roomName(room), type.name(), String.valueOf(price(type)),
+                    capacity(type), RoomStatus.AVAILABLE.name(), "Load test " + type.name().toLowerCase() + " room"});
+        }
+    }
+
+    private void services(Plan plan, RowSink sink, int from, int to) throws IOException {
+        for (int service = from; service < to; service++) {
+            sink.write(new Object[]{plan.id(SERVICES, service), serviceName(service),
+                    SERVICE_TYPES[service % SERVICE_TYPES.length], servicePrice(plan, service), "Load test service"});
+        }
+    }
+
+    private void workSchedules(Plan plan, RowSink sink, int from, int to) throws IOException {
+        int days = plan.days();
+        for (int employee = from; employee < to; employee++) {
+            long employeeId = plan.id(USERS, plan.customers + employee);
+            for (int day = 0; day < days; day++) {
+                long key = (long) employee * days + day;
+                sink.write(new Object[]{plan.id(WORK_SCHEDULE, key), employeeId, plan.firstDay.plusDays(day),
+                        SHIFTS[random(plan, SALT_SHIFT, key).nextInt(SHIFTS.length)]});
+            }
+        }
+    }
+
+    // ---- Booking và các bảng con ----
+
+    private void stays(Plan plan, int fromRoom, int toRoom, StayConsumer consumer) throws IOException {
+        for (int room = fromRoom; room < toRoom; room++) {
+            for (int slot = 0; slot < plan.slotsPerRoom; slot++) {
+                Stay stay = stay(plan, room, slot);
+                if (stay != null) {
+                    consumer.accept(stay);
+                }
+            }
+        }
+    }
+
+    private Stay stay(Plan plan, int room, int slot) {
+        long key = (long) room * plan.slotsPerRoom + slot;
+        SplittableRandom rng = random(plan, SALT_STAY, key);
+        if (rng.nextDouble() >= OCCUPANCY) {
+            return null;
+        }
+        int nights = 1 + rng.nextInt(SLOT_DAYS - 1);
+        LocalDate checkIn = plan.firstDay.plusDays((long) slot * SLOT_DAYS + rng.nextInt(SLOT_DAYS - nights));
+        LocalDate checkOut = checkIn.plusDays(nights);
+        boolean cancelled = rng.nextInt(100) < CANCEL_PERCENT;
+        boolean pending = rng.nextInt(10) == 0;
+        BookingStatus status;
+        if (cancelled) {
+            status = BookingStatus.CANCELLED;
+        } else if (!checkOut.isAfter(plan.today)) {
+            status = BookingStatus.CHECKOUT;
+        } else if (!checkIn.isAfter(plan.today)) {
+            status = BookingStatus.CHECKIN;
+        } else {
+            status = pending ? BookingStatus.PENDING : BookingStatus.CONFIRMED;
+        }
+        int capacity = capacity(roomType(plan, room));
+        int adults = 1 + rng.nextInt(capacity);
+        return new Stay(key, room, checkIn, nights, status,
+                rng.nextInt(plan.customers), rng.nextBoolean(), rng.nextInt(plan.staffCount(RECEPTIONIST)),
+                adults, rng.nextInt(capacity - adults + 1), rng.nextInt(60));
+    }
+
+    // Số đêm đã qua night audit: cả kỳ lưu trú khi đã trả phòng, đến hôm qua khi khách còn ở
+    private int chargedNights(Plan plan, Stay stay) {
+        return switch (stay.status) {
+            case CHECKOUT -> stay.nights;
+            case CHECKIN -> (int) Math.min(stay.nights, ChronoUnit.DAYS.between(stay.checkIn, plan.today));
+            default -> 0;
+        };
+    }
+
+    private List<Usage> usages(Plan plan, Stay stay) {
+        int chargedNights = chargedNights(plan, stay);
+        if (chargedNights == 0) {
+            return List.of();
+        }
+        SplittableRandom rng = random(plan, SALT_USAGE, stay.key);
+        int count = rng.nextInt(MAX_USAGES + 1);
+        List<Usage> usages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int service = rng.nextInt(SERVICE_COUNT);
+            int quantity = 1 + rng.nextInt(3);
+            LocalDateTime time = stay.checkIn.plusDays(rng.nextInt(chargedNights)).atTime(8 + rng.nextInt(14), rng.nextInt(60));
+            usages.add(new Usage(service, quantity, servicePrice(plan, service), time));
+        }
+        return usages;
+    }
+
+    private Object[] booking(Plan plan, Stay stay) {
+        RoomType type = roomType(plan, stay.room);
+        boolean arrived = stay.status == BookingStatus.CHECKIN || stay.status == BookingStatus.CHECKOUT;
+        long customerId = plan.id(USERS, stay.customer);
+        long createdBy = stay.online ? customerId
+                : plan.id(USERS, plan.customers + (long) stay.receptionist * STAFF_ROLES.length + RECEPTIONIST);
+        return new Object[]{plan.id(BOOKINGS, stay.key), customerId, createdBy,
+                (stay.online ? BookingSource.ONLINE : BookingSource.DIRECT).name(), stay.status.name(),
+                stay.checkIn.atTime(14, 0), stay.checkOut().atTime(12, 0),
+                arrived ? stay.checkIn.atTime(14, stay.minute) : null,
+                stay.status == BookingStatus.CHECKOUT ? stay.checkOut().atTime(11, stay.minute) : null,
+                type.name(), 1, stay.adults, stay.children, stay.nights * price(type)};
+    }
+
+    private Object[] roomBooking(Plan plan, Stay stay) {
+        return new Object[]{plan.id(ROOM_BOOKINGS, stay.key), plan.id(ROOMS, stay.room), plan.id(BOOKINGS, stay.key)};
+    }
+
+    private void folio(Plan plan, Stay stay, RowSink sink) throws IOException {
+        if (stay.status != BookingStatus.CHECKIN && stay.status != BookingStatus.CHECKOUT) {
+            return;
+        }
+        double total = (double) chargedNights(plan, stay) * price(roomType(plan, stay.room));
+        for (Usage usage : usages(plan, stay)) {
+            total += usage.total();
+        }
+        LocalDateTime openedAt = stay.checkIn.atTime(14, stay.minute);
+        sink.write(new Object[]{plan.id(FOLIO, stay.key), plan.id(BOOKINGS, stay.key), plan.id(USERS, stay.customer),
+                total, (stay.status == BookingStatus.CHECKOUT ? FolioStatus.PAID : FolioStatus.OPEN).name(),
+                openedAt, stay.status == BookingStatus.CHECKOUT ? stay.checkOut().atTime(11, stay.minute) : openedAt});
+    }
+
+    private void folioCharges(Plan plan, Stay stay, RowSink sink) throws IOException {
+        int chargedNights = chargedNights(plan, stay);
+        if (chargedNights == 0) {
+            return;
+        }
+        long folioId = plan.id(FOLIO, stay.key);
+        long roomId = plan.id(ROOMS, stay.room);
+        String roomName = roomName(stay.room);
+        double price = price(roomType(plan, stay.room));
+        long firstChargeKey = stay.key * CHARGES_PER_STAY;
+        for (int night = 0; night < chargedNights; night++) {
+            LocalDate businessDate = stay.checkIn.plusDays(night);
+            sink.write(new Object[]{plan.id(FOLIO_CHARGES, firstChargeKey + night), folioId, FolioCharges.ROOM_CHARGE,
+                    "Room charge for " + roomName + " on " + businessDate, roomName, 1, price, price,
+                    businessDate.plusDays(1).atTime(2, 0), roomId, businessDate});
+        }
+        List<Usage> usages = usages(plan, stay);
+        for (int i = 0; i < usages.size(); i++) {
+            Usage usage = usages.get(i);
+            String name = serviceName(usage.service);
+            sink.write(new Object[]{plan.id(FOLIO_CHARGES, firstChargeKey + SLOT_DAYS - 1 + i), folioId,
+                    FolioCharges.SERVICE_CHARGE, "Service: " + name, name, usage.quantity, usage.unitPrice,
+                    usage.total(), usage.time, null, null});
+        }
+    }
+
+    private void serviceUsages(Plan plan, Stay stay, RowSink sink) throws IOException {
+        List<Usage> usages = usages(plan, stay);
+        for (int i = 0; i < usages.size(); i++) {
+            Usage usage = usages.get(i);
+            sink.write(new Object[]{plan.id(SERVICE_USAGE, stay.key * MAX_USAGES + i), plan.id(BOOKINGS, stay.key),
+                    plan.id(SERVICES, usage.service), usage.quantity, usage.total(), usage.time});
+        }
+    }
+
+    private void housekeeping(Plan plan, Stay stay, RowSink sink) throws IOException {
+        if (stay.status != BookingStatus.CHECKOUT) {
+            return;
+        }
+        int housekeeper = (int) (stay.key % plan.staffCount(HOUSEKEEPING));
+        LocalDateTime scheduledTime = stay.checkOut().atTime(12, 0);
+        sink.write(new Object[]{plan.id(HOUSEKEEPING_SCHEDULE, stay.key),
+                plan.id(USERS, plan.customers + (long) housekeeper * STAFF_ROLES.length + HOUSEKEEPING),
+                plan.id(ROOMS, stay.room), scheduledTime,
+                (scheduledTime.toLocalDate().isBefore(plan.today) ? ScheduleStatus.COMPLETED : ScheduleStatus.ASSIGNED).name()});
+    }
+
+    // ---- Hàm thuần theo seed ----
+
+    private RoomType roomType(Plan plan, int room) {
+        RoomType[] types = RoomType.values();
+        return types[random(plan, SALT_ROOM, room).nextInt(types.length)];
+    }
+
+    private static String roomName(int room) {
+        return String.format("LT%05d", room + 1);
+    }
+
+    private static int capacity(RoomType type) {
+        return switch (type) {
+            case SINGLE -> 1;
+            case DOUBLE, TWIN, DELUXE -> 2;
+            case SUITE, FAMILY -> 4;
+        };
+    }
+
+    private static int price(RoomType type) {
+        return switch (type) {
+            case SINGLE -> 600_000;
+            case DOUBLE, TWIN -> 900_000;
+            case DELUXE -> 1_500_000;
+            case FAMILY -> 2_000_000;
+            case SUITE -> 3_000_000;
+        };
+    }
+
+    private static String serviceName(int service) {
+        return SERVICE_TYPES[service % SERVICE_TYPES.length] + " " + (service + 1);
+    }
+
+    private double servicePrice(Plan plan, int service) {
+        return 50_000 + 10_000 * random(plan, SALT_SERVICE, service).nextInt(50);
+    }
+
+    private static SplittableRandom random(Plan plan, long salt, long key) {
+        return new SplittableRandom(mix(mix(plan.seed, salt), key));
+    }
+
+    private static long mix(long a, long b) {
+        long h = a * 0x9E3779B97F4A7C15L + b;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    // ---- Ghi dữ liệu ----
+
+    private String loadStatement(TableSpec table, String fileName) {
+        List<String> columns = table.columns.stream()
+                .map(column -> table.bitColumns.contains(column) ? "@" + column : column)
+                .toList();
+        String set = table.bitColumns.stream()
+                .map(column -> column + " = CAST(@" + column + " AS UNSIGNED)")
+                .collect(Collectors.joining(", "));
+        return "LOAD DATA LOCAL INFILE '" + fileName + "' INTO TABLE " + table.name + " CHARACTER SET utf8mb4 "
+                + LoadDataFileWriter.FORMAT + " (" + String.join(", ", columns) + ")"
+                + (set.isEmpty() ? "" : " SET " + set) + ";";
+    }
+
+    private void writeLoadScript(Path outputDir, LoadDataRequest request, List<String> statements) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(outputDir.resolve("load.sql"), StandardCharsets.UTF_8)) {
+            writer.write("-- Load test data: scale factor " + request.getScaleFactor() + ", seed " + request.getSeed()
+                    + ", " + request.getYears() + " years\n");
+            writer.write("-- Run from this directory into an empty schema: mysql --local-infile=1 hmsdb < load.sql\n");
+            writer.write("SET foreign_key_checks = 0;\nSET unique_checks = 0;\n");
+            for (String statement : statements) {
+                writer.write(statement);
+                writer.write('\n');
+            }
+            writer.write("SET unique_checks = 1;\nSET foreign_key_checks = 1;\n");
+            writer.write("-- LOAD DATA skips the application's own bookkeeping. Once it is done, rebuild the occupancy\n"
+                    + "-- cube (POST /api/audit-reports/occupancy/rebuild, or restart the application on an empty cube)\n"
+                    + "-- and run the statement below so cached room and service lists are not served as unchanged.\n");
+            writer.write("UPDATE table_version SET version = version + 1 WHERE table_name IN ('"
+                    + ChangeVersionService.ROOMS + "', '" + ChangeVersionService.SERVICES + "');\n");
+        }
+    }
+
+    private interface RowSink extends AutoCloseable {
+        void write(Object[] row) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private class JdbcSink implements RowSink {
+        private final Job job;
+        private final TableSpec table;
+        private final String sql;
+        private final List<Object[]> buffer = new ArrayList<>();
+
+        private JdbcSink(Job job, TableSpec table) {
+            this.job = job;
+            this.table = table;
+            this.sql = "INSERT INTO " + table.name + " (" + String.join(", ", table.columns) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(table.columns.size(), "?")) + ")";
+        }
+
+        @Override
+        public void write(Object[] row) {
+            buffer.add(row);
+            if (buffer.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!buffer.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, buffer);
+                job.progress(table, buffer.size());
+                buffer.clear();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+
+    private static class FileSink implements RowSink {
+        private final Job job;
+        private final TableSpec table;
+        private final LoadDataFileWriter writer;
+        private int pending;
+
+        private FileSink(Job job, TableSpec table, Path file) throws IOException {
+            this.job = job;
+            this.table = table;
+            this.writer = new LoadDataFileWriter(file);
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            writer.writeRow(row);
+            if (++pending == 10_000) {
+                job.progress(table, pending);
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            job.progress(table, pending);
+            writer.close();
+        }
+    }
+
+    private static class Job {
+        private final LoadDataRequest request;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final Map<String, LongAdder> rows = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> logged = new ConcurrentHashMap<>();
+        private volatile String state = "RUNNING";
+        private volatile LocalDateTime finishedAt;
+        private volatile long elapsedNanos;
+        private volatile String error;
+
+        private Job(LoadDataRequest request) {
+            this.request = request;
+            TABLES.forEach(table -> rows.put(table.name, new LongAdder()));
+        }
+
+        private void progress(TableSpec table, long count) {
+            LongAdder counter = rows.get(table.name);
+            long before = counter.sum();
+            counter.add(count);
+            if ((before + count) / PROGRESS_EVERY > before / PROGRESS_EVERY) {
+                log.info("Load data progress: {} rows into {}", before + count, table.name);
+            }
+        }
+
+        private void finish(Exception failure) {
+            elapsedNanos = System.nanoTime() - startNanos;
+            finishedAt = LocalDateTime.now();
+            if (failure != null) {
+                error = failure.getMessage();
+                state = "FAILED";
+            } else {
+                state = "COMPLETED";
+            }
+        }
+
+        private LoadDataStatusDTO toStatus() {
+            Map<String, Long> byTable = new LinkedHashMap<>();
+            TABLES.forEach(table -> byTable.put(table.name, rows.get(table.name).sum()));
+            long total = byTable.values().stream().mapToLong(Long::longValue).sum();
+            long nanos = finishedAt != null ? elapsedNanos : System.nanoTime() - startNanos;
+            return LoadDataStatusDTO.builder()
+                    .state(state)
+                    .request(request)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .rowsByTable(byTable)
+                    .totalRows(total)
+                    .rowsPerSecond(total * 1_000_000_000L / Math.max(1, nanos))
+                    .error(error)
+                    .build();
+        }
+    }
+
+    private record TableSpec(String name, List<String> columns, Set<String> bitColumns) {
+    }
+
+    private record Plan(long seed, int rooms, int customers, int employees, LocalDate firstDay, LocalDate today,
+                        int slotsPerRoom, Map<String, Long> offsets) {
+        long id(TableSpec table, long key) {
+            return offsets.get(table.name) + key + 1;
+        }
+
+        int days() {
+            return slotsPerRoom * SLOT_DAYS;
+        }
+
+        int staffCount(int role) {
+            return (employees - role + STAFF_ROLES.length - 1) / STAFF_ROLES.length;
+        }
+    }
+
+    private record Stay(long key, int room, LocalDate checkIn, int nights, BookingStatus status, int customer,
+                        boolean online, int receptionist, int adults, int children, int minute) {
+        LocalDate checkOut() {
+            return checkIn.plusDays(nights);
+        }
+    }
+
+    private record Usage(int service, int quantity, double unitPrice, LocalDateTime time) {
+        double total() {
+            return quantity * unitPrice;
+        }
+    }
+
+    private record Task(TableSpec table, int part, int from, int to, PartWriter writer) {
+    }
+
+    @FunctionalInterface
+    private interface PartWriter {
+        void write(RowSink sink, int from, int to) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface StayConsumer {
+        void accept(Stay stay) throws IOException;
+    }
+}
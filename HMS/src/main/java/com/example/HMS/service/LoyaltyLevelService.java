@@ -1,13 +1,14 @@
 package com.example.HMS.service;
 
+import com.example.HMS.dto.LoyaltyLevelDTO;
 import com.example.HMS.model.LoyaltyLevel;
 
 import java.util.List;
 
 public interface LoyaltyLevelService {
-    List<LoyaltyLevel> getAllLoyaltyLevels();
-    LoyaltyLevel getLoyaltyLevelById(Long id);
-    LoyaltyLevel createLoyaltyLevel(LoyaltyLevel loyaltyLevel);
-    LoyaltyLevel updateLoyaltyLevel(Long id, LoyaltyLevel loyaltyLevel);
+    List<LoyaltyLevelDTO> getAllLoyaltyLevels();
+    LoyaltyLevelDTO getLoyaltyLevelById(Long id);
+    LoyaltyLevelDTO createLoyaltyLevel(LoyaltyLevel loyaltyLevel);
+    LoyaltyLevelDTO updateLoyaltyLevel(Long id, LoyaltyLevel loyaltyLevel);
     void deleteLoyaltyLevel(Long id);
 }
@@ -1,8 +1,13 @@
 package com.example.HMS.service;
 
+import com.example.HMS.config.CacheConfig;
+import com.example.HMS.dto.LoyaltyLevelDTO;
+import com.example.HMS.mapper.LoyaltyLevelMapper;
 import com.example.HMS.model.LoyaltyLevel;
 import com.example.HMS.repository.LoyaltyLevelRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -11,37 +16,48 @@ import java.util.List;
 @RequiredArgsConstructor
 public class LoyaltyLevelServiceImpl implements LoyaltyLevelService{
     private final LoyaltyLevelRepository loyaltyLevelRepository;
+    private final LoyaltyLevelMapper loyaltyLevelMapper;
 
+    // Cache giữ DTO, không giữ entity đang được EntityManager quản lý
     @Override
-    public List<LoyaltyLevel> getAllLoyaltyLevels() {
-        return loyaltyLevelRepository.findAll();
+    @Cacheable(cacheNames = CacheConfig.LOYALTY_LEVELS, sync = true)
+    public List<LoyaltyLevelDTO> getAllLoyaltyLevels() {
+        return loyaltyLevelMapper.toDtos(loyaltyLevelRepository.findAll());
     }
 
     @Override
-    public LoyaltyLevel getLoyaltyLevelById(Long id) {
-        return loyaltyLevelRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Loyalty level not found with id: " + id));
+    @Cacheable(cacheNames = CacheConfig.LOYALTY_LEVELS, sync = true)
+    public LoyaltyLevelDTO getLoyaltyLevelById(Long id) {
+        return loyaltyLevelMapper.toDto(findLoyaltyLevel(id));
     }
 
     @Override
-    public LoyaltyLevel createLoyaltyLevel(LoyaltyLevel loyaltyLevel) {
-        return loyaltyLevelRepository.save(loyaltyLevel);
+    @CacheEvict(cacheNames = CacheConfig.LOYALTY_LEVELS, allEntries = true)
+    public LoyaltyLevelDTO createLoyaltyLevel(LoyaltyLevel loyaltyLevel) {
+        return loyaltyLevelMapper.toDto(loyaltyLevelRepository.save(loyaltyLevel));
     }
 
     @Override
-    public LoyaltyLevel updateLoyaltyLevel(Long id, LoyaltyLevel loyaltyLevel) {
-        LoyaltyLevel existing = getLoyaltyLevelById(id);
+    @CacheEvict(cacheNames = CacheConfig.LOYALTY_LEVELS, allEntries = true)
+    public LoyaltyLevelDTO updateLoyaltyLevel(Long id, LoyaltyLevel loyaltyLevel) {
+        LoyaltyLevel existing = findLoyaltyLevel(id);
         existing.setLevelName(loyaltyLevel.getLevelName());
         existing.setPointsRequired(loyaltyLevel.getPointsRequired());
         existing.setBenefits(loyaltyLevel.getBenefits());
-        return loyaltyLevelRepository.save(existing);
+        return loyaltyLevelMapper.toDto(loyaltyLevelRepository.save(existing));
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.LOYALTY_LEVELS, allEntries = true)
     public void deleteLoyaltyLevel(Long id) {
         if (!loyaltyLevelRepository.existsById(id)) {
             throw new RuntimeException("Loyalty level not found with id: " + id);
         }
         loyaltyLevelRepository.deleteById(id);
     }
+
+    private LoyaltyLevel findLoyaltyLevel(Long id) {
+        return loyaltyLevelRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Loyalty level not found with id: " + id));
+    }
 }
@@ -1,8 +1,8 @@
 package com.example.HMS.service;
-import com.example.HMS.dto.EmployeeDTO;
 import com.example.HMS.dto.MaintenanceScheduleCreateDTO;
 import com.example.HMS.dto.MaintenanceScheduleDTO;
 import com.example.HMS.dto.MaintenanceScheduleUpdateDTO;
+import com.example.HMS.mapper.AssetMapper;
 import com.example.HMS.model.*;
 import com.example.HMS.repository.AssetRepository;
 import com.example.HMS.repository.EmployeeRepository;
@@ -29,6 +29,7 @@ public class MaintenanceScheduleServiceImpl implements MaintenanceScheduleServic
     private final AssetRepository assetRepository;
     private final EmployeeRepository employeeRepository;
     private final RoomRepository roomRepository;
+    private final AssetMapper assetMapper;
 
     @Override
     @Transactional
@@ -59,7 +60,7 @@ public class MaintenanceScheduleServiceImpl implements MaintenanceScheduleServic
                 .build();
 
         schedule = scheduleRepository.save(schedule);
-        return mapToDTO(schedule);
+        return assetMapper.toDto(schedule);
     }
 
     @Override
@@ -74,14 +75,14 @@ public class MaintenanceScheduleServiceImpl implements MaintenanceScheduleServic
         } else {
             schedules = scheduleRepository.findAll(pageable);
         }
-        return schedules.map(this::mapToDTO);
+        return schedules.map(assetMapper::toDto);
     }
 
     @Override
     public MaintenanceScheduleDTO getMaintenanceScheduleById(Integer id) {
         MaintenanceSchedule schedule = scheduleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Maintenance Schedule not found"));
-        return mapToDTO(schedule);
+        return assetMapper.toDto(schedule);
     }
 
     @Override
@@ -90,7 +91,7 @@ public class MaintenanceScheduleServiceImpl implements MaintenanceScheduleServic
                 .orElseThrow(() -> new RuntimeException("Maintenance Schedule not found"));
         schedule.setStatus(status);
         schedule = scheduleRepository.save(schedule);
-        return mapToDTO(schedule);
+        return assetMapper.toDto(schedule);
     }
 
     @Override
@@ -120,7 +121,7 @@ public class MaintenanceScheduleServiceImpl implements MaintenanceScheduleServic
         schedule.setEmployees(employees);
 
         schedule = scheduleRepository.save(schedule);
-        return mapToDTO(schedule);
+        return assetMapper.toDto(schedule);
     }
 
     @Override
@@ -137,42 +138,6 @@ public class MaintenanceScheduleServiceImpl implements MaintenanceScheduleServic
         Employee employee = employeeRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
         List<MaintenanceSchedule> schedules = scheduleRepository.findByEmployeeId(employee.getId());
-        return schedules.stream().map(this::mapToDTO).collect(Collectors.toList());
-    }
-
-    private MaintenanceScheduleDTO mapToDTO(MaintenanceSchedule schedule) {
-        Set<EmployeeDTO> employeeDTOs = schedule.getEmployees().stream()
-                .map(e -> new EmployeeDTO(
-                        e.getId(),
-                        e.getFullName(),
-                        e.getUsername(),
-                        e.getPassword(),
-                        e.getEmail(),
-                        e.getPhoneNumber(),
-                        e.isActive(),
-                        e.getRole(),
-                        e.getPosition(),
-                        e.getSalary(),
-                        e.getHireDate()
-                ))
-                .collect(Collectors.toSet());
-
-        Integer assetId = schedule.getAsset() != null ? schedule.getAsset().getId() : null;
-        String assetName = schedule.getAsset() != null ? schedule.getAsset().getName() : null;
-
-        Long roomId = schedule.getRoom() != null ? schedule.getRoom().getId() : null;
-        String roomName = schedule.getRoom() != null ? schedule.getRoom().getRoomName() : null;
-
-        return new MaintenanceScheduleDTO(
-                schedule.getId(),
-                assetId,
-                assetName,
-                roomId,
-                roomName,
-                schedule.getScheduledDate(),
-                schedule.getStatus(),
-                schedule.getDescription(),
-                employeeDTOs
-        );
+        return schedules.stream().map(assetMapper::toDto).collect(Collectors.toList());
     }
 }
@@ -0,0 +1,13 @@
+package com.example.HMS.service;
+
+import com.example.HMS.model.NightAuditRun;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface NightAuditService {
+    NightAuditRun runNightAudit(LocalDate businessDate);
+
+    // Chạy tiếp mọi business date chưa COMPLETED, ngày cũ trước
+    List<NightAuditRun> resumeUnfinishedRuns();
+}
@@ -0,0 +1,313 @@
+package com.example.HMS.service;
+
+import com.example.HMS.config.NightAuditProperties;
+import com.example.HMS.exception.ResourceNotFoundException;
+import com.example.HMS.model.*;
+import com.example.HMS.repository.BookingsRepository;
+import com.example.HMS.repository.NightAuditRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posts one room charge (and optionally one room tax charge) per occupied room for a business date.
+ * In-house bookings are split into id-ordered chunks that run on a small worker pool; each chunk is
+ * written with JDBC batches in its own transaction. The run keeps a checkpoint of the highest booking
+ * id below which every chunk has committed, so a crashed run resumes from there. A run that ends with an
+ * exception is saved as FAILED; {@link #resumeUnfinishedRuns()} picks up every run that is not COMPLETED.
+ * Nights that are already on a folio are skipped, which makes re-processing a chunk harmless.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NightAuditServiceImpl implements NightAuditService {
+    private static final String ROOM_NIGHT_QUERY =
+            "SELECT b.id AS booking_id, b.check_in_time, b.start_date, f.id AS folio_id, f.status AS folio_status, " +
+            "r.id AS room_id, r.room_name, r.price " +
+            "FROM bookings b " +
+            "JOIN room_bookings rb ON rb.booking_id = b.id " +
+            "JOIN rooms r ON r.id = rb.room_id " +
+            "LEFT JOIN folio f ON f.booking_id = b.id " +
+            "WHERE b.id IN (:bookingIds) AND b.status = :status";
+    private static final String POSTED_ROOMS_QUERY =
+            "SELECT folio_id, room_id FROM folio_charges " +
+            "WHERE business_date = :businessDate AND charge_type = :chargeType AND folio_id IN (:folioIds)";
+    private static final String INSERT_CHARGE =
+            "INSERT INTO folio_charges (folio_id, charge_type, description, item_name, quantity, unit_price, " +
+            "total_price, charge_time, room_id, business_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_FOLIO_TOTAL =
+            "UPDATE folio SET total_amount = total_amount + ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final NightAuditRunRepository nightAuditRunRepository;
+    private final BookingsRepository bookingsRepository;
+    private final FolioPostingService folioPostingService;
+    private final NightAuditProperties properties;
+
+    @Override
+    public NightAuditRun runNightAudit(LocalDate businessDate) {
+        NightAuditRun run = nightAuditRunRepository.findByBusinessDate(businessDate)
+                .orElseGet(() -> NightAuditRun.builder()
+                        .businessDate(businessDate)
+                        .lastBookingId(0L)
+                        .postedCharges(0)
+                        .build());
+        if (run.getStatus() == NightAuditStatus.COMPLETED) {
+            log.info("Night audit for {} already completed, skipping", businessDate);
+            return run;
+        }
+        if (run.getId() != null) {
+            log.info("Resuming night audit for {} after booking {}", businessDate, run.getLastBookingId());
+        }
+        run.setStatus(NightAuditStatus.RUNNING);
+        run.setStartedAt(LocalDateTime.now());
+        run.setErrorMessage(null);
+        run = nightAuditRunRepository.save(run);
+
+        List<Long> bookingIds = jdbcTemplate.queryForList(
+                "SELECT id FROM bookings WHERE status = ? AND id > ? ORDER BY id",
+                Long.class, BookingStatus.CHECKIN.name(), run.getLastBookingId());
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < bookingIds.size(); i += properties.getChunkSize()) {
+            chunks.add(bookingIds.subList(i, Math.min(i + properties.getChunkSize(), bookingIds.size())));
+        }
+
+        Checkpoint checkpoint = new Checkpoint(run, chunks);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(properties.getWorkers(), chunks.size())));
+        boolean interrupted = false;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < chunks.size(); i++) {
+                int chunkIndex = i;
+                futures.add(executor.submit(() -> {
+                    Integer posted = transactionTemplate.execute(status -> postChunk(chunks.get(chunkIndex), businessDate));
+                    checkpoint.complete(chunkIndex, posted != null ? posted : 0);
+                }));
+            }
+
+            RuntimeException failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    if (failure == null) {
+                        failure = new RuntimeException("Night audit failed for " + businessDate, ex.getCause());
+                    }
+                } catch (InterruptedException ex) {
+                    // Chunk đang ghi được chạy nốt, chunk chưa bắt đầu bị huỷ; lần chạy sau tiếp tục từ checkpoint
+                    // mà không chồng lên worker của lần này
+                    futures.forEach(pending -> pending.cancel(false));
+                    awaitWorkers(executor);
+                    interrupted = true;
+                    failure = new RuntimeException("Night audit interrupted for " + businessDate, ex);
+                    break;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch (RuntimeException ex) {
+            markFailed(run, ex);
+            throw ex;
+        } finally {
+            executor.shutdown();
+            // Chỉ đặt lại cờ interrupt sau khi đã lưu FAILED, nếu không JDBC sẽ từ chối lấy connection
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        run.setLastBookingId(checkpoint.lastBookingId);
+        run.setPostedCharges(checkpoint.postedCharges);
+        run.setStatus(NightAuditStatus.COMPLETED);
+        run.setCompletedAt(LocalDateTime.now());
+        return nightAuditRunRepository.save(run);
+    }
+
+    @Override
+    public List<NightAuditRun> resumeUnfinishedRuns() {
+        List<NightAuditRun> resumed = new ArrayList<>();
+        for (NightAuditRun unfinished : nightAuditRunRepository.findByStatusNotOrderByBusinessDateAsc(NightAuditStatus.COMPLETED)) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            log.info("Resuming {} night audit for {}", unfinished.getStatus(), unfinished.getBusinessDate());
+            try {
+                resumed.add(runNightAudit(unfinished.getBusinessDate()));
+            } catch (RuntimeException ex) {
+                // Ngày lỗi đã được lưu FAILED và sẽ được thử lại lần sau; vẫn chạy tiếp các ngày khác
+                log.error("Night audit for {} failed again", unfinished.getBusinessDate(), ex);
+            }
+        }
+        return resumed;
+    }
+
+    private void markFailed(NightAuditRun run, RuntimeException ex) {
+        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+        String error = ex.getMessage() + (cause != ex ? ": " + cause : "");
+        if (error.length() > NightAuditRun.MAX_ERROR_LENGTH) {
+            error = error.substring(0, NightAuditRun.MAX_ERROR_LENGTH);
+        }
+        run.setStatus(NightAuditStatus.FAILED);
+        run.setErrorMessage(error);
+        nightAuditRunRepository.markFailed(run.getId(), error);
+    }
+
+    private static void awaitWorkers(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ignored) {
+            // Bị ngắt lần nữa thì thôi chờ; cờ interrupt do caller đặt lại
+        }
+    }
+
+    private int postChunk(List<Long> bookingIds, LocalDate businessDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("bookingIds", bookingIds)
+                .addValue("status", BookingStatus.CHECKIN.name());
+        List<RoomNight> roomNights = namedParameterJdbcTemplate.query(ROOM_NIGHT_QUERY, params, (rs, rowNum) -> {
+            Timestamp checkInTime = rs.getTimestamp("check_in_time");
+            Timestamp startDate = rs.getTimestamp("start_date");
+            long folioId = rs.getLong("folio_id");
+            boolean hasFolio = !rs.wasNull();
+            return new RoomNight(
+                    rs.getLong("booking_id"),
+                    checkInTime != null ? checkInTime.toLocalDateTime().toLocalDate() : startDate.toLocalDateTime().toLocalDate(),
+                    hasFolio ? folioId : null,
+                    rs.getString("folio_status"),
+                    rs.getLong("room_id"),
+                    rs.getString("room_name"),
+                    rs.getString("price"));
+        });
+
+        // Bookings checked in after the business date are not charged for it
+        roomNights.removeIf(roomNight -> roomNight.firstNight().isAfter(businessDate));
+
+        Map<Long, Long> openedFolios = new HashMap<>();
+        for (RoomNight roomNight : roomNights) {
+            if (roomNight.folioId() == null && !openedFolios.containsKey(roomNight.bookingId())) {
+                Bookings booking = bookingsRepository.findById(Math.toIntExact(roomNight.bookingId()))
+                        .orElseThrow(() -> new ResourceNotFoundException("Booking not found: " + roomNight.bookingId()));
+                openedFolios.put(roomNight.bookingId(), folioPostingService.openFolio(booking).getId());
+            }
+        }
+
+        List<RoomNight> postable = new ArrayList<>();
+        for (RoomNight roomNight : roomNights) {
+            if (roomNight.folioId() == null) {
+                postable.add(roomNight.withFolioId(openedFolios.get(roomNight.bookingId())));
+            } else if (FolioStatus.OPEN.name().equals(roomNight.folioStatus())) {
+                postable.add(roomNight);
+            }
+        }
+        if (postable.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> postedRooms = new HashSet<>();
+        namedParameterJdbcTemplate.query(POSTED_ROOMS_QUERY, new MapSqlParameterSource()
+                        .addValue("businessDate", businessDate)
+                        .addValue("chargeType", FolioCharges.ROOM_CHARGE)
+                        .addValue("folioIds", postable.stream().map(RoomNight::folioId).distinct().toList()),
+                rs -> {
+                    postedRooms.add(rs.getLong("folio_id") + ":" + rs.getLong("room_id"));
+                });
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> charges = new ArrayList<>();
+        Map<Long, Double> folioTotals = new LinkedHashMap<>();
+        for (RoomNight roomNight : postable) {
+            if (!postedRooms.add(roomNight.folioId() + ":" + roomNight.roomId())) {
+                continue;
+            }
+            double price = Double.parseDouble(roomNight.price());
+            charges.add(chargeRow(roomNight, FolioCharges.ROOM_CHARGE, "Room charge for ", price, businessDate, now));
+            folioTotals.merge(roomNight.folioId(), price, Double::sum);
+            if (properties.getTaxRate() > 0) {
+                double tax = price * properties.getTaxRate();
+                charges.add(chargeRow(roomNight, FolioCharges.ROOM_TAX_CHARGE, "Room tax for ", tax, businessDate, now));
+                folioTotals.merge(roomNight.folioId(), tax, Double::sum);
+            }
+        }
+        if (charges.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_CHARGE, charges);
+        List<Object[]> totals = new ArrayList<>();
+        folioTotals.forEach((folioId, amount) -> totals.add(new Object[]{amount, Timestamp.valueOf(now), folioId}));
+        jdbcTemplate.batchUpdate(UPDATE_FOLIO_TOTAL, totals);
+        return charges.size();
+    }
+
+    private Object[] chargeRow(RoomNight roomNight, String chargeType, String description, double amount,
+                               LocalDate businessDate, LocalDateTime now) {
+        return new Object[]{
+                roomNight.folioId(), chargeType, description + roomNight.roomName() + " on " + businessDate,
+                roomNight.roomName(), 1, amount, amount, Timestamp.valueOf(now), roomNight.roomId(),
+                java.sql.Date.valueOf(businessDate)
+        };
+    }
+
+    private record RoomNight(Long bookingId, LocalDate firstNight, Long folioId, String folioStatus,
+                             Long roomId, String roomName, String price) {
+        RoomNight withFolioId(Long newFolioId) {
+            return new RoomNight(bookingId, firstNight, newFolioId, FolioStatus.OPEN.name(), roomId, roomName, price);
+        }
+    }
+
+    /**
+     * Tracks finished chunks and advances the persisted checkpoint only across a contiguous prefix,
+     * since chunks finish out of order on the worker pool.
+     */
+    private class Checkpoint {
+        private final NightAuditRun run;
+        private final List<List<Long>> chunks;
+        private final boolean[] completed;
+        private int nextChunk;
+        private long lastBookingId;
+        private int postedCharges;
+
+        Checkpoint(NightAuditRun run, List<List<Long>> chunks) {
+            this.run = run;
+            this.chunks = chunks;
+            this.completed = new boolean[chunks.size()];
+            this.lastBookingId = run.getLastBookingId();
+            this.postedCharges = run.getPostedCharges();
+        }
+
+        synchronized void complete(int chunkIndex, int posted) {
+            completed[chunkIndex] = true;
+            postedCharges += posted;
+            boolean advanced = false;
+            while (nextChunk < completed.length && completed[nextChunk]) {
+                List<Long> chunk = chunks.get(nextChunk);
+                lastBookingId = chunk.get(chunk.size() - 1);
+                nextChunk++;
+                advanced = true;
+            }
+            if (advanced) {
+                nightAuditRunRepository.updateCheckpoint(run.getId(), lastBookingId, postedCharges);
+            }
+        }
+    }
+}
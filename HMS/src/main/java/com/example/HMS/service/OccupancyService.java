@@ -0,0 +1,14 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.OccupancyCubeDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OccupancyService {
+    void refreshBooking(Long bookingId);
+
+    int rebuild();
+
+    List<OccupancyCubeDTO> getOccupancy(LocalDate startDate, LocalDate endDate);
+}
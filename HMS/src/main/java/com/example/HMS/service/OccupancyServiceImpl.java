@@ -0,0 +1,215 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.OccupancyCubeDTO;
+import com.example.HMS.model.*;
+import com.example.HMS.repository.BookingsRepository;
+import com.example.HMS.repository.OccupancyCubeRepository;
+import com.example.HMS.repository.RoomBookingsRepository;
+import com.example.HMS.repository.StayNightRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the stay-night fact table and the occupancy cube built from it. When a booking changes,
+ * its old nights are subtracted from the cube, replaced, and the new nights added back, so the cube
+ * never needs a full recount. Each delta is one atomic upsert on the cell's unique key, applied in key
+ * order so concurrent refreshes touching the same cells lock them in the same order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OccupancyServiceImpl implements OccupancyService {
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final String UPSERT_CELL =
+            "INSERT INTO occupancy_cube (stay_date, room_type, source, nights_sold, room_revenue, bookings) " +
+                    "VALUES (?, ?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE nights_sold = nights_sold + ?, room_revenue = room_revenue + ?, " +
+                    "bookings = bookings + ?";
+    private static final Comparator<CubeKey> KEY_ORDER = Comparator.comparing(CubeKey::stayDate)
+            .thenComparing(key -> OccupancyCube.keyColumn(key.roomType()))
+            .thenComparing(key -> OccupancyCube.keyColumn(key.source()));
+
+    private final StayNightRepository stayNightRepository;
+    private final OccupancyCubeRepository occupancyCubeRepository;
+    private final BookingsRepository bookingsRepository;
+    private final RoomBookingsRepository roomBookingsRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void refreshBooking(Long bookingId) {
+        List<StayNight> previous = stayNightRepository.findByBookingId(bookingId);
+        Map<CubeKey, Delta> deltas = new HashMap<>();
+        accumulate(deltas, previous, -1);
+        stayNightRepository.deleteByBookingId(bookingId);
+
+        Optional<Bookings> booking = bookingsRepository.findById(Math.toIntExact(bookingId));
+        if (booking.isPresent()) {
+            List<StayNight> facts = buildFacts(booking.get(), roomBookingsRepository.findByBookingsId(bookingId));
+            stayNightRepository.saveAll(facts);
+            accumulate(deltas, facts, 1);
+        }
+        applyDeltas(deltas);
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        occupancyCubeRepository.deleteAllInBatch();
+        stayNightRepository.deleteAllInBatch();
+
+        Map<CubeKey, Delta> cube = new HashMap<>();
+        int factCount = 0;
+        int page = 0;
+        Page<Bookings> bookings;
+        do {
+            bookings = bookingsRepository.findAll(PageRequest.of(page++, REBUILD_PAGE_SIZE, Sort.by("id")));
+            List<Long> bookingIds = bookings.stream().map(Bookings::getId).toList();
+            Map<Long, List<RoomBookings>> roomsByBooking = roomBookingsRepository.findByBookingsIdIn(bookingIds).stream()
+                    .collect(Collectors.groupingBy(roomBooking -> roomBooking.getBookings().getId()));
+
+            List<StayNight> facts = new ArrayList<>();
+            for (Bookings booking : bookings) {
+                facts.addAll(buildFacts(booking, roomsByBooking.getOrDefault(booking.getId(), List.of())));
+            }
+            stayNightRepository.saveAll(facts);
+            accumulate(cube, facts, 1);
+            factCount += facts.size();
+        } while (bookings.hasNext());
+
+        List<OccupancyCube> cells = new ArrayList<>();
+        cube.forEach((key, delta) -> cells.add(OccupancyCube.builder()
+                .stayDate(key.stayDate())
+                .roomType(key.roomType())
+                .source(key.source())
+                .nightsSold(delta.nights)
+                .roomRevenue(delta.revenue)
+                .bookings(delta.bookings)
+                .build()));
+        occupancyCubeRepository.saveAll(cells);
+        log.info("Occupancy cube rebuilt from {} stay nights into {} cells", factCount, cells.size());
+        return cells.size();
+    }
+
+    @Override
+    public List<OccupancyCubeDTO> getOccupancy(LocalDate startDate, LocalDate endDate) {
+        return occupancyCubeRepository.findByStayDateBetweenOrderByStayDateAsc(startDate, endDate).stream()
+                .map(cell -> OccupancyCubeDTO.builder()
+                        .stayDate(cell.getStayDate())
+                        .roomType(cell.getRoomType())
+                        .source(cell.getSource())
+                        .nightsSold(cell.getNightsSold())
+                        .roomRevenue(cell.getRoomRevenue())
+                        .bookings(cell.getBookings())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private List<StayNight> buildFacts(Bookings booking, List<RoomBookings> roomBookings) {
+        if (booking.getStartDate() == null
+                || booking.getStatus() == BookingStatus.CANCELLED
+                || booking.getStatus() == BookingStatus.REJECTED) {
+            return List.of();
+        }
+
+        LocalDate firstNight = toLocalDate(booking.getStartDate());
+        // Khách trả phòng sớm thì chỉ tính đến ngày trả phòng thực tế
+        LocalDate departure = booking.getStatus() == BookingStatus.CHECKOUT && booking.getCheckOutTime() != null
+                ? booking.getCheckOutTime().toLocalDate()
+                : booking.getEndDate() != null ? toLocalDate(booking.getEndDate()) : firstNight;
+        if (!departure.isAfter(firstNight)) {
+            departure = firstNight.plusDays(1);
+        }
+
+        List<StayNight> facts = new ArrayList<>();
+        if (roomBookings.isEmpty()) {
+            facts.add(StayNight.builder()
+                    .bookingId(booking.getId())
+                    .stayDate(firstNight)
+                    .roomType(booking.getRoomType())
+                    .source(booking.getSource())
+                    .arrival(true)
+                    .build());
+            return facts;
+        }
+
+        boolean arrival = true;
+        for (RoomBookings roomBooking : roomBookings) {
+            Room room = roomBooking.getRoom();
+            double price = room.getPrice() != null ? Double.parseDouble(room.getPrice()) : 0;
+            for (LocalDate night = firstNight; night.isBefore(departure); night = night.plusDays(1)) {
+                facts.add(StayNight.builder()
+                        .bookingId(booking.getId())
+                        .roomId(room.getId())
+                        .stayDate(night)
+                        .roomType(room.getRoomType())
+                        .source(booking.getSource())
+                        .roomRevenue(price)
+                        .arrival(arrival)
+                        .build());
+                arrival = false;
+            }
+        }
+        return facts;
+    }
+
+    private void accumulate(Map<CubeKey, Delta> deltas, List<StayNight> facts, int sign) {
+        for (StayNight fact : facts) {
+            Delta delta = deltas.computeIfAbsent(new CubeKey(fact.getStayDate(), fact.getRoomType(), fact.getSource()),
+                    key -> new Delta());
+            if (fact.getRoomId() != null) {
+                delta.nights += sign;
+            }
+            delta.revenue += sign * fact.getRoomRevenue();
+            if (fact.isArrival()) {
+                delta.bookings += sign;
+            }
+        }
+    }
+
+    private void applyDeltas(Map<CubeKey, Delta> deltas) {
+        List<Object[]> rows = new ArrayList<>();
+        deltas.entrySet().stream()
+                .filter(entry -> !entry.getValue().isEmpty())
+                .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                .forEach(entry -> {
+                    CubeKey key = entry.getKey();
+                    Delta delta = entry.getValue();
+                    rows.add(new Object[]{key.stayDate(), OccupancyCube.keyColumn(key.roomType()),
+                            OccupancyCube.keyColumn(key.source()), delta.nights, delta.revenue, delta.bookings,
+                            delta.nights, delta.revenue, delta.bookings});
+                });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_CELL, rows);
+        }
+    }
+
+    private LocalDate toLocalDate(Date date) {
+        return Instant.ofEpochMilli(date.getTime()).atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private record CubeKey(LocalDate stayDate, RoomType roomType, BookingSource source) {
+    }
+
+    private static class Delta {
+        private long nights;
+        private double revenue;
+        private long bookings;
+
+        private boolean isEmpty() {
+            return nights == 0 && revenue == 0 && bookings == 0;
+        }
+    }
+}
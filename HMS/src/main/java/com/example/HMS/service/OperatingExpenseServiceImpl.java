@@ -1,6 +1,7 @@
 package com.example.HMS.service;
 
 import com.example.HMS.dto.OperatingExpenseDTO;
+import com.example.HMS.mapper.FinanceMapper;
 import com.example.HMS.model.ExpenseStatus;
 import com.example.HMS.model.ExpenseType;
 import com.example.HMS.model.OperatingExpenses;
@@ -17,6 +18,7 @@ import java.util.Optional;
 public class OperatingExpenseServiceImpl implements OperatingExpenseService {
 
     private final OperatingExpenseRepository expenseRepository;
+    private final FinanceMapper financeMapper;
 
     @Override
     public OperatingExpenseDTO createExpense(OperatingExpenseDTO expenseDTO) {
@@ -31,7 +33,7 @@ public class OperatingExpenseServiceImpl implements OperatingExpenseService {
                 .build();
 
         OperatingExpenses savedExpense = expenseRepository.save(expense);
-        return mapToDTO(savedExpense);
+        return financeMapper.toDto(savedExpense);
     }
 
     @Override
@@ -46,13 +48,13 @@ public class OperatingExpenseServiceImpl implements OperatingExpenseService {
         }
 
         Page<OperatingExpenses> expenses = expenseRepository.searchExpenses(provider, type, pageable);
-        return expenses.map(this::mapToDTO);
+        return expenses.map(financeMapper::toDto);
     }
 
 
     @Override
     public Optional<OperatingExpenseDTO> getExpenseById(Long id) {
-        return expenseRepository.findById(id).map(this::mapToDTO);
+        return expenseRepository.findById(id).map(financeMapper::toDto);
     }
 
     @Override
@@ -69,7 +71,7 @@ public class OperatingExpenseServiceImpl implements OperatingExpenseService {
         expense.setCreatedAt(expenseDTO.getCreatedAt());
 
         OperatingExpenses updatedExpense = expenseRepository.save(expense);
-        return mapToDTO(updatedExpense);
+        return financeMapper.toDto(updatedExpense);
     }
 
     @Override
@@ -87,19 +89,6 @@ public class OperatingExpenseServiceImpl implements OperatingExpenseService {
 
         expense.setStatus(ExpenseStatus.valueOf(status));
         OperatingExpenses updatedExpense = expenseRepository.save(expense);
-        return mapToDTO(updatedExpense);
-    }
-
-    private OperatingExpenseDTO mapToDTO(OperatingExpenses expense) {
-        return OperatingExpenseDTO.builder()
-                .id(expense.getId())
-                .expenseType(expense.getExpenseType())
-                .status(expense.getStatus())
-                .description(expense.getDescription())
-                .amount(expense.getAmount())
-                .provider(expense.getProvider())
-                .dueDate(expense.getDueDate())
-                .createdAt(expense.getCreatedAt())
-                .build();
+        return financeMapper.toDto(updatedExpense);
     }
 }
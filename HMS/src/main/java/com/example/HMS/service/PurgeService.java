@@ -0,0 +1,11 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.PurgeResultDTO;
+
+import java.util.List;
+
+public interface PurgeService {
+    List<PurgeResultDTO> purgeExpired();
+
+    List<PurgeResultDTO> getLastResults();
+}
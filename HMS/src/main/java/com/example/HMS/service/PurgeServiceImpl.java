@@ -0,0 +1,131 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.PurgeResultDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes expired rows in small keyed chunks. Each chunk selects a batch of ids through the expiry index
+ * and deletes them by primary key in its own short transaction, then pauses, so only the rows being
+ * removed are ever locked. A run stops after {@code max-chunks-per-run} chunks per table and the next
+ * run continues where it left off.
+ */
+@Slf4j
+@Service
+public class PurgeServiceImpl implements PurgeService {
+    private static final List<PurgeTarget> TARGETS = List.of(
+            new PurgeTarget("access_tokens", "expires_at"),
+            new PurgeTarget("otps", "expires_at"),
+            new PurgeTarget("password_reset_token", "expiry_date"),
+            new PurgeTarget("token_blacklist", "expiration"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final int chunkSize;
+    private final long pauseMs;
+    private final int maxChunksPerRun;
+    private final long retentionMinutes;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile List<PurgeResultDTO> lastResults = List.of();
+
+    public PurgeServiceImpl(JdbcTemplate jdbcTemplate,
+                            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                            @Value("${app.purge.chunk-size:500}") int chunkSize,
+                            @Value("${app.purge.pause-ms:50}") long pauseMs,
+                            @Value("${app.purge.max-chunks-per-run:200}") int maxChunksPerRun,
+                            @Value("${app.purge.retention-minutes:60}") long retentionMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    @Override
+    public List<PurgeResultDTO> purgeExpired() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Purge already running, skipping");
+            return lastResults;
+        }
+        try {
+            // Giữ lại một khoảng sau khi hết hạn để khách vẫn nhận được thông báo "expired" thay vì "invalid"
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes));
+            List<PurgeResultDTO> results = new ArrayList<>();
+            for (PurgeTarget target : TARGETS) {
+                results.add(purge(target, cutoff));
+            }
+            lastResults = results;
+            return results;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public List<PurgeResultDTO> getLastResults() {
+        return lastResults;
+    }
+
+    private PurgeResultDTO purge(PurgeTarget target, Timestamp cutoff) {
+        long start = System.nanoTime();
+        String selectIds = "SELECT id FROM " + target.table() + " WHERE " + target.expiryColumn() + " < ? ORDER BY id LIMIT ?";
+        String deleteIds = "DELETE FROM " + target.table() + " WHERE id IN (:ids)";
+
+        long deleted = 0;
+        int chunks = 0;
+        boolean completed = false;
+        while (chunks < maxChunksPerRun) {
+            List<Long> ids = jdbcTemplate.queryForList(selectIds, Long.class, cutoff, chunkSize);
+            if (ids.isEmpty()) {
+                completed = true;
+                break;
+            }
+            deleted += namedParameterJdbcTemplate.update(deleteIds, Map.of("ids", ids));
+            chunks++;
+            if (ids.size() < chunkSize) {
+                completed = true;
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        PurgeResultDTO result = PurgeResultDTO.builder()
+                .table(target.table())
+                .rowsDeleted(deleted)
+                .chunks(chunks)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .completed(completed)
+                .finishedAt(LocalDateTime.now())
+                .build();
+        log.info("Purged {} expired rows from {} in {} chunks, {} ms{}", result.getRowsDeleted(), result.getTable(),
+                result.getChunks(), result.getElapsedMs(), completed ? "" : " (more left for next run)");
+        return result;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record PurgeTarget(String table, String expiryColumn) {
+    }
+}
@@ -23,6 +23,7 @@ public class RoomAllocationServiceImpl implements RoomAllocationService {
     private final BookingsRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final RoomBookingsRepository roomBookingRepository;
+    private final OccupancyService occupancyService;
 
     @Override
     @Transactional
@@ -105,6 +106,7 @@ public class RoomAllocationServiceImpl implements RoomAllocationService {
         booking.setTotalPrice(totalPrice);
         booking.setRoomNumber(allocatedRooms.size());
         bookingRepository.save(booking);
+        occupancyService.refreshBooking(booking.getId());
 
         AllocationResponseDTO response = new AllocationResponseDTO();
         response.setBookingId(booking.getId());
@@ -163,6 +165,7 @@ public class RoomAllocationServiceImpl implements RoomAllocationService {
         booking.setTotalPrice(totalPrice);
         booking.setRoomNumber(allocatedRooms.size());
         bookingRepository.save(booking);
+        occupancyService.refreshBooking(booking.getId());
 
         AllocationResponseDTO response = new AllocationResponseDTO();
         response.setBookingId(booking.getId());
@@ -216,6 +219,7 @@ public class RoomAllocationServiceImpl implements RoomAllocationService {
         booking.setTotalPrice(booking.getTotalPrice() + additionalPrice);
         booking.setRoomNumber(booking.getRoomNumber() + 1);
         bookingRepository.save(booking);
+        occupancyService.refreshBooking(booking.getId());
 
         return mapRoomBookingToDTO(savedRoomBooking);
     }
@@ -239,6 +243,7 @@ public class RoomAllocationServiceImpl implements RoomAllocationService {
         booking.setTotalPrice(Math.max(0, booking.getTotalPrice() - priceReduction));
         booking.setRoomNumber(booking.getRoomNumber() - 1);
         bookingRepository.save(booking);
+        occupancyService.refreshBooking(booking.getId());
     }
 
     @Override
@@ -275,6 +280,7 @@ public class RoomAllocationServiceImpl implements RoomAllocationService {
         int priceDifference = (Integer.parseInt(newRoom.getPrice()) - Integer.parseInt(oldRoom.getPrice())) * days;
         booking.setTotalPrice(booking.getTotalPrice() + priceDifference);
         bookingRepository.save(booking);
+        occupancyService.refreshBooking(booking.getId());
     }
 
     private RoomDTO mapRoomToDTO(Room room) {
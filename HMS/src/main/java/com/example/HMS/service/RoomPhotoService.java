@@ -0,0 +1,14 @@
+package com.example.HMS.service;
+
+import com.example.HMS.model.Room;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+public interface RoomPhotoService {
+    void store(Room room, MultipartFile image);
+
+    void deleteAll(Long roomId);
+
+    Path resolveVariant(Long roomId, String fileName);
+}
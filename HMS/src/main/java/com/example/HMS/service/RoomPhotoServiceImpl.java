@@ -0,0 +1,180 @@
+package com.example.HMS.service;
+
+import com.example.HMS.model.Room;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.*;
+import javax.imageio.stream.FileImageOutputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Stores a room photo and, at upload time, the resized JPEG variants that the front end actually
+ * downloads. Variant file names carry a hash of the uploaded bytes, so a URL never points at different
+ * content and can be cached by browsers forever. The original is kept next to the variants.
+ */
+@Slf4j
+@Service
+public class RoomPhotoServiceImpl implements RoomPhotoService {
+    private static final Pattern VARIANT_NAME = Pattern.compile("[0-9a-f]{16}-\\d{1,5}\\.jpg");
+    private static final String VARIANTS_DIR = "variants";
+
+    private final Path photosDir;
+    private final List<Integer> widths;
+    private final float jpegQuality;
+
+    public RoomPhotoServiceImpl(@Value("${app.room-photos.dir:../room-photos/}") String photosDir,
+                                @Value("${app.room-photos.widths:320,640,1280}") List<Integer> widths,
+                                @Value("${app.room-photos.jpeg-quality:0.82}") float jpegQuality) {
+        this.photosDir = Paths.get(photosDir).toAbsolutePath().normalize();
+        this.widths = widths.stream().sorted().toList();
+        this.jpegQuality = jpegQuality;
+    }
+
+    @Override
+    public void store(Room room, MultipartFile image) {
+        String fileName = StringUtils.cleanPath(image.getOriginalFilename());
+        if (fileName.contains("..") || fileName.contains("/")) {
+            throw new RuntimeException("Invalid file name: " + fileName);
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] bytes = image.getBytes();
+            String hash = hash(bytes);
+            // Giải mã trước khi xoá ảnh cũ, file không phải ảnh thì ảnh hiện tại vẫn giữ nguyên
+            BufferedImage source = decode(bytes, widths.get(widths.size() - 1));
+
+            Path roomDir = roomDir(room.getId());
+            Path variantsDir = roomDir.resolve(VARIANTS_DIR);
+            FileSystemUtils.deleteRecursively(roomDir);
+            Files.createDirectories(variantsDir);
+            Files.write(roomDir.resolve(fileName), bytes);
+
+            List<Integer> produced = new ArrayList<>();
+            for (int width : widths) {
+                // Không phóng to ảnh nhỏ, các cỡ lớn hơn ảnh gốc gộp thành một biến thể
+                int target = Math.min(width, source.getWidth());
+                if (!produced.isEmpty() && target <= produced.get(produced.size() - 1)) {
+                    break;
+                }
+                writeJpeg(scale(source, target), variantsDir.resolve(hash + "-" + target + ".jpg"));
+                produced.add(target);
+            }
+
+            room.setImage(fileName);
+            room.setImageHash(hash);
+            room.setImageWidths(produced.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            log.debug("Stored photo for room {} with variants {} in {} ms", room.getId(), produced,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not store file", e);
+        }
+    }
+
+    @Override
+    public void deleteAll(Long roomId) {
+        try {
+            FileSystemUtils.deleteRecursively(roomDir(roomId));
+        } catch (IOException e) {
+            log.warn("Could not delete room image directory for room {}: {}", roomId, e.getMessage());
+        }
+    }
+
+    @Override
+    public Path resolveVariant(Long roomId, String fileName) {
+        if (!VARIANT_NAME.matcher(fileName).matches()) {
+            return null;
+        }
+        Path file = roomDir(roomId).resolve(VARIANTS_DIR).resolve(fileName);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    private Path roomDir(Long roomId) {
+        return photosDir.resolve(String.valueOf(roomId));
+    }
+
+    // Ảnh máy ảnh rất lớn: giải mã có lấy mẫu thưa để không phải nạp cả ảnh gốc vào bộ nhớ
+    private BufferedImage decode(byte[] bytes, int maxWidth) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new RuntimeException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, reader.getWidth(0) / (maxWidth * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Thu nhỏ dần mỗi lần tối đa một nửa để ảnh không bị răng cưa; nền trắng thay cho kênh alpha
+    private BufferedImage scale(BufferedImage source, int width) {
+        int height = Math.max(1, Math.round(source.getHeight() * (float) width / source.getWidth()));
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, currentWidth, currentHeight);
+            graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            graphics.dispose();
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+        try (ImageOutputStream output = new FileImageOutputStream(file.toFile())) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.HMS.service;
 
+import com.example.HMS.dto.RoomDTO;
 import com.example.HMS.model.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,7 +19,9 @@ public interface RoomService {
     List<RoomBookings> getRoomBookings(Long roomId);
     List<Room> findAvailableRooms(Date startDate, Date endDate);
     List<Room> findAvailableRoomsByType(Date startDate, Date endDate, RoomType roomType);
+    List<RoomDTO> searchAvailableRooms(Date startDate, Date endDate, RoomType roomType);
     Room updateRoomStatus(Long roomId, RoomStatus status);
     Page<Room> getOneRoomPerRoomType(Pageable pageable);
+    Page<RoomDTO> getRoomTypeShowcase(Pageable pageable);
     boolean areEnoughRoomsAvailable(Date startDate, Date endDate, RoomType roomType, int numberOfRooms);
 }
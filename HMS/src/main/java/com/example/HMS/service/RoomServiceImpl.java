@@ -1,23 +1,26 @@
 package com.example.HMS.service;
 
+import com.example.HMS.config.CacheConfig;
+import com.example.HMS.dto.RoomDTO;
+import com.example.HMS.mapper.RoomMapper;
 import com.example.HMS.model.*;
 import com.example.HMS.exception.ResourceNotFoundException;
 import com.example.HMS.repository.AmenityRepository;
 import com.example.HMS.repository.RoomAmenityRepository;
 import com.example.HMS.repository.RoomBookingsRepository;
 import com.example.HMS.repository.RoomRepository;
-import com.example.HMS.utils.FileUploadUtil;
+import com.example.HMS.utils.AvailabilityCoalescer;
+import com.example.HMS.utils.RoomStatusChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.*;
 
 @Service
@@ -27,7 +30,10 @@ public class RoomServiceImpl implements RoomService {
     private final RoomBookingsRepository roomBookingsRepository;
     private final AmenityRepository amenityRepository;
     private final RoomAmenityRepository roomAmenityRepository;
-    private static final String ROOM_PHOTOS_DIR = "../room-photos/";
+    private final RoomMapper roomMapper;
+    private final RoomPhotoService roomPhotoService;
+    private final AvailabilityCoalescer availabilityCoalescer;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Page<Room> getAllRooms(int pageNo, int pageSize) {
@@ -47,24 +53,19 @@ public class RoomServiceImpl implements RoomService {
                 .orElseThrow(() -> new ResourceNotFoundException("Room not found with id " + roomId));
 
         room.setRoomStatus(status);
-        return roomRepository.save(room);
+        Room savedRoom = roomRepository.save(room);
+        eventPublisher.publishEvent(RoomStatusChangedEvent.of(savedRoom));
+        return savedRoom;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ROOM_TYPES, allEntries = true)
     public Room createRoom(Room room, MultipartFile image, List<Long> amenityIds, List<Integer> quantities) {
         Room savedRoom = roomRepository.save(room);
 
         if (image != null && !image.isEmpty()) {
-            try {
-                String fileName = StringUtils.cleanPath(image.getOriginalFilename());
-                savedRoom.setImage(fileName);
-                savedRoom = roomRepository.save(savedRoom);
-
-                String uploadDir = ROOM_PHOTOS_DIR + savedRoom.getId();
-                FileUploadUtil.saveFile(uploadDir, fileName, image);
-            } catch (IOException e) {
-                throw new RuntimeException("Could not store file", e);
-            }
+            roomPhotoService.store(savedRoom, image);
+            savedRoom = roomRepository.save(savedRoom);
         }
 
         if (amenityIds != null && quantities != null && amenityIds.size() == quantities.size()) {
@@ -85,12 +86,15 @@ public class RoomServiceImpl implements RoomService {
             }
         }
 
+        eventPublisher.publishEvent(RoomStatusChangedEvent.of(savedRoom));
         return savedRoom;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ROOM_TYPES, allEntries = true)
     public Room updateRoom(Long id, Room roomDetails, MultipartFile image, List<Long> amenityIds, List<Integer> quantities) {
         Room room = getRoomById(id);
+        RoomStatus previousStatus = room.getRoomStatus();
 
         room.setRoomName(roomDetails.getRoomName());
         room.setDescription(roomDetails.getDescription());
@@ -100,22 +104,13 @@ public class RoomServiceImpl implements RoomService {
         room.setRoomStatus(roomDetails.getRoomStatus());
 
         if (image != null && !image.isEmpty()) {
-            try {
-                String fileName = StringUtils.cleanPath(image.getOriginalFilename());
-                String uploadDir = ROOM_PHOTOS_DIR + id;
-
-                if (room.getImage() != null && !room.getImage().isEmpty()) {
-                    FileUploadUtil.cleanDir(uploadDir);
-                }
-
-                room.setImage(fileName);
-                FileUploadUtil.saveFile(uploadDir, fileName, image);
-            } catch (IOException e) {
-                throw new RuntimeException("Could not store file", e);
-            }
+            roomPhotoService.store(room, image);
         }
 
         Room updatedRoom = roomRepository.save(room);
+        if (updatedRoom.getRoomStatus() != previousStatus) {
+            eventPublisher.publishEvent(RoomStatusChangedEvent.of(updatedRoom));
+        }
 
         if (amenityIds != null && quantities != null && amenityIds.size() == quantities.size()) {
 
@@ -143,18 +138,14 @@ public class RoomServiceImpl implements RoomService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ROOM_TYPES, allEntries = true)
     public void deleteRoom(Long id) {
         Room room = getRoomById(id);
 
-        String uploadDir = ROOM_PHOTOS_DIR + id;
-        try {
-            FileUploadUtil.cleanDir(uploadDir);
-            Files.deleteIfExists(Paths.get(uploadDir));
-        } catch (IOException e) {
-            System.err.println("Could not delete room image directory: " + e.getMessage());
-        }
+        roomPhotoService.deleteAll(id);
 
         roomRepository.delete(room);
+        eventPublisher.publishEvent(RoomStatusChangedEvent.removed(room));
     }
 
     @Override
@@ -185,18 +176,37 @@ public class RoomServiceImpl implements RoomService {
         return roomRepository.findAvailableRoomsByType(startDate, endDate, roomType);
     }
 
+    // Nhiều khách tìm cùng khoảng ngày cùng lúc thì chỉ một request chạy anti-join, các request khác dùng chung kết quả
+    @Override
+    public List<RoomDTO> searchAvailableRooms(Date startDate, Date endDate, RoomType roomType) {
+        validateDateRange(startDate, endDate);
+        return availabilityCoalescer.search(startDate, endDate, roomType, () ->
+                findAvailableRoomsByType(startDate, endDate, roomType).stream()
+                        .map(roomMapper::toDtoWithAmenities)
+                        .toList());
+    }
+
     @Override
     public Page<Room> getOneRoomPerRoomType(Pageable pageable) {
         return roomRepository.findOneRoomPerRoomType(pageable);
     }
 
+    // Trang chủ chỉ hiển thị thông tin loại phòng nên cache DTO, không cache entity còn lazy collection
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ROOM_TYPES, sync = true)
+    public Page<RoomDTO> getRoomTypeShowcase(Pageable pageable) {
+        return roomRepository.findOneRoomPerRoomType(pageable).map(roomMapper::toDto);
+    }
+
     @Override
     public boolean areEnoughRoomsAvailable(Date startDate, Date endDate, RoomType roomType, int numberOfRooms) {
         if (startDate == null || endDate == null || roomType == null || numberOfRooms <= 0) {
             return false;
         }
-        List<Room> availableRooms = findAvailableRoomsByType(startDate, endDate, roomType);
-        return availableRooms.size() >= numberOfRooms;
+        validateDateRange(startDate, endDate);
+        int availableRooms = availabilityCoalescer.count(startDate, endDate, roomType,
+                () -> roomRepository.findAvailableRoomsByType(startDate, endDate, roomType).size());
+        return availableRooms >= numberOfRooms;
     }
 
     private void validateDateRange(Date startDate, Date endDate) {
@@ -1,15 +1,18 @@
 package com.example.HMS.service;
 
 import com.example.HMS.dto.SalaryDTO;
+import com.example.HMS.mapper.FinanceMapper;
 import com.example.HMS.model.Employee;
 import com.example.HMS.model.ExpenseStatus;
 import com.example.HMS.model.Salary;
+import com.example.HMS.repository.BulkInsertRepository;
 import com.example.HMS.repository.EmployeeRepository;
 import com.example.HMS.repository.SalaryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,8 +24,11 @@ import java.util.stream.Collectors;
 public class SalaryserviceImpl implements SalaryService{
     private final SalaryRepository salaryRepository;
     private final EmployeeRepository employeeRepository;
+    private final BulkInsertRepository bulkInsertRepository;
+    private final FinanceMapper financeMapper;
 
     @Override
+    @Transactional
     public List<SalaryDTO> createSalariesForAllEmployees() {
         List<Employee> employees = employeeRepository.findAll();
 
@@ -34,9 +40,9 @@ public class SalaryserviceImpl implements SalaryService{
                 .build()
         ).collect(Collectors.toList());
 
-        List<Salary> savedSalaries = salaryRepository.saveAll(salaries);
+        List<Salary> savedSalaries = bulkInsertRepository.insertSalaries(salaries);
 
-        return savedSalaries.stream().map(this::mapToDTO).collect(Collectors.toList());
+        return savedSalaries.stream().map(financeMapper::toDto).collect(Collectors.toList());
     }
 
 
@@ -49,12 +55,12 @@ public class SalaryserviceImpl implements SalaryService{
         } else {
             salaries = salaryRepository.findAll(pageable);
         }
-        return salaries.map(this::mapToDTO);
+        return salaries.map(financeMapper::toDto);
     }
 
     @Override
     public Optional<SalaryDTO> getSalaryById(Long id) {
-        return salaryRepository.findById(id).map(this::mapToDTO);
+        return salaryRepository.findById(id).map(financeMapper::toDto);
     }
 
     @Override
@@ -71,7 +77,7 @@ public class SalaryserviceImpl implements SalaryService{
         salary.setStatus(salaryDTO.getStatus());
 
         Salary updatedSalary = salaryRepository.save(salary);
-        return mapToDTO(updatedSalary);
+        return financeMapper.toDto(updatedSalary);
     }
 
     @Override
@@ -92,24 +98,12 @@ public class SalaryserviceImpl implements SalaryService{
             salary.setPayTime(LocalDateTime.now());
         }
         Salary updatedSalary = salaryRepository.save(salary);
-        return mapToDTO(updatedSalary);
+        return financeMapper.toDto(updatedSalary);
     }
 
     @Override
     public Page<SalaryDTO> getMySalaries(Long employeeId, Pageable pageable) {
         Page<Salary> salaries = salaryRepository.findByEmployeeId(employeeId, pageable);
-        return salaries.map(this::mapToDTO);
-    }
-
-    private SalaryDTO mapToDTO(Salary salary) {
-        return SalaryDTO.builder()
-                .id(salary.getId())
-                .employeeId(salary.getEmployee().getId())
-                .employeeName(salary.getEmployee().getFullName())
-                .payTime(salary.getPayTime())
-                .amount(salary.getAmount())
-                .status(salary.getStatus())
-                .createdAt(salary.getCreatedAt())
-                .build();
+        return salaries.map(financeMapper::toDto);
     }
 }
@@ -9,6 +9,8 @@ import com.example.HMS.model.WorkSchedule;
 import com.example.HMS.repository.EmployeeRepository;
 import com.example.HMS.repository.WorkScheduleRepository;
 import com.google.ortools.sat.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
@@ -25,6 +27,8 @@ import java.util.stream.Collectors;
 public class ScheduleServiceImpl implements ScheduleService {
     private final EmployeeRepository employeeRepository;
     private final WorkScheduleRepository workScheduleRepository;
+    private final WorkScheduleWriter workScheduleWriter;
+    private final MeterRegistry meterRegistry;
 
     private static final String[] SHIFTS = {"morning", "afternoon", "night", "rest"};
     private static final String[] POSITIONS = {"receptionist", "housekeeping", "maintenance", "waiter", "chef", "security", "pos_service"};
@@ -120,7 +124,13 @@ public class ScheduleServiceImpl implements ScheduleService {
         }
 
         CpSolver solver = new CpSolver();
+        Timer.Sample solveSample = Timer.start(meterRegistry);
         CpSolverStatus status = solver.solve(model);
+        solveSample.stop(Timer.builder("hms.ortools.solve")
+                .tag("model", "work_schedule")
+                .tag("status", status.name())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry));
         if (status == CpSolverStatus.OPTIMAL || status == CpSolverStatus.FEASIBLE) {
             List<WorkSchedule> schedules = new ArrayList<>();
             try {
@@ -129,8 +139,6 @@ public class ScheduleServiceImpl implements ScheduleService {
                     System.out.println("Cảnh báo: Đã tồn tại " + existingSchedules.size() + " lịch trong khoảng thời gian này.");
                 }
 
-                workScheduleRepository.deleteByDateBetween(startDate, endDate);
-
                 for (Employee emp : employees) {
                     for (LocalDate date : days) {
                         BoolVar[] vars = shiftVars.get(emp.getPosition()).get(date).get(emp.getId());
@@ -148,7 +156,7 @@ public class ScheduleServiceImpl implements ScheduleService {
                     }
                 }
 
-                workScheduleRepository.saveAll(schedules);
+                workScheduleWriter.replaceWeek(startDate, endDate, schedules);
             } catch (ObjectOptimisticLockingFailureException e) {
                 throw new RuntimeException("Xung đột dữ liệu: Lịch làm việc đã bị thay đổi bởi giao dịch khác. Vui lòng thử lại.", e);
             }
@@ -3,6 +3,7 @@ package com.example.HMS.service;
 import com.example.HMS.dto.ServiceRequestDTO;
 import com.example.HMS.exception.AccessDeniedException;
 import com.example.HMS.exception.ResourceNotFoundException;
+import com.example.HMS.mapper.ServiceMapper;
 import com.example.HMS.model.*;
 import com.example.HMS.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -26,8 +27,9 @@ public class ServiceRequestServiceImpl implements ServiceRequestService {
     private final CustomerRepository customerRepository;
     private final ServiceUsageRepository serviceUsageRepository;
     private final AccessTokenRepository accessTokenRepository;
-    private final OTPRepository otpRepository;
+    private final GuestAccessService guestAccessService;
     private final JavaMailSender mailSender;
+    private final ServiceMapper serviceMapper;
 
     @Override
     public ServiceRequestDTO createRequest(ServiceRequestDTO requestDTO, Long customerId) {
@@ -84,7 +86,7 @@ public class ServiceRequestServiceImpl implements ServiceRequestService {
             sendGuestConfirmationEmail(guestEmail, savedRequest, newToken, guestName);
         }
 
-        return convertToDTO(savedRequest);
+        return serviceMapper.toDto(savedRequest);
     }
 
     private void sendConfirmationEmail(String email, ServiceRequest request, String fullName) {
@@ -123,7 +125,7 @@ public class ServiceRequestServiceImpl implements ServiceRequestService {
         Page<ServiceRequest> requests = status != null
                 ? requestRepository.findByBookingCustomerIdAndStatus(customerId, status, pageable)
                 : requestRepository.findByBookingCustomerId(customerId, pageable);
-        return requests.map(this::convertToDTO);
+        return requests.map(serviceMapper::toDto);
     }
 
     @Override
@@ -136,20 +138,10 @@ public class ServiceRequestServiceImpl implements ServiceRequestService {
                 throw new RuntimeException("You are not authorized to view this request");
             }
         } else {
-            if (token == null) {
-                throw new RuntimeException("Token is required for guest users");
-            }
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, id, "SERVICE_REQUEST")
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-            if (!accessToken.getGuestEmail().equals(request.getGuestEmail())) {
-                throw new RuntimeException("Unauthorized access");
-            }
+            guestAccessService.requireGuestAccess(token, id, "SERVICE_REQUEST", request.getGuestEmail());
         }
 
-        return convertToDTO(request);
+        return serviceMapper.toDto(request);
     }
 
     @Override
@@ -162,20 +154,7 @@ public class ServiceRequestServiceImpl implements ServiceRequestService {
                 throw new RuntimeException("You are not authorized to cancel this request");
             }
         } else {
-            if (token == null) {
-                throw new RuntimeException("Token is required for guest users");
-            }
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, id, "SERVICE_REQUEST")
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-            boolean hasValidOTP = otpRepository.findByRequestIdAndRequestTypeAndIsUsed(id, "SERVICE_REQUEST", true)
-                    .stream().anyMatch(otp -> otp.getGuestEmail().equals(request.getGuestEmail()) &&
-                            !otp.getExpiresAt().isBefore(LocalDateTime.now()));
-            if (!hasValidOTP) {
-                throw new RuntimeException("No valid OTP found");
-            }
+            guestAccessService.requireVerifiedGuest(token, id, "SERVICE_REQUEST", request.getGuestEmail());
         }
 
         if (request.getStatus() != ServiceRequestStatus.PENDING) {
@@ -196,20 +175,7 @@ public class ServiceRequestServiceImpl implements ServiceRequestService {
                 throw new RuntimeException("You are not authorized to update this request");
             }
         } else {
-            if (token == null) {
-                throw new RuntimeException("Token is required for guest users");
-            }
-            AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, id, "SERVICE_REQUEST")
-                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-            if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-                throw new RuntimeException("Token has expired");
-            }
-            boolean hasValidOTP = otpRepository.findByRequestIdAndRequestTypeAndIsUsed(id, "SERVICE_REQUEST", true)
-                    .stream().anyMatch(otp -> otp.getGuestEmail().equals(request.getGuestEmail()) &&
-                            !otp.getExpiresAt().isBefore(LocalDateTime.now()));
-            if (!hasValidOTP) {
-                throw new RuntimeException("No valid OTP found");
-            }
+            guestAccessService.requireVerifiedGuest(token, id, "SERVICE_REQUEST", request.getGuestEmail());
         }
 
         Services service = serviceRepository.findById(requestDTO.getServiceId())
@@ -224,84 +190,36 @@ public class ServiceRequestServiceImpl implements ServiceRequestService {
         }
 
         ServiceRequest updatedRequest = requestRepository.save(request);
-        return convertToDTO(updatedRequest);
+        return serviceMapper.toDto(updatedRequest);
     }
 
     @Override
     public void requestOTP(Long requestId, String token) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, requestId, "SERVICE_REQUEST")
-                .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
-
-        String otp = generateRandomOTP(6);
-        OTP otpEntity = OTP.builder()
-                .otp(otp)
-                .guestEmail(accessToken.getGuestEmail())
-                .requestId(requestId)
-                .requestType("SERVICE_REQUEST")
-                .expiresAt(LocalDateTime.now().plusHours(1))
-                .isUsed(false)
-                .build();
-        otpRepository.save(otpEntity);
-
-        sendOTPToEmail(accessToken.getGuestEmail(), otp);
-    }
-
-    private String generateRandomOTP(int length) {
-        return String.valueOf((int) ((Math.random() * 9 + 1) * Math.pow(10, length - 1)));
-    }
-
-    private void sendOTPToEmail(String email, String otp) {
-        SimpleMailMessage mail = new SimpleMailMessage();
-        mail.setTo(email);
-        mail.setSubject("Your OTP Code");
-        mail.setText("Your OTP code is: " + otp + "\nIt is valid for 60 minutes.");
-        mailSender.send(mail);
+        guestAccessService.requestOTP(requestId, token, "SERVICE_REQUEST");
     }
 
     @Override
     public void verifyOTP(Long requestId, String token, String otp) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, requestId, "SERVICE_REQUEST")
-                .orElseThrow(() -> new RuntimeException("Invalid token"));
-        if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("Token has expired");
-        }
-
-        OTP otpEntity = otpRepository.findByOtpAndRequestIdAndRequestType(otp, requestId, "SERVICE_REQUEST")
-                .orElseThrow(() -> new RuntimeException("Invalid OTP"));
-        if (otpEntity.getExpiresAt().isBefore(LocalDateTime.now()) || otpEntity.isUsed()) {
-            throw new RuntimeException("OTP has expired or already used");
-        }
-
-        otpEntity.setUsed(true);
-        otpRepository.save(otpEntity);
+        guestAccessService.verifyOTP(requestId, token, "SERVICE_REQUEST", otp);
     }
 
     @Override
     public boolean checkOTPStatus(Long requestId, String token) {
-        AccessToken accessToken = accessTokenRepository.findByTokenAndRequestIdAndRequestType(token, requestId, "SERVICE_REQUEST")
-                .orElseThrow(() -> new RuntimeException("Invalid token"));
-        if (accessToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new RuntimeException("Token has expired");
-        }
-
-        return otpRepository.findByRequestIdAndRequestTypeAndIsUsed(requestId, "SERVICE_REQUEST", true)
-                .stream()
-                .anyMatch(otp -> otp.getGuestEmail().equals(accessToken.getGuestEmail()) &&
-                        !otp.getExpiresAt().isBefore(LocalDateTime.now()));
+        return guestAccessService.checkOTPStatus(requestId, token, "SERVICE_REQUEST");
     }
 
 
     @Override
     public Page<ServiceRequestDTO> getAllRequests(String serviceName, Pageable pageable) {
         Page<ServiceRequest> requests = requestRepository.findWithFilters(serviceName, pageable);
-        return requests.map(this::convertToDTO);
+        return requests.map(serviceMapper::toDto);
     }
 
     @Override
     public ServiceRequestDTO getRequestByIdAdmin(Long id) {
         ServiceRequest request = requestRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Request not found"));
-        return convertToDTO(request);
+        return serviceMapper.toDto(request);
     }
 
     @Override
@@ -322,24 +240,6 @@ public class ServiceRequestServiceImpl implements ServiceRequestService {
             serviceUsageRepository.save(serviceUsage);
         }
 
-        return convertToDTO(request);
-    }
-
-    private ServiceRequestDTO convertToDTO(ServiceRequest request) {
-        ServiceRequestDTO dto = new ServiceRequestDTO();
-        dto.setId(request.getId());
-        dto.setCustomerId(request.getCustomer() != null ? request.getCustomer().getId() : null);
-        dto.setCustomerName(request.getCustomer() != null ? request.getCustomer().getFullName() : request.getGuestName());
-        dto.setBookingId(request.getBooking().getId());
-        dto.setServiceId(request.getService().getId());
-        dto.setServiceName(request.getService().getServiceName());
-        dto.setQuantity(request.getQuantity());
-        dto.setTotalAmount(request.getTotalAmount());
-        dto.setStatus(request.getStatus());
-        dto.setNotes(request.getNotes());
-        dto.setGuestName(request.getGuestName());
-        dto.setGuestEmail(request.getGuestEmail());
-        dto.setCreatedAt(request.getCreatedAt());
-        return dto;
+        return serviceMapper.toDto(request);
     }
 }
@@ -1,11 +1,15 @@
 package com.example.HMS.service;
 
+import com.example.HMS.config.CacheConfig;
 import com.example.HMS.dto.ServiceDTO;
 import com.example.HMS.exception.ResourceNotFoundException;
+import com.example.HMS.mapper.ServiceMapper;
 import com.example.HMS.model.Services;
 import com.example.HMS.repository.ServiceRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
@@ -14,8 +18,10 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ServiceServiceImpl implements ServiceService{
     private final ServiceRepository serviceRepository;
+    private final ServiceMapper serviceMapper;
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true)
     @Transactional
     public ServiceDTO createService(ServiceDTO serviceDTO) {
         Services service = new Services();
@@ -25,10 +31,11 @@ public class ServiceServiceImpl implements ServiceService{
         service.setServiceType(serviceDTO.getServiceType());
 
         service = serviceRepository.save(service);
-        return convertToDTO(service);
+        return serviceMapper.toDto(service);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true)
     @Transactional
     public ServiceDTO updateService(Long id, ServiceDTO serviceDTO) {
         Services service = serviceRepository.findById(id)
@@ -40,10 +47,11 @@ public class ServiceServiceImpl implements ServiceService{
         service.setServiceType(serviceDTO.getServiceType());
 
         service = serviceRepository.save(service);
-        return convertToDTO(service);
+        return serviceMapper.toDto(service);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.SERVICES, allEntries = true)
     @Transactional
     public void deleteService(Long id) {
         if (!serviceRepository.existsById(id)) {
@@ -53,13 +61,15 @@ public class ServiceServiceImpl implements ServiceService{
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.SERVICES, sync = true)
     public ServiceDTO getServiceById(Long id) {
         Services service = serviceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Service not found with id: " + id));
-        return convertToDTO(service);
+        return serviceMapper.toDto(service);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.SERVICES, sync = true)
     public Page<ServiceDTO> getServices(String serviceName, String serviceType, int page) {
         PageRequest pageRequest = PageRequest.of(page, 15);
         Page<Services> services;
@@ -70,16 +80,6 @@ public class ServiceServiceImpl implements ServiceService{
             services = serviceRepository.findAll(pageRequest);
         }
 
-        return services.map(this::convertToDTO);
-    }
-
-    private ServiceDTO convertToDTO(Services service) {
-        ServiceDTO dto = new ServiceDTO();
-        dto.setId(service.getId());
-        dto.setServiceName(service.getServiceName());
-        dto.setServiceDescription(service.getServiceDescription());
-        dto.setServicePrice(service.getServicePrice());
-        dto.setServiceType(service.getServiceType());
-        return dto;
+        return services.map(serviceMapper::toDto);
     }
 }
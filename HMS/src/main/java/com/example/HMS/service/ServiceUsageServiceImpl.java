@@ -1,6 +1,7 @@
 package com.example.HMS.service;
 
 import com.example.HMS.dto.ServiceUsageDTO;
+import com.example.HMS.mapper.ServiceMapper;
 import com.example.HMS.model.Bookings;
 import com.example.HMS.model.ServiceUsage;
 import com.example.HMS.model.Services;
@@ -19,6 +20,8 @@ public class ServiceUsageServiceImpl implements ServiceUsageService{
     private final BookingsRepository bookingsRepository;
     private final ServiceRepository serviceRepository;
     private final ServiceUsageRepository serviceUsageRepository;
+    private final FolioPostingService folioPostingService;
+    private final ServiceMapper serviceMapper;
 
     @Override
     @Transactional
@@ -43,7 +46,8 @@ public class ServiceUsageServiceImpl implements ServiceUsageService{
         serviceUsage.setTimestamp(LocalDateTime.now());
 
         serviceUsage = serviceUsageRepository.save(serviceUsage);
-        return convertToDTO(serviceUsage);
+        folioPostingService.postServiceCharge(serviceUsage);
+        return serviceMapper.toDto(serviceUsage);
     }
 
     @Override
@@ -65,13 +69,16 @@ public class ServiceUsageServiceImpl implements ServiceUsageService{
             throw new RuntimeException("Invalid total price. Expected: " + expectedTotalPrice);
         }
 
+        folioPostingService.reverseServiceCharge(serviceUsage);
+
         serviceUsage.setServices(service);
         serviceUsage.setQuantity(serviceUsageDTO.getQuantity());
         serviceUsage.setTotalPrice(serviceUsageDTO.getTotalPrice());
         serviceUsage.setTimestamp(LocalDateTime.now());
 
         serviceUsage = serviceUsageRepository.save(serviceUsage);
-        return convertToDTO(serviceUsage);
+        folioPostingService.postServiceCharge(serviceUsage);
+        return serviceMapper.toDto(serviceUsage);
     }
 
     @Override
@@ -84,17 +91,7 @@ public class ServiceUsageServiceImpl implements ServiceUsageService{
             throw new RuntimeException("Service usage does not belong to the specified booking");
         }
 
+        folioPostingService.reverseServiceCharge(serviceUsage);
         serviceUsageRepository.deleteById(id);
     }
-
-    private ServiceUsageDTO convertToDTO(ServiceUsage serviceUsage) {
-        ServiceUsageDTO dto = new ServiceUsageDTO();
-        dto.setId(serviceUsage.getId());
-        dto.setServiceId(serviceUsage.getServices().getId());
-        dto.setServiceName(serviceUsage.getServices().getServiceName());
-        dto.setQuantity(serviceUsage.getQuantity());
-        dto.setTotalPrice(serviceUsage.getTotalPrice());
-        dto.setTimestamp(serviceUsage.getTimestamp());
-        return dto;
-    }
 }
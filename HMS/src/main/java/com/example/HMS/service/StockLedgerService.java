@@ -0,0 +1,13 @@
+package com.example.HMS.service;
+
+import com.example.HMS.model.Inventory;
+import com.example.HMS.model.StockMovement;
+
+import java.util.List;
+
+public interface StockLedgerService {
+    void post(List<StockMovement> movements);
+    void recordOpening(List<Inventory> inventories);
+    int adjustTo(Inventory lockedInventory, int quantity);
+    int takeSnapshots();
+}
@@ -0,0 +1,178 @@
+package com.example.HMS.service;
+
+import com.example.HMS.model.Inventory;
+import com.example.HMS.model.StockMovement;
+import com.example.HMS.model.StockMovementReason;
+import com.example.HMS.repository.BulkInsertRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps inventory quantities as an append-only ledger of stock movements. {@code inventory.inventory_quantity}
+ * is the counter every read uses; it is only changed by adding the net delta of a batch of movements in SQL,
+ * in the same transaction that inserts them, so concurrent receipts never overwrite each other and the counter
+ * always equals the item's snapshot plus the movements after it. Snapshots are folded forward periodically and
+ * the counters are checked against the ledger at the same time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockLedgerServiceImpl implements StockLedgerService {
+    private static final String APPLY_DELTA =
+            "UPDATE inventory SET inventory_quantity = inventory_quantity + ? WHERE id = ?";
+    private static final String NEGATIVE_QUANTITIES =
+            "SELECT inventory_name FROM inventory WHERE id IN (:ids) AND inventory_quantity < 0";
+    private static final String SETTLED_WATERMARK =
+            "SELECT MAX(id) FROM stock_movement WHERE created_at < ?";
+    private static final String UNSNAPSHOTTED_DELTAS =
+            "SELECT m.inventory_id, SUM(m.quantity_delta) AS delta, s.last_movement_id " +
+            "FROM stock_movement m LEFT JOIN stock_snapshot s ON s.inventory_id = m.inventory_id " +
+            "WHERE m.id <= ? AND m.id > COALESCE(s.last_movement_id, 0) " +
+            "GROUP BY m.inventory_id, s.last_movement_id";
+    private static final String ADVANCE_SNAPSHOT =
+            "UPDATE stock_snapshot SET quantity = quantity + ?, last_movement_id = ?, taken_at = ? " +
+            "WHERE inventory_id = ? AND last_movement_id = ?";
+    private static final String INSERT_SNAPSHOT =
+            "INSERT INTO stock_snapshot (inventory_id, quantity, last_movement_id, taken_at) VALUES (?, ?, ?, ?)";
+    private static final String DRIFTED_COUNTERS =
+            "SELECT i.id FROM inventory i " +
+            "LEFT JOIN stock_snapshot s ON s.inventory_id = i.id " +
+            "LEFT JOIN stock_movement m ON m.inventory_id = i.id AND m.id > COALESCE(s.last_movement_id, 0) " +
+            "GROUP BY i.id, i.inventory_quantity, s.quantity " +
+            "HAVING i.inventory_quantity <> COALESCE(s.quantity, 0) + COALESCE(SUM(m.quantity_delta), 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final BulkInsertRepository bulkInsertRepository;
+
+    // Chỉ gộp vào snapshot các dòng cũ hơn khoảng này: id tự tăng được cấp trước khi commit, nên một giao dịch
+    // đang chạy có thể commit id nhỏ hơn id đã thấy
+    @Value("${app.stock-ledger.settle-ms:300000}")
+    private long settleMs;
+
+    @Override
+    @Transactional
+    public void post(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Cộng dồn theo mặt hàng; cập nhật theo thứ tự id để hai phiếu cùng mặt hàng không khoá chéo nhau
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (StockMovement movement : movements) {
+            if (movement.getCreatedAt() == null) {
+                movement.setCreatedAt(now);
+            }
+            deltas.merge(movement.getInventory().getId(), movement.getQuantityDelta(), Integer::sum);
+        }
+        bulkInsertRepository.insertStockMovements(movements);
+
+        List<Object[]> updates = new ArrayList<>();
+        deltas.forEach((inventoryId, delta) -> {
+            if (delta != 0) {
+                updates.add(new Object[]{delta, inventoryId});
+            }
+        });
+        if (updates.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(APPLY_DELTA, updates);
+
+        // Các dòng vừa cập nhật đang bị khoá bởi giao dịch này nên kiểm tra sau khi cộng là đủ; âm thì rollback cả phiếu
+        List<String> negative = namedParameterJdbcTemplate.queryForList(NEGATIVE_QUANTITIES,
+                new MapSqlParameterSource("ids", deltas.keySet()), String.class);
+        if (!negative.isEmpty()) {
+            throw new RuntimeException("Insufficient inventory quantity for " + String.join(", ", negative));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recordOpening(List<Inventory> inventories) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockMovement> openings = inventories.stream()
+                .filter(inventory -> inventory.getInventoryQuantity() != 0)
+                .map(inventory -> movement(inventory, inventory.getInventoryQuantity(), StockMovementReason.OPENING, now))
+                .toList();
+        bulkInsertRepository.insertStockMovements(openings);
+    }
+
+    @Override
+    @Transactional
+    public int adjustTo(Inventory lockedInventory, int quantity) {
+        if (quantity < 0) {
+            throw new RuntimeException("Quantity cannot be negative");
+        }
+        int delta = quantity - lockedInventory.getInventoryQuantity();
+        if (delta != 0) {
+            post(List.of(movement(lockedInventory, delta, StockMovementReason.ADJUSTMENT, LocalDateTime.now())));
+            // Cột không được JPA ghi lại; chỉ cập nhật bản trong bộ nhớ cho response
+            lockedInventory.setInventoryQuantity(quantity);
+        }
+        return quantity;
+    }
+
+    @Override
+    @Transactional
+    public int takeSnapshots() {
+        LocalDateTime now = LocalDateTime.now();
+        Long watermark = jdbcTemplate.queryForObject(SETTLED_WATERMARK, Long.class,
+                Timestamp.valueOf(now.minusNanos(settleMs * 1_000_000)));
+        int snapshotted = 0;
+        if (watermark != null) {
+            List<Object[]> advances = new ArrayList<>();
+            List<Object[]> inserts = new ArrayList<>();
+            jdbcTemplate.query(UNSNAPSHOTTED_DELTAS, rs -> {
+                long inventoryId = rs.getLong("inventory_id");
+                int delta = rs.getInt("delta");
+                long lastMovementId = rs.getLong("last_movement_id");
+                if (rs.wasNull()) {
+                    inserts.add(new Object[]{inventoryId, delta, watermark, Timestamp.valueOf(now)});
+                } else {
+                    advances.add(new Object[]{delta, watermark, Timestamp.valueOf(now), inventoryId, lastMovementId});
+                }
+            }, watermark);
+            // Điều kiện last_movement_id cũ giúp hai lần chạy đồng thời không cộng một khoảng hai lần
+            int[] advanced = jdbcTemplate.batchUpdate(ADVANCE_SNAPSHOT, advances);
+            for (int count : advanced) {
+                if (count == 0) {
+                    throw new IllegalStateException("Stock snapshot advanced concurrently, retry later");
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, inserts);
+            snapshotted = advances.size() + inserts.size();
+            if (snapshotted > 0) {
+                log.info("Stock snapshots advanced to movement {}: {} items", watermark, snapshotted);
+            }
+        }
+
+        List<Long> drifted = jdbcTemplate.queryForList(DRIFTED_COUNTERS, Long.class);
+        if (!drifted.isEmpty()) {
+            log.warn("Inventory counters differ from the stock ledger for {} items, e.g. {}", drifted.size(),
+                    drifted.subList(0, Math.min(10, drifted.size())));
+        }
+        return snapshotted;
+    }
+
+    private static StockMovement movement(Inventory inventory, int delta, StockMovementReason reason, LocalDateTime now) {
+        return StockMovement.builder()
+                .inventory(inventory)
+                .quantityDelta(delta)
+                .reason(reason)
+                .createdAt(now)
+                .build();
+    }
+}
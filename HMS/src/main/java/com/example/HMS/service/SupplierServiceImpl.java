@@ -1,11 +1,14 @@
 package com.example.HMS.service;
 
+import com.example.HMS.config.CacheConfig;
 import com.example.HMS.dto.SupplierDTO;
+import com.example.HMS.mapper.InventoryMapper;
 import com.example.HMS.model.Supplier;
 import com.example.HMS.repository.SupplierRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -14,9 +17,10 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class SupplierServiceImpl implements SupplierService{
     private final SupplierRepository supplierRepository;
-    private final ModelMapper modelMapper;
+    private final InventoryMapper inventoryMapper;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.SUPPLIERS, sync = true)
     public Page<SupplierDTO> getSuppliers(String name, Pageable pageable) {
         Page<Supplier> suppliers;
         if (name != null && !name.isEmpty()) {
@@ -24,17 +28,19 @@ public class SupplierServiceImpl implements SupplierService{
         } else {
             suppliers = supplierRepository.findAll(pageable);
         }
-        return suppliers.map(supplier -> modelMapper.map(supplier, SupplierDTO.class));
+        return suppliers.map(inventoryMapper::toDto);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.SUPPLIERS, sync = true)
     public SupplierDTO getSupplierById(Long id) {
         Supplier supplier = supplierRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Supplier not found"));
-        return modelMapper.map(supplier, SupplierDTO.class);
+        return inventoryMapper.toDto(supplier);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
     @Transactional
     public SupplierDTO createSupplier(SupplierDTO supplierDTO) {
         Supplier supplier = new Supplier();
@@ -42,10 +48,11 @@ public class SupplierServiceImpl implements SupplierService{
         supplier.setSupplierAddress(supplierDTO.getSupplierAddress());
         supplier.setSupplierPhone(supplierDTO.getSupplierPhone());
         Supplier savedSupplier = supplierRepository.save(supplier);
-        return modelMapper.map(savedSupplier, SupplierDTO.class);
+        return inventoryMapper.toDto(savedSupplier);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
     @Transactional
     public SupplierDTO updateSupplier(Long id, SupplierDTO supplierDTO) {
         Supplier existingSupplier = supplierRepository.findById(id)
@@ -56,10 +63,11 @@ public class SupplierServiceImpl implements SupplierService{
         existingSupplier.setSupplierPhone(supplierDTO.getSupplierPhone());
 
         Supplier updatedSupplier = supplierRepository.save(existingSupplier);
-        return modelMapper.map(updatedSupplier, SupplierDTO.class);
+        return inventoryMapper.toDto(updatedSupplier);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true)
     @Transactional
     public void deleteSupplier(Long id) {
         Supplier supplier = supplierRepository.findById(id)
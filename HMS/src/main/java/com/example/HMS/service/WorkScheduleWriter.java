@@ -0,0 +1,29 @@
+package com.example.HMS.service;
+
+import com.example.HMS.model.WorkSchedule;
+import com.example.HMS.repository.BulkInsertRepository;
+import com.example.HMS.repository.WorkScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Writes a solved week of shifts. Kept out of {@link ScheduleServiceImpl} so the transaction covers only the
+ * writes and not the solver run before them.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkScheduleWriter {
+    private final WorkScheduleRepository workScheduleRepository;
+    private final BulkInsertRepository bulkInsertRepository;
+
+    // Xoá lịch cũ và ghi cả tuần trong một transaction, chèn theo lô thay vì từng dòng
+    @Transactional
+    public List<WorkSchedule> replaceWeek(LocalDate startDate, LocalDate endDate, List<WorkSchedule> schedules) {
+        workScheduleRepository.deleteByDateBetween(startDate, endDate);
+        return bulkInsertRepository.insertWorkSchedules(schedules);
+    }
+}
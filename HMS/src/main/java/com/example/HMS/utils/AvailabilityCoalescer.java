@@ -0,0 +1,61 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.dto.RoomDTO;
+import com.example.HMS.model.RoomType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Shares availability results between identical concurrent searches, keyed by (start, end, room type), and
+ * keeps each result for a few hundred milliseconds to absorb bursts. {@link AvailabilityInvalidationListener}
+ * drops every key whose range overlaps a booking that was just written.
+ */
+@Component
+public class AvailabilityCoalescer {
+    private final SingleFlight<AvailabilityKey, List<RoomDTO>> searches;
+    private final SingleFlight<AvailabilityKey, Integer> counts;
+
+    public AvailabilityCoalescer(@Value("${app.availability.coalesce-ttl-ms:300}") long ttlMs) {
+        this.searches = new SingleFlight<>(ttlMs);
+        this.counts = new SingleFlight<>(ttlMs);
+    }
+
+    // Danh sách trả về dùng chung cho mọi request đang chờ nên không được sửa
+    public List<RoomDTO> search(Date startDate, Date endDate, RoomType roomType, Supplier<List<RoomDTO>> loader) {
+        return searches.get(AvailabilityKey.of(startDate, endDate, roomType), () -> List.copyOf(loader.get()));
+    }
+
+    public int count(Date startDate, Date endDate, RoomType roomType, Supplier<Integer> loader) {
+        return counts.get(AvailabilityKey.of(startDate, endDate, roomType), loader);
+    }
+
+    /**
+     * Drops every key a booking over {@code [startDate, endDate]} could change; {@code null} dates drop all keys.
+     */
+    public void invalidate(Date startDate, Date endDate) {
+        if (startDate == null || endDate == null) {
+            searches.invalidate(key -> true);
+            counts.invalidate(key -> true);
+            return;
+        }
+        long start = startDate.getTime();
+        long end = endDate.getTime();
+        searches.invalidate(key -> key.overlaps(start, end));
+        counts.invalidate(key -> key.overlaps(start, end));
+    }
+
+    private record AvailabilityKey(long start, long end, RoomType roomType) {
+        static AvailabilityKey of(Date startDate, Date endDate, RoomType roomType) {
+            return new AvailabilityKey(startDate.getTime(), endDate.getTime(), roomType);
+        }
+
+        // Cùng điều kiện chồng lấn với truy vấn findAvailableRooms
+        boolean overlaps(long bookingStart, long bookingEnd) {
+            return bookingStart <= end && bookingEnd >= start;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.model.Bookings;
+import com.example.HMS.model.RoomBookings;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+
+/**
+ * Invalidates coalesced availability results when a booking or room assignment is inserted, updated or
+ * deleted. Invalidation waits for the commit: a search that starts before the commit still sees the old rows
+ * and must not outlive it. Bulk JPQL updates bypass these events; the coalescer's TTL bounds them.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityInvalidationListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final AvailabilityCoalescer availabilityCoalescer;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getEntity());
+        // Đổi ngày thì khoảng cũ cũng được giải phóng
+        if (event.getEntity() instanceof Bookings) {
+            Object[] oldState = event.getOldState();
+            EntityPersister persister = event.getPersister();
+            if (oldState == null) {
+                afterCommit(null, null);
+            } else {
+                afterCommit((Date) oldState[persister.getEntityMetamodel().getPropertyIndex("startDate")],
+                        (Date) oldState[persister.getEntityMetamodel().getPropertyIndex("endDate")]);
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void changed(Object entity) {
+        if (entity instanceof Bookings booking) {
+            afterCommit(booking.getStartDate(), booking.getEndDate());
+        } else if (entity instanceof RoomBookings roomBooking) {
+            // Không nạp booking trong lúc flush; chưa có sẵn ngày thì xoá hết
+            Bookings booking = roomBooking.getBookings();
+            if (booking != null && Hibernate.isInitialized(booking)) {
+                afterCommit(booking.getStartDate(), booking.getEndDate());
+            } else {
+                afterCommit(null, null);
+            }
+        }
+    }
+
+    private void afterCommit(Date startDate, Date endDate) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            availabilityCoalescer.invalidate(startDate, endDate);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                availabilityCoalescer.invalidate(startDate, endDate);
+            }
+        });
+    }
+}
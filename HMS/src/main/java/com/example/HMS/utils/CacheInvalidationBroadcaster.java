@@ -0,0 +1,13 @@
+package com.example.HMS.utils;
+
+/**
+ * Tells the other application instances that a reference-data cache was invalidated on this node.
+ * A single instance needs nothing and uses {@link #NONE}. A multi-instance deployment registers a bean
+ * that publishes the cache name (Redis pub/sub, a message topic, ...). The receiving nodes call
+ * {@link ReferenceDataCacheManager#invalidateLocal(String)}, which does not broadcast again.
+ */
+public interface CacheInvalidationBroadcaster {
+    CacheInvalidationBroadcaster NONE = cacheName -> { };
+
+    void cacheInvalidated(String cacheName);
+}
@@ -0,0 +1,43 @@
+package com.example.HMS.utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers a GET from a version ETag. The ETag is checked against {@code If-None-Match} before the body
+ * supplier runs, so a client with an up-to-date copy gets a 304 without any entity being loaded.
+ */
+public final class ConditionalGet {
+    private ConditionalGet() {
+    }
+
+    public static <T> ResponseEntity<T> respond(String ifNoneMatch, String etag, CacheControl cacheControl,
+                                                Supplier<T> body) {
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body.get());
+    }
+
+    // So sánh yếu theo RFC 9110: bỏ tiền tố W/ ở cả hai phía
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String expected = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.HMS.utils;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Records latency per controller method ({@code hms.controller.requests}) and the SQL statements and
+ * entities the request caused ({@code hms.controller.sql.statements}, {@code hms.controller.entities.loaded}),
+ * each with a percentile histogram. Counts come from {@link QueryCountContext} and cover the whole request,
+ * including the security filters that ran before the handler.
+ */
+public class ControllerMetricsInterceptor implements HandlerInterceptor {
+    private static final String SAMPLE_ATTRIBUTE = ControllerMetricsInterceptor.class.getName() + ".sample";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+
+    public ControllerMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getAttribute(SAMPLE_ATTRIBUTE) == null) {
+            request.setAttribute(SAMPLE_ATTRIBUTE, Timer.start(meterRegistry));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object sample = request.getAttribute(SAMPLE_ATTRIBUTE);
+        if (!(sample instanceof Timer.Sample) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        request.removeAttribute(SAMPLE_ATTRIBUTE);
+        String controller = handlerMethod.getBeanType().getSimpleName();
+        String method = handlerMethod.getMethod().getName();
+
+        ((Timer.Sample) sample).stop(Timer.builder("hms.controller.requests")
+                .tag("controller", controller)
+                .tag("method", method)
+                .tag("status", String.valueOf(response.getStatus()))
+                .tag("exception", ex != null ? ex.getClass().getSimpleName() : "none")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+
+        QueryCountContext.Counts counts = QueryCountContext.current();
+        if (counts != null) {
+            summary("hms.controller.sql.statements", controller, method).record(counts.getStatements());
+            summary("hms.controller.entities.loaded", controller, method).record(counts.getEntities());
+        }
+    }
+
+    private DistributionSummary summary(String name, String controller, String method) {
+        return DistributionSummary.builder(name)
+                .tag("controller", controller)
+                .tag("method", method)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
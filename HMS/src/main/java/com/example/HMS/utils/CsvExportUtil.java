@@ -0,0 +1,43 @@
+package com.example.HMS.utils;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+public class CsvExportUtil {
+
+    @FunctionalInterface
+    public interface ExportBody {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    public static ResponseEntity<StreamingResponseBody> stream(String name, boolean gzip, ExportBody body) {
+        String fileName = name + "-" + LocalDate.now() + (gzip ? ".csv.gz" : ".csv");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+        StreamingResponseBody responseBody = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 16 * 1024);
+                body.writeTo(gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                body.writeTo(outputStream);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(responseBody);
+    }
+}
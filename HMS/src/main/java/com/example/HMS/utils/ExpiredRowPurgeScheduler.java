@@ -0,0 +1,19 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.service.PurgeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ExpiredRowPurgeScheduler {
+
+    private final PurgeService purgeService;
+
+    // Xoá token, OTP, reset token và blacklist đã hết hạn theo từng chunk nhỏ, chạy mỗi vài phút
+    @Scheduled(fixedDelayString = "${app.purge.interval-ms:300000}", initialDelayString = "${app.purge.initial-delay-ms:60000}")
+    public void purgeExpiredRows() {
+        purgeService.purgeExpired();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.HMS.utils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory key/value store where every entry carries its own expiry time. Entries are also filed in
+ * one-second buckets by expiry, so purging drops whole buckets and costs O(1) per expired entry instead
+ * of scanning the map. Reads check the expiry of the entry they touch, so a stale value is never returned
+ * even between purges.
+ */
+public class ExpiringStore<K, V> {
+    private final int maxEntries;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Set<K>> buckets = new ConcurrentSkipListMap<>();
+
+    public ExpiringStore(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        purgeExpired(now);
+        // Khi đầy thì bỏ qua cache, lần sau vẫn đọc từ DB
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+        buckets.computeIfAbsent(Math.floorDiv(expiresAtMillis, 1000) + 1, second -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void purgeExpired() {
+        purgeExpired(System.currentTimeMillis());
+    }
+
+    private void purgeExpired(long now) {
+        long currentSecond = Math.floorDiv(now, 1000);
+        Map.Entry<Long, Set<K>> bucket;
+        while ((bucket = buckets.firstEntry()) != null && bucket.getKey() <= currentSecond) {
+            if (buckets.remove(bucket.getKey(), bucket.getValue())) {
+                for (K key : bucket.getValue()) {
+                    // Key có thể đã được put lại với hạn mới, chỉ xoá khi thật sự hết hạn
+                    entries.computeIfPresent(key, (k, entry) -> entry.expiresAtMillis <= now ? null : entry);
+                }
+            }
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.HMS.utils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes rows in the text format read by MySQL {@code LOAD DATA ... FIELDS TERMINATED BY ','
+ * OPTIONALLY ENCLOSED BY '"' ESCAPED BY '\\' LINES TERMINATED BY '\n'}: NULL is {@code \N} and strings are
+ * quoted with backslash escapes. Unlike {@link CsvWriter} there is no BOM and no spreadsheet formula guard.
+ */
+public class LoadDataFileWriter implements Closeable {
+    public static final String FORMAT =
+            "FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n'";
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Writer writer;
+
+    public LoadDataFileWriter(Path file) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    public void writeRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeValue(values[i]);
+        }
+        writer.write('\n');
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            writer.write("\\N");
+        } else if (value instanceof String text) {
+            writer.write('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '"' -> writer.write("\\\"");
+                    case '\\' -> writer.write("\\\\");
+                    case '\n' -> writer.write("\\n");
+                    case '\r' -> writer.write("\\r");
+                    default -> writer.write(c);
+                }
+            }
+            writer.write('"');
+        } else if (value instanceof LocalDateTime dateTime) {
+            writer.write(DATE_TIME.format(dateTime));
+        } else if (value instanceof Boolean flag) {
+            writer.write(flag ? '1' : '0');
+        } else {
+            writer.write(value.toString());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -1,16 +1,39 @@
 package com.example.HMS.utils;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.nio.file.Paths;
+
 @Configuration
 public class MvcConfig implements WebMvcConfigurer {
 
+    @Value("${app.room-photos.dir:../room-photos/}")
+    private String roomPhotosDir;
+
+    private final MeterRegistry meterRegistry;
+
+    public MvcConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Ảnh gốc giữ nguyên tên file upload nên client phải hỏi lại (304 theo Last-Modified);
+    // các biến thể đã resize được RoomPhotoController phục vụ với cache dài hạn
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/room-photos/**")
-                .addResourceLocations("file:C:/Users/Dao Van Thieu/OneDrive/Desktop/HMS/HMS/room-photos/");
+                .addResourceLocations("file:" + Paths.get(roomPhotosDir).toAbsolutePath().normalize() + "/")
+                .setCacheControl(CacheControl.noCache().cachePublic());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ControllerMetricsInterceptor(meterRegistry));
     }
 
 }
@@ -0,0 +1,37 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.model.NightAuditRun;
+import com.example.HMS.service.NightAuditService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NightAuditScheduler {
+
+    private final NightAuditService nightAuditService;
+
+    // Ngày nào bị lỗi hoặc dừng giữa chừng thì chạy tiếp trước, rồi mới ghi phí phòng của đêm hôm trước
+    @Scheduled(cron = "${app.night-audit.cron:0 0 2 * * *}")
+    public synchronized void runNightAudit() {
+        nightAuditService.resumeUnfinishedRuns();
+        LocalDate businessDate = LocalDate.now().minusDays(1);
+        NightAuditRun run = nightAuditService.runNightAudit(businessDate);
+        log.info("Night audit for {} finished with {} charges posted", businessDate, run.getPostedCharges());
+    }
+
+    // Lần chạy bị ngắt do tắt ứng dụng vẫn ở RUNNING, khởi động lại thì chạy tiếp ngay
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void resumeUnfinishedRuns() {
+        nightAuditService.resumeUnfinishedRuns()
+                .forEach(run -> log.info("Night audit for {} resumed with {} charges posted",
+                        run.getBusinessDate(), run.getPostedCharges()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.repository.BookingsRepository;
+import com.example.HMS.repository.OccupancyCubeRepository;
+import com.example.HMS.service.OccupancyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OccupancyCubeInitializer {
+
+    private final OccupancyCubeRepository occupancyCubeRepository;
+    private final BookingsRepository bookingsRepository;
+    private final OccupancyService occupancyService;
+
+    // Dữ liệu cũ chưa có cube thì dựng lại một lần khi khởi động
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (occupancyCubeRepository.count() == 0 && bookingsRepository.count() > 0) {
+            log.info("Occupancy cube is empty, rebuilding from existing bookings");
+            occupancyService.rebuild();
+        }
+    }
+}
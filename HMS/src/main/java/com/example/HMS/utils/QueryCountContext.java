@@ -0,0 +1,64 @@
+package com.example.HMS.utils;
+
+/**
+ * Per-request counters of the SQL statements, entity loads and lazy collection initializations reported by
+ * {@link QueryCountingInspector} and {@link QueryCountingIntegrator}. Opened by the query count filter; outside a
+ * request nothing is counted.
+ */
+public final class QueryCountContext {
+    private static final ThreadLocal<Counts> COUNTS = new ThreadLocal<>();
+
+    private QueryCountContext() {
+    }
+
+    public static void begin() {
+        COUNTS.set(new Counts());
+    }
+
+    public static Counts current() {
+        return COUNTS.get();
+    }
+
+    public static void clear() {
+        COUNTS.remove();
+    }
+
+    static void statementPrepared() {
+        Counts counts = COUNTS.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        Counts counts = COUNTS.get();
+        if (counts != null) {
+            counts.entities++;
+        }
+    }
+
+    static void collectionLoaded() {
+        Counts counts = COUNTS.get();
+        if (counts != null) {
+            counts.collections++;
+        }
+    }
+
+    public static final class Counts {
+        private long statements;
+        private long entities;
+        private long collections;
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntities() {
+            return entities;
+        }
+
+        public long getCollections() {
+            return collections;
+        }
+    }
+}
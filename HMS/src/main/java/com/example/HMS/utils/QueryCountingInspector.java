@@ -0,0 +1,17 @@
+package com.example.HMS.utils;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares against the current request through {@link QueryCountContext}.
+ * Installed with {@code hibernate.session_factory.statement_inspector}; an inspector that replaces it, e.g. in a
+ * test, should extend this class so the per-request counts keep working.
+ */
+public class QueryCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCountContext.statementPrepared();
+        return sql;
+    }
+}
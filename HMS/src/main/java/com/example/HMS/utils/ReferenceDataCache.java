@@ -0,0 +1,191 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.dto.CacheStatsDTO;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-based cache for reference data that is read on every page view but rarely changes.
+ * Entries are kept in write order; because the TTL is the same for every entry, the oldest write is
+ * also the first to expire and the one dropped when the cache is full. Concurrent misses on the same
+ * key share one load, and a load that started before an eviction is not stored, so an invalidation
+ * can never be undone by a slow reader.
+ */
+public class ReferenceDataCache extends AbstractValueAdaptingCache {
+    private final String name;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Written> writeOrder = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public ReferenceDataCache(String name, int maxEntries, long ttlMs, CacheInvalidationBroadcaster broadcaster) {
+        super(true);
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.broadcaster = broadcaster;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return entry.value;
+        }
+        if (entry != null) {
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object stored = lookup(key);
+        if (stored != null) {
+            return (T) fromStoreValue(stored);
+        }
+
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loading.putIfAbsent(key, created);
+        if (inFlight == null) {
+            long startGeneration = generation.get();
+            long start = System.nanoTime();
+            try {
+                Object value = toStoreValue(valueLoader.call());
+                loads.increment();
+                if (generation.get() == startGeneration) {
+                    store(key, value);
+                }
+                created.complete(value);
+            } catch (Exception ex) {
+                loadFailures.increment();
+                created.completeExceptionally(ex);
+                throw new ValueRetrievalException(key, valueLoader, ex);
+            } finally {
+                loadNanos.add(System.nanoTime() - start);
+                loading.remove(key, created);
+            }
+            return (T) fromStoreValue(created.join());
+        }
+
+        try {
+            return (T) fromStoreValue(inFlight.join());
+        } catch (CompletionException ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store(key, toStoreValue(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+        invalidations.increment();
+        broadcaster.cacheInvalidated(name);
+    }
+
+    @Override
+    public void clear() {
+        invalidateLocal();
+        broadcaster.cacheInvalidated(name);
+    }
+
+    /** Drops every entry without notifying other nodes; used when the invalidation came from another node. */
+    public void invalidateLocal() {
+        generation.incrementAndGet();
+        entries.clear();
+        writeOrder.clear();
+        invalidations.increment();
+    }
+
+    public CacheStatsDTO getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long loadCount = loads.sum() + loadFailures.sum();
+        return CacheStatsDTO.builder()
+                .name(name)
+                .size(entries.size())
+                .maxEntries(maxEntries)
+                .ttlMs(ttlMs)
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRatio(hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount))
+                .loads(loads.sum())
+                .loadFailures(loadFailures.sum())
+                .averageLoadMs(loadCount == 0 ? 0 : loadNanos.sum() / (double) loadCount / TimeUnit.MILLISECONDS.toNanos(1))
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .build();
+    }
+
+    private void store(Object key, Object storeValue) {
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(storeValue, now + ttlMs);
+        entries.put(key, entry);
+        writeOrder.add(new Written(key, entry));
+
+        // Bỏ các bản ghi cũ ở đầu hàng đợi: đã hết hạn, đã bị ghi đè hoặc vượt quá kích thước tối đa
+        Written oldest;
+        while ((oldest = writeOrder.peek()) != null) {
+            boolean current = entries.get(oldest.key()) == oldest.entry();
+            boolean expired = oldest.entry().expiresAt <= now;
+            boolean overflow = entries.size() > maxEntries;
+            if (current && !expired && !overflow) {
+                break;
+            }
+            if (writeOrder.remove(oldest) && current && entries.remove(oldest.key(), oldest.entry()) && !expired) {
+                evictions.increment();
+            }
+        }
+    }
+
+    // So sánh theo identity để không xoá nhầm entry mới ghi cho cùng key
+    private static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private record Written(Object key, Entry entry) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.dto.CacheStatsDTO;
+import com.example.HMS.exception.ResourceNotFoundException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds one {@link ReferenceDataCache} per declared name. Unknown names are not created on the fly, so a
+ * typo in a {@code @Cacheable} fails on the first call of that method (Spring cannot resolve the cache)
+ * instead of silently building an unbounded set of caches.
+ */
+public class ReferenceDataCacheManager extends AbstractTransactionSupportingCacheManager {
+    private final Map<String, ReferenceDataCache> caches = new LinkedHashMap<>();
+
+    public ReferenceDataCacheManager(Collection<String> cacheNames, int maxEntries, long ttlMs,
+                                     CacheInvalidationBroadcaster broadcaster) {
+        for (String cacheName : cacheNames) {
+            caches.put(cacheName, new ReferenceDataCache(cacheName, maxEntries, ttlMs, broadcaster));
+        }
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return caches.values();
+    }
+
+    public void invalidateLocal(String cacheName) {
+        ReferenceDataCache cache = caches.get(cacheName);
+        if (cache == null) {
+            throw new ResourceNotFoundException("Cache not found: " + cacheName);
+        }
+        cache.invalidateLocal();
+    }
+
+    public List<CacheStatsDTO> getStats() {
+        return caches.values().stream().map(ReferenceDataCache::getStats).toList();
+    }
+}
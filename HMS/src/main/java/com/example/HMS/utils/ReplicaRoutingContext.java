@@ -0,0 +1,46 @@
+package com.example.HMS.utils;
+
+/**
+ * Per-request routing state for {@link ReplicaRoutingDataSource}. It is opened by the read-your-writes filter;
+ * outside a request (schedulers, async workers) there is no state and read-only transactions use the replicas.
+ */
+public final class ReplicaRoutingContext {
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void begin(boolean primaryRequired) {
+        State state = new State();
+        state.primaryRequired = primaryRequired;
+        STATE.set(state);
+    }
+
+    public static boolean isPrimaryRequired() {
+        State state = STATE.get();
+        return state != null && state.primaryRequired;
+    }
+
+    // Sau khi ghi, các đọc còn lại của request phải thấy dữ liệu vừa ghi nên chuyển hẳn về primary
+    public static void markWrite() {
+        State state = STATE.get();
+        if (state != null) {
+            state.written = true;
+            state.primaryRequired = true;
+        }
+    }
+
+    public static boolean hasWritten() {
+        State state = STATE.get();
+        return state != null && state.written;
+    }
+
+    public static void clear() {
+        STATE.remove();
+    }
+
+    private static final class State {
+        private boolean primaryRequired;
+        private boolean written;
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.config.RoomStatusStreamProperties;
+import com.example.HMS.dto.RoomStatusDTO;
+import com.example.HMS.repository.RoomRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams room status changes to Server-Sent Events subscribers. A new subscriber receives one {@code snapshot}
+ * event with every room, then a {@code status} event per change committed after it connected (a new room is a
+ * {@code status} event for an unknown id, a deleted one a {@code removed} event). A browser that
+ * reconnects with a {@code Last-Event-ID} still covered by the replay buffer only receives the changes it missed.
+ * <p>
+ * Connections are servlet async requests, so an idle subscriber holds no thread; writes run on a small sender
+ * pool with at most one task per subscriber. A subscriber keeps at most one unsent change per room, so a slow
+ * client gets the latest status rather than every intermediate one and its backlog is bounded by the number of
+ * rooms. A write that blocks for longer than {@code sendTimeoutMs} evicts its subscriber, which catches up on
+ * reconnect; the servlet write cannot be interrupted, so the pool grows by one thread for as long as that write
+ * stays blocked (up to {@code maxPinnedSenders}) and the remaining subscribers keep being served.
+ */
+@Slf4j
+@Component
+public class RoomStatusBroadcaster {
+    private static final String SNAPSHOT = "snapshot";
+    private static final String STATUS = "status";
+    private static final String REMOVED = "removed";
+
+    private final RoomRepository roomRepository;
+    private final RoomStatusStreamProperties properties;
+    private final ThreadPoolExecutor sender;
+    private final SingleFlight<String, List<RoomStatusDTO>> snapshots;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Id sự kiện có tiền tố theo lần khởi động để Last-Event-ID của tiến trình trước không bị hiểu nhầm
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // Ghi dưới khoá this, cùng lúc với việc đăng ký subscriber, để không thay đổi nào lọt giữa snapshot và stream
+    private final ArrayDeque<Change> recent = new ArrayDeque<>();
+    private long sequence;
+    // Số thread đang bị giữ bởi client đã loại và đã được bù vào pool; ghi dưới khoá sender
+    private int pinnedSenders;
+
+    public RoomStatusBroadcaster(RoomRepository roomRepository, RoomStatusStreamProperties properties) {
+        this.roomRepository = roomRepository;
+        this.properties = properties;
+        this.snapshots = new SingleFlight<>(properties.getSnapshotTtlMs());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = properties.getSenderThreads();
+        this.sender = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "room-status-sse-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(properties.getTimeoutMs()));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+
+        long since = parseSequence(lastEventId);
+        long snapshotSequence;
+        synchronized (this) {
+            subscribers.add(subscriber);
+            snapshotSequence = sequence;
+            if (since >= 0 && since <= sequence && since >= sequence - recent.size()) {
+                recent.stream().filter(change -> change.sequence > since).forEach(subscriber::offer);
+                subscriber.start(null, since);
+                return emitter;
+            }
+        }
+        try {
+            subscriber.start(snapshots.get(SNAPSHOT, roomRepository::findAllStatuses), snapshotSequence);
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomStatusChanged(RoomStatusChangedEvent event) {
+        synchronized (this) {
+            Change change = new Change(++sequence, event.room(), event.removed());
+            recent.addLast(change);
+            while (recent.size() > properties.getReplayEvents()) {
+                recent.removeFirst();
+            }
+            // Client kết nối sau thay đổi này không được nhận snapshot đọc trước nó
+            snapshots.invalidate(key -> true);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(change);
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.room-status-stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.room-status-stream.watchdog-ms:1000}")
+    public void evictStalled() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getSendTimeoutMs());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.evictIfStalled(now, timeoutNanos)) {
+                log.debug("Evicted room status subscriber blocked in a write for over {} ms",
+                        properties.getSendTimeoutMs());
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        sender.shutdownNow();
+    }
+
+    // Bù một thread cho lần ghi đang bị treo để các subscriber khác không phải xếp hàng sau nó
+    private boolean pinSender() {
+        synchronized (sender) {
+            if (pinnedSenders >= properties.getMaxPinnedSenders()) {
+                return false;
+            }
+            pinnedSenders++;
+            int threads = properties.getSenderThreads() + pinnedSenders;
+            sender.setMaximumPoolSize(threads);
+            sender.setCorePoolSize(threads);
+            return true;
+        }
+    }
+
+    private void unpinSender() {
+        synchronized (sender) {
+            pinnedSenders--;
+            int threads = properties.getSenderThreads() + pinnedSenders;
+            sender.setCorePoolSize(threads);
+            sender.setMaximumPoolSize(threads);
+        }
+    }
+
+    private long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private record Change(long sequence, RoomStatusDTO room, boolean removed) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+
+        // Các trường dưới đây ghi dưới khoá của subscriber
+        private final LinkedHashMap<Long, Change> pending = new LinkedHashMap<>();
+        private List<RoomStatusDTO> snapshot;
+        private long snapshotSequence;
+        // Chưa có snapshot thì giữ các thay đổi lại, gửi trước snapshot thì client sẽ bị snapshot cũ ghi đè
+        private boolean started;
+        private boolean heartbeatDue;
+        private boolean sending;
+        private boolean closed;
+        // Thời điểm bắt đầu lần ghi đang chạy, 0 khi không ghi; thời gian chờ trong hàng đợi của pool không tính
+        private long writingSince;
+        // Lần ghi đang treo đã được bù một thread, trả lại khi nó kết thúc
+        private boolean pinned;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private synchronized void offer(Change change) {
+            if (closed) {
+                return;
+            }
+            // Chỉ giữ trạng thái mới nhất của mỗi phòng; xoá rồi thêm lại để thứ tự gửi vẫn tăng dần theo id
+            pending.remove(change.room.getId());
+            pending.put(change.room.getId(), change);
+            scheduleIfNeeded();
+        }
+
+        private synchronized void start(List<RoomStatusDTO> snapshot, long sequence) {
+            this.snapshot = snapshot;
+            this.snapshotSequence = sequence;
+            this.started = true;
+            scheduleIfNeeded();
+        }
+
+        private synchronized void heartbeat() {
+            heartbeatDue = true;
+            scheduleIfNeeded();
+        }
+
+        private boolean evictIfStalled(long now, long timeoutNanos) {
+            synchronized (this) {
+                if (closed || writingSince == 0 || now - writingSince < timeoutNanos) {
+                    return false;
+                }
+                pinned = pinSender();
+            }
+            close();
+            return true;
+        }
+
+        private void scheduleIfNeeded() {
+            if (!started || sending || closed || (snapshot == null && pending.isEmpty() && !heartbeatDue)) {
+                return;
+            }
+            sending = true;
+            try {
+                sender.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                sending = false;
+            }
+        }
+
+        private void flush() {
+            while (true) {
+                List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+                synchronized (this) {
+                    if (closed) {
+                        return;
+                    }
+                    if (snapshot != null) {
+                        events.add(SseEmitter.event().id(eventId(snapshotSequence)).name(SNAPSHOT)
+                                .data(snapshot, MediaType.APPLICATION_JSON));
+                        snapshot = null;
+                    }
+                    for (Change change : pending.values()) {
+                        events.add(SseEmitter.event().id(eventId(change.sequence))
+                                .name(change.removed ? REMOVED : STATUS)
+                                .data(change.room, MediaType.APPLICATION_JSON));
+                    }
+                    pending.clear();
+                    // Chỉ cần heartbeat khi không có gì khác để gửi
+                    if (events.isEmpty() && heartbeatDue) {
+                        events.add(SseEmitter.event().comment("heartbeat"));
+                    }
+                    heartbeatDue = false;
+                    if (events.isEmpty()) {
+                        sending = false;
+                        return;
+                    }
+                    writingSince = System.nanoTime();
+                }
+                try {
+                    for (SseEmitter.SseEventBuilder event : events) {
+                        emitter.send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                    return;
+                } finally {
+                    boolean release;
+                    synchronized (this) {
+                        writingSince = 0;
+                        release = pinned;
+                        pinned = false;
+                    }
+                    if (release) {
+                        unpinSender();
+                    }
+                }
+            }
+        }
+
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                snapshot = null;
+                pending.clear();
+            }
+            subscribers.remove(this);
+            try {
+                emitter.complete();
+            } catch (RuntimeException ignored) {
+                // Kết nối đã hỏng hoặc đã đóng
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.dto.RoomStatusDTO;
+import com.example.HMS.model.Room;
+
+/**
+ * Published when a room's status is written, or when a room is added to or removed from the hotel.
+ * {@link RoomStatusBroadcaster} forwards it to the status stream once the transaction commits, so a rolled
+ * back check-in never reaches the board.
+ */
+public record RoomStatusChangedEvent(RoomStatusDTO room, boolean removed) {
+
+    public static RoomStatusChangedEvent of(Room room) {
+        return new RoomStatusChangedEvent(toDto(room), false);
+    }
+
+    public static RoomStatusChangedEvent removed(Room room) {
+        return new RoomStatusChangedEvent(toDto(room), true);
+    }
+
+    private static RoomStatusDTO toDto(Room room) {
+        return new RoomStatusDTO(room.getId(), room.getRoomName(), room.getRoomType(), room.getRoomStatus());
+    }
+}
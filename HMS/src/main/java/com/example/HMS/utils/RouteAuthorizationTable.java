@@ -0,0 +1,306 @@
+package com.example.HMS.utils;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * URL authorization rules compiled into one path trie per HTTP method. The semantics are those of a chain of
+ * {@code requestMatchers}: the first declared rule that matches wins, otherwise the {@code anyRequest} rule.
+ * Instead of testing every rule in order, a request walks the trie of its method once, segment by segment,
+ * keeping the lowest rule index seen, and stops as soon as nothing deeper can beat it.
+ * <p>
+ * Patterns are either an exact path or a {@code prefix/**}; anything richer belongs in {@code @PreAuthorize}.
+ * {@link Builder#build()} rejects a rule that can never be reached because earlier rules cover every method and
+ * path it matches.
+ */
+public class RouteAuthorizationTable implements AuthorizationManager<RequestAuthorizationContext> {
+    private static final int NONE = Integer.MAX_VALUE;
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private final List<Route> routes;
+    private final AuthorizationManager<RequestAuthorizationContext> fallback;
+    private final Map<String, Node> roots;
+    // Method ngoài HttpMethod.values() chỉ khớp được rule không ghi method
+    private final Node otherMethods;
+    private final UrlPathHelper pathHelper = UrlPathHelper.defaultInstance;
+
+    private RouteAuthorizationTable(List<Route> routes, AuthorizationManager<RequestAuthorizationContext> fallback) {
+        this.routes = List.copyOf(routes);
+        this.fallback = fallback;
+        this.roots = new HashMap<>();
+        for (HttpMethod method : HttpMethod.values()) {
+            roots.put(method.name(), compile(method));
+        }
+        this.otherMethods = compile(null);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<Route> routes() {
+        return routes;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        String path = pathHelper.getPathWithinApplication(context.getRequest());
+        Route route = match(context.getRequest().getMethod(), path);
+        return route != null ? route.access.check(authentication, context) : fallback.check(authentication, context);
+    }
+
+    /**
+     * @return the first declared route matching the request, or {@code null} when only {@code anyRequest} applies
+     */
+    public Route match(String method, String path) {
+        Node node = roots.getOrDefault(method, otherMethods);
+        int best = node.prefix;
+        int length = path.length();
+        int start = path.startsWith("/") ? 1 : 0;
+        while (node.below < best) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            Node child = node.child(path, start, end - start);
+            if (child == null) {
+                break;
+            }
+            best = Math.min(best, child.prefix);
+            if (end == length) {
+                best = Math.min(best, child.exact);
+                break;
+            }
+            node = child;
+            start = end + 1;
+        }
+        return best == NONE ? null : routes.get(best);
+    }
+
+    private Node compile(HttpMethod method) {
+        Node root = new Node("");
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            if (route.method != null && !route.method.equals(method)) {
+                continue;
+            }
+            Node node = root;
+            for (String segment : route.segments) {
+                node.below = Math.min(node.below, i);
+                node = node.childOrCreate(segment);
+            }
+            if (route.prefix) {
+                node.prefix = Math.min(node.prefix, i);
+            } else {
+                node.exact = Math.min(node.exact, i);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * One rule of the table; {@code method} is {@code null} when the rule applies to every method.
+     */
+    public record Route(HttpMethod method, String pattern, String description,
+                        AuthorizationManager<RequestAuthorizationContext> access, List<String> segments,
+                        boolean prefix) {
+
+        // earlier phủ mọi path mà rule này khớp; method do nơi gọi kiểm tra, dùng để tìm rule chết lúc build
+        boolean coveredBy(Route earlier) {
+            if (earlier.segments.size() > segments.size()
+                    || !segments.subList(0, earlier.segments.size()).equals(earlier.segments)) {
+                return false;
+            }
+            return earlier.prefix || (!prefix && earlier.segments.size() == segments.size());
+        }
+
+        boolean appliesTo(HttpMethod requestMethod) {
+            return method == null || method.equals(requestMethod);
+        }
+
+        @Override
+        public String toString() {
+            return (method != null ? method.name() + " " : "") + pattern + " " + description;
+        }
+    }
+
+    private static final class Node {
+        private static final Node[] LEAF = new Node[0];
+
+        private final String segment;
+        private final int hash;
+        private Node[] children = LEAF;
+        private int exact = NONE;
+        private int prefix = NONE;
+        // Index nhỏ nhất của mọi rule nằm ở các node con cháu
+        private int below = NONE;
+
+        private Node(String segment) {
+            this.segment = segment;
+            this.hash = segment.hashCode();
+        }
+
+        // So khớp trên chính chuỗi path, không cắt substring cho từng segment; con xếp theo hash để tìm nhị phân
+        private Node child(String path, int offset, int length) {
+            int h = 0;
+            for (int i = offset; i < offset + length; i++) {
+                h = 31 * h + path.charAt(i);
+            }
+            int low = 0;
+            int high = children.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (children[mid].hash < h) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < children.length && children[i].hash == h; i++) {
+                Node child = children[i];
+                if (child.segment.length() == length && path.regionMatches(offset, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        private Node childOrCreate(String segment) {
+            for (Node child : children) {
+                if (child.segment.equals(segment)) {
+                    return child;
+                }
+            }
+            Node child = new Node(segment);
+            int at = 0;
+            while (at < children.length && children[at].hash <= child.hash) {
+                at++;
+            }
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = child;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+            return child;
+        }
+    }
+
+    public static final class Builder {
+        private final List<Route> routes = new ArrayList<>();
+        private AuthorizationManager<RequestAuthorizationContext> fallback = AuthenticatedAuthorizationManager.authenticated();
+
+        private Builder() {
+        }
+
+        public RouteBuilder route(String... patterns) {
+            if (patterns.length == 0) {
+                throw new IllegalArgumentException("A route needs at least one pattern");
+            }
+            return new RouteBuilder(this, null, patterns);
+        }
+
+        public RouteBuilder route(HttpMethod method, String... patterns) {
+            return new RouteBuilder(this, method, patterns.length == 0 ? new String[]{"/**"} : patterns);
+        }
+
+        public RouteBuilder anyRequest() {
+            return new RouteBuilder(this, null, new String[0]);
+        }
+
+        /**
+         * @throws IllegalStateException when a route is shadowed for every method it applies to
+         */
+        public RouteAuthorizationTable build() {
+            List<String> dead = new ArrayList<>();
+            for (int i = 0; i < routes.size(); i++) {
+                Route route = routes.get(i);
+                List<Route> earlier = routes.subList(0, i);
+                List<HttpMethod> methods = route.method != null ? List.of(route.method) : Arrays.asList(HttpMethod.values());
+                boolean reachable = methods.stream().anyMatch(method -> earlier.stream()
+                        .noneMatch(e -> e.appliesTo(method) && route.coveredBy(e)));
+                // Rule không ghi method còn khớp các method lạ mà chỉ rule không ghi method khác phủ được
+                if (!reachable && route.method == null) {
+                    reachable = earlier.stream().noneMatch(e -> e.method == null && route.coveredBy(e));
+                }
+                if (!reachable) {
+                    dead.add(route.toString());
+                }
+            }
+            if (!dead.isEmpty()) {
+                throw new IllegalStateException("Routes shadowed by earlier routes, never reached:\n  "
+                        + String.join("\n  ", dead));
+            }
+            return new RouteAuthorizationTable(routes, fallback);
+        }
+
+        private void add(HttpMethod method, String pattern, String description,
+                         AuthorizationManager<RequestAuthorizationContext> access) {
+            if (!pattern.startsWith("/")) {
+                throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+            }
+            boolean prefix = pattern.endsWith("/**");
+            String path = prefix ? pattern.substring(0, pattern.length() - 3) : pattern;
+            if (path.contains("*") || path.contains("{")) {
+                throw new IllegalArgumentException("Only exact paths and prefix/** are supported: " + pattern);
+            }
+            List<String> segments = path.isEmpty() ? List.of() : List.of(path.substring(1).split("/", -1));
+            routes.add(new Route(method, pattern, description, access, segments, prefix));
+        }
+    }
+
+    public static final class RouteBuilder {
+        private final Builder builder;
+        private final HttpMethod method;
+        private final String[] patterns;
+
+        private RouteBuilder(Builder builder, HttpMethod method, String[] patterns) {
+            this.builder = builder;
+            this.method = method;
+            this.patterns = patterns;
+        }
+
+        public Builder permitAll() {
+            return rule("permitAll", (authentication, context) -> GRANTED);
+        }
+
+        public Builder authenticated() {
+            return rule("authenticated", AuthenticatedAuthorizationManager.authenticated());
+        }
+
+        public Builder hasAuthority(String authority) {
+            return rule("hasAuthority(" + authority + ")", AuthorityAuthorizationManager.hasAuthority(authority));
+        }
+
+        public Builder hasAnyAuthority(String... authorities) {
+            return rule("hasAnyAuthority(" + String.join(", ", authorities) + ")",
+                    AuthorityAuthorizationManager.hasAnyAuthority(authorities));
+        }
+
+        public Builder access(AuthorizationManager<RequestAuthorizationContext> access) {
+            return rule("access(" + access + ")", access);
+        }
+
+        private Builder rule(String description, AuthorizationManager<RequestAuthorizationContext> access) {
+            if (patterns.length == 0) {
+                builder.fallback = access;
+            }
+            for (String pattern : patterns) {
+                builder.add(method, pattern, description, access);
+            }
+            return builder;
+        }
+    }
+}
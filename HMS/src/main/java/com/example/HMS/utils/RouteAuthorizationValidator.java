@@ -0,0 +1,81 @@
+package com.example.HMS.utils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rules shadowed by earlier rules already fail {@link RouteAuthorizationTable.Builder#build()}; this catches the
+ * other kind of dead rule, one whose path matches no endpoint at all (a typo such as {@code /api/follios/**}).
+ * Only a warning, since an endpoint may be removed before its rule.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RouteAuthorizationValidator {
+    private final RouteAuthorizationTable routeAuthorizationTable;
+    private final List<RequestMappingInfoHandlerMapping> handlerMappings;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validate() {
+        List<String> unmatched = findUnmatchedRoutes();
+        if (!unmatched.isEmpty()) {
+            log.warn("Authorization routes matching no endpoint:\n  {}", String.join("\n  ", unmatched));
+        }
+    }
+
+    public List<String> findUnmatchedRoutes() {
+        List<String> unmatched = new ArrayList<>();
+        for (RouteAuthorizationTable.Route route : routeAuthorizationTable.routes()) {
+            // /** khớp mọi thứ, kể cả resource tĩnh không đi qua handler mapping
+            if (route.prefix() && route.segments().isEmpty()) {
+                continue;
+            }
+            boolean matched = handlerMappings.stream()
+                    .flatMap(mapping -> mapping.getHandlerMethods().keySet().stream())
+                    .anyMatch(info -> matches(route, info));
+            if (!matched) {
+                unmatched.add(route.toString());
+            }
+        }
+        return unmatched;
+    }
+
+    private static boolean matches(RouteAuthorizationTable.Route route, RequestMappingInfo info) {
+        Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+        if (route.method() != null && !methods.isEmpty()
+                && methods.stream().noneMatch(method -> method.asHttpMethod().equals(route.method()))) {
+            return false;
+        }
+        return info.getPatternValues().stream().anyMatch(pattern -> matches(route, pattern));
+    }
+
+    // So từng segment; {biến} và ** bên endpoint khớp mọi segment của rule
+    private static boolean matches(RouteAuthorizationTable.Route route, String pattern) {
+        String[] endpoint = pattern.startsWith("/") ? pattern.substring(1).split("/", -1) : pattern.split("/", -1);
+        List<String> segments = route.segments();
+        boolean open = endpoint.length > 0 && endpoint[endpoint.length - 1].equals("**")
+                || endpoint.length > 0 && endpoint[endpoint.length - 1].startsWith("{*");
+        int fixed = open ? endpoint.length - 1 : endpoint.length;
+        int compared = Math.min(fixed, segments.size());
+        for (int i = 0; i < compared; i++) {
+            String segment = endpoint[i];
+            if (!segment.startsWith("{") && !segment.equals("*") && !segment.equals(segments.get(i))) {
+                return false;
+            }
+        }
+        if (route.prefix()) {
+            return fixed >= segments.size() || open;
+        }
+        return fixed == segments.size() || open && fixed <= segments.size();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.HMS.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key onto one load: the first caller runs the loader, callers that
+ * arrive while it runs wait for its result, and callers within {@code ttlMillis} after it finished reuse it.
+ * Failures are handed to the callers that were waiting but never kept. {@link #invalidate} drops matching
+ * keys, including loads still running, so a caller arriving after a write never joins a read that began
+ * before it.
+ */
+public class SingleFlight<K, V> {
+    private static final int SWEEP_THRESHOLD = 256;
+
+    private final long ttlNanos;
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    public SingleFlight(long ttlMillis) {
+        this.ttlNanos = ttlMillis * 1_000_000;
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        Flight<V> flight = flights.get(key);
+        if (flight == null || isExpired(flight, System.nanoTime())) {
+            Flight<V> created = new Flight<>();
+            flight = flights.compute(key, (k, current) ->
+                    current == null || isExpired(current, System.nanoTime()) ? created : current);
+            if (flight == created) {
+                sweepIfLarge();
+                return load(key, created, loader);
+            }
+        }
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    public void invalidate(Predicate<K> affected) {
+        flights.keySet().removeIf(affected);
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    // Key hết hạn mà không ai hỏi lại thì không tự rời map; dọn khi map bắt đầu lớn
+    private void sweepIfLarge() {
+        if (flights.size() > SWEEP_THRESHOLD) {
+            long now = System.nanoTime();
+            flights.values().removeIf(flight -> isExpired(flight, now));
+        }
+    }
+
+    private boolean isExpired(Flight<V> flight, long now) {
+        return flight.result.isDone() && (flight.result.isCompletedExceptionally() || now - flight.completedAt >= ttlNanos);
+    }
+
+    private V load(K key, Flight<V> flight, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            flight.completedAt = System.nanoTime();
+            flight.result.complete(value);
+            if (ttlNanos <= 0) {
+                flights.remove(key, flight);
+            }
+            return value;
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        // 0 khi còn đang chạy; chỉ ghi trước khi complete nên ai thấy future xong cũng thấy giá trị này
+        private volatile long completedAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.service.StockLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class StockSnapshotScheduler {
+
+    private final StockLedgerService stockLedgerService;
+
+    // Gộp sổ kho vào snapshot và đối chiếu bộ đếm tồn kho, mỗi giờ một lần
+    @Scheduled(fixedDelayString = "${app.stock-ledger.snapshot-interval-ms:3600000}",
+            initialDelayString = "${app.stock-ledger.snapshot-initial-delay-ms:600000}")
+    public void takeSnapshots() {
+        stockLedgerService.takeSnapshots();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.model.Feedback;
+import com.example.HMS.model.Room;
+import com.example.HMS.model.RoomAmenity;
+import com.example.HMS.model.Services;
+import com.example.HMS.service.ChangeVersionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Records an insert, update or delete of a tracked entity with {@link ChangeVersionService#changed}, which bumps
+ * the table's {@code table_version} counter once the transaction commits. Nothing is written during flush.
+ */
+@Component
+@RequiredArgsConstructor
+public class TableVersionListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private static final Map<Class<?>, String> TRACKED = Map.of(
+            Room.class, ChangeVersionService.ROOMS,
+            RoomAmenity.class, ChangeVersionService.ROOM_AMENITIES,
+            Services.class, ChangeVersionService.SERVICES,
+            Feedback.class, ChangeVersionService.FEEDBACK);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChangeVersionService changeVersionService;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void changed(Object entity) {
+        String table = TRACKED.get(entity.getClass());
+        if (table != null) {
+            changeVersionService.changed(table);
+        }
+    }
+}
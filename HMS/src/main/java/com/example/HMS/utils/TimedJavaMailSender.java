@@ -0,0 +1,36 @@
+package com.example.HMS.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * {@link JavaMailSenderImpl} that times every SMTP round trip as {@code hms.mail.send}. All the
+ * {@code send(...)} overloads end in {@link #doSend}, so services keep injecting a plain {@code JavaMailSender}.
+ */
+public class TimedJavaMailSender extends JavaMailSenderImpl {
+    private final MeterRegistry meterRegistry;
+
+    public TimedJavaMailSender(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            super.doSend(mimeMessages, originalMessages);
+        } catch (MailException e) {
+            outcome = "failure";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("hms.mail.send")
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+}
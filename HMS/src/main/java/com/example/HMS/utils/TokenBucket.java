@@ -0,0 +1,41 @@
+package com.example.HMS.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count it stores the theoretical arrival time of the next
+ * request (GCRA), so taking a token is a single compare-and-set on one long and refill needs no timer.
+ */
+public class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, double refillPerMinute, long nowNanos) {
+        this.emissionIntervalNanos = (long) (60_000_000_000L / refillPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, capacity) - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = Math.max(arrival, nowNanos);
+            long waitNanos = start - burstToleranceNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // Bucket đã đầy lại và không dùng trong idleNanos thì xoá đi cũng không mất trạng thái
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        return theoreticalArrival.get() + idleNanos <= nowNanos;
+    }
+}
@@ -0,0 +1,8 @@
+-- A night audit that ends with an exception is kept as FAILED with its error; the next scheduled run
+-- (or the next startup) resumes every run that is not COMPLETED before moving on to a new date.
+
+alter table night_audit_run
+   modify column status enum ('COMPLETED','FAILED','RUNNING');
+
+alter table night_audit_run
+   add column error_message varchar(1000);
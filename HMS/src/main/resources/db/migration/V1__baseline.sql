@@ -0,0 +1,552 @@
+-- Baseline schema: what spring.jpa.hibernate.ddl-auto=update produced for the entity model before the schema
+-- moved to migrations. Databases created before then are baselined at this version
+-- (spring.flyway.baseline-on-migrate), so this script only runs on an empty schema and everything added since
+-- lives in V2 onwards.
+
+create table access_tokens (
+    expires_at datetime(6) not null,
+    id bigint not null auto_increment,
+    request_id bigint not null,
+    guest_email varchar(255) not null,
+    request_type varchar(255) not null,
+    token varchar(255) not null,
+    primary key (id)
+);
+
+create table amenities (
+    id bigint not null auto_increment,
+    description varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table amenity_histories (
+    quantity integer,
+    amenity_id bigint not null,
+    destination_room_id bigint,
+    id bigint not null auto_increment,
+    source_room_id bigint,
+    timestamp datetime(6) not null,
+    action enum ('FROM_STORAGE','TO_STORAGE','TRANSFER') not null,
+    primary key (id)
+);
+
+create table application_user (
+    hire_date date,
+    is_active bit not null,
+    loyalty_points float(53),
+    salary decimal(38,2),
+    id bigint not null auto_increment,
+    loyalty_level_id bigint,
+    user_type varchar(31) not null,
+    address varchar(255),
+    email varchar(255),
+    full_name varchar(255) not null,
+    password varchar(255),
+    phone_number varchar(255),
+    position varchar(255),
+    username varchar(255) not null,
+    role enum ('ADMIN','CHEF','CUSTOMER','HOUSEKEEPING','MAINTENANCE','POS_SERVICE','RECEPTIONIST','SECURITY','WAITER'),
+    primary key (id)
+);
+
+create table assets (
+    asset_id integer not null auto_increment,
+    maintain_date date,
+    location varchar(100),
+    name varchar(100),
+    asset_condition enum ('GOOD','NEEDS_REPAIR','UNDER_MAINTENANCE'),
+    primary key (asset_id)
+);
+
+create table audit_report (
+    adr float(53) not null,
+    expenses float(53) not null,
+    occupancy_rate float(53) not null,
+    report_date date not null,
+    rev_par float(53) not null,
+    revenue float(53) not null,
+    check_ins bigint not null,
+    check_outs bigint not null,
+    created_at datetime(6) not null,
+    number_of_bookings bigint not null,
+    room_capacity bigint not null,
+    id binary(16) not null,
+    primary key (id)
+);
+
+create table bookings (
+    adult_number integer not null,
+    child_number integer not null,
+    room_number integer not null,
+    total_price integer not null,
+    check_in_time datetime(6),
+    check_out_time datetime(6),
+    created_by_id bigint,
+    customer_id bigint,
+    end_date datetime(6),
+    id bigint not null auto_increment,
+    start_date datetime(6),
+    guest_email varchar(255),
+    guest_name varchar(255),
+    guest_phone varchar(255),
+    room_type enum ('DELUXE','DOUBLE','FAMILY','SINGLE','SUITE','TWIN'),
+    source enum ('DIRECT','ONLINE'),
+    status enum ('CANCELLED','CHECKIN','CHECKOUT','CONFIRMED','PENDING','REJECTED'),
+    primary key (id)
+);
+
+create table feedback (
+    rating integer not null,
+    booking_id bigint not null,
+    customer_id bigint,
+    date_time datetime(6) not null,
+    feedback_id bigint not null auto_increment,
+    comment TEXT,
+    guest_email varchar(255),
+    guest_name varchar(255),
+    primary key (feedback_id)
+);
+
+create table folio (
+    total_amount float(53) not null,
+    booking_id bigint not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    user_id bigint,
+    app_trans_id varchar(255),
+    guest_email varchar(255),
+    guest_name varchar(255),
+    status enum ('PAID','PENDING','UNPAID'),
+    primary key (id)
+);
+
+create table folio_charges (
+    quantity integer not null,
+    total_price float(53) not null,
+    unit_price float(53) not null,
+    charge_time datetime(6),
+    folio_id bigint not null,
+    id bigint not null auto_increment,
+    charge_type varchar(255),
+    description varchar(255),
+    item_name varchar(255),
+    primary key (id)
+);
+
+create table guests (
+    booking_id bigint not null,
+    id bigint not null auto_increment,
+    room_id bigint not null,
+    guest_name varchar(255),
+    guest_phone varchar(255),
+    identification varchar(255),
+    primary key (id)
+);
+
+create table housekeeping_request (
+    created_at datetime(6),
+    customer_id bigint,
+    id bigint not null auto_increment,
+    preferred_time datetime(6),
+    room_id bigint not null,
+    guest_email varchar(255),
+    guest_name varchar(255),
+    notes varchar(255),
+    status enum ('CANCELLED','COMPLETED','IN_PROGRESS','PENDING'),
+    primary key (id)
+);
+
+create table housekeeping_schedule (
+    employee_id bigint,
+    id bigint not null auto_increment,
+    room_id bigint not null,
+    scheduled_time datetime(6),
+    status enum ('ASSIGNED','COMPLETED'),
+    primary key (id)
+);
+
+create table inventory (
+    inventory_price float(53) not null,
+    inventory_quantity integer not null,
+    id bigint not null auto_increment,
+    supplier_id bigint not null,
+    inventory_name varchar(255),
+    primary key (id)
+);
+
+create table inventory_receipt_details (
+    quantity integer not null,
+    unit_price float(53) not null,
+    id bigint not null auto_increment,
+    inventory_id bigint not null,
+    receipt_id bigint not null,
+    primary key (id)
+);
+
+create table inventory_receipts (
+    total_amount float(53) not null,
+    id bigint not null auto_increment,
+    receipt_date datetime(6) not null,
+    supplier_id bigint not null,
+    receipt_code varchar(255) not null,
+    status varchar(255) not null,
+    primary key (id)
+);
+
+create table loyalty_level (
+    points_required float(53) not null,
+    id bigint not null auto_increment,
+    benefits varchar(255),
+    level_name varchar(255),
+    primary key (id)
+);
+
+create table maintenance_schedule (
+    asset_id integer,
+    schedule_id integer not null auto_increment,
+    room_id bigint,
+    scheduled_date datetime(6),
+    description TEXT,
+    status enum ('ASSIGNED','COMPLETED'),
+    primary key (schedule_id)
+);
+
+create table maintenance_schedule_employees (
+    schedule_id integer not null,
+    employee_id bigint not null,
+    primary key (schedule_id, employee_id)
+);
+
+create table operating_expenses (
+    amount float(53) not null,
+    created_at datetime(6),
+    due_date datetime(6),
+    id bigint not null auto_increment,
+    description varchar(255),
+    provider varchar(255),
+    expense_type enum ('ELECTRICITY','INSURANCE','INTERNET','PHONE','TAX','WATER'),
+    status enum ('PAID','UNPAID'),
+    primary key (id)
+);
+
+create table otps (
+    is_used bit not null,
+    expires_at datetime(6) not null,
+    id bigint not null auto_increment,
+    request_id bigint not null,
+    guest_email varchar(255) not null,
+    otp varchar(255) not null,
+    request_type varchar(255) not null,
+    primary key (id)
+);
+
+create table password_reset_token (
+    expiry_date datetime(6),
+    id bigint not null auto_increment,
+    user_id bigint,
+    token varchar(255) not null,
+    primary key (id)
+);
+
+create table room_amenities (
+    quantity integer,
+    amenity_id bigint not null,
+    id bigint not null auto_increment,
+    room_id bigint not null,
+    status enum ('BROKEN','WORKING'),
+    primary key (id)
+);
+
+create table room_bookings (
+    booking_id bigint not null,
+    id bigint not null auto_increment,
+    room_id bigint not null,
+    primary key (id)
+);
+
+create table rooms (
+    capacity integer,
+    id bigint not null auto_increment,
+    description varchar(255),
+    image varchar(255),
+    price varchar(255),
+    room_name varchar(255),
+    room_status enum ('AVAILABLE','CLEANING','MAINTENANCE','OCCUPIED'),
+    room_type enum ('DELUXE','DOUBLE','FAMILY','SINGLE','SUITE','TWIN'),
+    primary key (id)
+);
+
+create table salary (
+    amount float(53) not null,
+    created_at datetime(6),
+    employee_id bigint not null,
+    id bigint not null auto_increment,
+    pay_time datetime(6),
+    status enum ('PAID','UNPAID'),
+    primary key (id)
+);
+
+create table service_request (
+    quantity integer not null,
+    total_amount float(53) not null,
+    booking_id bigint not null,
+    created_at datetime(6),
+    customer_id bigint,
+    id bigint not null auto_increment,
+    service_id bigint not null,
+    guest_email varchar(255),
+    guest_name varchar(255),
+    notes varchar(255),
+    status enum ('CANCELLED','COMPLETED','IN_PROGRESS','PENDING'),
+    primary key (id)
+);
+
+create table services (
+    service_price float(53) not null,
+    id bigint not null auto_increment,
+    service_description varchar(255),
+    service_name varchar(255),
+    service_type varchar(255),
+    primary key (id)
+);
+
+create table service_usage (
+    quantity integer not null,
+    total_price float(53) not null,
+    booking_id bigint not null,
+    id bigint not null auto_increment,
+    service_id bigint not null,
+    timestamp datetime(6),
+    primary key (id)
+);
+
+create table supplier (
+    id bigint not null auto_increment,
+    supplier_address varchar(255),
+    supplier_name varchar(255),
+    supplier_phone varchar(255),
+    primary key (id)
+);
+
+create table token_blacklist (
+    expiration datetime(6),
+    id bigint not null auto_increment,
+    token varchar(500),
+    primary key (id)
+);
+
+create table work_schedule (
+    date date,
+    employee_id bigint,
+    id bigint not null auto_increment,
+    shift varchar(255),
+    primary key (id)
+);
+
+alter table access_tokens
+   add constraint UK2nbkblqhr9bb6y8u3870rk4hv unique (token);
+
+alter table amenities
+   add constraint UKm492b3r7aa2c88y156nvic16s unique (name);
+
+alter table application_user
+   add constraint UK6c0v0rco93sykgyetukfmkkod unique (username);
+
+alter table folio
+   add constraint UKt2e4xoqs7tsggnd2b418srkfe unique (booking_id);
+
+alter table inventory_receipts
+   add constraint UK66r4hxew9k60rxot90yd13js unique (receipt_code);
+
+alter table password_reset_token
+   add constraint UKf90ivichjaokvmovxpnlm5nin unique (user_id);
+
+alter table password_reset_token
+   add constraint UKg0guo4k8krgpwuagos61oc06j unique (token);
+
+alter table amenity_histories
+   add constraint FKmtbj6bt14ykax66n3conp9pob
+   foreign key (amenity_id)
+   references amenities (id);
+
+alter table amenity_histories
+   add constraint FK2s0nigq0tbynkorei72uyhewj
+   foreign key (destination_room_id)
+   references rooms (id);
+
+alter table amenity_histories
+   add constraint FKowd79q6wdolfvt6lpue7a51u0
+   foreign key (source_room_id)
+   references rooms (id);
+
+alter table application_user
+   add constraint FKloc6refg8l9tw2oa494j9uik3
+   foreign key (loyalty_level_id)
+   references loyalty_level (id);
+
+alter table bookings
+   add constraint FK4lyoy3wo5pbvmvi9q375s4pd8
+   foreign key (created_by_id)
+   references application_user (id);
+
+alter table bookings
+   add constraint FKml8ceyd3a1gnf0xm2owaal2yq
+   foreign key (customer_id)
+   references application_user (id);
+
+alter table feedback
+   add constraint FK2d6mwbywefil2s33do529yc7b
+   foreign key (booking_id)
+   references bookings (id);
+
+alter table feedback
+   add constraint FK4ywq1q3f728whkmv1a40rka06
+   foreign key (customer_id)
+   references application_user (id);
+
+alter table folio
+   add constraint FKpuqk5awlfg6bl92a65u0vkget
+   foreign key (booking_id)
+   references bookings (id);
+
+alter table folio
+   add constraint FKlfh630t3fp0pgv67br5j1o8ob
+   foreign key (user_id)
+   references application_user (id);
+
+alter table folio_charges
+   add constraint FK54u598ig8d71kgdc97qknrnhu
+   foreign key (folio_id)
+   references folio (id);
+
+alter table guests
+   add constraint FKlxf305bqe4ytpvbygtxlltej2
+   foreign key (booking_id)
+   references bookings (id);
+
+alter table guests
+   add constraint FKfpqamv3iqg5ifim5wt4p1xasm
+   foreign key (room_id)
+   references rooms (id);
+
+alter table housekeeping_request
+   add constraint FKg1t94qk48vb3fsa21ypgilovq
+   foreign key (customer_id)
+   references application_user (id);
+
+alter table housekeeping_request
+   add constraint FKk4a9uov5s0omn5wjiaqhiel47
+   foreign key (room_id)
+   references rooms (id);
+
+alter table housekeeping_schedule
+   add constraint FKl2ilw9tmeng5f2i41jgk1hwv6
+   foreign key (employee_id)
+   references application_user (id);
+
+alter table housekeeping_schedule
+   add constraint FKehm4k4j6a8yj54c4dlb3go3ic
+   foreign key (room_id)
+   references rooms (id);
+
+alter table inventory
+   add constraint FKe0810rp6mmsbj1f46yhc4h7vb
+   foreign key (supplier_id)
+   references supplier (id);
+
+alter table inventory_receipt_details
+   add constraint FKhq8n0nem0etmk6q4207gcon3o
+   foreign key (inventory_id)
+   references inventory (id);
+
+alter table inventory_receipt_details
+   add constraint FK5e08dc9pmqys0qq1c3wdgjyl
+   foreign key (receipt_id)
+   references inventory_receipts (id);
+
+alter table inventory_receipts
+   add constraint FKrdq60kxxicow7i5qiri3elmla
+   foreign key (supplier_id)
+   references supplier (id);
+
+alter table maintenance_schedule
+   add constraint FKgkfl76hwduq5qucsfcn8woerd
+   foreign key (asset_id)
+   references assets (asset_id);
+
+alter table maintenance_schedule
+   add constraint FKr23p4oyfq5xpicvtlj96nvrb7
+   foreign key (room_id)
+   references rooms (id);
+
+alter table maintenance_schedule_employees
+   add constraint FKj9pbdyc6t9f1acq5uxwthy5jv
+   foreign key (employee_id)
+   references application_user (id);
+
+alter table maintenance_schedule_employees
+   add constraint FKqrbcfogc4qcp32witgrgrwxi0
+   foreign key (schedule_id)
+   references maintenance_schedule (schedule_id);
+
+alter table password_reset_token
+   add constraint FKcuerw7h3f8bqrbi0r8i0sgkbu
+   foreign key (user_id)
+   references application_user (id);
+
+alter table room_amenities
+   add constraint FKm1qu088g1b1ufhd2mae8fhhmb
+   foreign key (amenity_id)
+   references amenities (id);
+
+alter table room_amenities
+   add constraint FKps6ofup9gxhn8juqvproxbaud
+   foreign key (room_id)
+   references rooms (id);
+
+alter table room_bookings
+   add constraint FKd1x54stheftxh2ble9au6e6gs
+   foreign key (booking_id)
+   references bookings (id);
+
+alter table room_bookings
+   add constraint FK8wb395es6guf2c5cq0j6w2i72
+   foreign key (room_id)
+   references rooms (id);
+
+alter table salary
+   add constraint FKh3o7jri0g86x49kukeh5f3d1u
+   foreign key (employee_id)
+   references application_user (id);
+
+alter table service_request
+   add constraint FKf9pt7als5qg2uh3yfpfcp71cb
+   foreign key (booking_id)
+   references bookings (id);
+
+alter table service_request
+   add constraint FKsqv5lguccl8t7lm5c1vvxcef6
+   foreign key (customer_id)
+   references application_user (id);
+
+alter table service_request
+   add constraint FKchqfgatxesjh9akqe9d30b6mt
+   foreign key (service_id)
+   references services (id);
+
+alter table service_usage
+   add constraint FKfhma1ts71reydvvgww1gfu13h
+   foreign key (booking_id)
+   references bookings (id);
+
+alter table service_usage
+   add constraint FKsp7vf00mxc26jt67axd6bg3en
+   foreign key (service_id)
+   references services (id);
+
+alter table work_schedule
+   add constraint FKr1ne5b6jv81mq6s4ooii4mkdv
+   foreign key (employee_id)
+   references application_user (id);
@@ -0,0 +1,14 @@
+-- Running folio: charges are posted while the guest stays and the folio is OPEN until checkout.
+-- Room charges posted by the night audit carry the room and business date, one row per room per night.
+
+alter table folio
+   modify column status enum ('OPEN','PAID','PENDING','UNPAID');
+
+alter table folio_charges
+   add column business_date date;
+
+alter table folio_charges
+   add column room_id bigint;
+
+alter table folio_charges
+   add constraint UKsknw19rveraa04n1fdi1w5epd unique (folio_id, room_id, business_date, charge_type);
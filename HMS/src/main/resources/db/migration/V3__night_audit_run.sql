@@ -0,0 +1,15 @@
+-- One checkpoint row per business date so an interrupted night audit resumes after the last booking it posted.
+
+create table night_audit_run (
+    business_date date not null,
+    posted_charges integer not null,
+    completed_at datetime(6),
+    id bigint not null auto_increment,
+    last_booking_id bigint not null,
+    started_at datetime(6),
+    status enum ('COMPLETED','RUNNING'),
+    primary key (id)
+);
+
+alter table night_audit_run
+   add constraint UKsjto468ftnb1l0s6kd10nl3gr unique (business_date);
@@ -0,0 +1,36 @@
+-- One row per booked room night, and its rollup per date, room type and source for the occupancy reports.
+-- Both start empty; OccupancyCubeInitializer rebuilds them from existing bookings on the next startup.
+-- The cube's key columns are NOT NULL, with UNKNOWN for a missing room type or source, so that the unique key
+-- catches every duplicate and each delta is a single INSERT ... ON DUPLICATE KEY UPDATE.
+
+create table stay_night (
+    arrival bit not null,
+    room_revenue float(53) not null,
+    stay_date date not null,
+    booking_id bigint not null,
+    id bigint not null auto_increment,
+    room_id bigint,
+    room_type enum ('DELUXE','DOUBLE','FAMILY','SINGLE','SUITE','TWIN'),
+    source enum ('DIRECT','ONLINE'),
+    primary key (id)
+);
+
+create table occupancy_cube (
+    room_revenue float(53) not null,
+    stay_date date not null,
+    bookings bigint not null,
+    id bigint not null auto_increment,
+    nights_sold bigint not null,
+    room_type enum ('DELUXE','DOUBLE','FAMILY','SINGLE','SUITE','TWIN','UNKNOWN') not null,
+    source enum ('DIRECT','ONLINE','UNKNOWN') not null,
+    primary key (id)
+);
+
+create index idx_stay_night_booking
+   on stay_night (booking_id);
+
+create index idx_stay_night_date
+   on stay_night (stay_date);
+
+alter table occupancy_cube
+   add constraint UKj5j56fgjtuegm52py3chx5esq unique (stay_date, room_type, source);
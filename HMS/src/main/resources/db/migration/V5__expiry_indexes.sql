@@ -0,0 +1,13 @@
+-- The purge job selects rows past their expiry in small chunks; without these it scans the whole table.
+
+create index idx_access_tokens_expires_at
+   on access_tokens (expires_at);
+
+create index idx_otps_expires_at
+   on otps (expires_at);
+
+create index idx_password_reset_token_expiry
+   on password_reset_token (expiry_date);
+
+create index idx_token_blacklist_expiration
+   on token_blacklist (expiration);
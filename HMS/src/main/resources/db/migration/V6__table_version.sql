@@ -0,0 +1,7 @@
+-- Change counter per catalog table, used as the ETag of its listings.
+
+create table table_version (
+    version bigint not null,
+    table_name varchar(64) not null,
+    primary key (table_name)
+);
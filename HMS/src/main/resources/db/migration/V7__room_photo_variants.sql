@@ -0,0 +1,7 @@
+-- Content hash of the uploaded photo and the widths its resized variants were generated at, e.g. "320,640,1280".
+
+alter table rooms
+   add column image_hash varchar(255);
+
+alter table rooms
+   add column image_widths varchar(255);
@@ -0,0 +1,23 @@
+-- Indexes for the hot lookups. Column order is equality columns first, then the range or sort column,
+-- and where it is cheap the index also carries the selected columns so the lookup never touches the row.
+
+-- Availability anti-join: bookings overlapping [start, end] that are not cancelled.
+-- start_date drives the range; end_date and status are checked inside the index.
+create index idx_bookings_dates_status on bookings (start_date, end_date, status);
+
+-- room_bookings is probed from both sides of the anti-join; both indexes cover (room_id, booking_id).
+create index idx_room_bookings_room_booking on room_bookings (room_id, booking_id);
+create index idx_room_bookings_booking_room on room_bookings (booking_id, room_id);
+
+-- Checked on every authenticated request by the JWT filter.
+create index idx_token_blacklist_token on token_blacklist (token);
+
+-- OTP lookups all start with (request_id, request_type); the verified-guest check adds is_used and
+-- guest_email as equalities and reads the newest expires_at.
+create index idx_otps_request on otps (request_id, request_type, is_used, guest_email, expires_at);
+
+-- Staff assignment looks up one shift on one day.
+create index idx_work_schedule_date_shift on work_schedule (date, shift);
+
+-- Folio reports filter one status over a created_at range; status goes first because it is the equality.
+create index idx_folio_status_created on folio (status, created_at);
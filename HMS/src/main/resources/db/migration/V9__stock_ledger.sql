@@ -0,0 +1,41 @@
+-- Append-only ledger of inventory quantity changes. inventory.inventory_quantity stays the counter that reads
+-- use; it only changes in the same transaction as a movement, so it always equals the item's snapshot plus the
+-- movements after it. Snapshots are folded forward periodically so rebuilding a quantity reads few rows.
+
+create table stock_movement (
+    quantity_delta integer not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    inventory_id bigint not null,
+    receipt_id bigint,
+    reason varchar(32) not null,
+    primary key (id)
+);
+
+create table stock_snapshot (
+    quantity integer not null,
+    inventory_id bigint not null,
+    last_movement_id bigint not null,
+    taken_at datetime(6) not null,
+    primary key (inventory_id)
+);
+
+-- Movements after an item's snapshot are read by (inventory_id, id > last_movement_id).
+create index idx_stock_movement_inventory on stock_movement (inventory_id, id);
+create index idx_stock_movement_created on stock_movement (created_at);
+
+alter table stock_movement
+   add constraint fk_stock_movement_inventory
+   foreign key (inventory_id)
+   references inventory (id)
+   on delete cascade;
+
+alter table stock_snapshot
+   add constraint fk_stock_snapshot_inventory
+   foreign key (inventory_id)
+   references inventory (id)
+   on delete cascade;
+
+-- Existing quantities become the opening balance of each item.
+insert into stock_movement (inventory_id, quantity_delta, reason, created_at)
+select id, inventory_quantity, 'OPENING', current_timestamp(6) from inventory where inventory_quantity <> 0;
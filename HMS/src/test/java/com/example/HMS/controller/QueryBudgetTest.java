@@ -0,0 +1,338 @@
+package com.example.HMS.controller;
+
+import com.example.HMS.dto.LoadDataRequest;
+import com.example.HMS.service.LoadDataGeneratorService;
+import com.example.HMS.utils.QueryCountingInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcPrint;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.util.pattern.PathPattern;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+/**
+ * Boots the whole application on H2 in MySQL mode, fills it with the load data generator plus
+ * {@code query-budget-fixtures.sql}, then calls every REST endpoint listed in {@code query-budgets.txt} and
+ * fails when a call runs more SQL statements or takes longer than its budget. Statements are those Hibernate
+ * prepares while the call runs; the failure message lists them so the N+1 is visible in the build log. Time
+ * ceilings are deliberately generous and are multiplied by the {@value #TIME_SCALE} system property
+ * (e.g. {@code -Dquery-budget.time-scale=3}) on slow build machines.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.HMS.controller.QueryBudgetTest$StatementLog",
+        "management.health.mail.enabled=false",
+        // Test context tắt export metrics mặc định; bật lại để /actuator/prometheus tồn tại cho phép kiểm tra quyền
+        "management.prometheus.metrics.export.enabled=true",
+        "app.night-audit.cron=-",
+        "app.purge.initial-delay-ms=86400000",
+        // Lượt đo phải tự chạy truy vấn, không dùng lại kết quả gộp của lượt khởi động
+        "app.availability.coalesce-ttl-ms=0",
+        "app.room-status-stream.snapshot-ttl-ms=0",
+        "app.dashboard.cache-ttl-ms=0"
+})
+// Không in request/response: bộ in đọc header trong lúc luồng async của StreamingResponseBody vẫn đang ghi
+@AutoConfigureMockMvc(print = MockMvcPrint.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+    private static final String BUDGETS = "query-budgets.txt";
+    private static final String FIXTURES = "query-budget-fixtures.sql";
+    private static final String TIME_SCALE = "query-budget.time-scale";
+    private static final long DEFAULT_MAX_MILLIS = 2000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LoadDataGeneratorService loadDataGeneratorService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private List<CacheManager> cacheManagers;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private final Budgets budgets = Budgets.load(BUDGETS);
+
+    // Quy mô nhỏ cho nhanh nhưng đủ nhiều dòng mỗi trang để N+1 lộ ra: 100 phòng, 2.500 khách, 1 năm booking
+    // kết thúc hôm nay, nên các URL dùng {today} thay vì ngày cố định
+    @BeforeAll
+    void generateFixtures() {
+        loadDataGeneratorService.generate(LoadDataRequest.builder()
+                .scaleFactor(0.05)
+                .years(1)
+                .build());
+        new ResourceDatabasePopulator(new ClassPathResource(FIXTURES)).execute(dataSource);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> endpointsStayWithinBudget() {
+        return budgets.calls.stream().map(call -> DynamicTest.dynamicTest(call.toString(), () -> {
+            // Lượt đầu nạp class, JIT và các cache ngoài Spring; chỉ đo lượt thứ hai với cache Spring đã xóa
+            perform(call);
+            Measurement measurement = perform(call);
+            int status = measurement.result.getResponse().getStatus();
+            assertTrue(status >= 200 && status < 300, () -> call + " returned " + status + ": "
+                    + contentOf(measurement.result));
+            if (measurement.statements.size() > call.maxStatements) {
+                fail(call + " ran " + measurement.statements.size() + " statements, budget " + call.maxStatements
+                        + ":\n" + format(measurement.statements));
+            }
+            long maxMillis = Math.round(call.maxMillis * timeScale());
+            if (measurement.millis > maxMillis) {
+                fail(call + " took " + measurement.millis + " ms, budget " + maxMillis + " ms; statements:\n"
+                        + format(measurement.statements));
+            }
+        }));
+    }
+
+    @Test
+    void everyGetEndpointHasABudget() {
+        TreeSet<String> missing = new TreeSet<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> mapping : handlerMapping.getHandlerMethods().entrySet()) {
+            RequestMappingInfo info = mapping.getKey();
+            boolean controller = mapping.getValue().getBeanType().getPackageName().equals(getClass().getPackageName());
+            boolean get = info.getMethodsCondition().getMethods().isEmpty()
+                    || info.getMethodsCondition().getMethods().contains(RequestMethod.GET);
+            if (!controller || !get || info.getPathPatternsCondition() == null) {
+                continue;
+            }
+            for (PathPattern pattern : info.getPathPatternsCondition().getPatterns()) {
+                if (!budgets.covers(pattern)) {
+                    missing.add(pattern.getPatternString());
+                }
+            }
+        }
+        assertTrue(missing.isEmpty(), () -> "GET endpoints without an entry in " + BUDGETS + ":\n  "
+                + String.join("\n  ", missing));
+    }
+
+    @Test
+    void metricsAreOnlyServedToAdmins() throws Exception {
+        int anonymous = mockMvc.perform(request(HttpMethod.GET, URI.create("/actuator/prometheus")))
+                .andReturn().getResponse().getStatus();
+        int admin = mockMvc.perform(request(HttpMethod.GET, URI.create("/actuator/prometheus"))
+                        .with(user("admin").authorities(new SimpleGrantedAuthority("ADMIN"))))
+                .andReturn().getResponse().getStatus();
+
+        assertTrue(anonymous == 401 || anonymous == 403, () -> "anonymous scrape returned " + anonymous);
+        assertEquals(200, admin);
+    }
+
+    @Test
+    void onlyAdminsCanRegenerateData() throws Exception {
+        int anonymous = mockMvc.perform(request(HttpMethod.POST, URI.create("/api/data/generate")))
+                .andReturn().getResponse().getStatus();
+        int receptionist = mockMvc.perform(request(HttpMethod.POST, URI.create("/api/data/generate"))
+                        .with(user("receptionist").authorities(new SimpleGrantedAuthority("RECEPTIONIST"))))
+                .andReturn().getResponse().getStatus();
+
+        assertTrue(anonymous == 401 || anonymous == 403, () -> "anonymous generate returned " + anonymous);
+        assertEquals(403, receptionist);
+    }
+
+    private Measurement perform(Call call) throws Exception {
+        cacheManagers.forEach(manager -> manager.getCacheNames().forEach(name -> manager.getCache(name).clear()));
+        MockHttpServletRequestBuilder builder = request(call.method, URI.create(call.url));
+        if (!"-".equals(call.role)) {
+            builder.with(user(principal(call.role)).authorities(new SimpleGrantedAuthority(call.role)));
+        }
+        StatementLog.start();
+        long started = System.nanoTime();
+        try {
+            MvcResult result = mockMvc.perform(builder).andReturn();
+            // Luồng SSE không bao giờ kết thúc; chỉ đo phần chạy khi kết nối
+            if (result.getRequest().isAsyncStarted() && !isEventStream(result)) {
+                result.getAsyncResult(TimeUnit.SECONDS.toMillis(30));
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            return new Measurement(result, StatementLog.current(), millis);
+        } finally {
+            StatementLog.stop();
+        }
+    }
+
+    // Người dùng có id lớn nhất của role: budget_admin/budget_customer trong fixture, nhân viên sinh sau cùng cho các role khác
+    private String principal(String role) {
+        return jdbcTemplate.queryForObject("SELECT username FROM application_user WHERE role = ? ORDER BY id DESC LIMIT 1",
+                String.class, role);
+    }
+
+    private static boolean isEventStream(MvcResult result) {
+        return result.getHandler() instanceof HandlerMethod handler
+                && SseEmitter.class.isAssignableFrom(handler.getReturnType().getParameterType());
+    }
+
+    private static String contentOf(MvcResult result) {
+        try {
+            return result.getResponse().getContentAsString();
+        } catch (IOException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String format(List<String> statements) {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < statements.size(); i++) {
+            log.append(String.format("  %3d  %s%n", i + 1, statements.get(i).replaceAll("\\s+", " ")));
+        }
+        return log.toString();
+    }
+
+    private static double timeScale() {
+        double scale = Double.parseDouble(System.getProperty(TIME_SCALE, "1"));
+        if (scale <= 0) {
+            throw new IllegalStateException(TIME_SCALE + " must be positive: " + scale);
+        }
+        return scale;
+    }
+
+    private record Measurement(MvcResult result, List<String> statements, long millis) {
+    }
+
+    private record Call(HttpMethod method, String url, String role, int maxStatements, long maxMillis) {
+        @Override
+        public String toString() {
+            return method + " " + url + (("-".equals(role)) ? "" : " as " + role);
+        }
+    }
+
+    /**
+     * Budget file: one call per line as {@code METHOD url role maxStatements [maxMillis]}, role {@code -} for
+     * anonymous calls and {@link #DEFAULT_MAX_MILLIS} when the time column is left out. {@code skip METHOD pattern} marks an endpoint the harness deliberately does not call.
+     */
+    private static final class Budgets {
+        private static final Pattern DATE = Pattern.compile("\\{today([+-]\\d+)?}");
+
+        private final List<Call> calls = new ArrayList<>();
+        private final List<String> skipped = new ArrayList<>();
+
+        static Budgets load(String resource) {
+            Budgets budgets = new Budgets();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new ClassPathResource(resource).getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.strip();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    String[] fields = line.split("\\s+");
+                    if (fields[0].equals("skip")) {
+                        budgets.skipped.add(fields[1] + " " + fields[2]);
+                    } else if (fields.length == 4 || fields.length == 5) {
+                        budgets.calls.add(new Call(HttpMethod.valueOf(fields[0]), withDates(fields[1]), fields[2],
+                                Integer.parseInt(fields[3]),
+                                fields.length == 5 ? Long.parseLong(fields[4]) : DEFAULT_MAX_MILLIS));
+                    } else {
+                        throw new IllegalStateException("Malformed line in " + resource + ": " + line);
+                    }
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read " + resource, e);
+            }
+            return budgets;
+        }
+
+        // {today}, {today+3}, {today-30}: ngày tính từ hôm nay theo ISO
+        private static String withDates(String url) {
+            Matcher matcher = DATE.matcher(url);
+            StringBuilder resolved = new StringBuilder();
+            while (matcher.find()) {
+                long days = matcher.group(1) != null ? Long.parseLong(matcher.group(1)) : 0;
+                matcher.appendReplacement(resolved, LocalDate.now().plusDays(days).toString());
+            }
+            matcher.appendTail(resolved);
+            return resolved.toString();
+        }
+
+        boolean covers(PathPattern pattern) {
+            if (skipped.contains(HttpMethod.GET + " " + pattern.getPatternString())) {
+                return true;
+            }
+            return calls.stream().anyMatch(call -> call.method == HttpMethod.GET
+                    && pattern.matches(PathContainer.parsePath(URI.create(call.url).getPath())));
+        }
+    }
+
+    // Ghi mọi câu lệnh trong lúc đo, kể cả của luồng async ghi StreamingResponseBody; các job nền đã tắt
+    public static class StatementLog extends QueryCountingInspector {
+        private static volatile List<String> statements;
+
+        static void start() {
+            statements = Collections.synchronizedList(new ArrayList<>());
+        }
+
+        static List<String> current() {
+            return List.copyOf(statements);
+        }
+
+        static void stop() {
+            statements = null;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> recording = statements;
+            if (recording != null) {
+                recording.add(sql);
+            }
+            return super.inspect(sql);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.HMS.filter;
+
+import com.example.HMS.config.IdempotencyProperties;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyFilterTest {
+    private final AtomicInteger bookingsCreated = new AtomicInteger();
+    private volatile int failuresLeft;
+    private volatile CountDownLatch release;
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setPatterns(List.of("/api/bookings"));
+        properties.setWaitTimeoutMs(5_000);
+        filter = new IdempotencyFilter(new IdempotencyStore(properties));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryGetsFirstResponseWithoutRunningTheController() throws Exception {
+        MockHttpServletResponse first = post("key-1", "{\"roomNumber\":1}");
+        MockHttpServletResponse retry = post("key-1", "{\"roomNumber\":1}");
+
+        assertEquals(1, bookingsCreated.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("/api/bookings/1", retry.getHeader("Location"));
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void retryWhileFirstIsRunningWaitsForIt() throws Exception {
+        release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> post("key-2", "{}"));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            Future<MockHttpServletResponse> retry = executor.submit(() -> post("key-2", "{}"));
+            Thread.sleep(100);
+            assertFalse(retry.isDone());
+
+            release.countDown();
+            assertEquals(first.get(5, TimeUnit.SECONDS).getContentAsString(),
+                    retry.get(5, TimeUnit.SECONDS).getContentAsString());
+            assertEquals(1, bookingsCreated.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedAttemptIsNotReplayed() throws Exception {
+        failuresLeft = 1;
+        assertEquals(500, post("key-3", "{}").getStatus());
+        MockHttpServletResponse retry = post("key-3", "{}");
+
+        assertEquals(201, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, bookingsCreated.get());
+    }
+
+    @Test
+    void keyIsScopedToBodyAndCaller() throws Exception {
+        post("key-4", "{\"roomNumber\":1}");
+        assertEquals(422, post("key-4", "{\"roomNumber\":2}").getStatus());
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("customer01", null, "CUSTOMER"));
+        assertEquals(201, post("key-4", "{\"roomNumber\":1}").getStatus());
+        assertEquals(2, bookingsCreated.get());
+    }
+
+    @Test
+    void requestsWithoutKeyAreNotTouched() throws Exception {
+        post(null, "{}");
+        post(null, "{}");
+        assertEquals(2, bookingsCreated.get());
+    }
+
+    private MockHttpServletResponse post(String key, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                entered.countDown();
+                if (release != null) {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                if (failuresLeft > 0) {
+                    failuresLeft--;
+                    resp.setStatus(500);
+                    return;
+                }
+                int id = bookingsCreated.incrementAndGet();
+                resp.setStatus(201);
+                resp.setHeader("Location", "/api/bookings/" + id);
+                resp.setContentType("application/json");
+                resp.getWriter().write("{\"id\":" + id + ",\"body\":" + new String(req.getInputStream().readAllBytes(),
+                        StandardCharsets.UTF_8) + "}");
+            }
+        }));
+        return response;
+    }
+}
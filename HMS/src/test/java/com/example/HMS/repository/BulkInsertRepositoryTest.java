@@ -0,0 +1,81 @@
+package com.example.HMS.repository;
+
+import com.example.HMS.model.WorkSchedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        // Migration là SQL của MySQL
+        "spring.datasource.url=jdbc:h2:mem:bulk-insert;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.bulk-insert.chunk-size=" + BulkInsertRepositoryTest.CHUNK_SIZE
+})
+@Import(BulkInsertRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkInsertRepositoryTest {
+    static final int CHUNK_SIZE = 4;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 1, 1);
+
+    @Autowired
+    private BulkInsertRepository bulkInsertRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM work_schedule");
+    }
+
+    // Dưới, đúng bằng và vượt kích thước lô một dòng, cùng nhiều lô với lô cuối lẻ
+    @ParameterizedTest
+    @ValueSource(ints = {1, CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, 2 * CHUNK_SIZE + 1})
+    void everyRowGetsTheIdOfItsOwnInsertedRow(int rows) {
+        List<WorkSchedule> schedules = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            WorkSchedule schedule = new WorkSchedule();
+            schedule.setDate(FIRST_DAY.plusDays(i));
+            schedule.setShift("shift-" + i);
+            schedules.add(schedule);
+        }
+
+        bulkInsertRepository.insertWorkSchedules(schedules);
+
+        Map<Long, String> stored = new HashMap<>();
+        jdbcTemplate.query("SELECT id, shift FROM work_schedule",
+                rs -> {
+                    stored.put(rs.getLong("id"), rs.getString("shift"));
+                });
+        assertEquals(rows, stored.size());
+        Long previous = null;
+        for (WorkSchedule schedule : schedules) {
+            assertNotNull(schedule.getId(), schedule.getShift() + " has no id");
+            assertEquals(schedule.getShift(), stored.get(schedule.getId()));
+            assertTrue(previous == null || schedule.getId() > previous, "ids follow the insert order");
+            previous = schedule.getId();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.HMS.repository;
+
+import com.example.HMS.model.FolioStatus;
+import com.example.HMS.model.RoomType;
+import com.example.HMS.utils.QueryCountingInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the schema migrations, captures the SQL that Hibernate generates for the hot repository methods
+ * and checks with EXPLAIN that every one of them is served by an index instead of a table scan.
+ */
+@DataJpaTest(properties = {
+        // Migration là SQL của MySQL
+        "spring.datasource.url=jdbc:h2:mem:hot-query-index;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.HMS.repository.HotQueryIndexTest$CapturingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotQueryIndexTest {
+    private static final int ROWS = 5000;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private OTPRepository otpRepository;
+
+    @Autowired
+    private TokenBlacklistRepository tokenBlacklistRepository;
+
+    @Autowired
+    private AccessTokenRepository accessTokenRepository;
+
+    @Autowired
+    private WorkScheduleRepository workScheduleRepository;
+
+    @Autowired
+    private FolioRepository folioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Bảng rỗng thì quét toàn bảng luôn rẻ nhất, cần dữ liệu để bộ tối ưu chọn index như trên production
+    @BeforeEach
+    void seed() {
+        for (String table : List.of("folio", "room_bookings", "bookings", "rooms", "otps",
+                "token_blacklist", "access_tokens", "work_schedule")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        jdbcTemplate.update("INSERT INTO rooms (id, capacity, room_name, room_status, room_type) "
+                + "SELECT X, 2, 'R' || X, 'AVAILABLE', 'DOUBLE' FROM SYSTEM_RANGE(1, 500)");
+        jdbcTemplate.update("INSERT INTO bookings (id, adult_number, child_number, room_number, total_price, "
+                + "start_date, end_date, status) SELECT X, 2, 0, 1, 100, "
+                + "DATEADD(DAY, MOD(X, 730), TIMESTAMP '2024-01-01 14:00:00'), "
+                + "DATEADD(DAY, MOD(X, 730) + 3, TIMESTAMP '2024-01-01 12:00:00'), "
+                + "CASEWHEN(MOD(X, 10) = 0, 'CANCELLED', 'CONFIRMED') FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbcTemplate.update("INSERT INTO room_bookings (id, booking_id, room_id) "
+                + "SELECT X, X, MOD(X, 500) + 1 FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbcTemplate.update("INSERT INTO folio (id, booking_id, total_amount, status, created_at) "
+                + "SELECT X, X, 100, CASEWHEN(MOD(X, 4) = 0, 'OPEN', 'PAID'), "
+                + "DATEADD(HOUR, X, TIMESTAMP '2024-01-01 00:00:00') FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbcTemplate.update("INSERT INTO otps (id, is_used, expires_at, request_id, guest_email, otp, request_type) "
+                + "SELECT X, MOD(X, 2) = 0, DATEADD(MINUTE, X, TIMESTAMP '2024-01-01 00:00:00'), MOD(X, 1000), "
+                + "'guest' || MOD(X, 1000) || '@mail.com', LPAD(X, 6, '0'), 'BOOKING' FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbcTemplate.update("INSERT INTO token_blacklist (id, token, expiration) "
+                + "SELECT X, 'jwt-' || X, DATEADD(DAY, 1, CURRENT_TIMESTAMP) FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbcTemplate.update("INSERT INTO access_tokens (id, token, request_id, request_type, guest_email, expires_at) "
+                + "SELECT X, 'access-' || X, X, 'BOOKING', 'guest@mail.com', DATEADD(DAY, 1, CURRENT_TIMESTAMP) "
+                + "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbcTemplate.update("INSERT INTO work_schedule (id, date, shift) "
+                + "SELECT X, DATEADD(DAY, X / 3, DATE '2024-01-01'), "
+                + "CASE MOD(X, 3) WHEN 0 THEN 'MORNING' WHEN 1 THEN 'AFTERNOON' ELSE 'NIGHT' END "
+                + "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void availabilitySearchProbesBookingsAndRoomBookingsByIndex() {
+        Date start = java.sql.Timestamp.valueOf(LocalDateTime.of(2025, 3, 1, 14, 0));
+        Date end = java.sql.Timestamp.valueOf(LocalDateTime.of(2025, 3, 4, 12, 0));
+
+        String plan = explain(capture(() -> roomRepository.findAvailableRooms(start, end)));
+        assertUsesIndex(plan, "IDX_BOOKINGS_DATES_STATUS");
+        assertUsesIndex(plan, "IDX_ROOM_BOOKINGS_BOOKING_ROOM");
+        assertNoTableScan(plan, "BOOKINGS", "ROOM_BOOKINGS");
+
+        plan = explain(capture(() -> roomRepository.findAvailableRoomsByType(start, end, RoomType.DOUBLE)));
+        assertUsesIndex(plan, "IDX_BOOKINGS_DATES_STATUS");
+        assertUsesIndex(plan, "IDX_ROOM_BOOKINGS_BOOKING_ROOM");
+        assertNoTableScan(plan, "BOOKINGS", "ROOM_BOOKINGS");
+
+        plan = explain(capture(() -> roomRepository
+                .findAvailableRoomsByCapacityAndTypeOrderByPrice(2, start, end, RoomType.DOUBLE)));
+        assertUsesIndex(plan, "IDX_BOOKINGS_DATES_STATUS");
+        assertUsesIndex(plan, "IDX_ROOM_BOOKINGS_BOOKING_ROOM");
+        assertNoTableScan(plan, "BOOKINGS", "ROOM_BOOKINGS");
+    }
+
+    @Test
+    void tokenChecksUseTokenIndexes() {
+        String plan = explain(capture(() -> tokenBlacklistRepository.existsByToken("jwt-42")));
+        assertUsesIndex(plan, "IDX_TOKEN_BLACKLIST_TOKEN");
+
+        // access_tokens.token đã có unique index, không cần thêm index riêng
+        plan = explain(capture(() -> accessTokenRepository.findByTokenAndRequestIdAndRequestType("access-42", 42L, "BOOKING")));
+        assertNoTableScan(plan, "ACCESS_TOKENS");
+    }
+
+    @Test
+    void otpLookupsUseRequestIndex() {
+        String plan = explain(capture(() -> otpRepository.findByOtpAndRequestIdAndRequestType("000042", 42L, "BOOKING")));
+        assertUsesIndex(plan, "IDX_OTPS_REQUEST");
+
+        plan = explain(capture(() -> otpRepository.findByRequestIdAndRequestTypeAndIsUsed(42L, "BOOKING", false)));
+        assertUsesIndex(plan, "IDX_OTPS_REQUEST");
+
+        plan = explain(capture(() -> otpRepository
+                .findFirstByRequestIdAndRequestTypeAndGuestEmailAndIsUsedTrueAndExpiresAtAfterOrderByExpiresAtDesc(
+                        42L, "BOOKING", "guest42@mail.com", LocalDateTime.of(2024, 1, 1, 0, 0))));
+        assertUsesIndex(plan, "IDX_OTPS_REQUEST");
+    }
+
+    @Test
+    void scheduleAndFolioReportsUseCompositeIndexes() {
+        String plan = explain(capture(() -> workScheduleRepository.findByDateAndShift(LocalDate.of(2024, 2, 1), "NIGHT")));
+        assertUsesIndex(plan, "IDX_WORK_SCHEDULE_DATE_SHIFT");
+
+        plan = explain(capture(() -> folioRepository.findByCreatedAtBetweenAndStatus(
+                LocalDateTime.of(2024, 3, 1, 0, 0), LocalDateTime.of(2024, 3, 8, 0, 0), FolioStatus.OPEN)));
+        assertUsesIndex(plan, "IDX_FOLIO_STATUS_CREATED");
+    }
+
+    private String capture(Runnable query) {
+        CapturingInspector.STATEMENTS.clear();
+        query.run();
+        List<String> selects = CapturingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .toList();
+        assertEquals(1, selects.size(), "Expected a single query but got " + selects);
+        return selects.get(0);
+    }
+
+    // H2 lập kế hoạch cho câu lệnh có tham số ngay lúc prepare, giá trị null đủ để EXPLAIN
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    private void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.toUpperCase().contains(index), "Expected " + index + " in plan:\n" + plan);
+    }
+
+    private void assertNoTableScan(String plan, String... tables) {
+        for (String table : tables) {
+            assertFalse(plan.toUpperCase().contains("PUBLIC." + table + ".TABLESCAN"),
+                    "Table scan on " + table + " in plan:\n" + plan);
+        }
+    }
+
+    public static class CapturingInspector extends QueryCountingInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return super.inspect(sql);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.HMS.service;
+
+import com.example.HMS.model.Room;
+import com.example.HMS.model.RoomType;
+import com.example.HMS.repository.RoomRepository;
+import com.example.HMS.utils.TableVersionListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@DataJpaTest(properties = {
+        // Migration là SQL của MySQL
+        "spring.datasource.url=jdbc:h2:mem:change-version;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({ChangeVersionServiceImpl.class, TableVersionListener.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeVersionServiceTest {
+    @Autowired
+    private ChangeVersionService changeVersionService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM table_version");
+        jdbcTemplate.update("INSERT INTO table_version (table_name, version) VALUES ('rooms', 100), ('services', 100)");
+    }
+
+    @Test
+    void versionMovesOnceAfterTheTransactionCommits() {
+        String before = changeVersionService.etag(ChangeVersionService.ROOMS);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                roomRepository.saveAndFlush(room("R" + i));
+            }
+            // Đã flush nhưng chưa commit: dòng version chưa bị khoá hay đổi
+            assertEquals(100, version("rooms"));
+        });
+
+        assertEquals(101, version("rooms"));
+        assertNotEquals(before, changeVersionService.etag(ChangeVersionService.ROOMS));
+    }
+
+    @Test
+    void changeFlushedByTheCommitStillBumps() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> roomRepository.save(room("R1")));
+
+        assertEquals(101, version("rooms"));
+    }
+
+    @Test
+    void rolledBackChangeKeepsTheVersion() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            roomRepository.saveAndFlush(room("R1"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(100, version("rooms"));
+    }
+
+    @Test
+    void bulkWritesBumpThroughTheSamePath() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE services SET service_price = service_price + 1");
+            changeVersionService.changed(ChangeVersionService.SERVICES, ChangeVersionService.ROOMS);
+            changeVersionService.changed(ChangeVersionService.SERVICES);
+            assertEquals(100, version("services"));
+        });
+
+        assertEquals(101, version("services"));
+        assertEquals(101, version("rooms"));
+
+        // Ngoài transaction thì tăng ngay
+        changeVersionService.changed(ChangeVersionService.SERVICES);
+        assertEquals(102, version("services"));
+    }
+
+    private static Room room(String name) {
+        return Room.builder().roomName(name).roomType(RoomType.DOUBLE).price("500000").build();
+    }
+
+    private long version(String table) {
+        return jdbcTemplate.queryForObject("SELECT version FROM table_version WHERE table_name = ?", Long.class, table);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.HMS.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+    private final BookingService bookingService = mock(BookingService.class);
+    private final AuditReportService auditReportService = mock(AuditReportService.class);
+    private final GuestService guestService = mock(GuestService.class);
+    private final CountDownLatch never = new CountDownLatch(1);
+    private final DashboardServiceImpl dashboardService = new DashboardServiceImpl(bookingService,
+            auditReportService, guestService, mock(PlatformTransactionManager.class), 4, 0, 200);
+
+    @AfterEach
+    void shutdown() {
+        never.countDown();
+        dashboardService.shutdown();
+    }
+
+    @Test
+    void recentLimitIsClamped() {
+        when(bookingService.getRecentBookings(DashboardServiceImpl.MAX_RECENT_LIMIT)).thenReturn(List.of());
+
+        dashboardService.getSummary(2026, LocalDate.of(2026, 10, 1), 1_000_000);
+
+        verify(bookingService).getRecentBookings(DashboardServiceImpl.MAX_RECENT_LIMIT);
+    }
+
+    @Test
+    void hangingWidgetIsInterruptedAndFailsTheSummary() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(guestService.getCurrentGuestCount()).thenAnswer(invocation -> {
+            try {
+                never.await();
+            } catch (InterruptedException ex) {
+                interrupted.countDown();
+                throw ex;
+            }
+            return 0L;
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () ->
+                assertThrows(RuntimeException.class,
+                        () -> dashboardService.getSummary(2026, LocalDate.of(2026, 10, 1), 10)));
+        // Thread của pool được trả lại thay vì kẹt mãi ở widget
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.HMS.service;
+
+import com.example.HMS.config.NightAuditProperties;
+import com.example.HMS.exception.FolioClosedException;
+import com.example.HMS.model.Bookings;
+import com.example.HMS.model.Folio;
+import com.example.HMS.model.ServiceUsage;
+import com.example.HMS.repository.BookingsRepository;
+import com.example.HMS.repository.BulkInsertRepository;
+import com.example.HMS.repository.FolioRepository;
+import com.example.HMS.repository.ServiceUsageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        // Migration là SQL của MySQL
+        "spring.datasource.url=jdbc:h2:mem:folio-posting;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({FolioPostingServiceImpl.class, BulkInsertRepository.class, NightAuditProperties.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FolioPostingServiceTest {
+    private static final long BOOKING = 1;
+
+    @Autowired
+    private FolioPostingService folioPostingService;
+
+    @Autowired
+    private BookingsRepository bookingsRepository;
+
+    @Autowired
+    private ServiceUsageRepository serviceUsageRepository;
+
+    @Autowired
+    private FolioRepository folioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void confirmedBooking() {
+        jdbcTemplate.update("DELETE FROM folio_charges");
+        jdbcTemplate.update("DELETE FROM folio");
+        jdbcTemplate.update("DELETE FROM service_usage");
+        jdbcTemplate.update("DELETE FROM services");
+        jdbcTemplate.update("DELETE FROM bookings");
+
+        jdbcTemplate.update("INSERT INTO bookings (id, status, start_date, end_date, guest_name, guest_email, " +
+                "total_price, room_number, adult_number, child_number) VALUES (1, 'CONFIRMED', '2026-11-01 14:00:00', " +
+                "'2026-11-03 12:00:00', 'Guest', 'guest@example.com', 0, 1, 2, 0)");
+        jdbcTemplate.update("INSERT INTO services (id, service_name, service_type, service_price) " +
+                "VALUES (1, 'Laundry', 'LAUNDRY', 50000)");
+    }
+
+    @Test
+    void usageBeforeCheckInWaitsForTheFolioOpenedAtCheckIn() {
+        folioPostingService.postServiceCharge(usage(2));
+        assertEquals(0, count("SELECT COUNT(*) FROM folio"));
+
+        folioPostingService.openFolio(booking());
+
+        assertEquals(1, count("SELECT COUNT(*) FROM folio WHERE status = 'OPEN' AND total_amount = 100000"));
+        assertEquals(1, count("SELECT COUNT(*) FROM folio_charges"));
+    }
+
+    @Test
+    void lateUsageIsPostedToAPendingFolio() {
+        folioPostingService.openFolio(booking());
+        jdbcTemplate.update("UPDATE folio SET status = 'PENDING'");
+
+        folioPostingService.postServiceCharge(usage(1));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM folio WHERE status = 'PENDING' AND total_amount = 50000"));
+    }
+
+    @Test
+    void paidFolioRejectsNewCharges() {
+        folioPostingService.openFolio(booking());
+        jdbcTemplate.update("UPDATE folio SET status = 'PAID'");
+        ServiceUsage usage = usage(1);
+
+        assertThrows(FolioClosedException.class, () -> folioPostingService.postServiceCharge(usage));
+        assertThrows(FolioClosedException.class, () -> folioPostingService.reverseServiceCharge(usage));
+        assertEquals(0, count("SELECT COUNT(*) FROM folio_charges"));
+    }
+
+    @Test
+    void folioLoadedBeforeAPostingSeesTheNewCharge() {
+        folioPostingService.openFolio(booking());
+        ServiceUsage usage = usage(1);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Folio folio = folioRepository.findByBookingsId(BOOKING).orElseThrow();
+            assertEquals(0, folio.getFolioDetails().size());
+
+            folioPostingService.postServiceCharge(usage);
+
+            assertEquals(1, folio.getFolioDetails().size());
+            assertEquals(50000, folio.getTotalAmount());
+        });
+    }
+
+    private Bookings booking() {
+        return bookingsRepository.findById((int) BOOKING).orElseThrow();
+    }
+
+    private ServiceUsage usage(int quantity) {
+        jdbcTemplate.update("INSERT INTO service_usage (booking_id, service_id, quantity, total_price, timestamp) " +
+                "VALUES (?, 1, ?, ?, CURRENT_TIMESTAMP)", BOOKING, quantity, quantity * 50000.0);
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM service_usage", Long.class);
+        return serviceUsageRepository.findById(id).orElseThrow();
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.LoadDataRequest;
+import com.example.HMS.dto.LoadDataStatusDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoadDataGeneratorServiceTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final OccupancyService occupancyService = mock(OccupancyService.class);
+    private final ChangeVersionService changeVersionService = mock(ChangeVersionService.class);
+
+    @TempDir
+    private Path baseDir;
+
+    @Test
+    void sameSeedWritesIdenticalFiles() throws IOException {
+        // Salt của BCrypt là phần duy nhất được phép khác nhau giữa hai lần chạy
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        LoadDataGeneratorService generator = generator();
+
+        assertEquals("COMPLETED", generator.generate(request(42, "first")).getState());
+        assertEquals("COMPLETED", generator.generate(request(42, "second")).getState());
+        assertEquals("COMPLETED", generator.generate(request(7, "other")).getState());
+
+        List<String> files = fileNames(baseDir.resolve("first"));
+        assertTrue(files.contains("load.sql"));
+        assertTrue(files.stream().anyMatch(name -> name.startsWith("application_user-")),
+                "users should be split across workers");
+        assertEquals(files, fileNames(baseDir.resolve("second")));
+        boolean seedMatters = false;
+        for (String file : files) {
+            byte[] first = Files.readAllBytes(baseDir.resolve("first").resolve(file));
+            assertArrayEquals(first, Files.readAllBytes(baseDir.resolve("second").resolve(file)), file);
+            Path other = baseDir.resolve("other").resolve(file);
+            seedMatters |= Files.exists(other) && !file.equals("load.sql")
+                    && !Arrays.equals(first, Files.readAllBytes(other));
+        }
+        assertTrue(seedMatters, "a different seed should generate different rows");
+    }
+
+    @Test
+    void outputDirMustStayInsideTheBaseDir() {
+        LoadDataGeneratorService generator = generator();
+
+        assertThrows(RuntimeException.class, () -> generator.generate(request(42, "../escaped")));
+        assertThrows(RuntimeException.class, () -> generator.generate(request(42, baseDir.getParent().toString())));
+        assertFalse(Files.exists(baseDir.resolveSibling("escaped")));
+    }
+
+    @Test
+    void databaseRunRebuildsTheCubeAndBumpsVersions() {
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+
+        LoadDataStatusDTO status = generator().generate(request(42, null));
+
+        assertEquals("COMPLETED", status.getState());
+        verify(occupancyService).rebuild();
+        verify(changeVersionService).changed(ChangeVersionService.ROOMS, ChangeVersionService.SERVICES);
+    }
+
+    private LoadDataGeneratorService generator() {
+        return new LoadDataGeneratorServiceImpl(jdbcTemplate, passwordEncoder, occupancyService, changeVersionService,
+                4, 500, baseDir.toString());
+    }
+
+    // 100 phòng, 2.500 khách, 1 năm kết thúc ở một ngày cố định
+    private static LoadDataRequest request(long seed, String outputDir) {
+        return LoadDataRequest.builder()
+                .scaleFactor(0.05)
+                .seed(seed)
+                .years(1)
+                .endDate(LocalDate.of(2026, 6, 30))
+                .outputDir(outputDir)
+                .build();
+    }
+
+    private static List<String> fileNames(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.HMS.service;
+
+import com.example.HMS.config.NightAuditProperties;
+import com.example.HMS.model.NightAuditRun;
+import com.example.HMS.model.NightAuditStatus;
+import com.example.HMS.repository.BulkInsertRepository;
+import com.example.HMS.repository.NightAuditRunRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        // Migration là SQL của MySQL
+        "spring.datasource.url=jdbc:h2:mem:night-audit;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.night-audit.chunk-size=200",
+        "app.night-audit.workers=4"
+})
+@Import({NightAuditServiceImpl.class, FolioPostingServiceImpl.class, BulkInsertRepository.class,
+        NightAuditProperties.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NightAuditServiceTest {
+    private static final int ROOMS = 2000;
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2025, 6, 10);
+
+    @Autowired
+    private NightAuditService nightAuditService;
+
+    @Autowired
+    private NightAuditRunRepository nightAuditRunRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void generateFullHouse() {
+        jdbcTemplate.update("DELETE FROM folio_charges");
+        jdbcTemplate.update("DELETE FROM folio");
+        jdbcTemplate.update("DELETE FROM room_bookings");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM rooms");
+        jdbcTemplate.update("DELETE FROM night_audit_run");
+
+        Timestamp checkIn = Timestamp.valueOf(BUSINESS_DATE.minusDays(1).atTime(14, 0));
+        Timestamp checkOut = Timestamp.valueOf(BUSINESS_DATE.plusDays(2).atStartOfDay());
+        List<Object[]> rooms = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> roomBookings = new ArrayList<>();
+        List<Object[]> folios = new ArrayList<>();
+        for (long id = 1; id <= ROOMS; id++) {
+            rooms.add(new Object[]{id, "Room " + id, "500000", "DOUBLE", "OCCUPIED"});
+            bookings.add(new Object[]{id, "CHECKIN", checkIn, checkOut, checkIn, "Guest " + id, "guest" + id + "@example.com"});
+            roomBookings.add(new Object[]{id, id});
+            // Half of the house already has a running folio, the other half gets one opened by the audit
+            if (id % 2 == 0) {
+                folios.add(new Object[]{id, "OPEN", checkIn, checkIn});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO rooms (id, room_name, price, room_type, room_status) VALUES (?, ?, ?, ?, ?)", rooms);
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, status, start_date, end_date, check_in_time, guest_name, guest_email, " +
+                "total_price, room_number, adult_number, child_number) VALUES (?, ?, ?, ?, ?, ?, ?, 0, 1, 2, 0)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO room_bookings (room_id, booking_id) VALUES (?, ?)", roomBookings);
+        jdbcTemplate.batchUpdate("INSERT INTO folio (booking_id, status, created_at, updated_at, total_amount) VALUES (?, ?, ?, ?, 0)", folios);
+    }
+
+    @Test
+    void postsOneChargePerRoomNightWellUnderAMinute() {
+        long start = System.nanoTime();
+        NightAuditRun run = nightAuditService.runNightAudit(BUSINESS_DATE);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(NightAuditStatus.COMPLETED, run.getStatus());
+        assertEquals(ROOMS, run.getPostedCharges());
+        assertEquals(ROOMS, count("SELECT COUNT(*) FROM folio_charges WHERE business_date = ?", BUSINESS_DATE));
+        assertEquals(ROOMS, count("SELECT COUNT(*) FROM folio WHERE status = 'OPEN' AND total_amount = 500000"));
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(30)) < 0, "Night audit took " + elapsed);
+    }
+
+    @Test
+    void resumesFromCheckpointWithoutDuplicatingCharges() {
+        nightAuditService.runNightAudit(BUSINESS_DATE);
+
+        // Simulate a crash after the first chunks: the run is still RUNNING with an earlier checkpoint
+        NightAuditRun run = nightAuditRunRepository.findByBusinessDate(BUSINESS_DATE).orElseThrow();
+        run.setStatus(NightAuditStatus.RUNNING);
+        run.setLastBookingId(600L);
+        nightAuditRunRepository.save(run);
+
+        NightAuditRun resumed = nightAuditService.runNightAudit(BUSINESS_DATE);
+
+        assertEquals(NightAuditStatus.COMPLETED, resumed.getStatus());
+        assertEquals((long) ROOMS, resumed.getLastBookingId());
+        assertEquals(ROOMS, count("SELECT COUNT(*) FROM folio_charges WHERE business_date = ?", BUSINESS_DATE));
+        assertEquals(ROOMS, count("SELECT COUNT(*) FROM folio WHERE total_amount = 500000"));
+    }
+
+    @Test
+    void interruptedRunResumesWithoutPostingANightTwice() throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread audit = new Thread(() -> {
+            try {
+                nightAuditService.runNightAudit(BUSINESS_DATE);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }, "night-audit-test");
+        audit.start();
+
+        // Ngắt khi vài chunk đã commit và checkpoint đã tiến, các chunk còn lại chưa xong
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (count("SELECT COUNT(*) FROM night_audit_run WHERE last_booking_id > 0") == 0) {
+            assertTrue(System.nanoTime() < deadline, "Night audit never reached its first checkpoint");
+            Thread.sleep(5);
+        }
+        audit.interrupt();
+        audit.join(TimeUnit.MINUTES.toMillis(1));
+
+        assertNotNull(failure.get(), "Interrupted run should fail");
+        NightAuditRun interrupted = nightAuditRunRepository.findByBusinessDate(BUSINESS_DATE).orElseThrow();
+        assertEquals(NightAuditStatus.FAILED, interrupted.getStatus());
+        assertNotNull(interrupted.getErrorMessage());
+        assertTrue(interrupted.getLastBookingId() < ROOMS);
+
+        NightAuditRun resumed = nightAuditService.runNightAudit(BUSINESS_DATE);
+
+        assertEquals(NightAuditStatus.COMPLETED, resumed.getStatus());
+        assertEquals(ROOMS, count("SELECT COUNT(*) FROM folio_charges WHERE business_date = ?", BUSINESS_DATE));
+        assertEquals(ROOMS, count("SELECT COUNT(DISTINCT room_id) FROM folio_charges WHERE business_date = ?", BUSINESS_DATE));
+        assertEquals(ROOMS, count("SELECT COUNT(*) FROM folio WHERE total_amount = 500000"));
+    }
+
+    @Test
+    void failedRunIsSavedAndResumedBeforeTheNextDate() {
+        jdbcTemplate.update("UPDATE rooms SET price = 'n/a' WHERE id = 1500");
+
+        assertThrows(RuntimeException.class, () -> nightAuditService.runNightAudit(BUSINESS_DATE));
+
+        NightAuditRun failed = nightAuditRunRepository.findByBusinessDate(BUSINESS_DATE).orElseThrow();
+        assertEquals(NightAuditStatus.FAILED, failed.getStatus());
+        assertTrue(failed.getErrorMessage().contains("NumberFormatException"), failed.getErrorMessage());
+        assertTrue(failed.getLastBookingId() < 1500);
+
+        jdbcTemplate.update("UPDATE rooms SET price = '500000' WHERE id = 1500");
+        List<NightAuditRun> resumed = nightAuditService.resumeUnfinishedRuns();
+
+        assertEquals(1, resumed.size());
+        assertEquals(NightAuditStatus.COMPLETED, resumed.get(0).getStatus());
+        assertNull(resumed.get(0).getErrorMessage());
+        assertEquals(ROOMS, count("SELECT COUNT(*) FROM folio_charges WHERE business_date = ?", BUSINESS_DATE));
+        assertEquals(ROOMS, count("SELECT COUNT(*) FROM folio WHERE total_amount = 500000"));
+        assertTrue(nightAuditService.resumeUnfinishedRuns().isEmpty());
+    }
+
+    private int count(String sql, Object... args) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        return count != null ? count : 0;
+    }
+}
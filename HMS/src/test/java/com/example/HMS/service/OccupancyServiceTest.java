@@ -0,0 +1,133 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.OccupancyCubeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = {
+        // Migration là SQL của MySQL
+        "spring.datasource.url=jdbc:h2:mem:occupancy;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import(OccupancyServiceImpl.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OccupancyServiceTest {
+    private static final LocalDate NIGHT = LocalDate.of(2026, 11, 1);
+
+    @Autowired
+    private OccupancyService occupancyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clean() {
+        jdbcTemplate.update("DELETE FROM occupancy_cube");
+        jdbcTemplate.update("DELETE FROM stay_night");
+        jdbcTemplate.update("DELETE FROM room_bookings");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM rooms");
+    }
+
+    @Test
+    void concurrentRefreshesOfTheSameCellAreAllCounted() throws Exception {
+        int bookings = 40;
+        for (long id = 1; id <= bookings; id++) {
+            jdbcTemplate.update("INSERT INTO rooms (id, room_name, room_type, price) VALUES (?, ?, 'DOUBLE', '500000')",
+                    id, "R" + id);
+            insertBooking(id, "'DOUBLE'", "'ONLINE'");
+            jdbcTemplate.update("INSERT INTO room_bookings (booking_id, room_id) VALUES (?, ?)", id, id);
+        }
+
+        // Mọi booking cùng rơi vào một ô chưa tồn tại, nên các lần refresh đầu tiên tranh nhau tạo nó
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> refreshes = new ArrayList<>();
+            for (long id = 1; id <= bookings; id++) {
+                long bookingId = id;
+                refreshes.add(pool.submit(() -> {
+                    start.await();
+                    occupancyService.refreshBooking(bookingId);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> refresh : refreshes) {
+                refresh.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<String, Object> cell = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS cells, SUM(nights_sold) AS nights, SUM(bookings) AS arrivals, " +
+                        "SUM(room_revenue) AS revenue FROM occupancy_cube");
+        assertEquals(1L, ((Number) cell.get("cells")).longValue());
+        assertEquals((long) bookings, ((Number) cell.get("nights")).longValue());
+        assertEquals((long) bookings, ((Number) cell.get("arrivals")).longValue());
+        assertEquals(bookings * 500_000.0, ((Number) cell.get("revenue")).doubleValue());
+    }
+
+    @Test
+    void bookingsWithoutRoomTypeOrSourceShareOneUnknownCell() {
+        insertBooking(1, "NULL", "NULL");
+        insertBooking(2, "NULL", "NULL");
+
+        occupancyService.refreshBooking(1L);
+        occupancyService.refreshBooking(2L);
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM occupancy_cube WHERE room_type = 'UNKNOWN' AND source = 'UNKNOWN'", Integer.class));
+        List<OccupancyCubeDTO> occupancy = occupancyService.getOccupancy(NIGHT, NIGHT);
+        assertEquals(1, occupancy.size());
+        assertNull(occupancy.get(0).getRoomType());
+        assertNull(occupancy.get(0).getSource());
+        assertEquals(2, occupancy.get(0).getBookings());
+    }
+
+    @Test
+    void cancellingABookingSubtractsItsNights() {
+        jdbcTemplate.update("INSERT INTO rooms (id, room_name, room_type, price) VALUES (1, 'R1', 'SUITE', '900000')");
+        insertBooking(1, "'SUITE'", "'DIRECT'");
+        jdbcTemplate.update("INSERT INTO room_bookings (booking_id, room_id) VALUES (1, 1)");
+        occupancyService.refreshBooking(1L);
+
+        jdbcTemplate.update("UPDATE bookings SET status = 'CANCELLED' WHERE id = 1");
+        occupancyService.refreshBooking(1L);
+
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT nights_sold FROM occupancy_cube", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stay_night", Integer.class));
+    }
+
+    private void insertBooking(long id, String roomType, String source) {
+        jdbcTemplate.update("INSERT INTO bookings (id, adult_number, child_number, room_number, total_price, " +
+                "start_date, end_date, room_type, source, status) " +
+                "VALUES (?, 2, 0, 1, 500000, '2026-11-01 14:00:00', '2026-11-02 12:00:00', " +
+                roomType + ", " + source + ", 'CONFIRMED')", id);
+    }
+}
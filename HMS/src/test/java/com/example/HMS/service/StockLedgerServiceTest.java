@@ -0,0 +1,163 @@
+package com.example.HMS.service;
+
+import com.example.HMS.dto.InventoryReceiptDTO;
+import com.example.HMS.mapper.InventoryMapperImpl;
+import com.example.HMS.model.Inventory;
+import com.example.HMS.repository.BulkInsertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        // Migration là SQL của MySQL
+        "spring.datasource.url=jdbc:h2:mem:stock-ledger;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "app.stock-ledger.settle-ms=0"
+})
+@Import({InventoryReceiptServiceImpl.class, StockLedgerServiceImpl.class, BulkInsertRepository.class,
+        InventoryMapperImpl.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockLedgerServiceTest {
+    private static final long SOAP = 1;
+    private static final long TOWEL = 2;
+
+    @Autowired
+    private InventoryReceiptService inventoryReceiptService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void openStock() {
+        jdbcTemplate.update("DELETE FROM stock_snapshot");
+        jdbcTemplate.update("DELETE FROM stock_movement");
+        jdbcTemplate.update("DELETE FROM inventory_receipt_details");
+        jdbcTemplate.update("DELETE FROM inventory_receipts");
+        jdbcTemplate.update("DELETE FROM inventory");
+        jdbcTemplate.update("DELETE FROM supplier");
+
+        jdbcTemplate.update("INSERT INTO supplier (id, supplier_name) VALUES (1, 'Supplier')");
+        jdbcTemplate.update("INSERT INTO inventory (id, supplier_id, inventory_name, inventory_price, inventory_quantity) " +
+                "VALUES (1, 1, 'Soap', 10000, 10), (2, 1, 'Towel', 50000, 0)");
+        jdbcTemplate.update("INSERT INTO stock_movement (inventory_id, quantity_delta, reason, created_at) " +
+                "VALUES (1, 10, 'OPENING', CURRENT_TIMESTAMP)");
+    }
+
+    @Test
+    void concurrentReceiptsDoNotLoseUpdates() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> receipts = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                // Nửa số phiếu liệt kê mặt hàng theo thứ tự ngược lại
+                InventoryReceiptDTO receipt = i % 2 == 0
+                        ? receipt("RC" + i, SOAP, 1, TOWEL, 2)
+                        : receipt("RC" + i, TOWEL, 2, SOAP, 1);
+                receipts.add(pool.submit(() -> inventoryReceiptService.createInventoryReceipt(receipt)));
+            }
+            for (Future<?> receipt : receipts) {
+                receipt.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(50, quantity(SOAP));
+        assertEquals(80, quantity(TOWEL));
+        assertEquals(81, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_movement", Integer.class));
+    }
+
+    @Test
+    void updatingAReceiptReversesItsOldLines() {
+        InventoryReceiptDTO created = inventoryReceiptService.createInventoryReceipt(receipt("RC1", SOAP, 5, TOWEL, 3));
+
+        inventoryReceiptService.updateInventoryReceipt(created.getId(), receipt("RC1", SOAP, 2));
+
+        assertEquals(12, quantity(SOAP));
+        assertEquals(0, quantity(TOWEL));
+    }
+
+    @Test
+    void reversalBelowZeroRollsBackTheWholeReceipt() {
+        InventoryReceiptDTO created = inventoryReceiptService.createInventoryReceipt(receipt("RC1", SOAP, 5, TOWEL, 3));
+        stockLedgerService.adjustTo(inventory(TOWEL), 1);
+
+        assertThrows(RuntimeException.class, () -> inventoryReceiptService.deleteInventoryReceipt(created.getId()));
+
+        assertEquals(15, quantity(SOAP));
+        assertEquals(1, quantity(TOWEL));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_receipts", Integer.class));
+    }
+
+    @Test
+    void snapshotPlusLaterMovementsEqualsTheCounter() {
+        inventoryReceiptService.createInventoryReceipt(receipt("RC1", SOAP, 5, TOWEL, 3));
+        assertEquals(2, stockLedgerService.takeSnapshots());
+        inventoryReceiptService.createInventoryReceipt(receipt("RC2", SOAP, 4));
+
+        assertEquals(1, stockLedgerService.takeSnapshots());
+        for (long inventoryId : new long[]{SOAP, TOWEL}) {
+            assertEquals(quantity(inventoryId), ledgerQuantity(inventoryId));
+        }
+        assertEquals(19, jdbcTemplate.queryForObject("SELECT quantity FROM stock_snapshot WHERE inventory_id = ?",
+                Integer.class, SOAP));
+    }
+
+    private static InventoryReceiptDTO receipt(String code, long... inventoryAndQuantity) {
+        InventoryReceiptDTO receipt = new InventoryReceiptDTO();
+        receipt.setReceiptCode(code);
+        receipt.setSupplierId(1L);
+        receipt.setStatus("COMPLETED");
+        for (int i = 0; i < inventoryAndQuantity.length; i += 2) {
+            receipt.getDetails().add(new InventoryReceiptDTO.InventoryReceiptDetailDTO(null, inventoryAndQuantity[i], null,
+                    (int) inventoryAndQuantity[i + 1], 0));
+        }
+        return receipt;
+    }
+
+    private Inventory inventory(long inventoryId) {
+        return Inventory.builder()
+                .id(inventoryId)
+                .inventoryQuantity(quantity(inventoryId))
+                .build();
+    }
+
+    private int quantity(long inventoryId) {
+        return jdbcTemplate.queryForObject("SELECT inventory_quantity FROM inventory WHERE id = ?", Integer.class, inventoryId);
+    }
+
+    // Snapshot của mặt hàng cộng các dòng sổ kho sau nó
+    private int ledgerQuantity(long inventoryId) {
+        int snapshot = jdbcTemplate.queryForObject("SELECT quantity FROM stock_snapshot WHERE inventory_id = ?",
+                Integer.class, inventoryId);
+        long lastMovementId = jdbcTemplate.queryForObject(
+                "SELECT last_movement_id FROM stock_snapshot WHERE inventory_id = ?", Long.class, inventoryId);
+        Integer later = jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity_delta) FROM stock_movement WHERE inventory_id = ? AND id > ?",
+                Integer.class, inventoryId, lastMovementId);
+        return snapshot + (later != null ? later : 0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.model.Folio;
+import com.example.HMS.repository.FolioRepository;
+import com.example.HMS.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = {
+        // Migration là SQL của MySQL
+        "spring.datasource.url=jdbc:h2:mem:query-count;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryCountContextTest {
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private FolioRepository folioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM folio_charges");
+        jdbcTemplate.update("DELETE FROM folio");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM rooms");
+        jdbcTemplate.update("INSERT INTO rooms (id, room_name, room_type, price) VALUES " +
+                "(1, 'R1', 'DOUBLE', '500000'), (2, 'R2', 'DOUBLE', '500000'), (3, 'R3', 'SUITE', '900000')");
+        jdbcTemplate.update("INSERT INTO bookings (id, status, start_date, end_date, total_price, room_number, " +
+                "adult_number, child_number) VALUES (1, 'CHECKIN', '2026-11-01 14:00:00', '2026-11-02 12:00:00', 0, 1, 2, 0)");
+        jdbcTemplate.update("INSERT INTO folio (id, booking_id, status, total_amount) VALUES (1, 1, 'OPEN', 0)");
+        QueryCountContext.begin();
+    }
+
+    @AfterEach
+    void clear() {
+        QueryCountContext.clear();
+    }
+
+    @Test
+    void countsStatementsAndEntitiesOfTheCurrentRequest() {
+        roomRepository.findAll();
+
+        assertEquals(1, QueryCountContext.current().getStatements());
+        assertEquals(3, QueryCountContext.current().getEntities());
+    }
+
+    @Test
+    void countsLazyCollectionInitialization() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Folio folio = folioRepository.findById(1L).orElseThrow();
+            long before = QueryCountContext.current().getCollections();
+            folio.getFolioDetails().size();
+            assertEquals(before + 1, QueryCountContext.current().getCollections());
+        });
+    }
+
+    @Test
+    void nothingIsCountedOutsideARequest() {
+        QueryCountContext.clear();
+
+        roomRepository.findAll();
+
+        assertNull(QueryCountContext.current());
+    }
+}
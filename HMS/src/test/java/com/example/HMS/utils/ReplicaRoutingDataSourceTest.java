@@ -0,0 +1,173 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.filter.ReadYourWritesFilter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Routes between two local H2 instances, a primary and a replica, each holding a row that names the node.
+ */
+class ReplicaRoutingDataSourceTest {
+    private static final String NODE = "SELECT name FROM node";
+
+    private DriverManagerDataSource primaryDb;
+    private SwitchableDataSource replicaA;
+    private SwitchableDataSource replicaB;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primaryDb = database("primary");
+        DriverManagerDataSource replicaDb = database("replica");
+        // Hai pool cùng trỏ vào instance replica để đếm được round robin
+        replicaA = new SwitchableDataSource(replicaDb);
+        replicaB = new SwitchableDataSource(replicaDb);
+        routing = new ReplicaRoutingDataSource(primaryDb, List.of(replicaA, replicaB));
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicasInRoundRobin() {
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica", readOnly.execute(status -> jdbcTemplate.queryForObject(NODE, String.class)));
+        }
+        assertEquals(2, replicaA.connections.get());
+        assertEquals(2, replicaB.connections.get());
+        assertEquals(4, routing.getReplicaConnections());
+    }
+
+    @Test
+    void writesAndNonTransactionalReadsGoToPrimary() {
+        assertEquals("primary", readWrite.execute(status -> jdbcTemplate.queryForObject(NODE, String.class)));
+        assertEquals("primary", jdbcTemplate.queryForObject(NODE, String.class));
+        assertEquals(0, routing.getReplicaConnections());
+    }
+
+    @Test
+    void unreachableReplicaIsSkippedUntilHealthCheckRestoresIt() {
+        replicaA.down = true;
+        replicaB.down = true;
+        assertEquals("primary", readOnly.execute(status -> jdbcTemplate.queryForObject(NODE, String.class)));
+        assertEquals(0, routing.getHealthyReplicas());
+        assertEquals(1, routing.getFallbacks());
+
+        replicaB.down = false;
+        // Replica đã bị loại thì không thử lại ở mỗi request, chỉ health check mới đưa về
+        assertEquals("primary", readOnly.execute(status -> jdbcTemplate.queryForObject(NODE, String.class)));
+        routing.checkReplicas();
+        assertEquals(1, routing.getHealthyReplicas());
+        int before = replicaB.connections.get();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("replica", readOnly.execute(status -> jdbcTemplate.queryForObject(NODE, String.class)));
+        }
+        assertEquals(before + 3, replicaB.connections.get());
+    }
+
+    @Test
+    void readsAfterAWriteInTheSameRequestStayOnPrimary() {
+        ReplicaRoutingContext.begin(false);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        assertEquals("primary", readOnly.execute(status -> jdbcTemplate.queryForObject(NODE, String.class)));
+    }
+
+    @Test
+    void userReadsPrimaryForAWhileAfterWriting() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(60_000, 100);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("receptionist", null, "RECEPTIONIST"));
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain(
+                new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+                    }
+                }));
+
+        assertEquals("primary", readInRequest(filter, new MockHttpServletRequest()));
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("housekeeper", null, "HOUSEKEEPING"));
+        assertEquals("replica", readInRequest(filter, new MockHttpServletRequest()));
+
+        MockHttpServletRequest optIn = new MockHttpServletRequest();
+        optIn.addHeader(ReadYourWritesFilter.HEADER, "true");
+        assertEquals("primary", readInRequest(filter, optIn));
+    }
+
+    private String readInRequest(ReadYourWritesFilter filter, MockHttpServletRequest request) throws Exception {
+        AtomicReference<String> node = new AtomicReference<>();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(
+                new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                        node.set(readOnly.execute(status -> jdbcTemplate.queryForObject(NODE, String.class)));
+                    }
+                }));
+        return node.get();
+    }
+
+    private DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE node (name VARCHAR(20))");
+        setup.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static class SwitchableDataSource extends DelegatingDataSource {
+        private final AtomicInteger connections = new AtomicInteger();
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            connections.incrementAndGet();
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.HMS.utils;
+
+import com.example.HMS.config.RoomStatusStreamProperties;
+import com.example.HMS.dto.RoomStatusDTO;
+import com.example.HMS.model.RoomStatus;
+import com.example.HMS.model.RoomType;
+import com.example.HMS.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomStatusBroadcasterTest {
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final RoomStatusStreamProperties properties = new RoomStatusStreamProperties();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private RoomStatusBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        when(roomRepository.findAllStatuses()).thenReturn(List.of(
+                room(1, RoomStatus.AVAILABLE), room(2, RoomStatus.AVAILABLE)));
+        properties.setSenderThreads(1);
+        properties.setSendTimeoutMs(100);
+        properties.setSnapshotTtlMs(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void everySubscriberGetsTheSnapshotThenEachChange() {
+        broadcaster = new RoomStatusBroadcaster(roomRepository, properties);
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            emitters.add(subscribe(null, null));
+        }
+        awaitUntil(() -> emitters.stream().allMatch(emitter -> emitter.events.size() == 1));
+
+        broadcaster.onRoomStatusChanged(change(1, RoomStatus.OCCUPIED));
+
+        awaitUntil(() -> emitters.stream().allMatch(emitter -> emitter.events.size() == 2));
+        for (RecordingEmitter emitter : emitters) {
+            assertEquals("snapshot", emitter.events.get(0).name);
+            assertEquals(2, ((List<?>) emitter.events.get(0).data).size());
+            assertEquals("status", emitter.events.get(1).name);
+            assertEquals(room(1, RoomStatus.OCCUPIED), emitter.events.get(1).data);
+        }
+    }
+
+    @Test
+    void slowSubscriberOnlyGetsTheLatestStatusOfEachRoom() throws Exception {
+        broadcaster = new RoomStatusBroadcaster(roomRepository, properties);
+        properties.setSendTimeoutMs(60_000);
+        RecordingEmitter slow = subscribe(null, unblock);
+        assertTrue(slow.writing.await(5, TimeUnit.SECONDS));
+
+        // Snapshot đang ghi dở; các thay đổi dồn lại trong lúc đó
+        for (RoomStatus status : new RoomStatus[]{RoomStatus.OCCUPIED, RoomStatus.CLEANING, RoomStatus.AVAILABLE,
+                RoomStatus.MAINTENANCE}) {
+            broadcaster.onRoomStatusChanged(change(1, status));
+        }
+        broadcaster.onRoomStatusChanged(change(2, RoomStatus.OCCUPIED));
+        unblock.countDown();
+
+        awaitUntil(() -> slow.events.size() == 3);
+        Thread.sleep(100);
+        assertEquals(3, slow.events.size());
+        assertEquals(room(1, RoomStatus.MAINTENANCE), slow.events.get(1).data);
+        assertEquals(room(2, RoomStatus.OCCUPIED), slow.events.get(2).data);
+    }
+
+    @Test
+    void blockedSubscriberIsEvictedWithoutStallingTheOthers() throws Exception {
+        broadcaster = new RoomStatusBroadcaster(roomRepository, properties);
+        RecordingEmitter stuck = subscribe(null, unblock);
+        assertTrue(stuck.writing.await(5, TimeUnit.SECONDS));
+        Thread.sleep(properties.getSendTimeoutMs() + 50);
+
+        broadcaster.evictStalled();
+        assertEquals(0, broadcaster.subscriberCount());
+
+        // Thread ghi duy nhất vẫn kẹt ở client bị loại; pool đã được bù nên client mới vẫn được phục vụ
+        RecordingEmitter healthy = subscribe(null, null);
+        broadcaster.onRoomStatusChanged(change(2, RoomStatus.CLEANING));
+        awaitUntil(() -> healthy.events.size() == 2);
+        assertEquals(room(2, RoomStatus.CLEANING), healthy.events.get(1).data);
+        assertTrue(stuck.events.isEmpty());
+    }
+
+    @Test
+    void reconnectWithLastEventIdReplaysOnlyMissedChanges() {
+        broadcaster = new RoomStatusBroadcaster(roomRepository, properties);
+        RecordingEmitter first = subscribe(null, null);
+        broadcaster.onRoomStatusChanged(change(1, RoomStatus.OCCUPIED));
+        awaitUntil(() -> first.events.size() == 2);
+        broadcaster.onRoomStatusChanged(change(2, RoomStatus.CLEANING));
+
+        RecordingEmitter second = subscribe(first.events.get(1).id, null);
+
+        awaitUntil(() -> second.events.size() == 1);
+        assertEquals("status", second.events.get(0).name);
+        assertEquals(room(2, RoomStatus.CLEANING), second.events.get(0).data);
+    }
+
+    @Test
+    void addedAndRemovedRoomsReachTheBoard() {
+        broadcaster = new RoomStatusBroadcaster(roomRepository, properties);
+        RecordingEmitter emitter = subscribe(null, null);
+        awaitUntil(() -> emitter.events.size() == 1);
+
+        broadcaster.onRoomStatusChanged(change(3, RoomStatus.AVAILABLE));
+        awaitUntil(() -> emitter.events.size() == 2);
+        broadcaster.onRoomStatusChanged(new RoomStatusChangedEvent(room(2, RoomStatus.AVAILABLE), true));
+        awaitUntil(() -> emitter.events.size() == 3);
+
+        assertEquals("status", emitter.events.get(1).name);
+        assertEquals(room(3, RoomStatus.AVAILABLE), emitter.events.get(1).data);
+        assertEquals("removed", emitter.events.get(2).name);
+        assertEquals(2L, ((RoomStatusDTO) emitter.events.get(2).data).getId());
+    }
+
+    private RecordingEmitter subscribe(String lastEventId, CountDownLatch release) {
+        RecordingEmitter emitter = new RecordingEmitter(release);
+        broadcaster.subscribe(lastEventId, emitter);
+        return emitter;
+    }
+
+    private static RoomStatusChangedEvent change(long roomId, RoomStatus status) {
+        return new RoomStatusChangedEvent(room(roomId, status), false);
+    }
+
+    private static RoomStatusDTO room(long id, RoomStatus status) {
+        return new RoomStatusDTO(id, "P" + id, RoomType.DOUBLE, status);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 s");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private record Event(String id, String name, Object data) {
+        private static final Pattern FIELD = Pattern.compile("^(id|event):(.*)$", Pattern.MULTILINE);
+
+        static Event of(SseEmitter.SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            Object data = null;
+            for (var part : builder.build()) {
+                if (part.getData() instanceof String string && !MediaType.APPLICATION_JSON.equals(part.getMediaType())) {
+                    text.append(string);
+                } else {
+                    data = part.getData();
+                }
+            }
+            String id = null;
+            String name = null;
+            Matcher matcher = FIELD.matcher(text);
+            while (matcher.find()) {
+                if (matcher.group(1).equals("id")) {
+                    id = matcher.group(2);
+                } else {
+                    name = matcher.group(2);
+                }
+            }
+            return new Event(id, name, data);
+        }
+    }
+
+    // Ghi lại sự kiện thay cho kết nối thật; release khác null thì mỗi lần ghi chờ nó như một client không đọc
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<Event> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writing.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            events.add(Event.of(builder));
+        }
+    }
+}
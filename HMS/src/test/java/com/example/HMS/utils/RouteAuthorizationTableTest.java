@@ -0,0 +1,167 @@
+package com.example.HMS.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteAuthorizationTableTest {
+    private static final Authentication ANONYMOUS = new AnonymousAuthenticationToken("key", "anonymousUser",
+            AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+    private final RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+            .route("/api/auth/**").permitAll()
+            .route(HttpMethod.GET).permitAll()
+            .route(HttpMethod.DELETE, "/api/rooms/**").hasAuthority("ADMIN")
+            .route("/api/rooms/**").hasAnyAuthority("ADMIN", "RECEPTIONIST")
+            .route("/api/customers/profile").hasAuthority("CUSTOMER")
+            .route(HttpMethod.POST, "/api/customers/**").permitAll()
+            .anyRequest().authenticated()
+            .build();
+
+    @Test
+    void firstDeclaredRouteWins() {
+        assertEquals("/api/auth/**", table.match("POST", "/api/auth/login").pattern());
+        assertEquals("/**", table.match("GET", "/api/rooms/1").pattern());
+        assertEquals(HttpMethod.DELETE, table.match("DELETE", "/api/rooms/1").method());
+        assertEquals("/api/rooms/**", table.match("PUT", "/api/rooms/1").pattern());
+        assertEquals("/api/customers/profile", table.match("POST", "/api/customers/profile").pattern());
+        assertEquals("/api/customers/**", table.match("POST", "/api/customers/forgot-password").pattern());
+    }
+
+    @Test
+    void prefixMatchesWholeSegmentsOnly() {
+        assertEquals("/api/rooms/**", table.match("PUT", "/api/rooms").pattern());
+        assertEquals("/api/rooms/**", table.match("PUT", "/api/rooms/").pattern());
+        assertNull(table.match("PUT", "/api/roomsx"));
+        assertNull(table.match("PUT", "/api/customers/profile/photo"));
+        assertNull(table.match("PUT", "/"));
+    }
+
+    @Test
+    void unknownMethodOnlyMatchesRoutesWithoutMethod() {
+        assertEquals("/api/rooms/**", table.match("PROPFIND", "/api/rooms/1").pattern());
+        assertNull(table.match("PROPFIND", "/api/customers/1"));
+    }
+
+    @Test
+    void checkUsesPathWithinApplication() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/hms/api/rooms/1");
+        request.setContextPath("/hms");
+        Authentication receptionist = new TestingAuthenticationToken("r", null, "RECEPTIONIST");
+        assertTrue(granted(receptionist, request));
+        assertFalse(granted(ANONYMOUS, request));
+
+        MockHttpServletRequest other = new MockHttpServletRequest("PUT", "/api/customers/1");
+        assertTrue(granted(receptionist, other));
+        assertFalse(granted(ANONYMOUS, other));
+    }
+
+    @Test
+    void rejectsRoutesShadowedForEveryMethod() {
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> RouteAuthorizationTable.builder()
+                .route(HttpMethod.GET).permitAll()
+                .route("/api/bookings/**").authenticated()
+                .route(HttpMethod.GET, "/api/bookings/**").hasAuthority("ADMIN")
+                .route("/api/folios/**").authenticated()
+                .route("/api/folios/1").permitAll()
+                .route(HttpMethod.POST, "/api/folios").permitAll()
+                .build());
+        assertEquals("Routes shadowed by earlier routes, never reached:\n"
+                + "  GET /api/bookings/** hasAuthority(ADMIN)\n"
+                + "  /api/folios/1 permitAll\n"
+                + "  POST /api/folios permitAll", error.getMessage());
+    }
+
+    @Test
+    void routeWithoutMethodStaysReachableForOtherMethods() {
+        RouteAuthorizationTable.Builder builder = RouteAuthorizationTable.builder();
+        for (HttpMethod method : HttpMethod.values()) {
+            builder.route(method, "/api/rooms/**").permitAll();
+        }
+        assertEquals(HttpMethod.values().length + 1, builder.route("/api/rooms/1").authenticated().build().routes().size());
+    }
+
+    @Test
+    void rejectsUnsupportedPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> RouteAuthorizationTable.builder()
+                .route("api/customers/reset-password").permitAll());
+        assertThrows(IllegalArgumentException.class, () -> RouteAuthorizationTable.builder()
+                .route("/api/rooms/*/amenities").permitAll());
+        assertThrows(IllegalArgumentException.class, () -> RouteAuthorizationTable.builder()
+                .route("/api/rooms/{id}").permitAll());
+    }
+
+    // Trie phải cho cùng kết quả với việc duyệt tuần tự từng rule như chuỗi requestMatchers
+    @Test
+    void agreesWithSequentialScan() {
+        Random random = new Random(42);
+        List<String> segments = List.of("api", "rooms", "1", "admin", "");
+        List<String> methods = List.of("GET", "POST", "PUT", "DELETE", "PATCH", "PROPFIND");
+        for (int round = 0; round < 200; round++) {
+            List<RouteAuthorizationTable.Route> accepted = List.of();
+            for (int i = 0; i < 12; i++) {
+                String pattern = randomPath(random, segments) + (random.nextBoolean() ? "/**" : "");
+                HttpMethod method = random.nextInt(3) == 0 ? null : HttpMethod.valueOf(methods.get(random.nextInt(4)));
+                RouteAuthorizationTable.Builder candidate = RouteAuthorizationTable.builder();
+                accepted.forEach(route -> add(candidate, route.method(), route.pattern()));
+                add(candidate, method, pattern);
+                try {
+                    accepted = candidate.build().routes();
+                } catch (IllegalStateException shadowed) {
+                    // rule chết thì bỏ, thử rule khác
+                }
+            }
+            RouteAuthorizationTable.Builder builder = RouteAuthorizationTable.builder();
+            accepted.forEach(route -> add(builder, route.method(), route.pattern()));
+            RouteAuthorizationTable compiled = builder.build();
+            for (int probe = 0; probe < 50; probe++) {
+                String method = methods.get(random.nextInt(methods.size()));
+                String path = randomPath(random, segments);
+                RouteAuthorizationTable.Route expected = compiled.routes().stream()
+                        .filter(route -> route.method() == null || route.method().name().equals(method))
+                        .filter(route -> sequentialMatch(route, path))
+                        .findFirst().orElse(null);
+                assertEquals(expected, compiled.match(method, path), method + " " + path);
+            }
+        }
+    }
+
+    private static void add(RouteAuthorizationTable.Builder builder, HttpMethod method, String pattern) {
+        (method == null ? builder.route(pattern) : builder.route(method, pattern)).permitAll();
+    }
+
+    private static String randomPath(Random random, List<String> segments) {
+        StringBuilder path = new StringBuilder();
+        int depth = 1 + random.nextInt(3);
+        for (int i = 0; i < depth; i++) {
+            path.append('/').append(segments.get(random.nextInt(segments.size())));
+        }
+        return path.toString();
+    }
+
+    private static boolean sequentialMatch(RouteAuthorizationTable.Route route, String path) {
+        if (!route.prefix()) {
+            return path.equals(route.pattern());
+        }
+        String base = route.pattern().substring(0, route.pattern().length() - 3);
+        return base.isEmpty() || path.equals(base) || path.startsWith(base + "/");
+    }
+
+    private boolean granted(Authentication authentication, MockHttpServletRequest request) {
+        return table.check(() -> authentication, new RequestAuthorizationContext(request)).isGranted();
+    }
+}
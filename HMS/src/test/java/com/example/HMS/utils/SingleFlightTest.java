@@ -0,0 +1,102 @@
+package com.example.HMS.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        results.add(executor.submit(() -> flight.get("2026-11-01/03", () -> {
+            started.countDown();
+            await(release);
+            return loads.incrementAndGet();
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 7; i++) {
+            results.add(executor.submit(() -> flight.get("2026-11-01/03", loads::incrementAndGet)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<Integer> result : results) {
+            assertEquals(1, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        // TTL 0: xong là bỏ, lần sau tải lại
+        assertEquals(2, flight.get("2026-11-01/03", loads::incrementAndGet));
+    }
+
+    @Test
+    void resultIsReusedWithinTtl() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(60_000);
+        assertEquals(1, flight.get("a", loads::incrementAndGet));
+        assertEquals(1, flight.get("a", loads::incrementAndGet));
+        assertEquals(2, flight.get("b", loads::incrementAndGet));
+    }
+
+    @Test
+    void invalidationDropsCompletedAndRunningLoads() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(60_000);
+        assertEquals(1, flight.get("a", loads::incrementAndGet));
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Integer> running = executor.submit(() -> flight.get("b", () -> {
+            started.countDown();
+            await(release);
+            return loads.incrementAndGet();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        flight.invalidate(key -> true);
+
+        // Bắt đầu sau lần ghi nên không được nhập vào lần tải "b" đang chạy
+        assertEquals(2, flight.get("b", loads::incrementAndGet));
+        release.countDown();
+        assertEquals(3, running.get(5, TimeUnit.SECONDS));
+        assertEquals(2, flight.get("b", loads::incrementAndGet));
+        assertEquals(4, flight.get("a", loads::incrementAndGet));
+    }
+
+    @Test
+    void failuresAreNotKept() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(60_000);
+        assertThrows(IllegalStateException.class, () -> flight.get("a", () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+        assertEquals(1, flight.get("a", loads::incrementAndGet));
+        assertEquals(1, flight.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
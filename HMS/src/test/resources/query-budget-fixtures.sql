@@ -0,0 +1,97 @@
+-- Chạy sau bộ sinh dữ liệu tải (LoadDataGeneratorService): bổ sung các bảng bộ sinh không điền.
+-- Id từ 1000001 dành cho dữ liệu cố định của khách "budget_customer"; các bảng còn trống dùng id từ 1.
+
+INSERT INTO application_user (id, user_type, full_name, username, email, is_active, role)
+VALUES (1000001, 'EMPLOYEE', 'Quản trị viên', 'budget_admin', 'admin@loadtest.local', TRUE, 'ADMIN');
+INSERT INTO application_user (id, user_type, full_name, username, email, is_active, role, loyalty_points)
+VALUES (1000002, 'CUSTOMER', 'Khách Kiểm Thử', 'budget_customer', 'budget@loadtest.local', TRUE, 'CUSTOMER', 0);
+
+INSERT INTO bookings (id, customer_id, created_by_id, guest_name, guest_email, guest_phone, source, status, total_price, start_date,
+                      end_date, room_type, room_number, adult_number, child_number)
+VALUES (1000001, 1000002, 1000001, 'Khách Kiểm Thử', 'budget@loadtest.local', '0900000000', 'DIRECT', 'CONFIRMED', 1500000,
+        DATEADD(DAY, 3, CURRENT_DATE), DATEADD(DAY, 5, CURRENT_DATE), 'DOUBLE', 1, 2, 0);
+INSERT INTO room_bookings (id, booking_id, room_id) VALUES (1000001, 1000001, 1);
+INSERT INTO folio (id, booking_id, user_id, guest_name, guest_email, total_amount, status, created_at, updated_at)
+VALUES (1000001, 1000001, 1000002, 'Khách Kiểm Thử', 'budget@loadtest.local', 1500000, 'OPEN', CURRENT_TIMESTAMP,
+        CURRENT_TIMESTAMP);
+INSERT INTO folio_charges (id, folio_id, room_id, charge_type, item_name, quantity, unit_price, total_price,
+                           charge_time, business_date)
+SELECT 1000000 + X, 1000001, 1, 'ROOM', 'Room 1', 1, 750000, 750000, CURRENT_TIMESTAMP, DATEADD(DAY, X + 2, CURRENT_DATE)
+FROM SYSTEM_RANGE(1, 2);
+
+INSERT INTO loyalty_level (id, level_name, points_required, benefits)
+SELECT X, 'Level ' || X, (X - 1) * 1000, 'Giảm ' || (X * 2) || '%' FROM SYSTEM_RANGE(1, 5);
+
+INSERT INTO amenities (id, name, description) SELECT X, 'Amenity ' || X, 'Tiện nghi ' || X FROM SYSTEM_RANGE(1, 30);
+INSERT INTO room_amenities (id, room_id, amenity_id, quantity, status)
+SELECT X, MOD(X - 1, 10) + 1, MOD(X - 1, 30) + 1, 1, 'WORKING' FROM SYSTEM_RANGE(1, 60);
+INSERT INTO amenity_histories (id, amenity_id, source_room_id, destination_room_id, quantity, action, timestamp)
+SELECT X, MOD(X - 1, 30) + 1, 1, 2, 1, 'TRANSFER', DATEADD(HOUR, -X, CURRENT_TIMESTAMP) FROM SYSTEM_RANGE(1, 60);
+
+INSERT INTO assets (asset_id, name, location, asset_condition, maintain_date)
+SELECT X, 'Asset ' || X, 'Tầng ' || MOD(X, 5), 'GOOD', CURRENT_DATE FROM SYSTEM_RANGE(1, 30);
+INSERT INTO maintenance_schedule (schedule_id, asset_id, room_id, scheduled_date, description, status)
+SELECT X, X, MOD(X - 1, 100) + 1, DATEADD(DAY, X, CURRENT_TIMESTAMP), 'Bảo trì ' || X, 'ASSIGNED'
+FROM SYSTEM_RANGE(1, 30);
+INSERT INTO maintenance_schedule_employees (schedule_id, employee_id)
+SELECT s.X, u.id FROM SYSTEM_RANGE(1, 30) s CROSS JOIN application_user u WHERE u.role = 'MAINTENANCE';
+
+INSERT INTO operating_expenses (id, provider, expense_type, amount, status, description, created_at, due_date)
+SELECT X, 'Provider ' || MOD(X, 5), 'ELECTRICITY', 1000000 + X, 'UNPAID', 'Chi phí ' || X, CURRENT_TIMESTAMP,
+       DATEADD(DAY, X, CURRENT_TIMESTAMP)
+FROM SYSTEM_RANGE(1, 30);
+
+INSERT INTO salary (id, employee_id, amount, status, created_at, pay_time)
+SELECT ROW_NUMBER() OVER (ORDER BY u.id, m.X), u.id, 10000000, 'PAID', DATEADD(MONTH, -m.X, CURRENT_TIMESTAMP),
+       DATEADD(MONTH, -m.X, CURRENT_TIMESTAMP)
+FROM application_user u CROSS JOIN SYSTEM_RANGE(1, 6) m WHERE u.user_type = 'EMPLOYEE' AND u.role <> 'ADMIN';
+
+INSERT INTO supplier (id, supplier_name, supplier_address, supplier_phone)
+SELECT X, 'Supplier ' || X, 'Địa chỉ ' || X, '09' || LPAD(X, 8, '0') FROM SYSTEM_RANGE(1, 30);
+INSERT INTO inventory (id, supplier_id, inventory_name, inventory_price, inventory_quantity)
+SELECT X, MOD(X - 1, 30) + 1, 'Item ' || X, 10000 + X, 100 FROM SYSTEM_RANGE(1, 90);
+INSERT INTO inventory_receipts (id, supplier_id, receipt_code, receipt_date, status, total_amount)
+SELECT X, X, 'RC' || LPAD(X, 5, '0'), DATEADD(DAY, -X, CURRENT_TIMESTAMP), 'COMPLETED', 300000 FROM SYSTEM_RANGE(1, 30);
+INSERT INTO inventory_receipt_details (id, receipt_id, inventory_id, quantity, unit_price)
+SELECT X, MOD(X - 1, 30) + 1, X, 10, 10000 FROM SYSTEM_RANGE(1, 90);
+
+INSERT INTO audit_report (id, report_date, created_at, revenue, expenses, occupancy_rate, adr, rev_par,
+                          number_of_bookings, check_ins, check_outs, room_capacity)
+SELECT CAST('00000000-0000-0000-0000-' || LPAD(X, 12, '0') AS UUID), DATEADD(DAY, -X, CURRENT_DATE), CURRENT_TIMESTAMP, 50000000, 10000000,
+       0.7, 1000000, 700000, 70, 20, 20, 100
+FROM SYSTEM_RANGE(1, 30);
+
+-- Feedback, khách lưu trú và yêu cầu dịch vụ gắn với booking sinh sẵn; bản ghi số 1 thuộc budget_customer
+INSERT INTO feedback (feedback_id, booking_id, customer_id, guest_name, guest_email, rating, comment, date_time)
+VALUES (1, 1000001, 1000002, 'Khách Kiểm Thử', 'budget@loadtest.local', 5, 'Rất tốt', CURRENT_TIMESTAMP);
+INSERT INTO feedback (feedback_id, booking_id, customer_id, guest_name, guest_email, rating, comment, date_time)
+SELECT rn + 1, id, customer_id, 'Khách ' || rn, 'guest' || rn || '@loadtest.local', MOD(rn, 5) + 1, 'Nhận xét ' || rn,
+       DATEADD(HOUR, -rn, CURRENT_TIMESTAMP)
+FROM (SELECT id, customer_id, ROW_NUMBER() OVER (ORDER BY id) AS rn FROM bookings WHERE id < 1000000) b
+WHERE rn < 30;
+
+INSERT INTO guests (id, booking_id, room_id, guest_name, guest_phone, identification)
+SELECT rb.rn, rb.booking_id, rb.room_id, 'Khách ' || rb.rn, '09' || LPAD(rb.rn, 8, '0'), 'ID' || rb.rn
+FROM (SELECT booking_id, room_id, ROW_NUMBER() OVER (ORDER BY id) AS rn FROM room_bookings) rb
+WHERE rb.rn <= 30;
+
+INSERT INTO housekeeping_request (id, room_id, customer_id, guest_name, guest_email, notes, status, preferred_time,
+                                  created_at)
+SELECT X, MOD(X - 1, 100) + 1, CASEWHEN(X <= 3, 1000002, X + 1), 'Khách ' || X, 'guest' || X || '@loadtest.local',
+       'Dọn phòng', 'PENDING', DATEADD(HOUR, X, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 30);
+
+INSERT INTO service_request (id, booking_id, service_id, customer_id, guest_name, guest_email, quantity, total_amount,
+                             notes, status, created_at)
+SELECT X, 1000001, MOD(X - 1, 20) + 1, 1000002, 'Khách Kiểm Thử', 'budget@loadtest.local', 1, 100000, 'Yêu cầu ' || X,
+       'PENDING', DATEADD(MINUTE, -X, CURRENT_TIMESTAMP)
+FROM SYSTEM_RANGE(1, 30);
+
+INSERT INTO access_tokens (id, token, request_id, request_type, guest_email, expires_at)
+VALUES (1000001, 'budget-booking', 1000001, 'BOOKING', 'budget@loadtest.local', DATEADD(DAY, 1, CURRENT_TIMESTAMP)),
+       (1000002, 'budget-feedback', 1, 'FEEDBACK', 'budget@loadtest.local', DATEADD(DAY, 1, CURRENT_TIMESTAMP)),
+       (1000003, 'budget-housekeeping', 1, 'HOUSEKEEPING_REQUEST', 'budget@loadtest.local', DATEADD(DAY, 1, CURRENT_TIMESTAMP)),
+       (1000004, 'budget-service', 1, 'SERVICE_REQUEST', 'budget@loadtest.local', DATEADD(DAY, 1, CURRENT_TIMESTAMP));
+
+INSERT INTO housekeeping_schedule (id, room_id, employee_id, scheduled_time, status)
+SELECT 1000001, 1, MAX(id), DATEADD(HOUR, 2, CURRENT_TIMESTAMP), 'ASSIGNED' FROM application_user WHERE role = 'HOUSEKEEPING';
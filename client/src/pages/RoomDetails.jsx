@@ -1,4 +1,4 @@
-import React, { useEffect, useState, useContext } from 'react';
+import React, { useEffect, useState, useContext, useRef } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import axios from 'axios';
 import { toast } from 'react-toastify';
@@ -30,6 +30,8 @@ const RoomDetails = () => {
   });
   const [error, setError] = useState('');
   const [isSubmitting, setIsSubmitting] = useState(false);
+  // Giữ nguyên key khi gửi lại cùng một lần đặt phòng để server không tạo booking trùng
+  const idempotencyKey = useRef(crypto.randomUUID());
   const [isSearchSubmitting, setIsSearchSubmitting] = useState(false);
 
   const validRoomTypes = ['SINGLE', 'DOUBLE', 'TWIN', 'DELUXE', 'SUITE', 'FAMILY'];
@@ -311,8 +313,12 @@ const RoomDetails = () => {
 
       const token = localStorage.getItem('accessToken');
       const response = await axios.post('http://localhost:8080/api/bookings', bookingPayload, {
-        headers: isAuthenticated ? { Authorization: `Bearer ${token}` } : {},
+        headers: {
+          'Idempotency-Key': idempotencyKey.current,
+          ...(isAuthenticated ? { Authorization: `Bearer ${token}` } : {}),
+        },
       });
+      idempotencyKey.current = crypto.randomUUID();
 
       toast.success('Đặt phòng thành công!', {
         position: 'top-right',